@@ -0,0 +1,65 @@
+package agents;
+
+import bench.Quiet;
+import gui.RecordingView;
+import jade.core.OffPlatform;
+import gui.SimulationViews;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * FireAgent location-set handling: one fire tick walks the "x,y" location
+ * set, parses every entry, reports it and builds the spread batch. The agent
+ * is warmed up until the set is at its limit of six hotspots.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FireAgentBenchmark {
+    private FireAgent agent;
+
+    @Setup
+    public void setup() {
+        Quiet.on();
+        OffPlatform.init();
+        if (!SimulationViews.isHeadless()) {
+            SimulationViews.useHeadless(new RecordingView(0));
+        }
+
+        agent = new FireAgent();
+        agent.setArguments(new Object[]{2, 2}); // μέσα στη μικρή περιοχή όπου η φωτιά επεκτείνεται
+        agent.setup();
+        for (int i = 0; i < 1000; i++) {
+            agent.handleActiveFire();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Quiet.off();
+    }
+
+    @Benchmark
+    public void activeFireTick() {
+        agent.handleActiveFire();
+    }
+
+    @Benchmark
+    public void extinguishThenTick() {
+        agent.extinguishAt(2, 2);
+        agent.handleActiveFire();
+    }
+}
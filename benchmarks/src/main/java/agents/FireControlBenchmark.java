@@ -0,0 +1,104 @@
+package agents;
+
+import bench.Quiet;
+import jade.core.AID;
+import jade.core.OffPlatform;
+import jade.lang.acl.ACLMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import protocol.Availability;
+import protocol.FireMessage;
+import protocol.FireSpread;
+import protocol.MessageCodec;
+
+/**
+ * FireControlAgent decision path, run on an agent that is not on a platform
+ * (send() is a no-op there): decoding a fire report, handleFireSpread, the
+ * priority score and the deploy* selection for a full set of units.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FireControlBenchmark {
+    private FireControlAgent agent;
+    private ACLMessage fireReport;
+    private String legacyText;
+    private FireControlAgent.FireInfo fireInfo;
+    private final List<ACLMessage> availability = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        Quiet.on();
+        OffPlatform.init();
+        agent = new FireControlAgent();
+
+        FireSpread spread = FireSpread.spread(75, 75, 6);
+        fireReport = MessageCodec.create(ACLMessage.INFORM, spread);
+        fireReport.setSender(new AID("fire1", AID.ISLOCALNAME));
+        legacyText = spread.toText();
+        fireInfo = new FireControlAgent.FireInfo("ACTIVE", 75, 75, 6);
+
+        // Η προεπιλεγμένη διάταξη του MainContainer: 4-2-1-6
+        addAvailability("truck", 4, new Availability(FireMessage.UNIT_TRUCK));
+        addAvailability("aircraft", 2, new Availability(FireMessage.UNIT_AIRCRAFT, 1000, "", 0));
+        addAvailability("helicopter", 1, new Availability(FireMessage.UNIT_HELICOPTER));
+        addAvailability("crew", 6, new Availability(FireMessage.UNIT_GROUND_CREW, 0, "suppression", 0));
+    }
+
+    private void addAvailability(String prefix, int count, Availability message) {
+        for (int i = 1; i <= count; i++) {
+            ACLMessage msg = MessageCodec.create(ACLMessage.INFORM, message);
+            msg.setSender(new AID(prefix + i, AID.ISLOCALNAME));
+            availability.add(msg);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Quiet.off();
+    }
+
+    @Benchmark
+    public FireMessage decodeFireReport() {
+        return MessageCodec.read(fireReport);
+    }
+
+    @Benchmark
+    public FireMessage parseLegacyText() {
+        return MessageCodec.parseText(legacyText);
+    }
+
+    @Benchmark
+    public void handleFireSpread() {
+        agent.processMessage(fireReport);
+    }
+
+    @Benchmark
+    public int calculatePriority() {
+        return agent.calculatePriority("75,75", fireInfo);
+    }
+
+    /** All 13 units report in, then one fire takes whatever the priority asks for. */
+    @Benchmark
+    public void availabilityAndDeploy() {
+        for (ACLMessage msg : availability) {
+            agent.processMessage(msg);
+        }
+        agent.assessSituationAndDeploy("75,75", fireInfo);
+    }
+}
@@ -0,0 +1,26 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH entry point with the gc profiler always on, so every result has both
+ * throughput and allocation (gc.alloc.rate, gc.alloc.rate.norm). Takes the
+ * usual JMH command line; -rf json -rff baseline.json keeps a baseline.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions command = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(command)
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend("-Djava.awt.headless=true", "-Dfile.encoding=UTF-8")
+                .build()).run();
+    }
+}
@@ -0,0 +1,36 @@
+package bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * The agents log every decision with System.out.println. The benchmarks keep
+ * the string building but drop the console I/O, which would otherwise
+ * dominate the measurement.
+ */
+public final class Quiet {
+    private static PrintStream original;
+
+    private Quiet() {
+    }
+
+    public static synchronized void on() {
+        if (original != null) return;
+        original = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }));
+    }
+
+    public static synchronized void off() {
+        if (original == null) return;
+        System.setOut(original);
+        original = null;
+    }
+}
@@ -0,0 +1,18 @@
+package jade.core;
+
+/**
+ * Agents build local AIDs (new AID(name, ISLOCALNAME)) on every send, which
+ * needs a platform name. A container normally sets it; the benchmarks run
+ * agents without one, so they set it here. Benchmarks only.
+ */
+public final class OffPlatform {
+
+    private OffPlatform() {
+    }
+
+    public static synchronized void init() {
+        if (AID.getPlatformID() == null) {
+            AID.setPlatformID("bench");
+        }
+    }
+}
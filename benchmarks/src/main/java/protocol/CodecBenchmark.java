@@ -0,0 +1,68 @@
+package protocol;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parse cost per message: legacy text content (split/substring/parseInt, as
+ * the agents used to do) against the binary decode, cycling through one
+ * message of every type. gc.alloc.rate.norm is the allocation per message.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodecBenchmark {
+    private String[] texts;
+    private byte[][] binaries;
+    private int next = 0;
+
+    @Setup
+    public void setup() {
+        FireMessage[] messages = {
+            FireSpread.spread(75, 75, 6),
+            new Deploy(FireMessage.UNIT_AIRCRAFT, 112, 38),
+            new Deploy(FireMessage.UNIT_TRUCK, 12, 140),
+            new Extinguish(Extinguish.AERIAL, 74, 76, 0.8),
+            new WeatherUpdate(2.4837261, 41, 33, "NE"),
+            new Availability(FireMessage.UNIT_GROUND_CREW, 0, "suppression", 20),
+            new ExtinguishCompleted(75, 75),
+            Signal.STATUS
+        };
+
+        texts = new String[messages.length];
+        binaries = new byte[messages.length][];
+        for (int i = 0; i < messages.length; i++) {
+            texts[i] = messages[i].toText();
+            binaries[i] = MessageCodec.encode(messages[i]);
+        }
+    }
+
+    private int nextIndex() {
+        if (++next == texts.length) {
+            next = 0;
+        }
+        return next;
+    }
+
+    @Benchmark
+    public FireMessage decodeText() {
+        return MessageCodec.parseText(texts[nextIndex()]);
+    }
+
+    @Benchmark
+    public FireMessage decodeBinary() {
+        return MessageCodec.decode(binaries[nextIndex()]);
+    }
+}
@@ -0,0 +1,120 @@
+package simulation;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.GridManager;
+
+/**
+ * Tree ignition and spread. TreeAgent.calculateIgnitionChance delegates to
+ * FireSpreadEngine.ignitionChance, so that method is measured directly,
+ * together with the engine tick that applies it over the whole front.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FireSpreadBenchmark {
+
+    @State(Scope.Thread)
+    public static class Cells {
+        final int[] humidity = new int[1024];
+        final int[] temperature = new int[1024];
+        final int[] treeType = new int[1024];
+        final double[] wind = new double[1024];
+        int next = 0;
+
+        @Setup
+        public void setup() {
+            Random rand = new Random(42);
+            for (int i = 0; i < humidity.length; i++) {
+                humidity[i] = 30 + rand.nextInt(40);
+                temperature[i] = 20 + rand.nextInt(20);
+                treeType[i] = 1 + rand.nextInt(3);
+                wind[i] = rand.nextDouble() * 5;
+            }
+        }
+    }
+
+    /** A fresh full forest with the test fires lit, for every invocation. */
+    @State(Scope.Thread)
+    public static class Forest {
+        @Param({"1", "4"})
+        public int parallelism;
+
+        @Param({"50"})
+        public int ticks;
+
+        FireSpreadEngine engine;
+
+        @Setup(Level.Invocation)
+        public void setup() {
+            if (engine != null) {
+                engine.shutdown();
+            }
+            engine = new FireSpreadEngine(GridManager.GRID_SIZE, GridManager.GRID_SIZE, 42, parallelism);
+            engine.populateFull(new Random(42));
+            for (int[] fire : GridManager.TEST_FIRE_POSITIONS) {
+                engine.ignite(fire[0], fire[1], 5);
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            engine.shutdown();
+        }
+    }
+
+    /** One tick of FireAgent reports: neighbours of six hotspots. */
+    @State(Scope.Thread)
+    public static class Reports {
+        final SpreadBatch batch = new SpreadBatch();
+        byte[] encoded;
+
+        @Setup
+        public void setup() {
+            for (int i = 0; i < 6; i++) {
+                batch.addNeighbours(70 + i, 75, 6);
+            }
+            encoded = batch.encode();
+        }
+    }
+
+    @Benchmark
+    public double ignitionChance(Cells cells) {
+        int i = cells.next = (cells.next + 1) & 1023;
+        return FireSpreadEngine.ignitionChance(cells.humidity[i], cells.temperature[i], cells.treeType[i], cells.wind[i]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int spreadTicks(Forest forest) {
+        for (int t = 0; t < forest.ticks; t++) {
+            forest.engine.step();
+        }
+        return forest.engine.getBurningCount();
+    }
+
+    @Benchmark
+    public int spreadBatchEncode(Reports reports) {
+        return reports.batch.encode().length;
+    }
+
+    @Benchmark
+    public int spreadBatchDecode(Reports reports) {
+        return SpreadBatch.decode(reports.encoded).size();
+    }
+}
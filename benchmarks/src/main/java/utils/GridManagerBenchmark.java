@@ -0,0 +1,40 @@
+package utils;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Tree agent names: one per message receiver, and the full 22.500-agent list. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GridManagerBenchmark {
+    private int x = 1;
+    private int y = 1;
+
+    @Benchmark
+    public String treeAgentName() {
+        if (++x > GridManager.GRID_SIZE) {
+            x = 1;
+            if (++y > GridManager.GRID_SIZE) {
+                y = 1;
+            }
+        }
+        return GridManager.generateTreeAgentName(x, y);
+    }
+
+    @Benchmark
+    public String treeAgentList() {
+        return GridManager.generateTreeAgentList();
+    }
+}
@@ -3,14 +3,50 @@ import jade.core.Profile;
 import jade.core.ProfileImpl;
 import jade.wrapper.AgentContainer;
 import jade.wrapper.AgentController;
+import agents.AgentBootstrap;
 import utils.GridManager;
 import gui.FireSimulationGUI;
+import gui.RecordingView;
+import gui.SimulationViews;
+import simulation.Checkpoint;
+import simulation.EventJournal;
+import simulation.EventKernel;
+import simulation.FireSpreadEngine;
+import simulation.SimulationClock;
+import simulation.TileLayout;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 import java.util.Random;
 
 public class MainContainer {
     private static final int GRID_SIZE = 150;
+    private static final long HEADLESS_REPORT_MS = 60_000; // περίληψη ανά λεπτό προσομοίωσης
     
     public static void main(String[] args) {
+        // --headless: χωρίς RMA και χωρίς παράθυρο, για μηχανήματα χωρίς X server
+        boolean headless = false;
+        List<String> rest = new ArrayList<>();
+        for (String arg : args) {
+            if ("--headless".equals(arg)) {
+                headless = true;
+            } else {
+                rest.add(arg);
+            }
+        }
+        args = rest.toArray(new String[0]);
+        
+        RecordingView headlessView = null;
+        if (headless) {
+            System.setProperty("java.awt.headless", "true");
+            headlessView = new RecordingView(Integer.getInteger("headless.log", 200));
+            SimulationViews.useHeadless(headlessView);
+            System.out.println("🖥️ Headless mode: no JADE RMA, no simulation window");
+        }
+        
         // Parse command line arguments for custom resource configuration
         int numTrucks = 4, numAircraft = 2, numHelicopters = 1, numCrews = 6;
         
@@ -35,24 +71,82 @@ public class MainContainer {
             System.out.println("🔧 Using default resource configuration");
         }
         
+        // -Dsim.resume=<checkpoint>: συνέχιση από στιγμιότυπο, με τα μέσα και το δάσος του
+        Checkpoint.Snapshot resume = null;
+        String resumePath = System.getProperty("sim.resume", "");
+        if (!resumePath.isEmpty()) {
+            long started = System.nanoTime();
+            try {
+                resume = Checkpoint.load(Paths.get(resumePath));
+            } catch (IOException e) {
+                System.err.println("❌ Αδύνατη η ανάγνωση του checkpoint " + resumePath + ": " + e.getMessage());
+                return;
+            }
+            Checkpoint.resumeFrom(resume);
+            EventKernel.resumeAt(resume.getTime());
+            numTrucks = countSections(resume, "truck");
+            numAircraft = countSections(resume, "aircraft");
+            numHelicopters = countSections(resume, "helicopter");
+            numCrews = countSections(resume, "crew");
+            System.out.println("💾 Συνέχιση από " + resumePath + " [" + SimulationClock.format(resume.getTime()) + "]: " +
+                               resume.getSectionCount() + " ενότητες σε " + (System.nanoTime() - started) / 1000 + "μs");
+        }
+        
+        // -Dsim.tiles=2x2: το δάσος σε πλακίδια, ένα container (και ForestAgent) ανά πλακίδιο
+        // -Dsim.size=600x400: μέγεθος του κόσμου με πλακίδια (προεπιλογή 150x150)
+        TileLayout tiles = null;
+        boolean remoteTiles = Boolean.getBoolean("sim.tiles.remote");
+        String tileSpec = System.getProperty("sim.tiles", "");
+        String worldSpec = System.getProperty("sim.size", "");
+        if (!worldSpec.isEmpty() && (tileSpec.isEmpty() || resume != null)) {
+            System.err.println("⚠️ Το -Dsim.size ισχύει μόνο με -Dsim.tiles - κόσμος " + GRID_SIZE + "x" + GRID_SIZE);
+        }
+        if (!tileSpec.isEmpty()) {
+            if (resume != null) {
+                System.err.println("⚠️ Η συνέχιση από checkpoint δεν υποστηρίζει πλακίδια - ένα ενιαίο δάσος");
+            } else {
+                try {
+                    tiles = worldSpec.isEmpty() ? TileLayout.parse(tileSpec, GRID_SIZE, GRID_SIZE)
+                                                : TileLayout.parse(tileSpec, worldSpec);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("❌ " + e.getMessage());
+                    return;
+                }
+                // Κάθε JVM έχει το δικό της ρολόι: μόνο ο πραγματικός χρόνος τα κρατά μαζί
+                if (remoteTiles && "fast".equalsIgnoreCase(System.getProperty("sim.mode"))) {
+                    System.out.println("⚠️ Πλακίδια σε άλλες JVM: PACED αντί για FAST");
+                    EventKernel.configure(SimulationClock.Mode.PACED, Double.parseDouble(System.getProperty("sim.speed", "1")));
+                }
+            }
+        }
+        
         // Set resource configuration in GUI before creating instance
-        FireSimulationGUI.setInitialResourceConfig(numTrucks, numAircraft, numHelicopters, numCrews);
+        if (!headless) {
+            FireSimulationGUI.setInitialResourceConfig(numTrucks, numAircraft, numHelicopters, numCrews);
+        }
         
+        AgentBootstrap boot = new AgentBootstrap();
         try {
             Runtime rt = Runtime.instance();
             Profile p = new ProfileImpl();
-            p.setParameter(Profile.GUI, "true");
+            // Το RMA ξεκινά μετά τους agents: αλλιώς ενημερώνει το δέντρο του μία φορά για κάθε TreeAgent
+            p.setParameter(Profile.GUI, "false");
             p.setParameter(Profile.MAIN_HOST, "localhost");
             p.setParameter(Profile.MAIN_PORT, "1099");
             
             AgentContainer container = rt.createMainContainer(p);
+            boot.mark("Πλατφόρμα JADE");
             
             // Determine number of trees to create
+            int worldWidth = tiles != null ? tiles.getWidth() : GRID_SIZE;
+            int worldHeight = tiles != null ? tiles.getHeight() : GRID_SIZE;
             int numTrees = 1000; // Default
+            boolean treeAgents = true; // TreeAgent facades on top of the engine
             if (args.length > 0) {
-                if ("full".equals(args[0])) {
-                    numTrees = GRID_SIZE * GRID_SIZE; // All 22500 trees
-                    System.out.println("Creating FULL 150x150 grid with " + numTrees + " trees...");
+                if ("full".equals(args[0]) || "full-agents".equals(args[0])) {
+                    numTrees = worldWidth * worldHeight; // All 22500 trees at 150x150
+                    treeAgents = "full-agents".equals(args[0]);
+                    System.out.println("Creating FULL " + worldWidth + "x" + worldHeight + " grid with " + numTrees + " trees...");
                 } else {
                     try {
                         numTrees = Integer.parseInt(args[0]);
@@ -62,28 +156,187 @@ public class MainContainer {
                 }
             }
             
-            System.out.println("Starting JADE with " + numTrees + " trees in 150x150 grid...");
+            System.out.println("Starting JADE with " + numTrees + " trees in " + worldWidth + "x" + worldHeight + " grid...");
+            
+            // TreeAgents μόνο σε ακτίνα -Dtree.radius κελιών από τη φωτιά· -Dtree.agents=eager για όλους από την αρχή
+            boolean eagerTrees = treeAgents && "eager".equals(System.getProperty("tree.agents", "lazy"));
+            int treeRadius = treeAgents && !eagerTrees ? Math.max(1, Integer.getInteger("tree.radius", 2)) : 0;
+            
+            // -Dfire.seed=N reproduces a run exactly, whatever the core count.
+            long seed = resume != null ? resume.getSeed() : Long.getLong("fire.seed", System.nanoTime());
+            String run = "run-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+            
+            // Πριν από τους agents, ώστε να καταγραφούν και τα πρώτα γεγονότα
+            openJournal(run, seed, worldWidth, worldHeight);
+            Checkpoint.getInstance().configure(Paths.get("checkpoints"), run, seed, worldWidth, worldHeight);
             
             // Create core agents
             createCoreAgents(container, numTrucks, numAircraft, numHelicopters, numCrews);
+            boot.mark("Βασικοί agents");
             
-            // Create tree agents (sample or full)
-            if (numTrees == GRID_SIZE * GRID_SIZE) {
-                createFullGrid(container);
+            if (tiles != null) {
+                createTiles(rt, container, tiles, seed, numTrees, remoteTiles);
+                boot.mark("Πλακίδια δάσους " + tiles + (remoteTiles ? " (άλλες JVM)" : ""));
             } else {
-                createSampleGrid(container, numTrees);
+                createForest(container, numTrees, eagerTrees, treeRadius, seed, resume, boot);
             }
             
             // Create some fire agents for testing
             createTestFires(container);
+            boot.mark("Forest και εστίες φωτιάς");
+            
+            if (!headless) {
+                container.createNewAgent("rma", "jade.tools.rma.rma", null).start();
+                boot.mark("JADE RMA");
+            }
             
             System.out.println("All agents created successfully!");
             
+            // -Dsim.mode=fast: ο χρόνος προσομοίωσης τρέχει όσο γρήγορα επιτρέπει η CPU
+            EventKernel kernel = EventKernel.getInstance();
+            SimulationClock clock = kernel.getClock();
+            System.out.println("⏱️ Simulation clock: " + clock.getMode() +
+                               (clock.isFast() ? "" : " x" + clock.getSpeed()));
+            kernel.start();
+            boot.mark("Ρολόι προσομοίωσης");
+            boot.printReport();
+            
+            // -Dsim.checkpoint=<δευτερόλεπτα προσομοίωσης>: περιοδικά στιγμιότυπα στο checkpoints/
+            long checkpointSeconds = Long.getLong("sim.checkpoint", 0);
+            if (checkpointSeconds > 0) {
+                Checkpoint.getInstance().startPeriodic(checkpointSeconds * 1000);
+                System.out.println("💾 Checkpoint κάθε " + checkpointSeconds + "s χρόνου προσομοίωσης");
+            }
+            
+            if (headlessView != null) {
+                reportHeadless(kernel, headlessView);
+            }
+            
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
     
+    // Ένα ενιαίο δάσος: engine, TreeAgents (όλοι ή κοντά στη φωτιά) και ο ForestAgent του
+    private static void createForest(AgentContainer container, int numTrees, boolean eagerTrees, int treeRadius,
+                                     long seed, Checkpoint.Snapshot resume, AgentBootstrap boot) throws Exception {
+        // Tree state lives in the array engine; the forest agent steps it.
+        FireSpreadEngine engine;
+        if (resume != null) {
+            engine = restoreForest(resume);
+        } else {
+            engine = new FireSpreadEngine(GRID_SIZE, GRID_SIZE, seed);
+        }
+        System.out.println("🌲 Fire engine seed: " + seed + " (" + engine.getParallelism() + " threads)");
+        
+        // Create tree agents (sample or full); lazy trees are created by the forest agent near the fire
+        if (resume != null) {
+            System.out.println("🌲 Δάσος από checkpoint: " + engine.getTreeCount() + " δέντρα, " +
+                               engine.getBurningCount() + " σε φωτιά, " + engine.getDestroyedCount() + " καμένα");
+            boot.mark("Δάσος από checkpoint");
+        } else if (numTrees == GRID_SIZE * GRID_SIZE) {
+            engine.populateFull(new Random(seed));
+            boot.mark("Δάσος (engine)");
+            if (eagerTrees) {
+                createFullGrid(container, engine, boot);
+            }
+        } else {
+            createSampleGrid(engine, numTrees, new Random(seed), eagerTrees ? boot : null);
+            boot.mark("Δάσος (engine)");
+            boot.startAll(container, "TreeAgents");
+        }
+        
+        AgentController forest = container.createNewAgent("forest", 
+            "agents.ForestAgent", new Object[]{engine, treeRadius});
+        forest.start();
+    }
+    
+    /**
+     * Ένα container ανά πλακίδιο με τον ForestAgent του (forest-N), και ο router "forest" εδώ.
+     * With -Dsim.tiles.remote=true the tiles are left to TileContainer JVMs
+     * that join this platform; the commands to start them are printed.
+     */
+    private static void createTiles(Runtime rt, AgentContainer container, TileLayout tiles, long seed,
+                                    int numTrees, boolean remote) throws Exception {
+        container.createNewAgent("forest", "agents.ForestRouterAgent", new Object[]{tiles}).start();
+        
+        if (remote) {
+            System.out.println("🧩 Πλακίδια " + tiles + ": εκκίνηση σε άλλες JVM με");
+            for (int tile = 0; tile < tiles.getTileCount(); tile++) {
+                System.out.println("   java -Dfire.seed=" + seed + " -Dsim.size=" + tiles.getWidth() + "x" + tiles.getHeight() +
+                                   " -cp \"bin;lib/jade.jar\" TileContainer " + tile + " " + tiles + " " + numTrees);
+            }
+            return;
+        }
+        
+        int parallelism = Math.max(1, java.lang.Runtime.getRuntime().availableProcessors() / tiles.getTileCount());
+        for (int tile = 0; tile < tiles.getTileCount(); tile++) {
+            Profile profile = new ProfileImpl();
+            profile.setParameter(Profile.MAIN_HOST, "localhost");
+            profile.setParameter(Profile.MAIN_PORT, "1099");
+            profile.setParameter(Profile.CONTAINER_NAME, TileLayout.containerName(tile));
+            AgentContainer tileContainer = rt.createAgentContainer(profile);
+            
+            FireSpreadEngine engine = tiles.createEngine(tile, seed, numTrees, parallelism);
+            tileContainer.createNewAgent(TileLayout.agentName(tile), "agents.ForestAgent",
+                new Object[]{engine, 0, tiles, tile}).start();
+        }
+        System.out.println("🧩 Δάσος σε " + tiles + " πλακίδια, ένα container το καθένα (seed " + seed + ")");
+    }
+    
+    // -Dsim.journal=<αρχείο> ή off· προεπιλογή journals/run-<ημερομηνία>.journal
+    private static void openJournal(String run, long seed, int width, int height) {
+        String target = System.getProperty("sim.journal", "");
+        if ("off".equals(target)) return;
+        if (target.isEmpty()) {
+            target = "journals/" + run + ".journal";
+        }
+        
+        try {
+            EventJournal journal = EventJournal.open(Paths.get(target), seed, width, height);
+            System.out.println("📼 Event journal: " + journal.getPath());
+            java.lang.Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                long records = journal.getRecordCount();
+                long bytes = journal.getBytesWritten();
+                journal.close();
+                System.out.println("📼 Journal " + journal.getPath() + ": " + records + " εγγραφές, " + (bytes / 1024) + " KB");
+            }));
+        } catch (IOException e) {
+            System.err.println("⚠️ Αδύνατο το άνοιγμα του journal " + target + ": " + e.getMessage());
+        }
+    }
+    
+    private static FireSpreadEngine restoreForest(Checkpoint.Snapshot resume) throws IOException {
+        java.nio.ByteBuffer state = resume.section("forest");
+        if (state == null) {
+            throw new IOException("Checkpoint without forest state");
+        }
+        long started = System.nanoTime();
+        FireSpreadEngine engine = FireSpreadEngine.fromState(resume.getSeed(), state);
+        System.out.println("🌲 Επαναφορά " + engine.getWidth() + "x" + engine.getHeight() + " σε " +
+                           (System.nanoTime() - started) / 1000 + "μs (αντί για " + GRID_SIZE * GRID_SIZE + " TreeAgents)");
+        return engine;
+    }
+    
+    // Πόσοι agents <prefix>N υπάρχουν στο checkpoint
+    private static int countSections(Checkpoint.Snapshot snapshot, String prefix) {
+        int count = 0;
+        for (String key : snapshot.getKeys()) {
+            if (key.startsWith(prefix) && key.length() > prefix.length() &&
+                key.substring(prefix.length()).chars().allMatch(Character::isDigit)) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    private static void reportHeadless(EventKernel kernel, RecordingView view) {
+        kernel.scheduleRepeating(HEADLESS_REPORT_MS, () ->
+            System.out.println("📊 [" + SimulationClock.format(kernel.now()) + "] " + view.getSummary()));
+        java.lang.Runtime.getRuntime().addShutdownHook(new Thread(() ->
+            System.out.println("📊 Τέλος headless run [" + SimulationClock.format(kernel.now()) + "] " + view.getSummary())));
+    }
+    
     private static void createCoreAgents(AgentContainer container, int numTrucks, int numAircraft, int numHelicopters, int numCrews) throws Exception {
         // Fire Control Agent
         AgentController fireControl = container.createNewAgent("firecontrol", 
@@ -129,52 +382,39 @@ public class MainContainer {
         emergency.start();
     }
     
-    private static void createFullGrid(AgentContainer container) throws Exception {
-        System.out.println("Creating full 150x150 grid (this may take several minutes)...");
+    private static void createFullGrid(AgentContainer container, FireSpreadEngine engine, AgentBootstrap boot) throws Exception {
+        System.out.println("Creating full 150x150 grid: " + GRID_SIZE * GRID_SIZE + " TreeAgents, " +
+                           boot.getThreads() + " threads...");
         
         for (int x = 1; x <= GRID_SIZE; x++) {
             for (int y = 1; y <= GRID_SIZE; y++) {
-                String agentName = GridManager.generateTreeAgentName(x, y);
-                AgentController tree = container.createNewAgent(agentName, 
-                    "agents.TreeAgent", new Object[]{x, y});
-                tree.start();
-            }
-            
-            if (x % 10 == 0) {
-                System.out.println("Created trees for row " + x + "/" + GRID_SIZE);
+                boot.add(GridManager.generateTreeAgentName(x, y), "agents.TreeAgent", new Object[]{x, y, engine});
             }
         }
+        boot.startAll(container, "TreeAgents");
     }
     
-    private static void createSampleGrid(AgentContainer container, int numTrees) throws Exception {
-        System.out.println("Creating sample grid with " + numTrees + " randomly distributed trees...");
-        Random rand = new Random();
+    // boot == null: μόνο τα δέντρα στο engine, οι TreeAgents έρχονται με τη φωτιά
+    private static void createSampleGrid(FireSpreadEngine engine, int numTrees, Random rand, AgentBootstrap boot) {
+        System.out.println("Creating sample grid with " + Math.min(numTrees, GRID_SIZE * GRID_SIZE) +
+                           " randomly distributed trees...");
         
-        for (int i = 0; i < numTrees; i++) {
-            int x = 1 + rand.nextInt(GRID_SIZE);
-            int y = 1 + rand.nextInt(GRID_SIZE);
-            
-            String agentName = GridManager.generateTreeAgentName(x, y);
-            
-            // Check if agent already exists (avoid duplicates)
-            try {
-                AgentController tree = container.createNewAgent(agentName, 
-                    "agents.TreeAgent", new Object[]{x, y});
-                tree.start();
-            } catch (Exception e) {
-                // Agent might already exist, continue
-                i--; // Try again with different coordinates
-            }
-            
-            if ((i + 1) % 100 == 0) {
-                System.out.println("Created " + (i + 1) + "/" + numTrees + " trees");
+        // Κάθε δέντρο σε διαφορετικό κελί (BitSet στο engine), ώστε κάθε όνομα να είναι μοναδικό
+        engine.populateSample(numTrees, rand);
+        if (boot == null) return;
+        
+        for (int y = 1; y <= GRID_SIZE; y++) {
+            for (int x = 1; x <= GRID_SIZE; x++) {
+                if (engine.hasTree(x, y)) {
+                    boot.add(GridManager.generateTreeAgentName(x, y), "agents.TreeAgent", new Object[]{x, y, engine});
+                }
             }
         }
     }
     
     private static void createTestFires(AgentContainer container) throws Exception {
         // Create a few fires for testing
-        int[][] firePositions = {{25, 25}, {75, 75}, {125, 125}, {50, 100}, {100, 50}};
+        int[][] firePositions = GridManager.TEST_FIRE_POSITIONS;
         
         for (int i = 0; i < firePositions.length; i++) {
             int x = firePositions[i][0];
@@ -0,0 +1,94 @@
+import jade.core.Runtime;
+import jade.core.Profile;
+import jade.core.ProfileImpl;
+import jade.wrapper.AgentContainer;
+import gui.RecordingView;
+import gui.SimulationViews;
+import simulation.EventKernel;
+import simulation.FireSpreadEngine;
+import simulation.SimulationClock;
+import simulation.TileLayout;
+
+/**
+ * Πλακίδια δάσους σε ξεχωριστή JVM, συνδεδεμένα στο main container ενός
+ * MainContainer που ξεκίνησε με -Dsim.tiles=... -Dsim.tiles.remote=true.
+ *
+ * Usage: java -Dfire.seed=N -cp "bin;lib/jade.jar" TileContainer <tile[,tile...]> <columns>x<rows> [trees]
+ *        (-Dsim.main=host:port, default localhost:1099; -Dsim.size=WxH as given to MainContainer)
+ *
+ * The tile's forest is built from the same seed and layout as in-process
+ * tiles would be; it talks to the rest of the platform only by messages, so
+ * it needs no window and runs headless.
+ */
+public class TileContainer {
+    private static final int GRID_SIZE = 150;
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Χρήση: java -Dfire.seed=N TileContainer <tile[,tile...]> <columns>x<rows> [trees]");
+            return;
+        }
+
+        TileLayout layout;
+        int[] owned;
+        int trees;
+        try {
+            String world = System.getProperty("sim.size", "");
+            layout = world.isEmpty() ? TileLayout.parse(args[1], GRID_SIZE, GRID_SIZE) : TileLayout.parse(args[1], world);
+            trees = layout.getWidth() * layout.getHeight();
+            String[] names = args[0].split(",");
+            owned = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                owned[i] = Integer.parseInt(names[i].trim());
+                if (owned[i] < 0 || owned[i] >= layout.getTileCount()) {
+                    throw new IllegalArgumentException("Tile " + owned[i] + " outside " + layout);
+                }
+            }
+            if (args.length >= 3) {
+                trees = Integer.parseInt(args[2]);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            return;
+        }
+
+        String seedProperty = System.getProperty("fire.seed");
+        if (seedProperty == null) {
+            System.err.println("❌ Χρειάζεται -Dfire.seed ίδιο με του MainContainer");
+            return;
+        }
+        long seed = Long.parseLong(seedProperty);
+
+        System.setProperty("java.awt.headless", "true");
+        SimulationViews.useHeadless(new RecordingView(Integer.getInteger("headless.log", 200)));
+        if ("fast".equalsIgnoreCase(System.getProperty("sim.mode"))) {
+            System.out.println("⚠️ Πλακίδια σε άλλες JVM: PACED αντί για FAST");
+        }
+        EventKernel.configure(SimulationClock.Mode.PACED, Double.parseDouble(System.getProperty("sim.speed", "1")));
+
+        String[] main = System.getProperty("sim.main", "localhost:1099").split(":");
+        try {
+            Profile profile = new ProfileImpl();
+            profile.setParameter(Profile.MAIN_HOST, main[0]);
+            profile.setParameter(Profile.MAIN_PORT, main.length > 1 ? main[1] : "1099");
+            profile.setParameter(Profile.CONTAINER_NAME, TileLayout.containerName(owned[0]));
+            AgentContainer container = Runtime.instance().createAgentContainer(profile);
+            if (container == null) {
+                System.err.println("❌ Αδύνατη η σύνδεση στο main container " + String.join(":", main));
+                return;
+            }
+
+            int parallelism = Math.max(1, java.lang.Runtime.getRuntime().availableProcessors() / owned.length);
+            for (int tile : owned) {
+                FireSpreadEngine engine = layout.createEngine(tile, seed, trees, parallelism);
+                container.createNewAgent(TileLayout.agentName(tile), "agents.ForestAgent",
+                    new Object[]{engine, 0, layout, tile}).start();
+            }
+            EventKernel.getInstance().start();
+            System.out.println("🧩 " + owned.length + " πλακίδια " + layout + " στο " + TileLayout.containerName(owned[0]) +
+                               ", συνδεδεμένα στο " + String.join(":", main));
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package agents;
+
+import jade.wrapper.AgentContainer;
+import jade.wrapper.AgentController;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Μαζική δημιουργία agents κατά την εκκίνηση, με χρονομέτρηση ανά φάση.
+ *
+ * add() only queues an agent; startAll() creates the whole queue and then
+ * starts it in batches of BATCH_SIZE on a small pool (-Dboot.threads,
+ * default: the core count). Creation stays on the calling thread, because
+ * JADE's local agent table inserts without a lock; starting an agent only
+ * looks it up, and it is the part that costs (a thread per agent). Names are
+ * expected to be unique - the caller allocates the cells up front - so a
+ * failure is counted and reported, never retried.
+ *
+ * Tree facades print nothing in setup(), so a batch shows only about ten
+ * progress lines. mark() closes a phase of the startup and printReport()
+ * prints them all.
+ */
+public final class AgentBootstrap {
+    public static final int BATCH_SIZE = 500;
+
+    private final int threads;
+    private final List<Spec> queued = new ArrayList<>();
+    private final List<String> phases = new ArrayList<>();
+    private final long started = System.nanoTime();
+    private long phaseStart = started;
+
+    private static final class Spec {
+        final String name, className;
+        final Object[] args;
+
+        Spec(String name, String className, Object[] args) {
+            this.name = name;
+            this.className = className;
+            this.args = args;
+        }
+    }
+
+    public AgentBootstrap() {
+        this(Integer.getInteger("boot.threads", java.lang.Runtime.getRuntime().availableProcessors()));
+    }
+
+    public AgentBootstrap(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    public int getThreads() { return threads; }
+
+    public void add(String name, String className, Object[] args) {
+        queued.add(new Spec(name, className, args));
+    }
+
+    /** Creates and starts everything queued since the last call; returns how many started. */
+    public int startAll(AgentContainer container, String phase) throws InterruptedException {
+        int total = queued.size();
+        if (total == 0) return 0;
+
+        // Δημιουργία σε ένα νήμα: ο πίνακας agents του container (LADT) δεν αντέχει ταυτόχρονα put
+        List<AgentController> created = new ArrayList<>(total);
+        int failed = 0;
+        int pool = 1;
+        try {
+            for (Spec spec : queued) {
+                try {
+                    created.add(container.createNewAgent(spec.name, spec.className, spec.args));
+                } catch (Exception e) {
+                    failed++;
+                    System.err.println("❌ Αποτυχία δημιουργίας " + spec.name + ": " + e.getMessage());
+                }
+            }
+
+            // Εκκίνηση σε παρτίδες: εδώ είναι το κόστος, ένα νήμα ανά agent
+            pool = Math.max(1, Math.min(threads, (created.size() + BATCH_SIZE - 1) / BATCH_SIZE));
+            failed += startBatches(created, pool, phase);
+        } finally {
+            queued.clear();
+        }
+
+        int count = total - failed;
+        mark(phase + " (" + count + (failed > 0 ? ", " + failed + " αποτυχίες" : "")
+             + ", " + pool + (pool == 1 ? " νήμα" : " νήματα") + ")");
+        return count;
+    }
+
+    private static int startBatches(List<AgentController> agents, int pool, String phase) throws InterruptedException {
+        int total = agents.size();
+        int step = Math.max(BATCH_SIZE, total / 10); // περίπου 10 γραμμές προόδου
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(pool, r -> {
+            Thread t = new Thread(r, "agent-bootstrap");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<?>> batches = new ArrayList<>();
+            for (int from = 0; from < total; from += BATCH_SIZE) {
+                List<AgentController> batch = agents.subList(from, Math.min(total, from + BATCH_SIZE));
+                batches.add(executor.submit(() -> {
+                    for (AgentController agent : batch) {
+                        try {
+                            agent.start();
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                            System.err.println("❌ Αποτυχία εκκίνησης agent: " + e.getMessage());
+                        }
+                    }
+                    int before = done.getAndAdd(batch.size());
+                    int after = before + batch.size();
+                    if (after / step != before / step || after == total) {
+                        System.out.println("   " + phase + ": " + after + "/" + total);
+                    }
+                }));
+            }
+            for (Future<?> batch : batches) {
+                try {
+                    batch.get();
+                } catch (ExecutionException e) {
+                    System.err.println("❌ Σφάλμα κατά την εκκίνηση agents: " + e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return failed.get();
+    }
+
+    /** Ends the current startup phase under this label. */
+    public void mark(String phase) {
+        long now = System.nanoTime();
+        phases.add(String.format("%-48s %8d ms", phase, (now - phaseStart) / 1_000_000));
+        phaseStart = now;
+    }
+
+    public void printReport() {
+        System.out.println("⏱️ Χρόνοι εκκίνησης:");
+        for (String phase : phases) {
+            System.out.println("├─ " + phase);
+        }
+        System.out.println(String.format("└─ %-48s %8d ms", "Σύνολο", (System.nanoTime() - started) / 1_000_000));
+    }
+}
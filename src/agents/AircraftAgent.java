@@ -3,13 +3,22 @@ package agents;
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.lang.acl.ACLMessage;
-import gui.FireSimulationGUI; // Προσθήκη import
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import gui.SimulationView;
+import gui.SimulationViews;
+import utils.GridManager;
+import protocol.*;
+import simulation.EventJournal;
 
 public class AircraftAgent extends Agent {
     private boolean deployed = false;
+    private boolean outbound = false; // καθ' οδόν προς τη φωτιά - δεκτή αλλαγή στόχου
+    private UnitMission mission;
     private int waterCapacity = 1000;
     private int currentWater = 1000;
-    private FireSimulationGUI gui;
+    private volatile SimulationView gui;
     
     // Movement speed constants (in milliseconds per step)
     private static final int AIRCRAFT_SPEED_DELAY = 50; // Fastest speed: ~300 km/h
@@ -18,7 +27,7 @@ public class AircraftAgent extends Agent {
     protected void setup() {
         // Αρχικοποίηση GUI
         javax.swing.SwingUtilities.invokeLater(() -> {
-            gui = FireSimulationGUI.getInstance();
+            gui = SimulationViews.current();
         });
         
         String message = getLocalName() + ": Πυροσβεστικό αεροπλάνο έτοιμο στη βάση (Χωρητικότητα: " + waterCapacity + "L)";
@@ -30,30 +39,46 @@ public class AircraftAgent extends Agent {
             }
         });
         
+        restoreState();
+        StateCapture.register(this, this::writeState);
+        
         // Ειδοποίηση διαθεσιμότητας
-        ACLMessage available = new ACLMessage(ACLMessage.INFORM);
-        available.setContent("AIRCRAFT_AVAILABLE capacity:" + currentWater);
+        ACLMessage available = MessageCodec.create(ACLMessage.INFORM,
+                new Availability(FireMessage.UNIT_AIRCRAFT, currentWater, "", 0));
         available.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
         send(available);
         
+        KernelWakeup.watchMailbox(this);
         addBehaviour(new CyclicBehaviour() {
             @Override
             public void action() {
                 ACLMessage msg = receive();
                 
                 if (msg != null) {
+                    FireMessage message = MessageCodec.read(msg);
                     String content = msg.getContent();
                     
-                    if (content.startsWith("DEPLOY_AIRCRAFT") && !deployed) {
-                        String target = content.substring(content.indexOf("to") + 3);
-                        deployToFire(target);
+                    if (message instanceof Deploy && (!deployed || outbound)) {
+                        Deploy deploy = (Deploy) message;
+                        if (deployed) {
+                            mission.abort();
+                            System.out.println(getLocalName() + ": Αλλαγή στόχου εν πτήσει");
+                        }
+                        deployToFire(deploy.x, deploy.y);
                         
-                    } else if (content.startsWith("REFILL_REQUEST")) {
-                        if (currentWater < waterCapacity * 0.3) {
-                            refillWater();
+                    } else if (message == null && content != null && content.startsWith("REFILL_REQUEST")) {
+                        if (!deployed && currentWater < waterCapacity * 0.3) {
+                            deployed = true;
+                            mission = refillWater(new UnitMission(AircraftAgent.this, getAirfieldX(), getAirfieldY()))
+                                .then(() -> deployed = false);
+                            addBehaviour(mission);
+                        }
+                    } else if (message != null && message.getType() == FireMessage.STATUS_REQUEST) {
+                        if (deployed) {
+                            sendBusyStatus(msg);
+                        } else {
+                            sendAvailabilityStatus();
                         }
-                    } else if (content.equals("STATUS_REQUEST")) {
-                        sendAvailabilityStatus();
                     }
                 } else {
                     block();
@@ -62,64 +87,63 @@ public class AircraftAgent extends Agent {
         });
     }
     
-    private void deployToFire(String location) {
+    @Override
+    protected void takeDown() {
+        StateCapture.unregister(this);
+        KernelWakeup.detach(this);
+    }
+    
+    private void deployToFire(int targetX, int targetY) {
         deployed = true;
-        
-        // Parse target coordinates
-        String[] coords = location.replace("(", "").replace(")", "").split(",");
-        int targetX = Integer.parseInt(coords[0]);
-        int targetY = Integer.parseInt(coords[1]);
+        outbound = true;
+        String location = "(" + targetX + "," + targetY + ")";
         
         String takeoffMessage = getLocalName() + ": Απογείωση! Πτήση προς " + location;
         System.out.println(takeoffMessage);
         
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("✈️ " + takeoffMessage);
-            }
-        });
-        
-        // Fly to target location
-        flyToLocation(targetX, targetY);
-        
-        String arrivalMessage = getLocalName() + ": Άφιξη στην περιοχή " + location;
-        System.out.println(arrivalMessage);
-        
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("🎯 " + arrivalMessage);
-            }
-        });
-        
-        performWaterDrop(location);
-        
-        String returnMessage = getLocalName() + ": Επιστροφή στη βάση";
-        System.out.println(returnMessage);
-        
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("🔄 " + returnMessage);
-            }
-        });
+        if (gui != null) {
+            gui.addLog("✈️ " + takeoffMessage);
+        }
         
-        // Fly back to base
-        int airfieldX = FireSimulationGUI.getCommandCenterX();
-        int airfieldY = Math.max(5, FireSimulationGUI.getCommandCenterY() - 10);
-        flyToLocation(airfieldX, airfieldY);
+        int startX = mission != null ? mission.getX() : getAirfieldX();
+        int startY = mission != null ? mission.getY() : getAirfieldY();
         
-        deployed = false;
+        mission = new UnitMission(this, startX, startY)
+            .moveTo("ΠΤΗΣΗ", targetX, targetY, AIRCRAFT_SPEED_DELAY, "AIRCRAFT")
+            .then(() -> {
+                outbound = false;
+                String arrivalMessage = getLocalName() + ": Άφιξη στην περιοχή " + location;
+                System.out.println(arrivalMessage);
+                
+                if (gui != null) {
+                    gui.addLog("🎯 " + arrivalMessage);
+                }
+                
+                performWaterDrop(targetX, targetY);
+                
+                String returnMessage = getLocalName() + ": Επιστροφή στη βάση";
+                System.out.println(returnMessage);
+                
+                if (gui != null) {
+                    gui.addLog("🔄 " + returnMessage);
+                }
+            })
+            .moveTo("ΕΠΙΣΤΡΟΦΗ", getAirfieldX(), getAirfieldY(), AIRCRAFT_SPEED_DELAY, "AIRCRAFT");
         
-        if (currentWater < waterCapacity * 0.5) {
-            refillWater();
+        // Το νερό που θα μείνει μετά τη ρίψη (έως 300L) κρίνει αν θα γίνει ανεφοδιασμός
+        if (currentWater - Math.min(currentWater, 300) < waterCapacity * 0.5) {
+            refillWater(mission);
         }
         
-        sendAvailabilityStatus();
+        mission.then(() -> {
+            deployed = false;
+            sendAvailabilityStatus();
+        });
+        addBehaviour(mission);
     }
     
-    private void performWaterDrop(String location) {
-        String[] coords = location.replace("(", "").replace(")", "").split(",");
-        int centerX = Integer.parseInt(coords[0]);
-        int centerY = Integer.parseInt(coords[1]);
+    private void performWaterDrop(int centerX, int centerY) {
+        String location = "(" + centerX + "," + centerY + ")";
         
         int waterUsed = Math.min(currentWater, 300);
         currentWater -= waterUsed;
@@ -128,12 +152,10 @@ public class AircraftAgent extends Agent {
                            waterUsed + "L (Απομένουν: " + currentWater + "L)";
         System.out.println(dropMessage);
         
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("💧 " + dropMessage);
-                gui.showWaterDropAt(centerX, centerY, getLocalName());
-            }
-        });
+        if (gui != null) {
+            gui.addLog("💧 " + dropMessage);
+            gui.showWaterDropAt(centerX, centerY, getLocalName());
+        }
         
         // Κατάσβεση σε ευρύτερη περιοχή
         for (int dx = -1; dx <= 1; dx++) {
@@ -141,8 +163,9 @@ public class AircraftAgent extends Agent {
                 int x = centerX + dx;
                 int y = centerY + dy;
                 
-                ACLMessage extinguish = new ACLMessage(ACLMessage.REQUEST);
-                extinguish.setContent("AERIAL_EXTINGUISH at (" + x + "," + y + ") effectiveness:0.8");
+                ACLMessage extinguish = MessageCodec.create(ACLMessage.REQUEST,
+                        new Extinguish(Extinguish.AERIAL, x, y, 0.8));
+                EventJournal.current().suppression(getLocalName(), Extinguish.AERIAL, x, y);
                 extinguish.addReceiver(new jade.core.AID("fire1", jade.core.AID.ISLOCALNAME));
                 
                 String treeName = findTreeAtPosition(x, y);
@@ -160,51 +183,66 @@ public class AircraftAgent extends Agent {
         send(report);
     }
     
-    private void refillWater() {
-        // Show aircraft at airfield during refill
-        int airfieldX = FireSimulationGUI.getCommandCenterX();
-        int airfieldY = Math.max(5, FireSimulationGUI.getCommandCenterY() - 10);
-        
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.showAgentAt(airfieldX, airfieldY, "AIRCRAFT", getLocalName());
-            }
-        });
-        
-        String refillMessage = getLocalName() + ": Ανεφοδιασμός νερού...";
-        System.out.println(refillMessage);
-        
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("🔄 " + refillMessage);
-            }
-        });
-        
-        doWait(10000);
-        currentWater = waterCapacity;
-        
-        String completeMessage = getLocalName() + ": Ανεφοδιασμός ολοκληρώθηκε - " + currentWater + "L";
-        System.out.println(completeMessage);
-        
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("✅ " + completeMessage);
+    private UnitMission refillWater(UnitMission refill) {
+        return refill
+            .then(() -> {
+                // Show aircraft at airfield during refill
+                showAircraftAt(getAirfieldX(), getAirfieldY());
+                
+                String refillMessage = getLocalName() + ": Ανεφοδιασμός νερού...";
+                System.out.println(refillMessage);
+                
+                if (gui != null) {
+                    gui.addLog("🔄 " + refillMessage);
+                }
+            })
+            .work("ΑΝΕΦΟΔΙΑΣΜΟΣ", 10000)
+            .then(() -> {
+                currentWater = waterCapacity;
+                
+                String completeMessage = getLocalName() + ": Ανεφοδιασμός ολοκληρώθηκε - " + currentWater + "L";
+                System.out.println(completeMessage);
+                
+                if (gui != null) {
+                    gui.addLog("✅ " + completeMessage);
+                }
+            });
+    }
+    
+    // Checkpoint: θέση και νερό· μετά τη συνέχιση περιμένει εκεί νέα αποστολή
+    private void writeState(DataOutputStream out) throws IOException {
+        out.writeShort(mission != null ? mission.getX() : getAirfieldX());
+        out.writeShort(mission != null ? mission.getY() : getAirfieldY());
+        out.writeInt(currentWater);
+    }
+    
+    private void restoreState() {
+        DataInputStream in = StateCapture.restored(this);
+        if (in == null) return;
+        try {
+            int x = in.readShort();
+            int y = in.readShort();
+            currentWater = in.readInt();
+            mission = UnitMission.idleAt(this, x, y);
+            if (x != getAirfieldX() || y != getAirfieldY()) {
+                javax.swing.SwingUtilities.invokeLater(() -> showAircraftAt(x, y));
             }
-        });
+            System.out.println(getLocalName() + ": Συνέχιση από checkpoint στη θέση (" + x + "," + y + ") - Νερό: " + currentWater + "L");
+        } catch (IOException e) {
+            System.err.println(getLocalName() + ": ❌ Αλλοιωμένο checkpoint: " + e.getMessage());
+        }
     }
     
     private void sendAvailabilityStatus() {
         String message = getLocalName() + ": Διαθέσιμο (Νερό: " + currentWater + "L)";
         System.out.println(message);
         
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("🟢 " + message);
-            }
-        });
+        if (gui != null) {
+            gui.addLog("🟢 " + message);
+        }
         
-        ACLMessage available = new ACLMessage(ACLMessage.INFORM);
-        available.setContent("AIRCRAFT_AVAILABLE capacity:" + currentWater);
+        ACLMessage available = MessageCodec.create(ACLMessage.INFORM,
+                new Availability(FireMessage.UNIT_AIRCRAFT, currentWater, "", 0));
         available.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
         send(available);
     }
@@ -225,30 +263,27 @@ public class AircraftAgent extends Agent {
         return null;
     }
     
-    private void flyToLocation(int targetX, int targetY) {
-        // Aircraft start from airfield near command center
-        int currentX = FireSimulationGUI.getCommandCenterX();
-        int currentY = Math.max(5, FireSimulationGUI.getCommandCenterY() - 10);
-        
-        // Calculate flight path
-        int steps = Math.max(Math.abs(targetX - currentX), Math.abs(targetY - currentY));
-        if (steps == 0) return;
-        
-        double deltaX = (double)(targetX - currentX) / steps;
-        double deltaY = (double)(targetY - currentY) / steps;
-        
-        // Animate flight
-        for (int i = 0; i <= steps; i++) {
-            final int newX = currentX + (int)(deltaX * i);
-            final int newY = currentY + (int)(deltaY * i);
-            
-            javax.swing.SwingUtilities.invokeLater(() -> {
-                if (gui != null) {
-                    gui.showAgentAt(newX, newY, "AIRCRAFT", getLocalName());
-                }
-            });
-            
-            doWait(AIRCRAFT_SPEED_DELAY); // Fastest movement for aircraft
+    // Aircraft are based at the airfield near the command center
+    private static int getAirfieldX() {
+        return GridManager.getCommandCenterX();
+    }
+    
+    private static int getAirfieldY() {
+        return Math.max(5, GridManager.getCommandCenterY() - 10);
+    }
+    
+    private void showAircraftAt(int x, int y) {
+        if (gui != null) {
+            gui.showAgentAt(x, y, "AIRCRAFT", getLocalName());
         }
     }
+    
+    // Απάντηση σε STATUS_REQUEST ενώ η αποστολή είναι σε εξέλιξη
+    private void sendBusyStatus(ACLMessage request) {
+        UnitStatus status = new UnitStatus(FireMessage.UNIT_AIRCRAFT, mission.getPhase(),
+                                           mission.getX(), mission.getY(), currentWater, 0);
+        ACLMessage reply = MessageCodec.create(ACLMessage.INFORM, status);
+        reply.addReceiver(request.getSender());
+        send(reply);
+    }
 }
\ No newline at end of file
@@ -3,6 +3,10 @@ package agents;
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.lang.acl.ACLMessage;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import protocol.*;
 
 public class EmergencyResponseAgent extends Agent {
     private boolean activated = false;
@@ -11,23 +15,35 @@ public class EmergencyResponseAgent extends Agent {
     protected void setup() {
         System.out.println(getLocalName() + ": 🚨 Μονάδα Έκτακτης Ανάγκης σε ετοιμότητα");
         
+        DataInputStream restored = StateCapture.restored(this);
+        if (restored != null) {
+            try {
+                activated = restored.readBoolean();
+            } catch (IOException e) {
+                System.err.println(getLocalName() + ": ❌ Αλλοιωμένο checkpoint: " + e.getMessage());
+            }
+        }
+        StateCapture.register(this, out -> out.writeBoolean(activated));
+        
         // Ειδοποίηση διαθεσιμότητας
-        ACLMessage available = new ACLMessage(ACLMessage.INFORM);
-        available.setContent("EMERGENCY_UNIT_AVAILABLE");
+        ACLMessage available = MessageCodec.create(ACLMessage.INFORM, new Availability(FireMessage.UNIT_EMERGENCY));
         available.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
         send(available);
         
+        KernelWakeup.watchMailbox(this);
         addBehaviour(new CyclicBehaviour() {
             @Override
             public void action() {
                 ACLMessage msg = receive();
                 
                 if (msg != null) {
-                    String content = msg.getContent();
+                    FireMessage message = MessageCodec.read(msg);
                     
-                    if (content.equals("ACTIVATE_EMERGENCY_PROTOCOL")) {
+                    if (message == null) {
+                        // Μη αναγνωρίσιμο μήνυμα
+                    } else if (message.getType() == FireMessage.ACTIVATE_EMERGENCY) {
                         activateEmergencyProtocol();
-                    } else if (content.equals("STATUS_REQUEST")) {
+                    } else if (message.getType() == FireMessage.STATUS_REQUEST) {
                         sendAvailabilityStatus();
                     }
                 } else {
@@ -37,6 +53,12 @@ public class EmergencyResponseAgent extends Agent {
         });
     }
     
+    @Override
+    protected void takeDown() {
+        StateCapture.unregister(this);
+        KernelWakeup.detach(this);
+    }
+    
     private void activateEmergencyProtocol() {
         if (!activated) {
             activated = true;
@@ -47,12 +69,16 @@ public class EmergencyResponseAgent extends Agent {
             System.out.println(getLocalName() + ": - Εθελοντικές ομάδες");
             System.out.println(getLocalName() + ": - Διεθνή βοήθεια");
             
-            doWait(3000);
-            
-            System.out.println(getLocalName() + ": ✅ Ενισχύσεις ειδοποιημένες - Αναμένεται άφιξη");
-            
-            // Προσομοίωση άφιξης ενισχύσεων
-            simulateReinforcements();
+            // Οι κλήσεις διαρκούν 3 δευτερόλεπτα - το mailbox μένει ενεργό στο μεταξύ
+            addBehaviour(new SimWakerBehaviour(this, 3000) {
+                @Override
+                protected void onWake() {
+                    System.out.println(getLocalName() + ": ✅ Ενισχύσεις ειδοποιημένες - Αναμένεται άφιξη");
+                    
+                    // Προσομοίωση άφιξης ενισχύσεων
+                    simulateReinforcements();
+                }
+            });
         }
     }
     
@@ -70,8 +96,7 @@ public class EmergencyResponseAgent extends Agent {
     }
     
     private void sendAvailabilityStatus() {
-        ACLMessage available = new ACLMessage(ACLMessage.INFORM);
-        available.setContent("EMERGENCY_UNIT_AVAILABLE");
+        ACLMessage available = MessageCodec.create(ACLMessage.INFORM, new Availability(FireMessage.UNIT_EMERGENCY));
         available.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
         send(available);
     }
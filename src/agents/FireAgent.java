@@ -1,11 +1,17 @@
 package agents;
 
 import jade.core.Agent;
-import jade.core.behaviours.TickerBehaviour;
 import jade.lang.acl.ACLMessage;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.*;
 import java.nio.charset.StandardCharsets;
-import gui.FireSimulationGUI;
+import gui.SimulationView;
+import gui.SimulationViews;
+import protocol.*;
+import simulation.EventJournal;
+import simulation.SpreadBatch;
 
 public class FireAgent extends Agent {
     private int intensity = 5;
@@ -14,7 +20,8 @@ public class FireAgent extends Agent {
     private int currentX = 1, currentY = 1;
     private boolean fullyExtinguished = false;
     private int extinguishedTime = 0;
-    private FireSimulationGUI gui; // Προσθήκη GUI reference
+    private volatile SimulationView gui; // Προσθήκη GUI reference
+    private final SpreadBatch spreadBatch = new SpreadBatch(); // διάδοση του τρέχοντος tick
     
     @Override
     protected void setup() {
@@ -33,17 +40,22 @@ public class FireAgent extends Agent {
         
         // Αρχικοποίηση GUI
         javax.swing.SwingUtilities.invokeLater(() -> {
-            gui = FireSimulationGUI.getInstance();
+            gui = SimulationViews.current();
         });
         
-        fireLocations.add(currentX + "," + currentY);
-        String message = getLocalName() + ": Εστία φωτιάς ενεργή στη θέση (" + currentX + "," + currentY + ")";
-        System.out.println(message);
-        if (gui != null) {
-            gui.addLog("🔥 " + message);
+        if (!restoreState()) {
+            fireLocations.add(currentX + "," + currentY);
+            EventJournal.current().ignition(currentX, currentY, intensity, EventJournal.HOTSPOT);
+            String message = getLocalName() + ": Εστία φωτιάς ενεργή στη θέση (" + currentX + "," + currentY + ")";
+            System.out.println(message);
+            if (gui != null) {
+                gui.addLog("🔥 " + message);
+            }
         }
+        StateCapture.register(this, this::writeState);
 
         // ΠΡΟΣΘΗΚΗ: CyclicBehaviour για διαχείριση μηνυμάτων κατάσβεσης
+        KernelWakeup.watchMailbox(this);
         addBehaviour(new jade.core.behaviours.CyclicBehaviour() {
             @Override
             public void action() {
@@ -56,7 +68,7 @@ public class FireAgent extends Agent {
             }
         });
 
-        addBehaviour(new TickerBehaviour(this, 3000) {
+        addBehaviour(new SimTickerBehaviour(this, 3000) {
             @Override
             protected void onTick() {
                 if (fireLocations.isEmpty()) {
@@ -69,7 +81,60 @@ public class FireAgent extends Agent {
         });
     }
     
-    private void handleActiveFire() {
+    @Override
+    protected void takeDown() {
+        StateCapture.unregister(this);
+        KernelWakeup.detach(this);
+    }
+    
+    // Checkpoint: οι εστίες και η κατάσταση παρακολούθησης
+    private void writeState(DataOutputStream out) throws IOException {
+        out.writeInt(intensity);
+        out.writeShort(currentX);
+        out.writeShort(currentY);
+        out.writeBoolean(fullyExtinguished);
+        out.writeInt(extinguishedTime);
+        writeLocations(out, fireLocations);
+        writeLocations(out, extinguishedLocations);
+    }
+    
+    private static void writeLocations(DataOutputStream out, Set<String> locations) throws IOException {
+        out.writeInt(locations.size());
+        for (String location : locations) {
+            out.writeUTF(location);
+        }
+    }
+    
+    private boolean restoreState() {
+        DataInputStream in = StateCapture.restored(this);
+        if (in == null) return false;
+        try {
+            intensity = in.readInt();
+            currentX = in.readShort();
+            currentY = in.readShort();
+            fullyExtinguished = in.readBoolean();
+            extinguishedTime = in.readInt();
+            readLocations(in, fireLocations);
+            readLocations(in, extinguishedLocations);
+        } catch (IOException e) {
+            System.err.println(getLocalName() + ": ❌ Αλλοιωμένο checkpoint: " + e.getMessage());
+            fireLocations.clear();
+            extinguishedLocations.clear();
+            return false;
+        }
+        System.out.println(getLocalName() + ": Συνέχιση από checkpoint - " + fireLocations.size() +
+                           " ενεργές εστίες, " + extinguishedLocations.size() + " σβησμένες");
+        return true;
+    }
+    
+    private static void readLocations(DataInputStream in, Set<String> locations) throws IOException {
+        for (int n = in.readInt(); n > 0; n--) {
+            locations.add(in.readUTF());
+        }
+    }
+    
+    // Package-private για τα benchmarks/
+    void handleActiveFire() {
         intensity++;
         fullyExtinguished = false;
         extinguishedTime = 0;
@@ -89,20 +154,19 @@ public class FireAgent extends Agent {
             System.out.println(message);
             
             // ΕΝΗΜΕΡΩΣΗ GUI ΜΕ ΕΜΦΑΝΙΣΗ ΕΝΤΑΣΗΣ
-            javax.swing.SwingUtilities.invokeLater(() -> {
-                if (gui != null) {
-                    gui.showFireAt(x, y, intensity);
-                    // Δεν προσθέτουμε log για κάθε update - μόνο για νέες εστίες
-                }
-            });
+            if (gui != null) {
+                gui.showFireAt(x, y, intensity);
+                // Δεν προσθέτουμε log για κάθε update - μόνο για νέες εστίες
+            }
             
-            ACLMessage msg = new ACLMessage(ACLMessage.INFORM);
-            msg.setContent("FIRE_SPREAD from " + x + "," + y + " intensity:" + intensity);
+            ACLMessage msg = MessageCodec.create(ACLMessage.INFORM, FireSpread.spread(x, y, intensity));
             msg.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
             send(msg);
             
-            notifyNeighboringTrees(x, y);
+            spreadBatch.addNeighbours(x, y, intensity);
         }
+        
+        notifyNeighboringTrees();
     }
     
     private void handleFullExtinguishment() {
@@ -113,15 +177,12 @@ public class FireAgent extends Agent {
             System.out.println(message);
             
             // Ενημέρωση GUI
-            javax.swing.SwingUtilities.invokeLater(() -> {
-                if (gui != null) {
-                    gui.addLog("✅ " + message);
-                    gui.showAllExtinguished();
-                }
-            });
+            if (gui != null) {
+                gui.addLog("✅ " + message);
+                gui.showAllExtinguished();
+            }
             
-            ACLMessage msg = new ACLMessage(ACLMessage.INFORM);
-            msg.setContent("FIRE_FULLY_EXTINGUISHED");
+            ACLMessage msg = MessageCodec.create(ACLMessage.INFORM, Signal.FULLY_EXTINGUISHED);
             msg.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
             send(msg);
         }
@@ -133,11 +194,9 @@ public class FireAgent extends Agent {
                            (extinguishedTime * 3) + " δευτερόλεπτα από την κατάσβεση)";
             System.out.println(message);
             
-            javax.swing.SwingUtilities.invokeLater(() -> {
-                if (gui != null) {
-                    gui.addLog("🔍 " + message);
-                }
-            });
+            if (gui != null) {
+                gui.addLog("🔍 " + message);
+            }
         }
     }
     
@@ -158,19 +217,17 @@ public class FireAgent extends Agent {
                 String[] coords = reignitionLocation.split(",");
                 int x = Integer.parseInt(coords[0]);
                 int y = Integer.parseInt(coords[1]);
+                EventJournal.current().ignition(x, y, intensity, EventJournal.REIGNITION);
                 
                 String message = getLocalName() + ": *** ΑΝΑΖΟΠΥΡΩΣΗ στη θέση (" + x + "," + y + ")! ***";
                 System.out.println(message);
                 
-                javax.swing.SwingUtilities.invokeLater(() -> {
-                    if (gui != null) {
-                        gui.addLog("🔥 " + message);
-                        gui.showFireAt(x, y, intensity);
-                    }
-                });
+                if (gui != null) {
+                    gui.addLog("🔥 " + message);
+                    gui.showFireAt(x, y, intensity);
+                }
                 
-                ACLMessage msg = new ACLMessage(ACLMessage.INFORM);
-                msg.setContent("FIRE_REIGNITION at (" + x + "," + y + ")");
+                ACLMessage msg = MessageCodec.create(ACLMessage.INFORM, FireSpread.reignition(x, y, intensity));
                 msg.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
                 send(msg);
             }
@@ -210,40 +267,29 @@ public class FireAgent extends Agent {
             String[] newCoords = newLocation.split(",");
             int newX = Integer.parseInt(newCoords[0]);
             int newY = Integer.parseInt(newCoords[1]);
+            EventJournal.current().spread(newX, newY, intensity);
             
             String message = getLocalName() + ": Η φωτιά εξαπλώθηκε στη θέση (" + newX + "," + newY + ")!";
             System.out.println(message);
             
-            javax.swing.SwingUtilities.invokeLater(() -> {
-                if (gui != null) {
-                    gui.addLog("🔥 " + message);
-                    gui.showFireAt(newX, newY, intensity);
-                }
-            });
+            if (gui != null) {
+                gui.addLog("🔥 " + message);
+                gui.showFireAt(newX, newY, intensity);
+            }
         }
     }
     
-    private void notifyNeighboringTrees(int x, int y) {
-        ACLMessage fireSpread = new ACLMessage(ACLMessage.INFORM);
-        fireSpread.setContent("FIRE_SPREAD from " + x + "," + y + " intensity:" + intensity);
+    // Ένα μήνυμα ανά tick για όλες τις εστίες· το δάσος (ForestAgent) επιλύει τη διάδοση
+    private void notifyNeighboringTrees() {
+        if (spreadBatch.isEmpty()) return;
         
-        boolean hasNeighbors = false;
-        for (int dx = -1; dx <= 1; dx++) {
-            for (int dy = -1; dy <= 1; dy++) {
-                if (dx == 0 && dy == 0) continue;
-                
-                int nx = x + dx, ny = y + dy;
-                String treeName = findTreeAtPosition(nx, ny);
-                if (treeName != null) {
-                    fireSpread.addReceiver(new jade.core.AID(treeName, jade.core.AID.ISLOCALNAME));
-                    hasNeighbors = true;
-                }
-            }
-        }
+        ACLMessage fireSpread = new ACLMessage(ACLMessage.INFORM);
+        fireSpread.setOntology(SpreadBatch.ONTOLOGY);
+        fireSpread.setByteSequenceContent(spreadBatch.encode());
+        fireSpread.addReceiver(new jade.core.AID("forest", jade.core.AID.ISLOCALNAME));
+        send(fireSpread);
         
-        if (hasNeighbors) {
-            send(fireSpread);
-        }
+        spreadBatch.clear();
     }
     
     private String findTreeAtPosition(int nx, int ny) {
@@ -260,70 +306,20 @@ public class FireAgent extends Agent {
     
     // ΠΡΟΣΘΗΚΗ: Νέα μέθοδος για διαχείριση μηνυμάτων κατάσβεσης
     private void processExtinguishMessage(ACLMessage msg) {
-        String content = msg.getContent();
+        FireMessage message = MessageCodec.read(msg);
+        if (!(message instanceof Extinguish)) return;
         
-        if (content.startsWith("EXTINGUISH_AT")) {
-            String location = content.substring(13); // Μετά το "EXTINGUISH_AT "
-            String[] coords = location.split(",");
-            if (coords.length == 2) {
-                try {
-                    int x = Integer.parseInt(coords[0]);
-                    int y = Integer.parseInt(coords[1]);
-                    extinguishAt(x, y);
-                } catch (NumberFormatException e) {
-                    System.out.println("Σφάλμα παρσαρίσματος συντεταγμένων: " + location);
-                }
-            }
-        } else if (content.contains("EXTINGUISH") || content.contains("AERIAL_EXTINGUISH") || 
-                   content.contains("HELICOPTER_EXTINGUISH") || content.contains("GROUND_EXTINGUISH")) {
-            
-            // Εξαγωγή αποτελεσματικότητας
-            double effectiveness = 0.8; // default
-            if (content.contains("effectiveness:")) {
-                try {
-                    String effStr = content.substring(content.indexOf("effectiveness:") + 14);
-                    effectiveness = Double.parseDouble(effStr.split(" ")[0]);
-                } catch (Exception e) {
-                    effectiveness = 0.8;
-                }
-            }
-            
-            // Εξαγωγή θέσης
-            String location = null;
-            if (content.contains("at (")) {
-                int start = content.indexOf("at (") + 4;
-                int end = content.indexOf(")", start);
-                if (end > start) {
-                    location = content.substring(start, end);
-                }
-            } else if (content.contains("at ")) {
-                int start = content.indexOf("at ") + 3;
-                String[] parts = content.substring(start).split(" ");
-                if (parts.length > 0) {
-                    location = parts[0];
-                }
-            }
-            
-            if (location != null) {
-                String[] coords = location.split(",");
-                if (coords.length == 2) {
-                    try {
-                        int x = Integer.parseInt(coords[0]);
-                        int y = Integer.parseInt(coords[1]);
-                        
-                        // Έλεγχος για επιτυχή κατάσβεση
-                        if (Math.random() < effectiveness) {
-                            extinguishAt(x, y);
-                        } else {
-                            System.out.println(getLocalName() + ": Η κατάσβεση στη θέση (" + x + "," + y + ") απέτυχε!");
-                            if (gui != null) {
-                                gui.addLog("❌ Κατάσβεση απέτυχε στη θέση (" + x + "," + y + ")");
-                            }
-                        }
-                    } catch (NumberFormatException e) {
-                        System.out.println("Σφάλμα παρσαρίσματος συντεταγμένων: " + location);
-                    }
-                }
+        Extinguish extinguish = (Extinguish) message;
+        int x = extinguish.x;
+        int y = extinguish.y;
+        
+        // Έλεγχος για επιτυχή κατάσβεση
+        if (Math.random() < extinguish.effectiveness) {
+            extinguishAt(x, y);
+        } else {
+            System.out.println(getLocalName() + ": Η κατάσβεση στη θέση (" + x + "," + y + ") απέτυχε!");
+            if (gui != null) {
+                gui.addLog("❌ Κατάσβεση απέτυχε στη θέση (" + x + "," + y + ")");
             }
         }
     }
@@ -333,19 +329,17 @@ public class FireAgent extends Agent {
         String location = x + "," + y;
         if (fireLocations.remove(location)) {
             extinguishedLocations.add(location);
+            EventJournal.current().extinguished(x, y);
             String message = getLocalName() + ": Η φωτιά σβήστηκε στη θέση (" + x + "," + y + ")";
             System.out.println(message);
             
-            javax.swing.SwingUtilities.invokeLater(() -> {
-                if (gui != null) {
-                    gui.addLog("✅ " + message);
-                    gui.showExtinguishedAt(x, y);
-                }
-            });
+            if (gui != null) {
+                gui.addLog("✅ " + message);
+                gui.showExtinguishedAt(x, y);
+            }
             
             // ΠΡΟΣΘΗΚΗ: Στέλνουμε μήνυμα στο FireControlAgent
-            ACLMessage completed = new ACLMessage(ACLMessage.INFORM);
-            completed.setContent("EXTINGUISH_COMPLETED at " + x + "," + y);
+            ACLMessage completed = MessageCodec.create(ACLMessage.INFORM, new ExtinguishCompleted(x, y));
             completed.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
             send(completed);
             
@@ -2,10 +2,19 @@ package agents;
 
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
-import jade.core.behaviours.TickerBehaviour;
 import jade.lang.acl.ACLMessage;
+import jade.lang.acl.MessageTemplate;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.*;
-import gui.FireSimulationGUI; // Προσθήκη import
+import java.util.concurrent.ConcurrentHashMap;
+import gui.SimulationView;
+import gui.SimulationViews;
+import protocol.*;
+import simulation.EventJournal;
+import simulation.EventKernel;
+import simulation.MotionScheduler;
 
 public class FireControlAgent extends Agent {
     private Map<String, FireInfo> fireLocations = new HashMap<>();
@@ -21,18 +30,47 @@ public class FireControlAgent extends Agent {
     private boolean emergencyDeclared = false;
     private int consecutiveHighPriority = 0;
     
-    private FireSimulationGUI gui; // Προσθήκη GUI reference
+    private volatile SimulationView gui; // Προσθήκη GUI reference
+    
+    // Κλάσεις μηνυμάτων ανά ontology· οι αναφορές φωτιάς εξυπηρετούνται πρώτες και μαζικά
+    private static final MessageTemplate FIRE_REPORTS = MessageTemplate.MatchOntology(FireSpread.ONTOLOGY);
+    private static final MessageTemplate COMPLETIONS = MessageTemplate.or(
+            MessageTemplate.MatchOntology(ExtinguishCompleted.ONTOLOGY),
+            MessageTemplate.MatchOntology(Signal.ONTOLOGY));
+    private static final MessageTemplate AVAILABILITY = MessageTemplate.or(
+            MessageTemplate.MatchOntology(Availability.ONTOLOGY),
+            MessageTemplate.MatchOntology(UnitStatus.ONTOLOGY));
+    private static final MessageTemplate WEATHER = MessageTemplate.MatchOntology(WeatherUpdate.ONTOLOGY);
+    private static final MessageTemplate OTHER = MessageTemplate.not(MessageTemplate.or(
+            MessageTemplate.or(FIRE_REPORTS, COMPLETIONS), MessageTemplate.or(AVAILABILITY, WEATHER)));
+    private static final int FIRE_BATCH = 1024;
+    private static final int BATCH = 64; // ανά action() για τις υπόλοιπες κλάσεις
+    
+    private final Map<String, MailboxStats> mailboxes = new LinkedHashMap<>();
+    private final MailboxStats fireMailbox = mailbox("fire");
+    private int maxQueueDepth = 0;
+    
+    // Τελευταία γνωστή θέση κάθε μονάδας, από τις παρτίδες του MotionScheduler
+    private final Map<String, int[]> unitPositions = new ConcurrentHashMap<>();
+    private final MotionScheduler.Listener positionListener = batch -> {
+        for (int i = 0; i < batch.size(); i++) {
+            unitPositions.put(batch.getUnit(i), new int[]{batch.getX(i), batch.getY(i)});
+        }
+    };
     
     // Inner classes
-    private class FireInfo {
+    static class FireInfo {
         String status;
+        int x, y;
         int intensity;
         long startTime;
         
-        FireInfo(String status, int intensity) {
+        FireInfo(String status, int x, int y, int intensity) {
             this.status = status;
+            this.x = x;
+            this.y = y;
             this.intensity = intensity;
-            this.startTime = System.currentTimeMillis();
+            this.startTime = EventKernel.getInstance().now(); // χρόνος προσομοίωσης
         }
     }
     
@@ -48,6 +86,69 @@ public class FireControlAgent extends Agent {
         }
     }
     
+    /** Messages drained per pass and queueing delay of one message class, from JADE's post timestamp. */
+    private static class MailboxStats {
+        final String name;
+        long handled = 0;
+        int lastDrained = 0;
+        int maxDrained = 0;
+        long totalWaitMs = 0;
+        long maxWaitMs = 0;
+        
+        MailboxStats(String name) {
+            this.name = name;
+        }
+        
+        // Πόσα πάρθηκαν σε ένα receive (έως BATCH/FIRE_BATCH) - όχι το βάθος της ουράς
+        void recordDrained(int count) {
+            lastDrained = count;
+            maxDrained = Math.max(maxDrained, count);
+        }
+        
+        void recordWait(ACLMessage msg) {
+            handled++;
+            long posted = msg.getPostTimeStamp();
+            if (posted > 0) {
+                long wait = Math.max(0, System.currentTimeMillis() - posted);
+                totalWaitMs += wait;
+                maxWaitMs = Math.max(maxWaitMs, wait);
+            }
+        }
+        
+        double averageWaitMs() {
+            return handled == 0 ? 0 : (double) totalWaitMs / handled;
+        }
+    }
+    
+    /** One behaviour per message class, selected with a MessageTemplate. */
+    private class MailboxBehaviour extends CyclicBehaviour {
+        private final MessageTemplate template;
+        private final MailboxStats stats;
+        
+        MailboxBehaviour(String name, MessageTemplate template) {
+            this.template = template;
+            this.stats = mailbox(name);
+        }
+        
+        @Override
+        public void action() {
+            recordQueueDepth();
+            List<ACLMessage> batch = receive(template, BATCH);
+            if (batch == null || batch.isEmpty()) {
+                block();
+                return;
+            }
+            
+            stats.recordDrained(batch.size());
+            for (ACLMessage msg : batch) {
+                // Μια αναφορά φωτιάς που έφτασε στο μεταξύ δεν περιμένει πίσω από τη φλυαρία
+                drainFireReports();
+                stats.recordWait(msg);
+                processMessage(msg);
+            }
+        }
+    }
+    
     private class WeatherInfo {
         double windSpeed = 1.0;
         int humidity = 50;
@@ -61,21 +162,28 @@ public class FireControlAgent extends Agent {
         initializeGUI();
         
         printHeader();
+        restoreState();
+        
+        MotionScheduler.getInstance().addListener(positionListener);
+        StateCapture.register(this, this::writeState);
+        KernelWakeup.watchMailbox(this);
         
+        // Αναφορές φωτιάς: όλες μαζί, πριν από κάθε άλλο μήνυμα
         addBehaviour(new CyclicBehaviour() {
             @Override
             public void action() {
-                ACLMessage msg = receive();
-                if (msg != null) {
-                    processMessage(msg);
-                } else {
+                if (drainFireReports() == 0) {
                     block();
                 }
             }
         });
+        addBehaviour(new MailboxBehaviour("completion", COMPLETIONS));
+        addBehaviour(new MailboxBehaviour("availability", AVAILABILITY));
+        addBehaviour(new MailboxBehaviour("weather", WEATHER));
+        addBehaviour(new MailboxBehaviour("other", OTHER));
         
         // Παρακολούθηση κατάστασης
-        addBehaviour(new TickerBehaviour(this, 8000) {
+        addBehaviour(new SimTickerBehaviour(this, 8000) {
             @Override
             protected void onTick() {
                 if (!systemInitialized) {
@@ -88,7 +196,7 @@ public class FireControlAgent extends Agent {
         });
         
         // Αρχικοποίηση
-        addBehaviour(new jade.core.behaviours.WakerBehaviour(this, 3000) {
+        addBehaviour(new SimWakerBehaviour(this, 3000) {
             @Override
             protected void onWake() {
                 requestInitialStatus();
@@ -96,9 +204,122 @@ public class FireControlAgent extends Agent {
         });
     }
     
+    @Override
+    protected void takeDown() {
+        MotionScheduler.getInstance().removeListener(positionListener);
+        StateCapture.unregister(this);
+        KernelWakeup.detach(this);
+    }
+    
+    // ========== CHECKPOINT ==========
+    
+    // Πίνακας εστιών, διαθέσιμα μέσα, καιρός και θέσεις μονάδων
+    private void writeState(DataOutputStream out) throws IOException {
+        out.writeInt(fireLocations.size());
+        for (Map.Entry<String, FireInfo> entry : fireLocations.entrySet()) {
+            FireInfo fire = entry.getValue();
+            out.writeUTF(entry.getKey());
+            out.writeUTF(fire.status);
+            out.writeShort(fire.x);
+            out.writeShort(fire.y);
+            out.writeInt(fire.intensity);
+            out.writeLong(fire.startTime);
+        }
+        writeNames(out, availableTrucks);
+        writeNames(out, availableAircraft);
+        writeNames(out, availableHelicopters);
+        out.writeInt(availableGroundCrews.size());
+        for (Map.Entry<String, GroundCrewInfo> entry : availableGroundCrews.entrySet()) {
+            GroundCrewInfo crew = entry.getValue();
+            out.writeUTF(entry.getKey());
+            out.writeUTF(crew.specialization);
+            out.writeInt(crew.fatigueLevel);
+            out.writeBoolean(crew.available);
+        }
+        writeNames(out, emergencyUnits);
+        
+        out.writeDouble(currentWeather.windSpeed);
+        out.writeInt(currentWeather.humidity);
+        out.writeInt(currentWeather.temperature);
+        out.writeUTF(currentWeather.windDirection);
+        out.writeInt(activeFireCount);
+        out.writeBoolean(systemInitialized);
+        out.writeBoolean(emergencyDeclared);
+        out.writeInt(consecutiveHighPriority);
+        
+        Map<String, int[]> positions = new HashMap<>(unitPositions);
+        out.writeInt(positions.size());
+        for (Map.Entry<String, int[]> entry : positions.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeShort(entry.getValue()[0]);
+            out.writeShort(entry.getValue()[1]);
+        }
+    }
+    
+    private static void writeNames(DataOutputStream out, List<String> names) throws IOException {
+        out.writeInt(names.size());
+        for (String name : names) {
+            out.writeUTF(name);
+        }
+    }
+    
+    private void restoreState() {
+        DataInputStream in = StateCapture.restored(this);
+        if (in == null) return;
+        try {
+            for (int n = in.readInt(); n > 0; n--) {
+                String location = in.readUTF();
+                FireInfo fire = new FireInfo(in.readUTF(), in.readShort(), in.readShort(), in.readInt());
+                fire.startTime = in.readLong();
+                fireLocations.put(location, fire);
+            }
+            readNames(in, availableTrucks);
+            readNames(in, availableAircraft);
+            readNames(in, availableHelicopters);
+            for (int n = in.readInt(); n > 0; n--) {
+                String name = in.readUTF();
+                GroundCrewInfo crew = new GroundCrewInfo(in.readUTF(), in.readInt());
+                crew.available = in.readBoolean();
+                availableGroundCrews.put(name, crew);
+            }
+            readNames(in, emergencyUnits);
+            
+            currentWeather.windSpeed = in.readDouble();
+            currentWeather.humidity = in.readInt();
+            currentWeather.temperature = in.readInt();
+            currentWeather.windDirection = in.readUTF();
+            activeFireCount = in.readInt();
+            systemInitialized = in.readBoolean();
+            emergencyDeclared = in.readBoolean();
+            consecutiveHighPriority = in.readInt();
+            
+            for (int n = in.readInt(); n > 0; n--) {
+                String unit = in.readUTF();
+                unitPositions.put(unit, new int[]{in.readShort(), in.readShort()});
+            }
+        } catch (IOException e) {
+            System.err.println(getLocalName() + ": ❌ Αλλοιωμένο checkpoint: " + e.getMessage());
+            return;
+        }
+        System.out.println(getLocalName() + ": Συνέχιση από checkpoint - " + fireLocations.size() + " εστίες, " +
+                           (availableTrucks.size() + availableAircraft.size() + availableHelicopters.size() +
+                            availableGroundCrews.size()) + " διαθέσιμα μέσα");
+    }
+    
+    private static void readNames(DataInputStream in, List<String> names) throws IOException {
+        for (int n = in.readInt(); n > 0; n--) {
+            names.add(in.readUTF());
+        }
+    }
+    
+    /** Last position reported by the motion scheduler, or null if the unit has not moved yet. */
+    public int[] getUnitPosition(String unitName) {
+        return unitPositions.get(unitName);
+    }
+    
     private void initializeGUI() {
         javax.swing.SwingUtilities.invokeLater(() -> {
-            gui = FireSimulationGUI.getInstance();
+            gui = SimulationViews.current();
             gui.setVisible(true);
             gui.addLog("🚀 JADE Agents σύστημα ενεργοποιημένο!");
             gui.updateStatus("🟡 Αρχικοποίηση συστήματος...");
@@ -121,8 +342,7 @@ public class FireControlAgent extends Agent {
     private void requestInitialStatus() {
         System.out.println("\n" + getLocalName() + ": 🔍 Σάρωση διαθέσιμων πόρων...");
         
-        ACLMessage statusRequest = new ACLMessage(ACLMessage.REQUEST);
-        statusRequest.setContent("STATUS_REQUEST");
+        ACLMessage statusRequest = MessageCodec.create(ACLMessage.REQUEST, Signal.STATUS);
         
         // Όλα τα πυροσβεστικά μέσα
         String[] agents = {"truck1", "truck2", "truck3", "truck4", 
@@ -177,49 +397,81 @@ public class FireControlAgent extends Agent {
         System.out.println("╚═══════════════════════════════════════════════════════════════╝");
     }
     
-    private void processMessage(ACLMessage msg) {
-        String content = msg.getContent();
+    // Το πραγματικό βάθος: όλη η ουρά του agent, όλες οι κλάσεις μαζί
+    private void recordQueueDepth() {
+        maxQueueDepth = Math.max(maxQueueDepth, getCurQueueSize());
+    }
+    
+    private MailboxStats mailbox(String name) {
+        MailboxStats stats = new MailboxStats(name);
+        mailboxes.put(name, stats);
+        return stats;
+    }
+    
+    private int drainFireReports() {
+        int handled = 0;
+        List<ACLMessage> batch;
+        recordQueueDepth();
+        while ((batch = receive(FIRE_REPORTS, FIRE_BATCH)) != null && !batch.isEmpty()) {
+            fireMailbox.recordDrained(batch.size());
+            for (ACLMessage msg : batch) {
+                fireMailbox.recordWait(msg);
+                processMessage(msg);
+            }
+            handled += batch.size();
+        }
+        return handled;
+    }
+    
+    // Package-private, όπως και τα calculatePriority/assessSituationAndDeploy: τα καλούν τα benchmarks/ χωρίς πλατφόρμα
+    void processMessage(ACLMessage msg) {
+        FireMessage message = MessageCodec.read(msg);
+        if (message == null) return;
         String senderName = msg.getSender().getLocalName();
         
-        if (content.startsWith("FIRE_SPREAD")) {
-            handleFireSpread(content);
-        } else if (content.equals("FIRE_FULLY_EXTINGUISHED")) {
-            handleFullExtinguishment();
-        } else if (content.equals("TRUCK_AVAILABLE") || content.equals("STATUS_REQUEST")) {
-            handleTruckAvailable(senderName);
-        } else if (content.startsWith("AIRCRAFT_AVAILABLE") || content.equals("STATUS_REQUEST")) {
-            handleAircraftAvailable(senderName, content);
-        } else if (content.startsWith("HELICOPTER_AVAILABLE") || content.equals("STATUS_REQUEST")) {
-            handleHelicopterAvailable(senderName);
-        } else if (content.startsWith("GROUND_CREW_AVAILABLE") || content.equals("STATUS_REQUEST")) {
-            handleGroundCrewAvailable(senderName, content);
-        } else if (content.startsWith("EMERGENCY_UNIT_AVAILABLE") || content.equals("STATUS_REQUEST")) {
-            handleEmergencyUnitAvailable(senderName);
-        } else if (content.startsWith("WEATHER_UPDATE")) {
-            handleWeatherUpdate(content);
-        } else if (content.startsWith("EXTINGUISH_COMPLETED")) {
-            handleExtinguishCompleted(content);
-        }
-    }
-    
-    private void handleFireSpread(String content) {
-        String[] parts = content.split(" ");
-        String location = parts[2]; // "from X,Y"
-        int intensity = 1;
-        
-        // Εξαγωγή έντασης αν υπάρχει
-        for (String part : parts) {
-            if (part.startsWith("intensity:")) {
-                try {
-                    intensity = Integer.parseInt(part.substring(10));
-                } catch (NumberFormatException e) {
-                    intensity = 1;
-                }
+        switch (message.getType()) {
+            case FireMessage.FIRE_SPREAD:
+                handleFireSpread((FireSpread) message);
+                break;
+            case FireMessage.FIRE_REIGNITION:
+                handleReignition((FireSpread) message);
+                break;
+            case FireMessage.FIRE_FULLY_EXTINGUISHED:
+                handleFullExtinguishment();
+                break;
+            case FireMessage.AVAILABILITY:
+                handleAvailability(senderName, (Availability) message);
+                break;
+            case FireMessage.WEATHER_UPDATE:
+                handleWeatherUpdate((WeatherUpdate) message);
+                break;
+            case FireMessage.EXTINGUISH_COMPLETED:
+                handleExtinguishCompleted((ExtinguishCompleted) message);
+                break;
+            case FireMessage.UNIT_STATUS:
+                handleUnitStatus(senderName, (UnitStatus) message);
+                break;
+            default:
                 break;
-            }
         }
+    }
+    
+    private void handleAvailability(String senderName, Availability availability) {
+        switch (availability.unit) {
+            case FireMessage.UNIT_TRUCK: handleTruckAvailable(senderName); break;
+            case FireMessage.UNIT_AIRCRAFT: handleAircraftAvailable(senderName, availability); break;
+            case FireMessage.UNIT_HELICOPTER: handleHelicopterAvailable(senderName); break;
+            case FireMessage.UNIT_GROUND_CREW: handleGroundCrewAvailable(senderName, availability); break;
+            case FireMessage.UNIT_EMERGENCY: handleEmergencyUnitAvailable(senderName); break;
+            default: break;
+        }
+    }
+    
+    private void handleFireSpread(FireSpread spread) {
+        String location = spread.getLocation();
+        int intensity = spread.intensity;
         
-        FireInfo fireInfo = new FireInfo("ACTIVE", intensity);
+        FireInfo fireInfo = new FireInfo("ACTIVE", spread.x, spread.y, intensity);
         fireLocations.put(location, fireInfo);
         activeFireCount++;
         
@@ -230,16 +482,7 @@ public class FireControlAgent extends Agent {
         
         // Ενημέρωση GUI
         if (gui != null) {
-            String[] coords = location.split(",");
-            if (coords.length == 2) {
-                try {
-                    int x = Integer.parseInt(coords[0]);
-                    int y = Integer.parseInt(coords[1]);
-                    gui.showFireAt(x, y, intensity);
-                } catch (NumberFormatException e) {
-                    gui.addLog("🔥 ΦΩΤΙΑ στη θέση " + location + " - Ένταση: " + intensity);
-                }
-            }
+            gui.showFireAt(spread.x, spread.y, intensity);
         }
         
         // ΠΡΟΣΘΗΚΗ: Κλήση της assessSituationAndDeploy
@@ -253,7 +496,7 @@ public class FireControlAgent extends Agent {
         }
     }
     
-    private void assessSituationAndDeploy(String location, FireInfo fireInfo) {
+    void assessSituationAndDeploy(String location, FireInfo fireInfo) {
         int priority = calculatePriority(location, fireInfo);
         
         System.out.println("🎯 Προτεραιότητα: " + priority + "/10");
@@ -264,23 +507,23 @@ public class FireControlAgent extends Agent {
         if (priority >= 9) {
             consecutiveHighPriority++;
             declareEmergency();
-            deployMassiveResponse(location);
+            deployMassiveResponse(fireInfo.x, fireInfo.y);
         } else if (priority >= 7) {
             consecutiveHighPriority++;
             if (consecutiveHighPriority >= 3) {
                 declareEmergency();
             }
-            deployAllAvailableResources(location);
+            deployAllAvailableResources(fireInfo.x, fireInfo.y);
         } else if (priority >= 5) {
             consecutiveHighPriority = 0;
-            deployGroundAndAirResources(location);
+            deployGroundAndAirResources(fireInfo.x, fireInfo.y);
         } else {
             consecutiveHighPriority = 0;
-            deployGroundResources(location);
+            deployGroundResources(fireInfo.x, fireInfo.y);
         }
     }
     
-    private int calculatePriority(String location, FireInfo fireInfo) {
+    int calculatePriority(String location, FireInfo fireInfo) {
         int priority = 5;
         
         // Επίδραση καιρού
@@ -303,7 +546,7 @@ public class FireControlAgent extends Agent {
         else if (fireInfo.intensity > 5) priority += 1;
         
         // Χρόνος από την έναρξη
-        long duration = (System.currentTimeMillis() - fireInfo.startTime) / 1000;
+        long duration = (EventKernel.getInstance().now() - fireInfo.startTime) / 1000;
         if (duration > 120) priority += 2; // 2 λεπτά
         else if (duration > 60) priority += 1; // 1 λεπτό
         
@@ -313,6 +556,7 @@ public class FireControlAgent extends Agent {
     private void declareEmergency() {
         if (!emergencyDeclared) {
             emergencyDeclared = true;
+            EventJournal.current().emergency(true);
             System.out.println("\n🚨🚨🚨 ΚΗΡΥΞΗ ΚΑΤΑΣΤΑΣΗΣ ΕΚΤΑΚΤΗΣ ΑΝΑΓΚΗΣ 🚨🚨🚨");
             System.out.println("🔴 Η πυρκαγιά βγήκε εκτός ελέγχου!");
             System.out.println("📞 Κλήση ενισχύσεων από γειτονικές περιοχές...");
@@ -324,74 +568,65 @@ public class FireControlAgent extends Agent {
             
             // Ενεργοποίηση έκτακτων μονάδων
             for (String emergency : emergencyUnits) {
-                ACLMessage activate = new ACLMessage(ACLMessage.REQUEST);
-                activate.setContent("ACTIVATE_EMERGENCY_PROTOCOL");
+                ACLMessage activate = MessageCodec.create(ACLMessage.REQUEST, Signal.EMERGENCY);
                 activate.addReceiver(new jade.core.AID(emergency, jade.core.AID.ISLOCALNAME));
                 send(activate);
             }
         }
     }
     
-    private void deployMassiveResponse(String location) {
+    private void deployMassiveResponse(int x, int y) {
         System.out.println("\n🚨 === ΜΑΖΙΚΗ ΑΝΤΙΔΡΑΣΗ ===");
         System.out.println("🎯 Ανάπτυξη ΟΛΩΝ των διαθέσιμων δυνάμεων!");
         
         // Ανάπτυξη όλων των μέσων
-        deployAllTrucks(location);
-        deployAllAircraft(location);
-        deployAllHelicopters(location);
-        deployAllGroundCrews(location);
+        deployAllTrucks(x, y);
+        deployAllAircraft(x, y);
+        deployAllHelicopters(x, y);
+        deployAllGroundCrews(x, y);
     }
     
-    private void deployAllAvailableResources(String location) {
+    private void deployAllAvailableResources(int x, int y) {
         System.out.println("\n🔥 === ΚΡΙΣΙΜΗ ΚΑΤΑΣΤΑΣΗ ===");
         System.out.println("🚒 Ανάπτυξη όλων των διαθέσιμων δυνάμεων!");
         
-        deployFireTrucks(location, 3); // 3 οχήματα
-        deployAircraft(location, 2);   // 2 αεροσκάφη
-        deployHelicopters(location, 1); // 1 ελικόπτερο
-        deployGroundCrew(location, "suppression", 2); // 2 ομάδες κατάσβεσης
-        deployGroundCrew(location, "prevention", 1);   // 1 ομάδα πρόληψης
+        deployFireTrucks(x, y, 3); // 3 οχήματα
+        deployAircraft(x, y, 2);   // 2 αεροσκάφη
+        deployHelicopters(x, y, 1); // 1 ελικόπτερο
+        deployGroundCrew(x, y, "suppression", 2); // 2 ομάδες κατάσβεσης
+        deployGroundCrew(x, y, "prevention", 1);   // 1 ομάδα πρόληψης
     }
     
-    private void deployGroundAndAirResources(String location) {
+    private void deployGroundAndAirResources(int x, int y) {
         System.out.println("\n🛩️ === ΣΥΝΤΟΝΙΣΜΕΝΗ ΕΠΙΧΕΙΡΗΣΗ ===");
         System.out.println("🚁 Ανάπτυξη εναέριων και επίγειων δυνάμεων");
         
-        deployFireTrucks(location, 2);
-        deployAircraft(location, 1);
-        deployHelicopters(location, 1);
-        deployGroundCrew(location, "suppression", 1);
+        deployFireTrucks(x, y, 2);
+        deployAircraft(x, y, 1);
+        deployHelicopters(x, y, 1);
+        deployGroundCrew(x, y, "suppression", 1);
     }
     
-    private void deployGroundResources(String location) {
+    private void deployGroundResources(int x, int y) {
         System.out.println("\n🚒 === ΤΥΠΙΚΗ ΑΝΤΙΔΡΑΣΗ ===");
         System.out.println("👥 Ανάπτυξη επίγειων δυνάμεων");
         
-        deployFireTrucks(location, 1);
-        deployGroundCrew(location, "suppression", 1);
+        deployFireTrucks(x, y, 1);
+        deployGroundCrew(x, y, "suppression", 1);
     }
     
-    private void deployFireTrucks(String location, int count) {
+    private void deployFireTrucks(int x, int y, int count) {
+        String location = x + "," + y;
         int deployed = 0;
         while (deployed < count && !availableTrucks.isEmpty()) {
             String truck = availableTrucks.remove(0);
-            sendDeploymentOrder(truck, "RESPOND_TO_FIRE at " + location);
+            sendDeploymentOrder(truck, new Deploy(FireMessage.UNIT_TRUCK, x, y));
             System.out.println("🚒 ✅ " + truck + " → " + location);
             
             // Ενημέρωση GUI - ΕΜΦΑΝΙΣΗ TRUCK
             if (gui != null) {
-                String[] coords = location.split(",");
-                if (coords.length == 2) {
-                    try {
-                        int x = Integer.parseInt(coords[0]);
-                        int y = Integer.parseInt(coords[1]);
-                        gui.addLog("🚒 " + truck + " αναπτύσσεται στη θέση (" + x + "," + y + ")");
-                        gui.showTruckAt(x, y, truck); // ΝΕΑ ΜΕΘΟΔΟΣ
-                    } catch (NumberFormatException e) {
-                        gui.addLog("🚒 " + truck + " αναπτύσσεται στη θέση " + location);
-                    }
-                }
+                gui.addLog("🚒 " + truck + " αναπτύσσεται στη θέση (" + x + "," + y + ")");
+                gui.showTruckAt(x, y, truck); // ΝΕΑ ΜΕΘΟΔΟΣ
             }
             
             deployed++;
@@ -405,25 +640,17 @@ public class FireControlAgent extends Agent {
         }
     }
     
-    private void deployAircraft(String location, int count) {
+    private void deployAircraft(int x, int y, int count) {
+        String location = x + "," + y;
         int deployed = 0;
         while (deployed < count && !availableAircraft.isEmpty()) {
             String aircraft = availableAircraft.remove(0);
-            sendDeploymentOrder(aircraft, "DEPLOY_AIRCRAFT to (" + location + ")");
+            sendDeploymentOrder(aircraft, new Deploy(FireMessage.UNIT_AIRCRAFT, x, y));
             System.out.println("✈️ ✅ " + aircraft + " → " + location);
             
             // Ενημέρωση GUI - ΕΜΦΑΝΙΣΗ AIRCRAFT
             if (gui != null) {
-                String[] coords = location.split(",");
-                if (coords.length == 2) {
-                    try {
-                        int x = Integer.parseInt(coords[0]);
-                        int y = Integer.parseInt(coords[1]);
-                        gui.showAgentAt(x, y, aircraft); // ΝΕΑ ΜΕΘΟΔΟΣ
-                    } catch (NumberFormatException e) {
-                        gui.addLog("✈️ " + aircraft + " ρίψη νερού στη θέση " + location);
-                    }
-                }
+                gui.showAgentAt(x, y, aircraft); // ΝΕΑ ΜΕΘΟΔΟΣ
             }
             
             deployed++;
@@ -437,25 +664,17 @@ public class FireControlAgent extends Agent {
         }
     }
     
-    private void deployHelicopters(String location, int count) {
+    private void deployHelicopters(int x, int y, int count) {
+        String location = x + "," + y;
         int deployed = 0;
         while (deployed < count && !availableHelicopters.isEmpty()) {
             String helicopter = availableHelicopters.remove(0);
-            sendDeploymentOrder(helicopter, "DEPLOY_HELICOPTER to (" + location + ")");
+            sendDeploymentOrder(helicopter, new Deploy(FireMessage.UNIT_HELICOPTER, x, y));
             System.out.println("🚁 ✅ " + helicopter + " → " + location);
             
             // Ενημέρωση GUI - ΕΜΦΑΝΙΣΗ HELICOPTER
             if (gui != null) {
-                String[] coords = location.split(",");
-                if (coords.length == 2) {
-                    try {
-                        int x = Integer.parseInt(coords[0]);
-                        int y = Integer.parseInt(coords[1]);
-                        gui.showHelicopterAt(x, y, helicopter); // ΝΕΑ ΜΕΘΟΔΟΣ
-                    } catch (NumberFormatException e) {
-                        gui.addLog("🚁 " + helicopter + " αναπτύσσεται στη θέση " + location);
-                    }
-                }
+                gui.showHelicopterAt(x, y, helicopter); // ΝΕΑ ΜΕΘΟΔΟΣ
             }
             
             deployed++;
@@ -466,7 +685,8 @@ public class FireControlAgent extends Agent {
         }
     }
     
-    private void deployGroundCrew(String location, String specialization, int count) {
+    private void deployGroundCrew(int x, int y, String specialization, int count) {
+        String location = x + "," + y;
         int deployed = 0;
         
         // Αναζήτηση ομάδων με την κατάλληλη ειδικότητα
@@ -482,7 +702,7 @@ public class FireControlAgent extends Agent {
         while (deployed < count && !suitableCrews.isEmpty()) {
             String crew = suitableCrews.remove(0);
             availableGroundCrews.get(crew).available = false;
-            sendDeploymentOrder(crew, "DEPLOY_GROUND_CREW to (" + location + ")");
+            sendDeploymentOrder(crew, new Deploy(FireMessage.UNIT_GROUND_CREW, x, y));
             System.out.println("👥 ✅ " + crew + " (" + getSpecializationGreek(specialization) + ") → " + location);
             deployed++;
         }
@@ -493,52 +713,57 @@ public class FireControlAgent extends Agent {
         }
     }
     
-    private void deployAllTrucks(String location) {
+    private void deployAllTrucks(int x, int y) {
+        String location = x + "," + y;
         while (!availableTrucks.isEmpty()) {
             String truck = availableTrucks.remove(0);
-            sendDeploymentOrder(truck, "RESPOND_TO_FIRE at " + location);
+            sendDeploymentOrder(truck, new Deploy(FireMessage.UNIT_TRUCK, x, y));
             System.out.println("🚒 ✅ " + truck + " → " + location + " (ΕΚΤΑΚΤΗ ΑΝΑΓΚΗ)");
         }
     }
     
-    private void deployAllAircraft(String location) {
+    private void deployAllAircraft(int x, int y) {
+        String location = x + "," + y;
         while (!availableAircraft.isEmpty()) {
             String aircraft = availableAircraft.remove(0);
-            sendDeploymentOrder(aircraft, "DEPLOY_AIRCRAFT to (" + location + ")");
+            sendDeploymentOrder(aircraft, new Deploy(FireMessage.UNIT_AIRCRAFT, x, y));
             System.out.println("✈️ ✅ " + aircraft + " → " + location + " (ΕΚΤΑΚΤΗ ΑΝΑΓΚΗ)");
         }
     }
     
-    private void deployAllHelicopters(String location) {
+    private void deployAllHelicopters(int x, int y) {
+        String location = x + "," + y;
         while (!availableHelicopters.isEmpty()) {
             String helicopter = availableHelicopters.remove(0);
-            sendDeploymentOrder(helicopter, "DEPLOY_HELICOPTER to (" + location + ")");
+            sendDeploymentOrder(helicopter, new Deploy(FireMessage.UNIT_HELICOPTER, x, y));
             System.out.println("🚁 ✅ " + helicopter + " → " + location + " (ΕΚΤΑΚΤΗ ΑΝΑΓΚΗ)");
         }
     }
     
-    private void deployAllGroundCrews(String location) {
+    private void deployAllGroundCrews(int x, int y) {
+        String location = x + "," + y;
         for (Map.Entry<String, GroundCrewInfo> entry : availableGroundCrews.entrySet()) {
             GroundCrewInfo crew = entry.getValue();
             if (crew.available && crew.fatigueLevel < 90) {
                 crew.available = false;
-                sendDeploymentOrder(entry.getKey(), "DEPLOY_GROUND_CREW to (" + location + ")");
+                sendDeploymentOrder(entry.getKey(), new Deploy(FireMessage.UNIT_GROUND_CREW, x, y));
                 System.out.println("👥 ✅ " + entry.getKey() + " → " + location + " (ΕΚΤΑΚΤΗ ΑΝΑΓΚΗ)");
             }
         }
     }
     
-    private void sendDeploymentOrder(String agentName, String content) {
-        ACLMessage order = new ACLMessage(ACLMessage.REQUEST);
-        order.setContent(content);
+    private void sendDeploymentOrder(String agentName, Deploy deploy) {
+        ACLMessage order = MessageCodec.create(ACLMessage.REQUEST, deploy);
         order.addReceiver(new jade.core.AID(agentName, jade.core.AID.ISLOCALNAME));
         send(order);
+        EventJournal.current().deploy(agentName, deploy.unit, deploy.x, deploy.y);
     }
     
     private void assessOverallSituation() {
         if (activeFireCount == 0 && emergencyDeclared) {
             emergencyDeclared = false;
             consecutiveHighPriority = 0;
+            EventJournal.current().emergency(false);
             System.out.println("\n✅ === ΚΑΤΑΣΤΑΣΗ ΥΠΟΛΑΛΗ ===");
             System.out.println("🎉 Άρση κατάστασης έκτακτης ανάγκης!");
         }
@@ -565,6 +790,23 @@ public class FireControlAgent extends Agent {
         
         int availableCrews = (int) availableGroundCrews.values().stream().filter(c -> c.available).count();
         System.out.println("   👥 Ομάδες: " + availableCrews + "/6");
+        
+        System.out.println("🧭 Μονάδες σε κίνηση: " + MotionScheduler.getInstance().getMovingCount() +
+                           " (γνωστές θέσεις: " + unitPositions.size() + ")");
+        
+        System.out.println("📬 ΓΡΑΜΜΑΤΟΚΙΒΩΤΙΑ (σε αναμονή: " + getCurQueueSize() + ", μέγ. " + maxQueueDepth + "):");
+        System.out.print(getMailboxReport());
+    }
+    
+    /** Per message class: handled count, messages taken by the last/largest receive, average/max wait. */
+    public String getMailboxReport() {
+        StringBuilder report = new StringBuilder();
+        for (MailboxStats stats : mailboxes.values()) {
+            report.append(String.format("   %-12s %6d μηνύματα, ανά πέρασμα %d (μέγ. %d), αναμονή %.1fms (μέγ. %dms)%n",
+                    stats.name, stats.handled, stats.lastDrained, stats.maxDrained,
+                    stats.averageWaitMs(), stats.maxWaitMs));
+        }
+        return report.toString();
     }
     
     // Υπόλοιπες μέθοδοι διαχείρισης agents...
@@ -578,7 +820,7 @@ public class FireControlAgent extends Agent {
         }
     }
     
-    private void handleAircraftAvailable(String aircraftName, String content) {
+    private void handleAircraftAvailable(String aircraftName, Availability availability) {
         if (!availableAircraft.contains(aircraftName)) {
             availableAircraft.add(aircraftName);
             System.out.println("✈️ " + aircraftName + " επέστρεψε");
@@ -595,7 +837,7 @@ public class FireControlAgent extends Agent {
         }
     }
     
-    private void handleGroundCrewAvailable(String crewName, String content) {
+    private void handleGroundCrewAvailable(String crewName, Availability availability) {
         String specialization = "suppression";
         int fatigue = 0;
         
@@ -615,6 +857,16 @@ public class FireControlAgent extends Agent {
         }
     }
     
+    // Απάντηση μονάδας σε αποστολή: δεν είναι διαθέσιμη, αλλά η θέση της είναι γνωστή
+    private void handleUnitStatus(String unitName, UnitStatus status) {
+        unitPositions.put(unitName, new int[]{status.x, status.y});
+        availableTrucks.remove(unitName);
+        availableAircraft.remove(unitName);
+        availableHelicopters.remove(unitName);
+        availableGroundCrews.remove(unitName);
+        System.out.println("⏳ " + unitName + " σε αποστολή: " + status.phase + " στο " + status.x + "," + status.y);
+    }
+    
     private void handleEmergencyUnitAvailable(String unitName) {
         if (!emergencyUnits.contains(unitName)) {
             emergencyUnits.add(unitName);
@@ -622,23 +874,11 @@ public class FireControlAgent extends Agent {
         }
     }
     
-    private void handleWeatherUpdate(String content) {
-        String[] parts = content.split(" ");
-        for (String part : parts) {
-            try {
-                if (part.startsWith("wind:")) {
-                    currentWeather.windSpeed = Double.parseDouble(part.substring(5));
-                } else if (part.startsWith("humidity:")) {
-                    currentWeather.humidity = Integer.parseInt(part.substring(9));
-                } else if (part.startsWith("temp:")) {
-                    currentWeather.temperature = Integer.parseInt(part.substring(5));
-                } else if (part.startsWith("direction:")) {
-                    currentWeather.windDirection = part.substring(10);
-                }
-            } catch (NumberFormatException e) {
-                // Ignore parsing errors
-            }
-        }
+    private void handleWeatherUpdate(WeatherUpdate weather) {
+        currentWeather.windSpeed = weather.windSpeed;
+        currentWeather.humidity = weather.humidity;
+        currentWeather.temperature = weather.temperature;
+        currentWeather.windDirection = weather.windDirection;
         
         assessWeatherRisk();
     }
@@ -668,9 +908,9 @@ public class FireControlAgent extends Agent {
         }
     }
     
-    private void handleReignition(String content) {
-        String location = content.substring(content.indexOf("at") + 3, content.indexOf(")") + 1);
-        FireInfo fireInfo = new FireInfo("REIGNITED", 3);
+    private void handleReignition(FireSpread reignition) {
+        String location = reignition.getLocation();
+        FireInfo fireInfo = new FireInfo("REIGNITED", reignition.x, reignition.y, reignition.intensity);
         fireLocations.put(location, fireInfo);
         activeFireCount++;
         
@@ -681,7 +921,7 @@ public class FireControlAgent extends Agent {
         assessSituationAndDeploy(location, fireInfo);
     }
     
-    private void handleExtinguishCompleted(String content) {
+    private void handleExtinguishCompleted(ExtinguishCompleted completed) {
         if (activeFireCount > 0) {
             activeFireCount--;
         }
@@ -3,11 +3,20 @@ package agents;
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.lang.acl.ACLMessage;
-import gui.FireSimulationGUI; // Προσθήκη import
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import gui.SimulationView;
+import gui.SimulationViews;
+import utils.GridManager;
+import protocol.*;
+import simulation.EventJournal;
 
 public class FireTruckAgent extends Agent {
     private boolean busy = false;
-    private FireSimulationGUI gui;
+    private boolean outbound = false; // καθ' οδόν προς τη φωτιά - δεκτή αλλαγή προορισμού
+    private UnitMission mission;
+    private volatile SimulationView gui;
     
     // Movement speed constants (in milliseconds per step)
     private static final int TRUCK_SPEED_DELAY = 150; // Medium speed: ~60 km/h
@@ -16,7 +25,7 @@ public class FireTruckAgent extends Agent {
     protected void setup() {
         // Αρχικοποίηση GUI
         javax.swing.SwingUtilities.invokeLater(() -> {
-            gui = FireSimulationGUI.getInstance();
+            gui = SimulationViews.current();
         });
         
         String message = getLocalName() + ": Πυροσβεστικό όχημα έτοιμο στη βάση.";
@@ -28,59 +37,71 @@ public class FireTruckAgent extends Agent {
             }
         });
         
+        restoreState();
+        StateCapture.register(this, this::writeState);
+        
         // Ειδοποίηση διαθεσιμότητας
-        ACLMessage available = new ACLMessage(ACLMessage.INFORM);
-        available.setContent("TRUCK_AVAILABLE");
+        ACLMessage available = MessageCodec.create(ACLMessage.INFORM, new Availability(FireMessage.UNIT_TRUCK));
         available.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
         send(available);
         
+        KernelWakeup.watchMailbox(this);
         addBehaviour(new CyclicBehaviour() {
             @Override
             public void action() {
                 ACLMessage msg = receive();
                 
                 if (msg != null) {
+                    FireMessage order = MessageCodec.read(msg);
                     String content = msg.getContent();
                     
-                    if (content.startsWith("RESPOND_TO_FIRE") && !busy) {
-                        String location = content.substring(content.indexOf("at") + 3);
-                        respondToFire(location);
+                    if (order instanceof Deploy && (!busy || outbound)) {
+                        Deploy deploy = (Deploy) order;
+                        if (busy) {
+                            mission.abort();
+                            System.out.println(getLocalName() + ": Αλλαγή προορισμού καθ' οδόν");
+                        }
+                        respondToFire(deploy.x, deploy.y);
                         
-                    } else if (content.startsWith("Fire at location") && !busy) {
+                    } else if (order == null && content != null && content.startsWith("Fire at location") && !busy) {
                         String message = getLocalName() + ": Λήφθηκε μήνυμα: " + content;
                         System.out.println(message);
                         
-                        javax.swing.SwingUtilities.invokeLater(() -> {
-                            if (gui != null) {
-                                gui.addLog("📨 " + message);
-                            }
-                        });
+                        if (gui != null) {
+                            gui.addLog("📨 " + message);
+                        }
                         
                         if (!busy) {
                             String workMessage = getLocalName() + ": Επιχειρεί κατάσβεση...";
                             System.out.println(workMessage);
                             
-                            javax.swing.SwingUtilities.invokeLater(() -> {
-                                if (gui != null) {
-                                    gui.addLog("🚒 " + workMessage);
-                                }
-                            });
+                            if (gui != null) {
+                                gui.addLog("🚒 " + workMessage);
+                            }
                             
                             busy = true;
-                            doWait(5000);
-                            busy = false;
-                            
-                            String completeMessage = getLocalName() + ": Κατάσβεση ολοκληρώθηκε.";
-                            System.out.println(completeMessage);
-                            
-                            javax.swing.SwingUtilities.invokeLater(() -> {
-                                if (gui != null) {
-                                    gui.addLog("✅ " + completeMessage);
-                                }
-                            });
+                            int x = mission != null ? mission.getX() : GridManager.getCommandCenterX();
+                            int y = mission != null ? mission.getY() : GridManager.getCommandCenterY();
+                            mission = new UnitMission(FireTruckAgent.this, x, y)
+                                .work("ΚΑΤΑΣΒΕΣΗ", 5000)
+                                .then(() -> {
+                                    busy = false;
+                                    
+                                    String completeMessage = getLocalName() + ": Κατάσβεση ολοκληρώθηκε.";
+                                    System.out.println(completeMessage);
+                                    
+                                    if (gui != null) {
+                                        gui.addLog("✅ " + completeMessage);
+                                    }
+                                });
+                            addBehaviour(mission);
+                        }
+                    } else if (order != null && order.getType() == FireMessage.STATUS_REQUEST) {
+                        if (busy) {
+                            sendBusyStatus(msg);
+                        } else {
+                            sendAvailabilityStatus();
                         }
-                    } else if (content.equals("STATUS_REQUEST")) {
-                        sendAvailabilityStatus();
                     }
                 } else {
                     block();
@@ -89,119 +110,124 @@ public class FireTruckAgent extends Agent {
         });
     }
     
-    private void respondToFire(String location) {
+    @Override
+    protected void takeDown() {
+        StateCapture.unregister(this);
+        KernelWakeup.detach(this);
+    }
+    
+    private void respondToFire(int targetX, int targetY) {
         busy = true;
-        
-        // Parse target coordinates from location string (format: "x,y")
-        String[] coords = location.split(",");
-        int targetX = Integer.parseInt(coords[0].trim());
-        int targetY = Integer.parseInt(coords[1].trim());
+        outbound = true;
+        String location = targetX + "," + targetY;
         
         String moveMessage = getLocalName() + ": Μετακίνηση προς " + location;
         System.out.println(moveMessage);
         
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("🚒 " + moveMessage);
-            }
-        });
-        
-        // Simulate movement to target location
-        moveToLocation(targetX, targetY);
-        
-        String arrivalMessage = getLocalName() + ": Άφιξη στη θέση " + location + " - Έναρξη κατάσβεσης";
-        System.out.println(arrivalMessage);
-        
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("🎯 " + arrivalMessage);
-            }
-        });
-        
-        doWait(8000);
-        
-        String completeMessage = getLocalName() + ": Κατάσβεση ολοκληρώθηκε στη θέση " + location;
-        System.out.println(completeMessage);
-        
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("✅ " + completeMessage);
-            }
-        });
-        
-        // Ειδοποίηση ολοκλήρωσης
-        ACLMessage completed = new ACLMessage(ACLMessage.INFORM);
-        completed.setContent("EXTINGUISH_COMPLETED at " + location);
-        completed.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
-        send(completed);
-        
-        // Επιστροφή στο κέντρο επιχειρήσεων
-        String returnMessage = getLocalName() + ": Επιστροφή στο κέντρο επιχειρήσεων";
-        System.out.println(returnMessage);
-        
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("🔄 " + returnMessage);
-            }
-        });
-        
-        int baseX = FireSimulationGUI.getCommandCenterX();
-        int baseY = FireSimulationGUI.getCommandCenterY();
-        moveToLocation(baseX, baseY);
-        
-        String arrivedMessage = getLocalName() + ": Άφιξη στο κέντρο επιχειρήσεων";
-        System.out.println(arrivedMessage);
+        if (gui != null) {
+            gui.addLog("🚒 " + moveMessage);
+        }
         
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("🏢 " + arrivedMessage);
+        int baseX = GridManager.getCommandCenterX();
+        int baseY = GridManager.getCommandCenterY();
+        int startX = mission != null ? mission.getX() : baseX;
+        int startY = mission != null ? mission.getY() : baseY;
+        
+        mission = new UnitMission(this, startX, startY)
+            .moveTo("ΜΕΤΑΚΙΝΗΣΗ", targetX, targetY, TRUCK_SPEED_DELAY, "FIRETRUCK")
+            .then(() -> {
+                outbound = false;
+                String arrivalMessage = getLocalName() + ": Άφιξη στη θέση " + location + " - Έναρξη κατάσβεσης";
+                System.out.println(arrivalMessage);
+                
+                if (gui != null) {
+                    gui.addLog("🎯 " + arrivalMessage);
+                }
+            })
+            .work("ΚΑΤΑΣΒΕΣΗ", 8000)
+            .then(() -> {
+                String completeMessage = getLocalName() + ": Κατάσβεση ολοκληρώθηκε στη θέση " + location;
+                System.out.println(completeMessage);
+                
+                if (gui != null) {
+                    gui.addLog("✅ " + completeMessage);
+                }
+                
+                EventJournal.current().suppression(getLocalName(), Extinguish.DIRECT, targetX, targetY);
+                
+                // Ειδοποίηση ολοκλήρωσης
+                ACLMessage completed = MessageCodec.create(ACLMessage.INFORM, new ExtinguishCompleted(targetX, targetY));
+                completed.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
+                send(completed);
+                
+                // Επιστροφή στο κέντρο επιχειρήσεων
+                String returnMessage = getLocalName() + ": Επιστροφή στο κέντρο επιχειρήσεων";
+                System.out.println(returnMessage);
+                
+                if (gui != null) {
+                    gui.addLog("🔄 " + returnMessage);
+                }
+            })
+            .moveTo("ΕΠΙΣΤΡΟΦΗ", baseX, baseY, TRUCK_SPEED_DELAY, "FIRETRUCK")
+            .then(() -> {
+                String arrivedMessage = getLocalName() + ": Άφιξη στο κέντρο επιχειρήσεων";
+                System.out.println(arrivedMessage);
+                
+                if (gui != null) {
+                    gui.addLog("🏢 " + arrivedMessage);
+                }
+                
+                busy = false;
+                sendAvailabilityStatus();
+            });
+        addBehaviour(mission);
+    }
+    
+    // Checkpoint: η θέση του οχήματος· μετά τη συνέχιση περιμένει εκεί νέα αποστολή
+    private void writeState(DataOutputStream out) throws IOException {
+        out.writeShort(mission != null ? mission.getX() : GridManager.getCommandCenterX());
+        out.writeShort(mission != null ? mission.getY() : GridManager.getCommandCenterY());
+    }
+    
+    private void restoreState() {
+        DataInputStream in = StateCapture.restored(this);
+        if (in == null) return;
+        try {
+            int x = in.readShort();
+            int y = in.readShort();
+            mission = UnitMission.idleAt(this, x, y);
+            if (x != GridManager.getCommandCenterX() || y != GridManager.getCommandCenterY()) {
+                javax.swing.SwingUtilities.invokeLater(() -> {
+                    if (gui != null) {
+                        gui.showAgentAt(x, y, "FIRETRUCK", getLocalName());
+                    }
+                });
             }
-        });
-        
-        busy = false;
-        sendAvailabilityStatus();
+            System.out.println(getLocalName() + ": Συνέχιση από checkpoint στη θέση (" + x + "," + y + ")");
+        } catch (IOException e) {
+            System.err.println(getLocalName() + ": ❌ Αλλοιωμένο checkpoint: " + e.getMessage());
+        }
     }
     
     private void sendAvailabilityStatus() {
         String message = getLocalName() + ": Διαθέσιμο για νέα αποστολή";
         System.out.println(message);
         
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("🟢 " + message);
-            }
-        });
+        if (gui != null) {
+            gui.addLog("🟢 " + message);
+        }
         
-        ACLMessage available = new ACLMessage(ACLMessage.INFORM);
-        available.setContent("TRUCK_AVAILABLE");
+        ACLMessage available = MessageCodec.create(ACLMessage.INFORM, new Availability(FireMessage.UNIT_TRUCK));
         available.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
         send(available);
     }
     
-    private void moveToLocation(int targetX, int targetY) {
-        // Get current position from command center base
-        int currentX = FireSimulationGUI.getCommandCenterX();
-        int currentY = FireSimulationGUI.getCommandCenterY();
-        
-        // Calculate movement steps
-        int steps = Math.max(Math.abs(targetX - currentX), Math.abs(targetY - currentY));
-        if (steps == 0) return;
-        
-        double deltaX = (double)(targetX - currentX) / steps;
-        double deltaY = (double)(targetY - currentY) / steps;
-        
-        // Animate movement with truck speed
-        for (int i = 0; i <= steps; i++) {
-            final int newX = currentX + (int)(deltaX * i);
-            final int newY = currentY + (int)(deltaY * i);
-            
-            javax.swing.SwingUtilities.invokeLater(() -> {
-                if (gui != null) {
-                    gui.showTruckAt(newX, newY, getLocalName());
-                }
-            });
-            
-            doWait(TRUCK_SPEED_DELAY); // Medium speed for fire trucks
-        }
+    // Απάντηση σε STATUS_REQUEST ενώ η αποστολή είναι σε εξέλιξη
+    private void sendBusyStatus(ACLMessage request) {
+        UnitStatus status = new UnitStatus(FireMessage.UNIT_TRUCK, mission.getPhase(),
+                                           mission.getX(), mission.getY(), 0, 0);
+        ACLMessage reply = MessageCodec.create(ACLMessage.INFORM, status);
+        reply.addReceiver(request.getSender());
+        send(reply);
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,320 @@
+package agents;
+
+import jade.core.Agent;
+import jade.core.behaviours.CyclicBehaviour;
+import jade.lang.acl.ACLMessage;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import gui.SimulationView;
+import gui.SimulationViews;
+import protocol.*;
+import simulation.Checkpoint;
+import simulation.EventJournal;
+import simulation.FireSpreadEngine;
+import simulation.SpreadBatch;
+import simulation.TileLayout;
+import simulation.TileReport;
+import utils.GridManager;
+
+/**
+ * Grid owner: steps the whole forest through a FireSpreadEngine in one tick
+ * instead of one TreeAgent thread per cell. With a tree radius argument it
+ * also keeps TreeAgents alive near the fire (TreeMaterializer).
+ *
+ * With a TileLayout and tile index it owns one tile only, in tile
+ * coordinates: messages arrive in world coordinates through the forest
+ * router, spread across the tile edge goes to the neighbouring tile owners
+ * as one SpreadBatch each per tick (the halo), and ignitions and burn-outs go
+ * back to the router as a TileReport instead of to the map and journal.
+ */
+public class ForestAgent extends Agent {
+    private FireSpreadEngine engine;
+    private TreeMaterializer trees;
+    private TileLayout layout;         // null: όλος ο κόσμος σε αυτό το engine
+    private int tile = -1;
+    private int offsetX, offsetY;      // κόσμος = engine + offset
+    private final SpreadBatch halo = new SpreadBatch();
+    private final TileReport report = new TileReport();
+    private volatile SimulationView gui;
+    private long totalTickNanos = 0;
+
+    @Override
+    protected void setup() {
+        Object[] args = getArguments();
+        if (args != null && args.length >= 1 && args[0] instanceof FireSpreadEngine) {
+            engine = (FireSpreadEngine) args[0];
+        } else {
+            engine = new FireSpreadEngine(GridManager.GRID_SIZE, GridManager.GRID_SIZE, System.nanoTime());
+            engine.populateFull(new Random());
+        }
+        
+        // args[1]: TreeAgents σε απόσταση έως τόσα κελιά από τη φωτιά (0 = κανένα)
+        int treeRadius = args != null && args.length >= 2 && args[1] instanceof Integer ? (Integer) args[1] : 0;
+        
+        // args[2], args[3]: διάταξη πλακιδίων και ποιο πλακίδιο είναι αυτό
+        if (args != null && args.length >= 4 && args[2] instanceof TileLayout && args[3] instanceof Integer) {
+            layout = (TileLayout) args[2];
+            tile = (Integer) args[3];
+            offsetX = layout.originX(tile) - 1;
+            offsetY = layout.originY(tile) - 1;
+            treeRadius = 0; // τα ονόματα tree_x_y είναι συντεταγμένες κόσμου
+        }
+        if (treeRadius > 0) {
+            trees = new TreeMaterializer(this, engine, treeRadius);
+            synchronized (engine) {
+                for (int y = 1; y <= engine.getHeight(); y++) {
+                    for (int x = 1; x <= engine.getWidth(); x++) {
+                        if (engine.isBurning(x, y)) trees.nearFire(x, y);
+                    }
+                }
+            }
+        }
+
+        // Αρχικοποίηση GUI· ένα πλακίδιο αναφέρει στον router, που ζωγραφίζει τον χάρτη
+        if (layout == null) {
+            javax.swing.SwingUtilities.invokeLater(() -> {
+                gui = SimulationViews.current();
+                if (Checkpoint.isResuming()) {
+                    showRestoredForest();
+                }
+            });
+        }
+
+        // Το engine είναι synchronized: το στιγμιότυπο γράφεται κατευθείαν από το νήμα του checkpoint
+        Checkpoint.getInstance().register(getLocalName(), capture -> capture.submit(engine.saveState()));
+
+        System.out.println(getLocalName() + ": Δάσος " + engine.getWidth() + "x" + engine.getHeight() +
+                          " με " + engine.getTreeCount() + " δέντρα (array engine" +
+                          (trees != null ? ", TreeAgents σε ακτίνα " + treeRadius + " από τη φωτιά" : "") +
+                          (layout != null ? ", πλακίδιο " + tile + "/" + layout.getTileCount() + " από (" +
+                                            (offsetX + 1) + "," + (offsetY + 1) + ")" : "") + ")");
+
+        KernelWakeup.watchMailbox(this);
+        addBehaviour(new CyclicBehaviour() {
+            @Override
+            public void action() {
+                ACLMessage msg = receive();
+
+                if (msg != null) {
+                    processMessage(msg);
+                } else {
+                    block();
+                }
+            }
+        });
+
+        // Συμπεριφορά καύσης για όλο το grid
+        addBehaviour(new SimTickerBehaviour(this, FireSpreadEngine.TICK_MS) {
+            @Override
+            protected void onTick() {
+                stepForest();
+            }
+        });
+    }
+
+    @Override
+    protected void takeDown() {
+        Checkpoint.getInstance().unregister(getLocalName());
+        KernelWakeup.detach(this);
+        // Το engine περνά στον agent μαζί με το ForkJoinPool του
+        engine.shutdown();
+    }
+
+    private void processMessage(ACLMessage msg) {
+        if (SpreadBatch.ONTOLOGY.equals(msg.getOntology())) {
+            resolveBatch(msg);
+        } else {
+            FireMessage message = MessageCodec.read(msg);
+            if (message == null) return;
+
+            if (message.getType() == FireMessage.FIRE_SPREAD) {
+                FireSpread spread = (FireSpread) message;
+                spreadFrom(spread.x - offsetX, spread.y - offsetY);
+            } else if (message instanceof WeatherUpdate) {
+                updateWeather((WeatherUpdate) message);
+            }
+        }
+        sendReport();
+    }
+
+    private void spreadFrom(int sx, int sy) {
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                if (dx == 0 && dy == 0) continue;
+
+                int nx = sx + dx, ny = sy + dy;
+                if (engine.trySpreadTo(nx, ny)) {
+                    reportIgnition(nx, ny, engine.getFireIntensity(nx, ny));
+                }
+            }
+        }
+    }
+
+    // Όλη η διάδοση ενός tick σε ένα μήνυμα, επίλυση σε ένα πέρασμα
+    private void resolveBatch(ACLMessage msg) {
+        SpreadBatch batch;
+        try {
+            batch = SpreadBatch.decode(msg.getByteSequenceContent());
+        } catch (RuntimeException e) {
+            System.out.println(getLocalName() + ": Μη έγκυρο spread batch από " + msg.getSender().getLocalName());
+            return;
+        }
+
+        if (layout != null) {
+            batch = toTile(batch);
+        }
+        for (int cell : engine.applySpreadBatch(batch)) {
+            reportIgnition(engine.cellX(cell), engine.cellY(cell), FireSpreadEngine.IGNITION_INTENSITY);
+        }
+    }
+
+    // Οι εγγραφές του batch (συντεταγμένες κόσμου) που πέφτουν σε αυτό το πλακίδιο, σε συντεταγμένες engine
+    private SpreadBatch toTile(SpreadBatch batch) {
+        SpreadBatch local = new SpreadBatch(batch.size());
+        for (int n = 0; n < batch.size(); n++) {
+            int x = SpreadBatch.cellX(batch.getTarget(n));
+            int y = SpreadBatch.cellY(batch.getTarget(n));
+            if (layout.owner(x, y) == tile) {
+                local.add(batch.getSource(n), SpreadBatch.cell(x - offsetX, y - offsetY), batch.getIntensity(n));
+            }
+        }
+        return local;
+    }
+
+    private void stepForest() {
+        int ignitions;
+        int[] ignitedCells;
+        int[] burnedOutCells;
+
+        synchronized (engine) {
+            if (layout != null) {
+                engine.collectEdgeSpreads(halo, offsetX + 1, offsetY + 1);
+            }
+            ignitions = engine.step();
+            ignitedCells = new int[ignitions];
+            for (int n = 0; n < ignitions; n++) {
+                ignitedCells[n] = engine.getIgnited(n);
+            }
+            burnedOutCells = new int[engine.getBurnedOutCount()];
+            for (int n = 0; n < burnedOutCells.length; n++) {
+                burnedOutCells[n] = engine.getBurnedOut(n);
+            }
+        }
+        totalTickNanos += engine.getLastTickNanos();
+
+        for (int cell : ignitedCells) {
+            int x = engine.cellX(cell);
+            int y = engine.cellY(cell);
+            reportIgnition(x, y, FireSpreadEngine.IGNITION_INTENSITY);
+        }
+
+        if (layout != null) {
+            for (int cell : burnedOutCells) {
+                report.burnedOut(engine.cellX(cell) + offsetX, engine.cellY(cell) + offsetY);
+            }
+            sendHalo();
+            sendReport();
+        } else if (burnedOutCells.length > 0) {
+            EventJournal journal = EventJournal.current();
+            for (int cell : burnedOutCells) {
+                journal.burnedOut(engine.cellX(cell), engine.cellY(cell));
+            }
+            if (gui != null) {
+                for (int cell : burnedOutCells) {
+                    gui.updateCell(engine.cellX(cell), engine.cellY(cell), "EXTINGUISHED");
+                }
+            }
+        }
+
+        if (trees != null) {
+            trees.sweep();
+        }
+
+        long generation = engine.getGeneration();
+        if (generation % 10 == 0 && engine.getBurningCount() > 0) { // Reduce log frequency for large grid
+            System.out.println(getLocalName() + ": Tick " + generation + " - Καίγονται: " + engine.getBurningCount() +
+                             ", Κατεστραμμένα: " + engine.getDestroyedCount() +
+                             ", Μέτωπο: " + engine.getFrontSize() + " κελιά" +
+                             (trees != null ? ", TreeAgents: " + trees.getLiveCount() + " (μέγιστο " + trees.getPeak() +
+                                              ", +" + trees.getPromoted() + "/-" + trees.getDemoted() + ")" : "") +
+                             ", Χρόνος tick: " + (engine.getLastTickNanos() / 1000) + "μs" +
+                             " (μέσος " + (totalTickNanos / generation / 1000) + "μs)");
+        }
+    }
+
+    // Μετά από συνέχιση: ό,τι καιγόταν ή κάηκε εμφανίζεται αμέσως στον χάρτη
+    private void showRestoredForest() {
+        if (gui == null) return;
+        synchronized (engine) {
+            for (int y = 1; y <= engine.getHeight(); y++) {
+                for (int x = 1; x <= engine.getWidth(); x++) {
+                    if (engine.isBurning(x, y)) {
+                        gui.updateCell(x, y, "FIRE", engine.getFireIntensity(x, y));
+                    } else if (engine.isDestroyed(x, y)) {
+                        gui.updateCell(x, y, "EXTINGUISHED");
+                    }
+                }
+            }
+        }
+        gui.addLog("💾 Συνέχιση από checkpoint: " + engine.getBurningCount() + " κελιά σε φωτιά, " +
+                   engine.getDestroyedCount() + " καμένα");
+    }
+
+    // Η διάδοση προς τα γειτονικά πλακίδια του tick: ένα SpreadBatch ανά ιδιοκτήτη
+    private void sendHalo() {
+        if (halo.isEmpty()) return;
+
+        Map<Integer, SpreadBatch> byOwner = new TreeMap<>();
+        for (int n = 0; n < halo.size(); n++) {
+            int target = halo.getTarget(n);
+            int owner = layout.owner(SpreadBatch.cellX(target), SpreadBatch.cellY(target));
+            if (owner < 0 || owner == tile) continue;
+            byOwner.computeIfAbsent(owner, o -> new SpreadBatch()).add(halo.getSource(n), target, halo.getIntensity(n));
+        }
+        halo.clear();
+
+        for (Map.Entry<Integer, SpreadBatch> entry : byOwner.entrySet()) {
+            ACLMessage msg = new ACLMessage(ACLMessage.INFORM);
+            msg.setOntology(SpreadBatch.ONTOLOGY);
+            msg.setByteSequenceContent(entry.getValue().encode());
+            msg.addReceiver(new jade.core.AID(TileLayout.agentName(entry.getKey()), jade.core.AID.ISLOCALNAME));
+            send(msg);
+        }
+    }
+
+    private void sendReport() {
+        if (report.isEmpty()) return;
+
+        ACLMessage msg = new ACLMessage(ACLMessage.INFORM);
+        msg.setOntology(TileReport.ONTOLOGY);
+        msg.setByteSequenceContent(report.encode());
+        msg.addReceiver(new jade.core.AID("forest", jade.core.AID.ISLOCALNAME));
+        send(msg);
+        report.clear();
+    }
+
+    private void reportIgnition(int x, int y, int intensity) {
+        if (layout != null) {
+            report.ignited(x + offsetX, y + offsetY, intensity);
+            return;
+        }
+
+        EventJournal.current().spread(x, y, intensity);
+        if (trees != null) {
+            trees.nearFire(x, y);
+        }
+
+        if (gui != null) {
+            gui.updateCell(x, y, "FIRE", intensity);
+        }
+    }
+
+    private void updateWeather(WeatherUpdate weather) {
+        engine.applyWeather(weather.windSpeed, weather.humidity, weather.temperature);
+    }
+
+    public FireSpreadEngine getEngine() {
+        return engine;
+    }
+}
@@ -0,0 +1,169 @@
+package agents;
+
+import jade.core.AID;
+import jade.core.Agent;
+import jade.core.behaviours.CyclicBehaviour;
+import jade.lang.acl.ACLMessage;
+import java.util.Map;
+import java.util.TreeMap;
+import gui.SimulationView;
+import gui.SimulationViews;
+import protocol.*;
+import simulation.EventJournal;
+import simulation.SpreadBatch;
+import simulation.TileLayout;
+import simulation.TileReport;
+
+/**
+ * "forest" of a tiled run, on the main container. The other agents keep
+ * talking to "forest" in world coordinates; the router forwards each message
+ * to the tile owners (forest-N) it concerns, wherever their containers are.
+ * Tile reports come back here, so the journal, FireControlAgent and the map
+ * see one forest no matter how many JVMs step it.
+ */
+public class ForestRouterAgent extends Agent {
+    private TileLayout layout;
+    private volatile SimulationView gui;
+    private long ignitions, burnedOut;
+
+    @Override
+    protected void setup() {
+        Object[] args = getArguments();
+        if (args == null || args.length < 1 || !(args[0] instanceof TileLayout)) {
+            System.err.println(getLocalName() + ": Χωρίς διάταξη πλακιδίων - τερματισμός");
+            doDelete();
+            return;
+        }
+        layout = (TileLayout) args[0];
+
+        javax.swing.SwingUtilities.invokeLater(() -> gui = SimulationViews.current());
+
+        System.out.println(getLocalName() + ": Δάσος " + layout.getWidth() + "x" + layout.getHeight() +
+                          " σε " + layout + " πλακίδια (" + TileLayout.agentName(0) + " ... " +
+                          TileLayout.agentName(layout.getTileCount() - 1) + ")");
+
+        KernelWakeup.watchMailbox(this);
+        addBehaviour(new CyclicBehaviour() {
+            @Override
+            public void action() {
+                ACLMessage msg = receive();
+
+                if (msg != null) {
+                    processMessage(msg);
+                } else {
+                    block();
+                }
+            }
+        });
+    }
+
+    private void processMessage(ACLMessage msg) {
+        // Επιστροφές του AMS για πλακίδια που δεν έχουν συνδεθεί ακόμα (remote)
+        if (msg.getPerformative() == ACLMessage.FAILURE) return;
+
+        if (TileReport.ONTOLOGY.equals(msg.getOntology())) {
+            applyReport(msg);
+            return;
+        }
+        if (SpreadBatch.ONTOLOGY.equals(msg.getOntology())) {
+            splitBatch(msg);
+            return;
+        }
+
+        FireMessage message = MessageCodec.read(msg);
+        if (message == null) return;
+
+        if (message.getType() == FireMessage.FIRE_SPREAD) {
+            // Οι γείτονες του (x,y) μπορεί να ανήκουν σε έως τέσσερα πλακίδια
+            FireSpread spread = (FireSpread) message;
+            ACLMessage forward = (ACLMessage) msg.clone();
+            forward.clearAllReceiver();
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    int owner = layout.owner(spread.x + dx, spread.y + dy);
+                    if (owner >= 0) {
+                        forward.addReceiver(new AID(TileLayout.agentName(owner), AID.ISLOCALNAME));
+                    }
+                }
+            }
+            if (forward.getAllReceiver().hasNext()) {
+                send(forward);
+            }
+        } else if (message instanceof WeatherUpdate) {
+            ACLMessage forward = (ACLMessage) msg.clone();
+            forward.clearAllReceiver();
+            for (int tile = 0; tile < layout.getTileCount(); tile++) {
+                forward.addReceiver(new AID(TileLayout.agentName(tile), AID.ISLOCALNAME));
+            }
+            send(forward);
+        }
+    }
+
+    // Ένα batch (π.χ. του FireAgent) χωρίζεται ανά πλακίδιο-ιδιοκτήτη του στόχου
+    private void splitBatch(ACLMessage msg) {
+        SpreadBatch batch;
+        try {
+            batch = SpreadBatch.decode(msg.getByteSequenceContent());
+        } catch (RuntimeException e) {
+            System.out.println(getLocalName() + ": Μη έγκυρο spread batch από " + msg.getSender().getLocalName());
+            return;
+        }
+
+        Map<Integer, SpreadBatch> byOwner = new TreeMap<>();
+        for (int n = 0; n < batch.size(); n++) {
+            int target = batch.getTarget(n);
+            int owner = layout.owner(SpreadBatch.cellX(target), SpreadBatch.cellY(target));
+            if (owner >= 0) {
+                byOwner.computeIfAbsent(owner, o -> new SpreadBatch()).add(batch.getSource(n), target, batch.getIntensity(n));
+            }
+        }
+
+        for (Map.Entry<Integer, SpreadBatch> entry : byOwner.entrySet()) {
+            ACLMessage forward = new ACLMessage(ACLMessage.INFORM);
+            forward.setOntology(SpreadBatch.ONTOLOGY);
+            forward.setByteSequenceContent(entry.getValue().encode());
+            forward.addReceiver(new AID(TileLayout.agentName(entry.getKey()), AID.ISLOCALNAME));
+            send(forward);
+        }
+    }
+
+    private void applyReport(ACLMessage msg) {
+        TileReport report;
+        try {
+            report = TileReport.decode(msg.getByteSequenceContent());
+        } catch (RuntimeException e) {
+            System.out.println(getLocalName() + ": Μη έγκυρη αναφορά πλακιδίου από " + msg.getSender().getLocalName());
+            return;
+        }
+
+        EventJournal journal = EventJournal.current();
+        for (int n = 0; n < report.size(); n++) {
+            int x = report.getX(n);
+            int y = report.getY(n);
+            if (report.isBurnedOut(n)) {
+                burnedOut++;
+                journal.burnedOut(x, y);
+                if (gui != null) {
+                    gui.updateCell(x, y, "EXTINGUISHED");
+                }
+            } else {
+                ignitions++;
+                reportIgnition(x, y, report.getIntensity(n));
+            }
+        }
+    }
+
+    private void reportIgnition(int x, int y, int intensity) {
+        EventJournal.current().spread(x, y, intensity);
+
+        if (gui != null) {
+            gui.updateCell(x, y, "FIRE", intensity);
+        }
+    }
+
+    @Override
+    protected void takeDown() {
+        KernelWakeup.detach(this);
+        System.out.println(getLocalName() + ": " + ignitions + " αναφλέξεις, " + burnedOut + " καμένα κελιά από τα πλακίδια");
+    }
+}
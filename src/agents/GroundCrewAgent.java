@@ -3,11 +3,18 @@ package agents;
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.lang.acl.ACLMessage;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.*;
-import gui.FireSimulationGUI; // Import for animated movement
+import utils.GridManager;
+import protocol.*;
+import simulation.EventJournal;
 
 public class GroundCrewAgent extends Agent {
     private boolean deployed = false;
+    private boolean outbound = false; // καθ' οδόν προς την περιοχή - δεκτή αλλαγή προορισμού
+    private UnitMission mission;
     private int teamSize = 5; // αριθμός μελών ομάδας
     private int fatigueLevel = 0; // 0-100 (κούραση)
     private List<String> equipment = Arrays.asList("αξίνες", "τσάπες", "φτυάρια", "ψεκαστήρες");
@@ -29,35 +36,52 @@ public class GroundCrewAgent extends Agent {
         System.out.println(getLocalName() + ": Πεζοπόρα ομάδα (" + teamSize + " άτομα) - Ειδικότητα: " + 
                           getSpecializationGreek() + " - Εξοπλισμός: " + String.join(", ", equipment));
         
+        restoreState();
+        StateCapture.register(this, this::writeState);
+        
         // Ειδοποίηση διαθεσιμότητας
-        ACLMessage available = new ACLMessage(ACLMessage.INFORM);
-        available.setContent("GROUND_CREW_AVAILABLE specialization:" + specialization + " fatigue:" + fatigueLevel);
+        ACLMessage available = MessageCodec.create(ACLMessage.INFORM,
+                new Availability(FireMessage.UNIT_GROUND_CREW, 0, specialization, fatigueLevel));
         available.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
         send(available);
         
+        KernelWakeup.watchMailbox(this);
         addBehaviour(new CyclicBehaviour() {
             @Override
             public void action() {
                 ACLMessage msg = receive();
                 
                 if (msg != null) {
+                    FireMessage message = MessageCodec.read(msg);
                     String content = msg.getContent();
                     
-                    if (content.startsWith("DEPLOY_GROUND_CREW") && !deployed && fatigueLevel < 80) {
-                        String location = content.substring(content.indexOf("to") + 3);
-                        deployToLocation(location);
+                    if (message instanceof Deploy && (!deployed || outbound) && fatigueLevel < 80) {
+                        Deploy deploy = (Deploy) message;
+                        if (deployed) {
+                            mission.abort();
+                            System.out.println(getLocalName() + ": Αλλαγή προορισμού καθ' οδόν");
+                        }
+                        deployToLocation(deploy.x, deploy.y);
+                        
+                    } else if (message != null && message.getType() == FireMessage.STATUS_REQUEST) {
+                        if (deployed) {
+                            sendBusyStatus(msg);
+                        } else {
+                            sendAvailabilityStatus();
+                        }
                         
-                    } else if (content.equals("REST_REQUEST")) {
-                        if (fatigueLevel > 60) {
-                            takeRest();
+                    } else if ("REST_REQUEST".equals(content)) {
+                        if (!deployed && fatigueLevel > 60) {
+                            deployed = true;
+                            mission = takeRest(new UnitMission(GroundCrewAgent.this, getBaseX(), getBaseY()))
+                                .then(() -> deployed = false);
+                            addBehaviour(mission);
                         }
-                    } else if (content.startsWith("SUPPORT_REQUEST")) {
+                    } else if (content != null && content.startsWith("SUPPORT_REQUEST")) {
                         if (!deployed && fatigueLevel < 50) {
                             String supportType = content.substring(content.indexOf("type:") + 5);
                             provideSupportService(supportType);
                         }
-                    } else if (content.equals("STATUS_REQUEST")) {
-                        sendAvailabilityStatus();
                     }
                 } else {
                     block();
@@ -66,43 +90,39 @@ public class GroundCrewAgent extends Agent {
         });
     }
     
-    private void deployToLocation(String location) {
+    @Override
+    protected void takeDown() {
+        StateCapture.unregister(this);
+        KernelWakeup.detach(this);
+    }
+    
+    private void deployToLocation(int targetX, int targetY) {
         deployed = true;
+        outbound = true;
+        String location = "(" + targetX + "," + targetY + ")";
         
         System.out.println(getLocalName() + ": Μετακίνηση προς " + location + 
                           " (Κούραση: " + fatigueLevel + "%)");
         
-        // Parse coordinates from location string (e.g., "75,75" or "fire at 75,75" or "(75,75)")
-        int targetX = 75, targetY = 75; // Default location
-        try {
-            if (location.contains(",")) {
-                String coords = location;
-                // Handle different formats: "fire at 75,75", "(75,75)", "75,75"
-                if (location.contains(" at ")) {
-                    coords = location.substring(location.lastIndexOf(" at ") + 4);
-                }
-                // Remove parentheses if present
-                coords = coords.replace("(", "").replace(")", "").trim();
-                String[] parts = coords.split(",");
-                targetX = Integer.parseInt(parts[0].trim());
-                targetY = Integer.parseInt(parts[1].trim());
-            }
-        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
-            System.out.println(getLocalName() + ": Δεν μπόρεσα να αναλύσω τις συντεταγμένες από '" + location + "', χρήση προεπιλογής (75,75)");
-        }
-        
-        // Use animated walking movement to location
-        walkToLocation(targetX, targetY);
+        int startX = mission != null ? mission.getX() : getBaseX();
+        int startY = mission != null ? mission.getY() : getBaseY();
+        System.out.println(getLocalName() + ": Πεζή μετακίνηση από (" + startX + ", " + startY + ") προς (" + targetX + ", " + targetY + ")");
         
-        System.out.println(getLocalName() + ": Άφιξη στην περιοχή " + location);
+        // Walking movement to location
+        mission = new UnitMission(this, startX, startY)
+            .moveTo("ΠΕΖΗ ΜΕΤΑΚΙΝΗΣΗ", targetX, targetY, CREW_SPEED_DELAY, "CREW")
+            .then(() -> {
+                outbound = false;
+                System.out.println(getLocalName() + ": Άφιξη στην περιοχή " + location);
+            });
         
         // Διαφορετικές δραστηριότητες ανά ειδικότητα
         switch (specialization) {
             case "prevention":
-                performPrevention(location);
+                performPrevention(targetX, targetY);
                 break;
             case "suppression":
-                performSuppression(location);
+                performSuppression(targetX, targetY);
                 break;
             case "mop-up":
                 performMopUp(location);
@@ -112,94 +132,105 @@ public class GroundCrewAgent extends Agent {
         }
         
         // Επιστροφή στη βάση (Κέντρο Επιχειρήσεων)
-        System.out.println(getLocalName() + ": Ολοκλήρωση εργασιών - Επιστροφή στο κέντρο επιχειρήσεων");
-        
-        int baseX = gui.FireSimulationGUI.getCommandCenterX();
-        int baseY = gui.FireSimulationGUI.getCommandCenterY();
-        walkToLocation(baseX, baseY);
-        
-        System.out.println(getLocalName() + ": Άφιξη στο κέντρο επιχειρήσεων");
-        
-        deployed = false;
-        fatigueLevel += 20; // αύξηση κούρασης
+        mission
+            .then(() -> System.out.println(getLocalName() + ": Ολοκλήρωση εργασιών - Επιστροφή στο κέντρο επιχειρήσεων"))
+            .moveTo("ΕΠΙΣΤΡΟΦΗ", getBaseX(), getBaseY(), CREW_SPEED_DELAY, "CREW")
+            .then(() -> {
+                System.out.println(getLocalName() + ": Άφιξη στο κέντρο επιχειρήσεων");
+                fatigueLevel += 20; // αύξηση κούρασης
+            });
         
-        if (fatigueLevel >= 80) {
-            System.out.println(getLocalName() + ": Η ομάδα χρειάζεται ανάπαυση!");
-            takeRest();
+        // Η κούραση είναι γνωστή από τώρα: +20 ανά αποστολή
+        if (fatigueLevel + 20 >= 80) {
+            mission.then(() -> System.out.println(getLocalName() + ": Η ομάδα χρειάζεται ανάπαυση!"));
+            takeRest(mission);
         }
         
-        sendAvailabilityStatus();
+        mission.then(() -> {
+            deployed = false;
+            sendAvailabilityStatus();
+        });
+        addBehaviour(mission);
     }
     
-    private void performPrevention(String location) {
-        System.out.println(getLocalName() + ": Δημιουργία αντιπυρικής ζώνης στην περιοχή " + location);
-        doWait(15000); // 15 δευτερόλεπτα εργασία
-        
-        // Μήνυμα προς δέντρα για μείωση επικινδυνότητας
-        ACLMessage prevention = new ACLMessage(ACLMessage.INFORM);
-        prevention.setContent("FIRE_PREVENTION applied effectiveness:0.6");
-        
-        // Στέλνουμε σε όλα τα γειτονικά δέντρα
-        String[] coords = location.replace("(", "").replace(")", "").split(",");
-        int centerX = Integer.parseInt(coords[0]);
-        int centerY = Integer.parseInt(coords[1]);
-        
-        for (int dx = -1; dx <= 1; dx++) {
-            for (int dy = -1; dy <= 1; dy++) {
-                String treeName = findTreeAtPosition(centerX + dx, centerY + dy);
-                if (treeName != null) {
-                    prevention.addReceiver(new jade.core.AID(treeName, jade.core.AID.ISLOCALNAME));
+    private void performPrevention(int centerX, int centerY) {
+        String location = "(" + centerX + "," + centerY + ")";
+        mission
+            .then(() -> System.out.println(getLocalName() + ": Δημιουργία αντιπυρικής ζώνης στην περιοχή " + location))
+            .work("ΑΝΤΙΠΥΡΙΚΗ ΖΩΝΗ", 15000) // 15 δευτερόλεπτα εργασία
+            .then(() -> {
+                // Μήνυμα προς δέντρα για μείωση επικινδυνότητας
+                ACLMessage prevention = new ACLMessage(ACLMessage.INFORM);
+                prevention.setContent("FIRE_PREVENTION applied effectiveness:0.6");
+                
+                // Στέλνουμε σε όλα τα γειτονικά δέντρα
+                for (int dx = -1; dx <= 1; dx++) {
+                    for (int dy = -1; dy <= 1; dy++) {
+                        String treeName = findTreeAtPosition(centerX + dx, centerY + dy);
+                        if (treeName != null) {
+                            prevention.addReceiver(new jade.core.AID(treeName, jade.core.AID.ISLOCALNAME));
+                        }
+                    }
                 }
-            }
-        }
-        send(prevention);
-        
-        System.out.println(getLocalName() + ": Αντιπυρική ζώνη ολοκληρώθηκε!");
+                send(prevention);
+                
+                System.out.println(getLocalName() + ": Αντιπυρική ζώνη ολοκληρώθηκε!");
+            });
     }
     
-    private void performSuppression(String location) {
-        System.out.println(getLocalName() + ": Άμεση κατάσβεση με χειρωνακτικά μέσα στην περιοχή " + location);
-        doWait(12000); // 12 δευτερόλεπτα κατάσβεση
-        
-        // Στοχευμένη κατάσβεση
-        ACLMessage suppress = new ACLMessage(ACLMessage.REQUEST);
-        suppress.setContent("GROUND_EXTINGUISH at " + location + " effectiveness:0.7");
-        suppress.addReceiver(new jade.core.AID("fire1", jade.core.AID.ISLOCALNAME));
-        send(suppress);
-        
-        System.out.println(getLocalName() + ": Χειρωνακτική κατάσβεση ολοκληρώθηκε!");
+    private void performSuppression(int x, int y) {
+        String location = "(" + x + "," + y + ")";
+        mission
+            .then(() -> System.out.println(getLocalName() + ": Άμεση κατάσβεση με χειρωνακτικά μέσα στην περιοχή " + location))
+            .work("ΚΑΤΑΣΒΕΣΗ", 12000) // 12 δευτερόλεπτα κατάσβεση
+            .then(() -> {
+                // Στοχευμένη κατάσβεση
+                ACLMessage suppress = MessageCodec.create(ACLMessage.REQUEST, new Extinguish(Extinguish.GROUND, x, y, 0.7));
+                suppress.addReceiver(new jade.core.AID("fire1", jade.core.AID.ISLOCALNAME));
+                send(suppress);
+                EventJournal.current().suppression(getLocalName(), Extinguish.GROUND, x, y);
+                
+                System.out.println(getLocalName() + ": Χειρωνακτική κατάσβεση ολοκληρώθηκε!");
+            });
     }
     
     private void performMopUp(String location) {
-        System.out.println(getLocalName() + ": Εργασίες εξυγίανσης και παρακολούθησης στην περιοχή " + location);
-        doWait(20000); // 20 δευτερόλεπτα εξυγίανση
-        
-        // Μήνυμα για μείωση πιθανότητας αναζοπύρωσης
-        ACLMessage mopUp = new ACLMessage(ACLMessage.INFORM);
-        mopUp.setContent("MOP_UP_COMPLETED at " + location + " reignition_reduction:0.8");
-        mopUp.addReceiver(new jade.core.AID("fire1", jade.core.AID.ISLOCALNAME));
-        send(mopUp);
-        
-        System.out.println(getLocalName() + ": Εξυγίανση ολοκληρώθηκε - Μειωμένος κίνδυνος αναζοπύρωσης!");
+        mission
+            .then(() -> System.out.println(getLocalName() + ": Εργασίες εξυγίανσης και παρακολούθησης στην περιοχή " + location))
+            .work("ΕΞΥΓΙΑΝΣΗ", 20000) // 20 δευτερόλεπτα εξυγίανση
+            .then(() -> {
+                // Μήνυμα για μείωση πιθανότητας αναζοπύρωσης
+                ACLMessage mopUp = new ACLMessage(ACLMessage.INFORM);
+                mopUp.setContent("MOP_UP_COMPLETED at " + location + " reignition_reduction:0.8");
+                mopUp.addReceiver(new jade.core.AID("fire1", jade.core.AID.ISLOCALNAME));
+                send(mopUp);
+                
+                System.out.println(getLocalName() + ": Εξυγίανση ολοκληρώθηκε - Μειωμένος κίνδυνος αναζοπύρωσης!");
+            });
     }
     
     private void performGeneralWork(String location) {
-        System.out.println(getLocalName() + ": Γενικές εργασίες πυρόσβεσης στην περιοχή " + location);
-        doWait(10000);
-        
-        ACLMessage general = new ACLMessage(ACLMessage.REQUEST);
-        general.setContent("GENERAL_FIRE_WORK at " + location + " effectiveness:0.5");
-        general.addReceiver(new jade.core.AID("fire1", jade.core.AID.ISLOCALNAME));
-        send(general);
-        
-        System.out.println(getLocalName() + ": Γενικές εργασίες ολοκληρώθηκαν!");
+        mission
+            .then(() -> System.out.println(getLocalName() + ": Γενικές εργασίες πυρόσβεσης στην περιοχή " + location))
+            .work("ΓΕΝΙΚΕΣ ΕΡΓΑΣΙΕΣ", 10000)
+            .then(() -> {
+                ACLMessage general = new ACLMessage(ACLMessage.REQUEST);
+                general.setContent("GENERAL_FIRE_WORK at " + location + " effectiveness:0.5");
+                general.addReceiver(new jade.core.AID("fire1", jade.core.AID.ISLOCALNAME));
+                send(general);
+                
+                System.out.println(getLocalName() + ": Γενικές εργασίες ολοκληρώθηκαν!");
+            });
     }
     
-    private void takeRest() {
-        System.out.println(getLocalName() + ": Ανάπαυση ομάδας στο κέντρο επιχειρήσεων...");
-        doWait(30000); // 30 δευτερόλεπτα ανάπαυση
-        fatigueLevel = Math.max(0, fatigueLevel - 40);
-        System.out.println(getLocalName() + ": Ανάπαυση ολοκληρώθηκε στο κέντρο επιχειρήσεων - Κούραση: " + fatigueLevel + "%");
+    private UnitMission takeRest(UnitMission rest) {
+        return rest
+            .then(() -> System.out.println(getLocalName() + ": Ανάπαυση ομάδας στο κέντρο επιχειρήσεων..."))
+            .work("ΑΝΑΠΑΥΣΗ", 30000) // 30 δευτερόλεπτα ανάπαυση
+            .then(() -> {
+                fatigueLevel = Math.max(0, fatigueLevel - 40);
+                System.out.println(getLocalName() + ": Ανάπαυση ολοκληρώθηκε στο κέντρο επιχειρήσεων - Κούραση: " + fatigueLevel + "%");
+            });
     }
     
     private void provideSupportService(String supportType) {
@@ -207,9 +238,30 @@ public class GroundCrewAgent extends Agent {
         // Υλοποίηση διαφόρων υπηρεσιών υποστήριξης
     }
     
+    // Checkpoint: θέση και κούραση· μετά τη συνέχιση η ομάδα περιμένει εκεί νέα αποστολή
+    private void writeState(DataOutputStream out) throws IOException {
+        out.writeShort(mission != null ? mission.getX() : getBaseX());
+        out.writeShort(mission != null ? mission.getY() : getBaseY());
+        out.writeInt(fatigueLevel);
+    }
+    
+    private void restoreState() {
+        DataInputStream in = StateCapture.restored(this);
+        if (in == null) return;
+        try {
+            int x = in.readShort();
+            int y = in.readShort();
+            fatigueLevel = in.readInt();
+            mission = UnitMission.idleAt(this, x, y);
+            System.out.println(getLocalName() + ": Συνέχιση από checkpoint στη θέση (" + x + "," + y + ") - Κούραση: " + fatigueLevel + "%");
+        } catch (IOException e) {
+            System.err.println(getLocalName() + ": ❌ Αλλοιωμένο checkpoint: " + e.getMessage());
+        }
+    }
+    
     private void sendAvailabilityStatus() {
-        ACLMessage available = new ACLMessage(ACLMessage.INFORM);
-        available.setContent("GROUND_CREW_AVAILABLE specialization:" + specialization + " fatigue:" + fatigueLevel);
+        ACLMessage available = MessageCodec.create(ACLMessage.INFORM,
+                new Availability(FireMessage.UNIT_GROUND_CREW, 0, specialization, fatigueLevel));
         available.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
         send(available);
     }
@@ -239,45 +291,21 @@ public class GroundCrewAgent extends Agent {
         return null;
     }
     
-    private void walkToLocation(int targetX, int targetY) {
-        // Get GUI singleton instance
-        gui.FireSimulationGUI guiInstance = gui.FireSimulationGUI.getInstance();
-        if (guiInstance == null) {
-            System.out.println(getLocalName() + ": Δεν υπάρχει GUI - άμεση τηλεμεταφορά στην περιοχή (" + targetX + ", " + targetY + ")");
-            return;
-        }
-        
-        // Get Command Center position as starting point (crew base)
-        int currentX = gui.FireSimulationGUI.getCommandCenterX();
-        int currentY = gui.FireSimulationGUI.getCommandCenterY();
-        
-        System.out.println(getLocalName() + ": Πεζή μετακίνηση από κέντρο επιχειρήσεων (" + currentX + ", " + currentY + ") προς (" + targetX + ", " + targetY + ")");
-        
-        // Animated movement from Command Center to target (walking speed)
-        while (currentX != targetX || currentY != targetY) {
-            if (currentX < targetX) currentX++;
-            else if (currentX > targetX) currentX--;
-            
-            if (currentY < targetY) currentY++;
-            else if (currentY > targetY) currentY--;
-            
-            final int newX = currentX;
-            final int newY = currentY;
-            
-            javax.swing.SwingUtilities.invokeLater(() -> {
-                if (guiInstance != null) {
-                    guiInstance.showAgentAt(newX, newY, "CREW", getLocalName());
-                }
-            });
-            
-            try {
-                Thread.sleep(CREW_SPEED_DELAY); // Slow walking movement
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return;
-            }
-        }
-        
-        System.out.println(getLocalName() + ": Άφιξη στον προορισμό (" + targetX + ", " + targetY + ") - Προετοιμασία για εργασία");
+    // Η ομάδα έχει βάση το κέντρο επιχειρήσεων
+    private static int getBaseX() {
+        return GridManager.getCommandCenterX();
+    }
+    
+    private static int getBaseY() {
+        return GridManager.getCommandCenterY();
+    }
+    
+    // Απάντηση σε STATUS_REQUEST ενώ η αποστολή είναι σε εξέλιξη
+    private void sendBusyStatus(ACLMessage request) {
+        UnitStatus status = new UnitStatus(FireMessage.UNIT_GROUND_CREW, mission.getPhase(),
+                                           mission.getX(), mission.getY(), 0, fatigueLevel);
+        ACLMessage reply = MessageCodec.create(ACLMessage.INFORM, status);
+        reply.addReceiver(request.getSender());
+        send(reply);
     }
 }
\ No newline at end of file
@@ -3,13 +3,22 @@ package agents;
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.lang.acl.ACLMessage;
-import gui.FireSimulationGUI;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import gui.SimulationView;
+import gui.SimulationViews;
+import utils.GridManager;
+import protocol.*;
+import simulation.EventJournal;
 
 public class HelicopterAgent extends Agent {
     private boolean deployed = false;
+    private boolean outbound = false; // καθ' οδόν προς τη φωτιά - δεκτή αλλαγή στόχου
+    private UnitMission mission;
     private int waterCapacity = 500; // μικρότερη χωρητικότητα από αεροπλάνο
     private int currentWater = 500;
-    private FireSimulationGUI gui;
+    private volatile SimulationView gui;
     
     // Movement speed constants (in milliseconds per step)
     private static final int HELICOPTER_SPEED_DELAY = 80; // Fast speed: ~180 km/h
@@ -18,7 +27,7 @@ public class HelicopterAgent extends Agent {
     protected void setup() {
         // Αρχικοποίηση GUI
         javax.swing.SwingUtilities.invokeLater(() -> {
-            gui = FireSimulationGUI.getInstance();
+            gui = SimulationViews.current();
         });
         
         String message = getLocalName() + ": 🚁 Πυροσβεστικό ελικόπτερο έτοιμο (Χωρητικότητα: " + waterCapacity + "L)";
@@ -30,25 +39,36 @@ public class HelicopterAgent extends Agent {
             }
         });
         
+        restoreState();
+        StateCapture.register(this, this::writeState);
+        
         // Ειδοποίηση διαθεσιμότητας
-        ACLMessage available = new ACLMessage(ACLMessage.INFORM);
-        available.setContent("HELICOPTER_AVAILABLE");
+        ACLMessage available = MessageCodec.create(ACLMessage.INFORM, new Availability(FireMessage.UNIT_HELICOPTER));
         available.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
         send(available);
         
+        KernelWakeup.watchMailbox(this);
         addBehaviour(new CyclicBehaviour() {
             @Override
             public void action() {
                 ACLMessage msg = receive();
                 
                 if (msg != null) {
-                    String content = msg.getContent();
+                    FireMessage message = MessageCodec.read(msg);
                     
-                    if (content.startsWith("DEPLOY_HELICOPTER") && !deployed) {
-                        String target = content.substring(content.indexOf("to") + 3);
-                        deployToFire(target);
-                    } else if (content.equals("STATUS_REQUEST")) {
-                        sendAvailabilityStatus();
+                    if (message instanceof Deploy && (!deployed || outbound)) {
+                        Deploy deploy = (Deploy) message;
+                        if (deployed) {
+                            mission.abort();
+                            System.out.println(getLocalName() + ": 🚁 Αλλαγή στόχου εν πτήσει");
+                        }
+                        deployToFire(deploy.x, deploy.y);
+                    } else if (message != null && message.getType() == FireMessage.STATUS_REQUEST) {
+                        if (deployed) {
+                            sendBusyStatus(msg);
+                        } else {
+                            sendAvailabilityStatus();
+                        }
                     }
                 } else {
                     block();
@@ -57,61 +77,60 @@ public class HelicopterAgent extends Agent {
         });
     }
     
-    private void deployToFire(String location) {
+    @Override
+    protected void takeDown() {
+        StateCapture.unregister(this);
+        KernelWakeup.detach(this);
+    }
+    
+    private void deployToFire(int targetX, int targetY) {
         deployed = true;
-        
-        // Parse target coordinates
-        String[] coords = location.replace("(", "").replace(")", "").split(",");
-        int targetX = Integer.parseInt(coords[0]);
-        int targetY = Integer.parseInt(coords[1]);
+        outbound = true;
+        String location = "(" + targetX + "," + targetY + ")";
         
         String takeoffMessage = getLocalName() + ": 🚁 Απογείωση προς " + location;
         System.out.println(takeoffMessage);
         
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("🚁 " + takeoffMessage);
-            }
-        });
-        
-        // Fly to target location
-        flyToLocation(targetX, targetY);
-        
-        String arrivalMessage = getLocalName() + ": 🎯 Στοχευμένη ρίψη νερού στη θέση " + location;
-        System.out.println(arrivalMessage);
-        
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("🎯 " + arrivalMessage);
-            }
-        });
-        
-        performPrecisionWaterDrop(location);
-        
-        String returnMessage = getLocalName() + ": 🔄 Επιστροφή για ανεφοδιασμό";
-        System.out.println(returnMessage);
-        
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("🔄 " + returnMessage);
-            }
-        });
-        
-        // Fly back to command center helipad
-        int helipadX = FireSimulationGUI.getCommandCenterX();
-        int helipadY = Math.max(5, FireSimulationGUI.getCommandCenterY() - 5);
-        flyToLocation(helipadX, helipadY);
+        if (gui != null) {
+            gui.addLog("🚁 " + takeoffMessage);
+        }
         
-        refillWater();
-        deployed = false;
+        int startX = mission != null ? mission.getX() : getHelipadX();
+        int startY = mission != null ? mission.getY() : getHelipadY();
         
-        sendAvailabilityStatus();
+        mission = new UnitMission(this, startX, startY)
+            .moveTo("ΠΤΗΣΗ", targetX, targetY, HELICOPTER_SPEED_DELAY, "HELICOPTER")
+            .then(() -> {
+                outbound = false;
+                String arrivalMessage = getLocalName() + ": 🎯 Στοχευμένη ρίψη νερού στη θέση " + location;
+                System.out.println(arrivalMessage);
+                
+                if (gui != null) {
+                    gui.addLog("🎯 " + arrivalMessage);
+                }
+                
+                performPrecisionWaterDrop(targetX, targetY);
+                
+                String returnMessage = getLocalName() + ": 🔄 Επιστροφή για ανεφοδιασμό";
+                System.out.println(returnMessage);
+                
+                if (gui != null) {
+                    gui.addLog("🔄 " + returnMessage);
+                }
+            })
+            // Fly back to command center helipad
+            .moveTo("ΕΠΙΣΤΡΟΦΗ", getHelipadX(), getHelipadY(), HELICOPTER_SPEED_DELAY, "HELICOPTER");
+        
+        refillWater(mission)
+            .then(() -> {
+                deployed = false;
+                sendAvailabilityStatus();
+            });
+        addBehaviour(mission);
     }
     
-    private void performPrecisionWaterDrop(String location) {
-        String[] coords = location.replace("(", "").replace(")", "").split(",");
-        int centerX = Integer.parseInt(coords[0]);
-        int centerY = Integer.parseInt(coords[1]);
+    private void performPrecisionWaterDrop(int centerX, int centerY) {
+        String location = "(" + centerX + "," + centerY + ")";
         
         int waterUsed = Math.min(currentWater, 200); // 200L ανά ρίψη
         currentWater -= waterUsed;
@@ -119,18 +138,17 @@ public class HelicopterAgent extends Agent {
         String dropMessage = getLocalName() + ": 💧 ΡΙΨΗ " + waterUsed + "L νερού (Απομένουν: " + currentWater + "L)";
         System.out.println(dropMessage);
         
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("💧 " + dropMessage);
-                gui.showWaterDropAt(centerX, centerY, getLocalName());
-            }
-        });
+        if (gui != null) {
+            gui.addLog("💧 " + dropMessage);
+            gui.showWaterDropAt(centerX, centerY, getLocalName());
+        }
         
         // Στοχευμένη κατάσβεση
-        ACLMessage extinguish = new ACLMessage(ACLMessage.REQUEST);
-        extinguish.setContent("HELICOPTER_EXTINGUISH at " + location + " effectiveness:0.9");
+        ACLMessage extinguish = MessageCodec.create(ACLMessage.REQUEST,
+                new Extinguish(Extinguish.HELICOPTER, centerX, centerY, 0.9));
         extinguish.addReceiver(new jade.core.AID("fire1", jade.core.AID.ISLOCALNAME));
         send(extinguish);
+        EventJournal.current().suppression(getLocalName(), Extinguish.HELICOPTER, centerX, centerY);
         
         // Ειδοποίηση κέντρου ελέγχου
         ACLMessage report = new ACLMessage(ACLMessage.INFORM);
@@ -139,79 +157,90 @@ public class HelicopterAgent extends Agent {
         send(report);
     }
     
-    private void refillWater() {
-        // Show helicopter at helipad during refill
-        int helipadX = FireSimulationGUI.getCommandCenterX();
-        int helipadY = Math.max(5, FireSimulationGUI.getCommandCenterY() - 5);
-        
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.showAgentAt(helipadX, helipadY, "HELICOPTER", getLocalName());
-            }
-        });
-        
-        String refillMessage = getLocalName() + ": 🔄 Γρήγορος ανεφοδιασμός...";
-        System.out.println(refillMessage);
-        
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("🔄 " + refillMessage);
-            }
-        });
-        
-        doWait(5000); // γρηγορότερος ανεφοδιασμός
-        currentWater = waterCapacity;
-        
-        String completeMessage = getLocalName() + ": ✅ Ανεφοδιασμός ολοκληρώθηκε";
-        System.out.println(completeMessage);
-        
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("✅ " + completeMessage);
+    private UnitMission refillWater(UnitMission refill) {
+        return refill
+            .then(() -> {
+                // Show helicopter at helipad during refill
+                showHelicopterAt(getHelipadX(), getHelipadY());
+                
+                String refillMessage = getLocalName() + ": 🔄 Γρήγορος ανεφοδιασμός...";
+                System.out.println(refillMessage);
+                
+                if (gui != null) {
+                    gui.addLog("🔄 " + refillMessage);
+                }
+            })
+            .work("ΑΝΕΦΟΔΙΑΣΜΟΣ", 5000) // γρηγορότερος ανεφοδιασμός
+            .then(() -> {
+                currentWater = waterCapacity;
+                
+                String completeMessage = getLocalName() + ": ✅ Ανεφοδιασμός ολοκληρώθηκε";
+                System.out.println(completeMessage);
+                
+                if (gui != null) {
+                    gui.addLog("✅ " + completeMessage);
+                }
+            });
+    }
+    
+    // Checkpoint: θέση και νερό· μετά τη συνέχιση περιμένει εκεί νέα αποστολή
+    private void writeState(DataOutputStream out) throws IOException {
+        out.writeShort(mission != null ? mission.getX() : getHelipadX());
+        out.writeShort(mission != null ? mission.getY() : getHelipadY());
+        out.writeInt(currentWater);
+    }
+    
+    private void restoreState() {
+        DataInputStream in = StateCapture.restored(this);
+        if (in == null) return;
+        try {
+            int x = in.readShort();
+            int y = in.readShort();
+            currentWater = in.readInt();
+            mission = UnitMission.idleAt(this, x, y);
+            if (x != getHelipadX() || y != getHelipadY()) {
+                javax.swing.SwingUtilities.invokeLater(() -> showHelicopterAt(x, y));
             }
-        });
+            System.out.println(getLocalName() + ": Συνέχιση από checkpoint στη θέση (" + x + "," + y + ") - Νερό: " + currentWater + "L");
+        } catch (IOException e) {
+            System.err.println(getLocalName() + ": ❌ Αλλοιωμένο checkpoint: " + e.getMessage());
+        }
     }
     
     private void sendAvailabilityStatus() {
         String message = getLocalName() + ": Διαθέσιμο (Νερό: " + currentWater + "L)";
         System.out.println(message);
         
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("🟢 " + message);
-            }
-        });
+        if (gui != null) {
+            gui.addLog("🟢 " + message);
+        }
         
-        ACLMessage available = new ACLMessage(ACLMessage.INFORM);
-        available.setContent("HELICOPTER_AVAILABLE");
+        ACLMessage available = MessageCodec.create(ACLMessage.INFORM, new Availability(FireMessage.UNIT_HELICOPTER));
         available.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
         send(available);
     }
     
-    private void flyToLocation(int targetX, int targetY) {
-        // Helicopter starts from command center helipad
-        int currentX = FireSimulationGUI.getCommandCenterX();
-        int currentY = Math.max(5, FireSimulationGUI.getCommandCenterY() - 5); // Nearby helipad
-        
-        // Calculate flight path
-        int steps = Math.max(Math.abs(targetX - currentX), Math.abs(targetY - currentY));
-        if (steps == 0) return;
-        
-        double deltaX = (double)(targetX - currentX) / steps;
-        double deltaY = (double)(targetY - currentY) / steps;
-        
-        // Animate flight with helicopter speed
-        for (int i = 0; i <= steps; i++) {
-            final int newX = currentX + (int)(deltaX * i);
-            final int newY = currentY + (int)(deltaY * i);
-            
-            javax.swing.SwingUtilities.invokeLater(() -> {
-                if (gui != null) {
-                    gui.showAgentAt(newX, newY, "HELICOPTER", getLocalName());
-                }
-            });
-            
-            doWait(HELICOPTER_SPEED_DELAY); // Fast movement for helicopters
+    // Helicopter is based at the helipad next to the command center
+    private static int getHelipadX() {
+        return GridManager.getCommandCenterX();
+    }
+    
+    private static int getHelipadY() {
+        return Math.max(5, GridManager.getCommandCenterY() - 5);
+    }
+    
+    private void showHelicopterAt(int x, int y) {
+        if (gui != null) {
+            gui.showAgentAt(x, y, "HELICOPTER", getLocalName());
         }
     }
+    
+    // Απάντηση σε STATUS_REQUEST ενώ η αποστολή είναι σε εξέλιξη
+    private void sendBusyStatus(ACLMessage request) {
+        UnitStatus status = new UnitStatus(FireMessage.UNIT_HELICOPTER, mission.getPhase(),
+                                           mission.getX(), mission.getY(), currentWater, 0);
+        ACLMessage reply = MessageCodec.create(ACLMessage.INFORM, status);
+        reply.addReceiver(request.getSender());
+        send(reply);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package agents;
+
+import jade.core.Agent;
+import jade.core.behaviours.Behaviour;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import simulation.EventKernel;
+
+/**
+ * Bridge from a kernel event to a JADE behaviour. fire() runs on the kernel
+ * (or motion) thread: it holds simulation time and restart()s the behaviour.
+ * The behaviour calls take() in action() and done() once it has handled the
+ * wakeup, which releases the hold.
+ *
+ * An agent that is deleted never runs its behaviours again, so its takeDown()
+ * calls detach(): every wakeup of the agent is cancelled, and the agent's
+ * mailbox probe is removed.
+ */
+final class KernelWakeup {
+    private final Behaviour behaviour;
+    private final AtomicBoolean due = new AtomicBoolean(false);
+    private boolean registered = false;
+    private boolean closed = false;
+
+    // Ανά agent: οι αφυπνίσεις του και ο probe του mailbox (weak: οι agents που έφυγαν δεν κρατιούνται)
+    private static final Map<Agent, Owner> owners = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final class Owner {
+        List<KernelWakeup> wakeups = new ArrayList<>();
+        BooleanSupplier probe;
+        boolean detached = false;
+    }
+
+    KernelWakeup(Behaviour behaviour) {
+        this.behaviour = behaviour;
+    }
+
+    synchronized void fire() {
+        if (closed || !register()) return;
+
+        // Μία εκκρεμής αφύπνιση τη φορά - αλλιώς τα hold δεν θα ισοφαρίζονταν
+        if (due.compareAndSet(false, true)) {
+            EventKernel.getInstance().hold();
+            behaviour.restart();
+        }
+    }
+
+    // Την πρώτη φορά: ο agent είναι γνωστός μόνο αφού προστεθεί το behaviour
+    private boolean register() {
+        if (registered) return true;
+        Agent agent = behaviour.getAgent();
+        if (agent == null) return true;
+
+        synchronized (owners) {
+            Owner owner = owners.computeIfAbsent(agent, a -> new Owner());
+            if (owner.detached) {
+                closed = true;
+                return false;
+            }
+            owner.wakeups.add(this);
+        }
+        registered = true;
+        return true;
+    }
+
+    /** True if a wakeup is pending (caller must then call done()); otherwise the behaviour is blocked. */
+    boolean take() {
+        if (!due.get()) {
+            behaviour.block();
+            // Η αφύπνιση μπορεί να ήρθε πριν το block()
+            if (!due.get()) return false;
+            behaviour.restart();
+        }
+        due.set(false);
+        return true;
+    }
+
+    void done() {
+        EventKernel.getInstance().release();
+    }
+
+    /**
+     * For a behaviour that is being removed: drops the pending wakeup and ignores
+     * later ones, e.g. a timer the kernel was already dispatching when it was cancelled.
+     */
+    synchronized void cancel() {
+        closed = true;
+        if (due.getAndSet(false)) {
+            done();
+        }
+    }
+
+    /** FAST mode does not move time on while this agent still has mail to read; detach() removes the probe. */
+    static BooleanSupplier watchMailbox(Agent agent) {
+        BooleanSupplier probe = () -> agent.getCurQueueSize() == 0;
+        synchronized (owners) {
+            owners.computeIfAbsent(agent, a -> new Owner()).probe = probe;
+        }
+        EventKernel.getInstance().addQuiescenceProbe(probe);
+        return probe;
+    }
+
+    /** From the agent's takeDown(): releases the holds it will never release itself and stops watching it. */
+    static void detach(Agent agent) {
+        List<KernelWakeup> wakeups;
+        BooleanSupplier probe;
+        synchronized (owners) {
+            Owner owner = owners.computeIfAbsent(agent, a -> new Owner());
+            owner.detached = true;
+            wakeups = owner.wakeups;
+            probe = owner.probe;
+            owner.wakeups = Collections.emptyList();
+            owner.probe = null;
+        }
+        for (KernelWakeup wakeup : wakeups) {
+            wakeup.cancel();
+        }
+        if (probe != null) {
+            EventKernel.getInstance().removeQuiescenceProbe(probe);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package agents;
+
+import jade.core.Agent;
+import jade.core.behaviours.SimpleBehaviour;
+import simulation.EventKernel;
+
+/**
+ * TickerBehaviour on simulation time: onTick() every period of the
+ * EventKernel clock, so the same agent runs paced with the GUI or as fast
+ * as the CPU allows.
+ */
+public abstract class SimTickerBehaviour extends SimpleBehaviour {
+    private final long period;
+    private final KernelWakeup wakeup = new KernelWakeup(this);
+    private EventKernel.Event timer;
+    private boolean stopped = false;
+    private int tickCount = 0;
+
+    public SimTickerBehaviour(Agent agent, long period) {
+        super(agent);
+        this.period = period;
+    }
+
+    @Override
+    public void onStart() {
+        timer = EventKernel.getInstance().scheduleRepeating(period, wakeup::fire);
+    }
+
+    @Override
+    public final void action() {
+        if (stopped || !wakeup.take()) return;
+        try {
+            tickCount++;
+            onTick();
+        } finally {
+            wakeup.done();
+        }
+    }
+
+    protected abstract void onTick();
+
+    @Override
+    public boolean done() {
+        return stopped;
+    }
+
+    /** Cancels the kernel timer; call before removeBehaviour(). */
+    public void stop() {
+        stopped = true;
+        if (timer != null) {
+            timer.cancel();
+        }
+        wakeup.cancel();
+    }
+
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    public long getPeriod() {
+        return period;
+    }
+}
@@ -0,0 +1,40 @@
+package agents;
+
+import jade.core.Agent;
+import jade.core.behaviours.SimpleBehaviour;
+import simulation.EventKernel;
+
+/** WakerBehaviour on simulation time: onWake() once, after the timeout. */
+public abstract class SimWakerBehaviour extends SimpleBehaviour {
+    private final long timeout;
+    private final KernelWakeup wakeup = new KernelWakeup(this);
+    private boolean finished = false;
+
+    public SimWakerBehaviour(Agent agent, long timeout) {
+        super(agent);
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void onStart() {
+        EventKernel.getInstance().schedule(timeout, wakeup::fire);
+    }
+
+    @Override
+    public final void action() {
+        if (!wakeup.take()) return;
+        try {
+            onWake();
+        } finally {
+            finished = true;
+            wakeup.done();
+        }
+    }
+
+    protected abstract void onWake();
+
+    @Override
+    public boolean done() {
+        return finished;
+    }
+}
@@ -0,0 +1,80 @@
+package agents;
+
+import jade.core.Agent;
+import jade.core.behaviours.CyclicBehaviour;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import simulation.Checkpoint;
+
+/**
+ * An agent's part in a Checkpoint. register() adds a behaviour that writes
+ * the agent's state on the agent's own thread, between its other behaviours,
+ * so the writer sees a consistent agent without any locking. The request is
+ * a KernelWakeup, which holds simulation time until the state is submitted.
+ * restored() gives setup() the state saved under the agent's name, if the run
+ * was resumed from a checkpoint.
+ */
+final class StateCapture extends CyclicBehaviour {
+
+    /** Writes the agent's fields; read back in the same order by the agent's setup(). */
+    interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private final Writer writer;
+    private final KernelWakeup wakeup = new KernelWakeup(this);
+    private final Queue<Checkpoint.Capture> pending = new ConcurrentLinkedQueue<>();
+
+    private StateCapture(Agent agent, Writer writer) {
+        super(agent);
+        this.writer = writer;
+    }
+
+    static void register(Agent agent, Writer writer) {
+        StateCapture capture = new StateCapture(agent, writer);
+        agent.addBehaviour(capture);
+        Checkpoint.getInstance().register(agent.getLocalName(), request -> {
+            capture.pending.add(request);
+            capture.wakeup.fire();
+        });
+    }
+
+    static void unregister(Agent agent) {
+        Checkpoint.getInstance().unregister(agent.getLocalName());
+    }
+
+    /** The agent's saved state when resuming, or null for a fresh start. */
+    static DataInputStream restored(Agent agent) {
+        ByteBuffer state = Checkpoint.restored(agent.getLocalName());
+        if (state == null) return null;
+        byte[] bytes = new byte[state.remaining()];
+        state.get(bytes);
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    @Override
+    public void action() {
+        if (!wakeup.take()) return;
+        try {
+            Checkpoint.Capture request;
+            while ((request = pending.poll()) != null) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+                try (DataOutputStream out = new DataOutputStream(bytes)) {
+                    writer.write(out);
+                } catch (IOException e) {
+                    // ByteArrayOutputStream δεν πετά IOException
+                    throw new IllegalStateException(e);
+                }
+                request.submit(bytes.toByteArray());
+            }
+        } finally {
+            wakeup.done();
+        }
+    }
+}
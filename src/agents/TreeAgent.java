@@ -2,9 +2,11 @@ package agents;
 
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
-import jade.core.behaviours.TickerBehaviour;
 import jade.lang.acl.ACLMessage;
 import java.util.Random;
+import protocol.*;
+import simulation.EventJournal;
+import simulation.FireSpreadEngine;
 
 public class TreeAgent extends Agent {
     private boolean burning = false;
@@ -18,6 +20,12 @@ public class TreeAgent extends Agent {
     private int temperature = 25; // θερμοκρασία
     private static final int GRID_SIZE = 150; // Updated grid size
     
+    // Όταν υπάρχει engine, ο agent είναι απλή πρόσοψη (facade) πάνω στο κελί του
+    private FireSpreadEngine engine;
+    
+    // Ενεργό μόνο όσο το δέντρο καίγεται· ένα ήσυχο δέντρο δεν ξυπνά καθόλου
+    private SimTickerBehaviour burnTicker;
+    
     @Override
     protected void setup() {
         Object[] args = getArguments();
@@ -32,6 +40,21 @@ public class TreeAgent extends Agent {
             }
         }
         
+        if (args != null && args.length >= 3 && args[2] instanceof FireSpreadEngine) {
+            engine = (FireSpreadEngine) args[2];
+        }
+        
+        if (engine != null) {
+            if (!engine.hasTree(x, y)) {
+                engine.plantRandomTree(x, y, rand);
+            }
+            humidity = engine.getHumidity(x, y);
+            temperature = engine.getTemperature(x, y);
+            treeType = engine.getTreeType(x, y);
+            setupFacade();
+            return;
+        }
+        
         // Τυχαίες παράμετροι για ρεαλισμό
         humidity = 30 + rand.nextInt(40); // 30-70%
         treeType = 1 + rand.nextInt(3); // 1-3
@@ -53,9 +76,18 @@ public class TreeAgent extends Agent {
                 }
             }
         });
+    }
+    
+    @Override
+    protected void takeDown() {
+        KernelWakeup.detach(this);
+    }
+    
+    // Συμπεριφορά καύσης
+    private void startBurning() {
+        if (burnTicker != null) return;
         
-        // Συμπεριφορά καύσης
-        addBehaviour(new TickerBehaviour(this, 2000) {
+        burnTicker = new SimTickerBehaviour(this, 2000) {
             @Override
             protected void onTick() {
                 if (burning) {
@@ -75,59 +107,97 @@ public class TreeAgent extends Agent {
                     if (burnTime >= getDestructionTime()) {
                         destroyed = true;
                         burning = false;
+                        EventJournal.current().burnedOut(x, y);
                         System.out.println(getLocalName() + ": Το δέντρο καταστράφηκε πλήρως!");
-                        removeBehaviour(this);
+                        stopBurning();
                     }
                 }
             }
+        };
+        addBehaviour(burnTicker);
+    }
+    
+    private void stopBurning() {
+        if (burnTicker != null) {
+            burnTicker.stop();
+            removeBehaviour(burnTicker);
+            burnTicker = null;
+        }
+    }
+    
+    // Facade: η κατάσταση ζει στο FireSpreadEngine, ο agent μόνο μεταφράζει μηνύματα
+    private void setupFacade() {
+        addBehaviour(new CyclicBehaviour() {
+            @Override
+            public void action() {
+                ACLMessage msg = receive();
+                
+                if (msg != null) {
+                    processFacadeMessage(msg);
+                } else {
+                    block();
+                }
+            }
         });
     }
     
+    private void processFacadeMessage(ACLMessage msg) {
+        FireMessage message = MessageCodec.read(msg);
+        if (message == null) return;
+        
+        if (message.getType() == FireMessage.FIRE_SPREAD) {
+            if (engine.trySpreadTo(x, y)) {
+                fireIntensity = engine.getFireIntensity(x, y);
+                notifyFireControl();
+            }
+        } else if (message instanceof Extinguish) {
+            if (engine.extinguish(x, y, ((Extinguish) message).effectiveness)) {
+                EventJournal.current().extinguished(x, y);
+            }
+        } else if (message instanceof WeatherUpdate) {
+            updateWeather((WeatherUpdate) message);
+            engine.setWindEffect(windEffect);
+            engine.applyCellWeather(x, y, humidity, temperature);
+        }
+    }
+    
     private void processMessage(ACLMessage msg) {
-        String content = msg.getContent();
+        FireMessage message = MessageCodec.read(msg);
+        if (message == null) return;
         
-        if (content.startsWith("FIRE_SPREAD") && !burning && !destroyed) {
+        if (message.getType() == FireMessage.FIRE_SPREAD && !burning && !destroyed) {
             double ignitionChance = calculateIgnitionChance();
             
             if (Math.random() < ignitionChance) {
                 burning = true;
                 fireIntensity = 3;
+                startBurning();
                 System.out.println(getLocalName() + ": Το δέντρο έπιασε φωτιά! (Πιθανότητα: " + 
                                  String.format("%.1f", ignitionChance * 100) + "%)");
                 notifyFireControl();
             }
             
-        } else if (content.equals("EXTINGUISH") && burning) {
-            if (Math.random() < 0.8) { // 80% επιτυχία κατάσβεσης
+        } else if (message instanceof Extinguish && burning) {
+            if (Math.random() < ((Extinguish) message).effectiveness) {
                 burning = false;
                 fireIntensity = 0;
                 burnTime = 0;
+                stopBurning();
+                EventJournal.current().extinguished(x, y);
                 System.out.println(getLocalName() + ": Η φωτιά σβήστηκε επιτυχώς!");
             }
             
-        } else if (content.startsWith("WEATHER_UPDATE")) {
-            updateWeather(content);
+        } else if (message instanceof WeatherUpdate) {
+            updateWeather((WeatherUpdate) message);
         }
     }
     
     private double calculateIgnitionChance() {
-        double baseChance = 0.3; // βασική πιθανότητα 30%
-        
-        // Επίδραση υγρασίας (λιγότερη υγρασία = περισσότερη πιθανότητα)
-        double humidityFactor = (100 - humidity) / 100.0;
-        
-        // Επίδραση θερμοκρασίας
-        double tempFactor = Math.max(0.5, temperature / 40.0);
-        
-        // Επίδραση τύπου δέντρου (πεύκα ανάβουν πιο εύκολα)
-        double typeFactor = (treeType == 1) ? 1.5 : (treeType == 2) ? 1.2 : 1.0;
-        
-        return Math.min(0.95, baseChance * humidityFactor * tempFactor * typeFactor * windEffect);
+        return FireSpreadEngine.ignitionChance(humidity, temperature, treeType, windEffect);
     }
     
     private void spreadFire() {
-        ACLMessage msg = new ACLMessage(ACLMessage.INFORM);
-        msg.setContent("FIRE_SPREAD from " + x + "," + y + " intensity:" + fireIntensity);
+        ACLMessage msg = MessageCodec.create(ACLMessage.INFORM, FireSpread.spread(x, y, fireIntensity));
         
         // Ειδοποίηση γειτονικών δέντρων (απόσταση 1)
         for (int dx = -1; dx <= 1; dx++) {
@@ -148,35 +218,26 @@ public class TreeAgent extends Agent {
     }
     
     private void notifyFireControl() {
-        ACLMessage msg = new ACLMessage(ACLMessage.INFORM);
-        msg.setContent("FIRE_DETECTED at " + x + "," + y + " intensity:" + fireIntensity);
+        EventJournal.current().spread(x, y, fireIntensity);
+        ACLMessage msg = MessageCodec.create(ACLMessage.INFORM, FireSpread.detected(x, y, fireIntensity));
         msg.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
         send(msg);
     }
     
-    private void updateWeather(String weatherData) {
-        // Παράδειγμα: "WEATHER_UPDATE wind:2.5 humidity:40 temp:35"
-        String[] parts = weatherData.split(" ");
-        for (String part : parts) {
-            if (part.startsWith("wind:")) {
-                windEffect = Double.parseDouble(part.substring(5));
-            } else if (part.startsWith("humidity:")) {
-                humidity = Integer.parseInt(part.substring(9));
-            } else if (part.startsWith("temp:")) {
-                temperature = Integer.parseInt(part.substring(5));
-            }
-        }
+    private void updateWeather(WeatherUpdate weather) {
+        windEffect = weather.windSpeed;
+        humidity = weather.humidity;
+        temperature = weather.temperature;
     }
     
     private int getDestructionTime() {
-        // Διαφορετικός χρόνος καταστροφής ανά τύπο δέντρου
-        return (treeType == 1) ? 10 : (treeType == 2) ? 15 : 20;
+        return FireSpreadEngine.destructionTime(treeType);
     }
     
     // Getter methods for position and state
     public int getX() { return x; }
     public int getY() { return y; }
-    public boolean isBurning() { return burning; }
-    public boolean isDestroyed() { return destroyed; }
-    public int getFireIntensity() { return fireIntensity; }
+    public boolean isBurning() { return engine != null ? engine.isBurning(x, y) : burning; }
+    public boolean isDestroyed() { return engine != null ? engine.isDestroyed(x, y) : destroyed; }
+    public int getFireIntensity() { return engine != null ? engine.getFireIntensity(x, y) : fireIntensity; }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package agents;
+
+import jade.core.Agent;
+import jade.wrapper.AgentController;
+import jade.wrapper.ContainerController;
+import jade.wrapper.ControllerException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import simulation.FireSpreadEngine;
+import utils.GridManager;
+
+/**
+ * TreeAgents μόνο κοντά στη φωτιά.
+ *
+ * The forest stays plain data in the FireSpreadEngine; a tree becomes a live
+ * TreeAgent facade (same name, same messages) when a cell within radius of it
+ * ignites, and is deleted again once it is destroyed, or once no cell within
+ * radius has burned for LINGER_TICKS. The owning ForestAgent calls nearFire()
+ * for every ignition and sweep() once per tick, so the live agents follow the
+ * fire front instead of covering the whole grid.
+ *
+ * All creation and deletion happens on the owner's thread. JADE's local agent
+ * table does not lock its inserts and removals against each other, so sweep()
+ * creates nothing while a deleted tree is still leaving the container.
+ */
+final class TreeMaterializer {
+    static final int LINGER_TICKS = 30; // ένα λεπτό προσομοίωσης χωρίς φωτιά τριγύρω
+
+    private final Agent owner;
+    private final FireSpreadEngine engine;
+    private final int radius;
+
+    private final BitSet queued = new BitSet();
+    private final int[] lastNearFire;                 // γενιά της τελευταίας φωτιάς εντός radius
+    private final Map<Integer, AgentController> controllers = new HashMap<>();
+    private final List<Integer> pending = new ArrayList<>();
+    private final List<String> leaving = new ArrayList<>();
+
+    private long promoted, demoted;
+    private int peak;
+
+    TreeMaterializer(Agent owner, FireSpreadEngine engine, int radius) {
+        this.owner = owner;
+        this.engine = engine;
+        this.radius = radius;
+        this.lastNearFire = new int[engine.getWidth() * engine.getHeight()];
+    }
+
+    /** A cell caught fire: every tree within radius is wanted as an agent. */
+    void nearFire(int x, int y) {
+        int generation = (int) engine.getGeneration();
+        for (int ny = y - radius; ny <= y + radius; ny++) {
+            for (int nx = x - radius; nx <= x + radius; nx++) {
+                if (!engine.inBounds(nx, ny) || !engine.hasTree(nx, ny) || engine.isDestroyed(nx, ny)) continue;
+
+                int cell = engine.index(nx, ny);
+                lastNearFire[cell] = generation;
+                if (!controllers.containsKey(cell) && !queued.get(cell)) {
+                    queued.set(cell);
+                    pending.add(cell);
+                }
+            }
+        }
+    }
+
+    /** Once per tick: creates the trees the fire reached, then deletes the ones it has left. */
+    void sweep() {
+        if (!leaving.isEmpty() && !awaitLeaving()) return;
+
+        ContainerController container = owner.getContainerController();
+        for (int cell : pending) {
+            queued.clear(cell);
+            int x = engine.cellX(cell);
+            int y = engine.cellY(cell);
+            if (engine.isDestroyed(x, y)) continue;
+
+            try {
+                AgentController tree = container.createNewAgent(GridManager.generateTreeAgentName(x, y),
+                        "agents.TreeAgent", new Object[]{x, y, engine});
+                tree.start();
+                controllers.put(cell, tree);
+                promoted++;
+            } catch (ControllerException e) {
+                System.err.println(owner.getLocalName() + ": Αδύνατη η δημιουργία TreeAgent (" + x + "," + y + "): " + e.getMessage());
+            }
+        }
+        pending.clear();
+        peak = Math.max(peak, controllers.size());
+
+        // Οι διαγραφές τελευταίες: οι επόμενες δημιουργίες περιμένουν να φύγουν
+        int generation = (int) engine.getGeneration();
+        for (Iterator<Map.Entry<Integer, AgentController>> it = controllers.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Integer, AgentController> entry = it.next();
+            int cell = entry.getKey();
+            if (!engine.isDestroyed(engine.cellX(cell), engine.cellY(cell))) {
+                if (fireWithinRadius(cell)) {
+                    lastNearFire[cell] = generation;
+                }
+                if (generation - lastNearFire[cell] < LINGER_TICKS) continue;
+            }
+
+            try {
+                leaving.add(entry.getValue().getName());
+                entry.getValue().kill();
+            } catch (ControllerException e) {
+                // έχει ήδη φύγει
+            }
+            it.remove();
+            demoted++;
+        }
+    }
+
+    // True όταν όλοι οι διαγραμμένοι agents έχουν βγει από τον container
+    private boolean awaitLeaving() {
+        ContainerController container = owner.getContainerController();
+        for (Iterator<String> it = leaving.iterator(); it.hasNext(); ) {
+            String name = it.next();
+            try {
+                container.getAgent(name, jade.core.AID.ISGUID);
+            } catch (ControllerException e) {
+                it.remove();
+            }
+        }
+        return leaving.isEmpty();
+    }
+
+    private boolean fireWithinRadius(int cell) {
+        int x = engine.cellX(cell);
+        int y = engine.cellY(cell);
+        for (int ny = y - radius; ny <= y + radius; ny++) {
+            for (int nx = x - radius; nx <= x + radius; nx++) {
+                if (engine.inBounds(nx, ny) && engine.isBurning(nx, ny)) return true;
+            }
+        }
+        return false;
+    }
+
+    int getLiveCount() { return controllers.size(); }
+    int getPeak() { return peak; }
+    long getPromoted() { return promoted; }
+    long getDemoted() { return demoted; }
+}
@@ -0,0 +1,184 @@
+package agents;
+
+import jade.core.Agent;
+import jade.core.behaviours.SimpleBehaviour;
+import java.util.ArrayDeque;
+import simulation.EventKernel;
+import simulation.MotionScheduler;
+
+/**
+ * A unit mission as a queue of phases (movement, timed work, one-shot actions)
+ * run by the JADE scheduler. Movement is handed to the shared MotionScheduler
+ * and work is a timer on the EventKernel; in both cases the behaviour stays
+ * blocked until the wakeup arrives, so the unit's receive behaviour keeps
+ * answering STATUS_REQUEST and new orders, and phases follow simulation time.
+ */
+public class UnitMission extends SimpleBehaviour {
+    private static final boolean WAIT = false;
+    private static final boolean DONE = true;
+
+    private abstract static class Phase {
+        final String name;
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        /** Runs one step; returns WAIT until the wakeup arrives, or DONE when the phase is over. */
+        abstract boolean step();
+
+        void cancel() {
+        }
+    }
+
+    private final ArrayDeque<Phase> phases = new ArrayDeque<>();
+    private final KernelWakeup wakeup = new KernelWakeup(this);
+    private volatile MotionScheduler.Motion motion; // η τρέχουσα μετακίνηση, αν υπάρχει
+    private int x;
+    private int y;
+    private boolean waiting = false;
+    private boolean finished = false;
+    private String phaseName = "ΑΝΑΜΟΝΗ";
+
+    public UnitMission(Agent agent, int startX, int startY) {
+        super(agent);
+        this.x = startX;
+        this.y = startY;
+    }
+
+    /** No phases, only where the unit stands, e.g. a unit resumed idle from a checkpoint. */
+    public static UnitMission idleAt(Agent agent, int x, int y) {
+        UnitMission idle = new UnitMission(agent, x, y);
+        idle.finished = true;
+        return idle;
+    }
+
+    /** Straight-line movement from wherever the previous phase left the unit, one cell per stepDelay. */
+    public UnitMission moveTo(String name, int targetX, int targetY, long stepDelay, String unitType) {
+        phases.add(new Phase(name) {
+            @Override
+            boolean step() {
+                if (motion == null) {
+                    motion = MotionScheduler.getInstance().move(myAgent.getLocalName(), unitType, x, y,
+                                                                targetX, targetY, stepDelay, wakeup::fire);
+                }
+                if (!motion.isArrived()) return WAIT;
+
+                x = targetX;
+                y = targetY;
+                motion = null;
+                return DONE;
+            }
+
+            @Override
+            void cancel() {
+                if (motion != null) {
+                    motion.cancel();
+                }
+            }
+        });
+        return this;
+    }
+
+    /** Stays on site for the given time (κατάσβεση, ανεφοδιασμός, ανάπαυση...). */
+    public UnitMission work(String name, long millis) {
+        phases.add(new Phase(name) {
+            EventKernel.Event timer;
+            volatile boolean elapsed = false;
+
+            @Override
+            boolean step() {
+                if (timer == null) {
+                    timer = EventKernel.getInstance().schedule(millis, () -> {
+                        elapsed = true;
+                        wakeup.fire();
+                    });
+                }
+                // Μια αφύπνιση της προηγούμενης φάσης δεν τελειώνει τη δουλειά
+                return elapsed ? DONE : WAIT;
+            }
+
+            @Override
+            void cancel() {
+                if (timer != null) {
+                    timer.cancel();
+                }
+            }
+        });
+        return this;
+    }
+
+    public UnitMission then(Runnable action) {
+        phases.add(new Phase(null) {
+            @Override
+            boolean step() {
+                action.run();
+                return DONE;
+            }
+        });
+        return this;
+    }
+
+    @Override
+    public void action() {
+        if (!waiting) {
+            runPhases();
+            return;
+        }
+        // Ξύπνημα από εισερχόμενο μήνυμα - η φάση δεν έχει τελειώσει
+        if (!wakeup.take()) return;
+        try {
+            waiting = false;
+            runPhases();
+        } finally {
+            wakeup.done();
+        }
+    }
+
+    private void runPhases() {
+        while (!phases.isEmpty()) {
+            Phase phase = phases.peek();
+            if (phase.name != null) {
+                phaseName = phase.name;
+            }
+            if (phase.step() == WAIT) {
+                waiting = true;
+                return;
+            }
+            phases.poll();
+        }
+        finished = true;
+        // π.χ. η άφιξη που φάνηκε με isArrived() πριν φτάσει η αφύπνισή της
+        wakeup.cancel();
+    }
+
+    @Override
+    public boolean done() {
+        return finished;
+    }
+
+    /** Drops the remaining phases, e.g. when the unit is re-tasked. */
+    public void abort() {
+        if (!phases.isEmpty()) {
+            phases.peek().cancel();
+        }
+        phases.clear();
+        wakeup.cancel();
+        finished = true;
+        myAgent.removeBehaviour(this);
+    }
+
+    public String getPhase() {
+        return finished ? "ΑΝΑΜΟΝΗ" : phaseName;
+    }
+
+    public int getX() {
+        MotionScheduler.Motion current = motion;
+        return current != null ? current.getX() : x;
+    }
+
+    public int getY() {
+        MotionScheduler.Motion current = motion;
+        return current != null ? current.getY() : y;
+    }
+}
@@ -1,23 +1,29 @@
 package agents;
 
 import jade.core.Agent;
-import jade.core.behaviours.TickerBehaviour;
 import jade.lang.acl.ACLMessage;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.Random;
-import gui.FireSimulationGUI; // Προσθήκη import
+import gui.SimulationView;
+import gui.SimulationViews;
+import protocol.MessageCodec;
+import protocol.WeatherUpdate;
+import simulation.EventJournal;
 
 public class WeatherAgent extends Agent {
     private double windSpeed = 1.0; // 0-5 (m/s)
     private int humidity = 50; // 0-100%
     private int temperature = 25; // 15-45°C
     private String windDirection = "N"; // N, S, E, W
-    private FireSimulationGUI gui;
+    private volatile SimulationView gui;
     
     @Override
     protected void setup() {
         // Αρχικοποίηση GUI
         javax.swing.SwingUtilities.invokeLater(() -> {
-            gui = FireSimulationGUI.getInstance();
+            gui = SimulationViews.current();
         });
         
         String message = getLocalName() + ": Μετεωρολογικός σταθμός ενεργός.";
@@ -29,7 +35,10 @@ public class WeatherAgent extends Agent {
             }
         });
         
-        addBehaviour(new TickerBehaviour(this, 10000) { // ενημέρωση κάθε 10 δευτερόλεπτα
+        restoreState();
+        StateCapture.register(this, this::writeState);
+        
+        addBehaviour(new SimTickerBehaviour(this, 10000) { // ενημέρωση κάθε 10 δευτερόλεπτα (χρόνου προσομοίωσης)
             @Override
             protected void onTick() {
                 updateWeather();
@@ -38,6 +47,35 @@ public class WeatherAgent extends Agent {
         });
     }
     
+    @Override
+    protected void takeDown() {
+        StateCapture.unregister(this);
+        KernelWakeup.detach(this);
+    }
+    
+    // Checkpoint: οι τρέχουσες συνθήκες, από τις οποίες συνεχίζουν οι σταδιακές αλλαγές
+    private void writeState(DataOutputStream out) throws IOException {
+        out.writeDouble(windSpeed);
+        out.writeInt(humidity);
+        out.writeInt(temperature);
+        out.writeUTF(windDirection);
+    }
+    
+    private void restoreState() {
+        DataInputStream in = StateCapture.restored(this);
+        if (in == null) return;
+        try {
+            windSpeed = in.readDouble();
+            humidity = in.readInt();
+            temperature = in.readInt();
+            windDirection = in.readUTF();
+            System.out.println(getLocalName() + ": Συνέχιση από checkpoint - Άνεμος: " + String.format("%.1f", windSpeed) +
+                               "m/s " + windDirection + ", Υγρασία: " + humidity + "%, Θερμοκρασία: " + temperature + "°C");
+        } catch (IOException e) {
+            System.err.println(getLocalName() + ": ❌ Αλλοιωμένο checkpoint: " + e.getMessage());
+        }
+    }
+    
     private void updateWeather() {
         Random rand = new Random();
         
@@ -60,22 +98,19 @@ public class WeatherAgent extends Agent {
                         "m/s " + windDirection + ", Υγρασία: " + humidity + "%, Θερμοκρασία: " + temperature + "°C";
         System.out.println(message);
         
-        javax.swing.SwingUtilities.invokeLater(() -> {
-            if (gui != null) {
-                gui.addLog("🌤️ " + message);
-                
-                // Ειδική ειδοποίηση για επικίνδυνες συνθήκες
-                if (windSpeed > 3.0 || humidity < 30 || temperature > 35) {
-                    gui.addLog("⚠️ ΕΠΙΚΙΝΔΥΝΕΣ ΚΑΙΡΙΚΕΣ ΣΥΝΘΗΚΕΣ!");
-                }
+        if (gui != null) {
+            gui.addLog("🌤️ " + message);
+            
+            // Ειδική ειδοποίηση για επικίνδυνες συνθήκες
+            if (windSpeed > 3.0 || humidity < 30 || temperature > 35) {
+                gui.addLog("⚠️ ΕΠΙΚΙΝΔΥΝΕΣ ΚΑΙΡΙΚΕΣ ΣΥΝΘΗΚΕΣ!");
             }
-        });
+        }
     }
     
     private void broadcastWeather() {
-        ACLMessage msg = new ACLMessage(ACLMessage.INFORM);
-        msg.setContent("WEATHER_UPDATE wind:" + windSpeed + " humidity:" + humidity + 
-                      " temp:" + temperature + " direction:" + windDirection);
+        ACLMessage msg = MessageCodec.create(ACLMessage.INFORM,
+                new WeatherUpdate(windSpeed, humidity, temperature, windDirection));
         
         // Ειδοποίηση όλων των agents
         msg.addReceiver(new jade.core.AID("tree1", jade.core.AID.ISLOCALNAME));
@@ -83,7 +118,9 @@ public class WeatherAgent extends Agent {
         msg.addReceiver(new jade.core.AID("tree3", jade.core.AID.ISLOCALNAME));
         msg.addReceiver(new jade.core.AID("tree4", jade.core.AID.ISLOCALNAME));
         msg.addReceiver(new jade.core.AID("firecontrol", jade.core.AID.ISLOCALNAME));
+        msg.addReceiver(new jade.core.AID("forest", jade.core.AID.ISLOCALNAME));
         
         send(msg);
+        EventJournal.current().weather(windSpeed, humidity, temperature, windDirection);
     }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package gui;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import gui.FireSimulationGUI.CellType;
+
+/**
+ * Κατάσταση κελιών του grid σε πυκνούς πίνακες αντί για HashMap<String, CellState>.
+ * Type, intensity and last-update time are packed arrays indexed by
+ * (y-1)*width + (x-1), so a paint reads primitives and allocates nothing.
+ * Coordinates are 1-based like the rest of the GUI. Out-of-range reads return
+ * EMPTY and out-of-range writes are ignored, which is how the old map behaved
+ * for missing keys.
+ *
+ * Every write also marks the cell dirty in a bitset, which the painter drains
+ * to redraw only the changed cells of its cached terrain layer. All writes
+ * happen on the EDT: agent threads go through ViewEventQueue, which the EDT
+ * drains once per frame before the repaint.
+ */
+final class CellGrid {
+    private static final CellType[] TYPES = CellType.values();
+    private static final byte EMPTY = (byte) CellType.EMPTY.ordinal();
+
+    private final int width;
+    private final int height;
+    private final byte[] types;
+    private final byte[] intensities;
+    private final int[] updated;   // ms από το epoch του grid
+    private final long epoch = System.currentTimeMillis();
+    private int burningCount = 0;  // FIRE + BURNING_TREE
+    private final AtomicLongArray dirty;
+    private volatile boolean allDirty = true;
+
+    CellGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.types = new byte[width * height];
+        this.intensities = new byte[width * height];
+        this.updated = new int[width * height];
+        this.dirty = new AtomicLongArray((width * height + 63) >>> 6);
+        Arrays.fill(types, EMPTY);
+    }
+
+    int getWidth() { return width; }
+    int getHeight() { return height; }
+
+    boolean contains(int x, int y) {
+        return x >= 1 && x <= width && y >= 1 && y <= height;
+    }
+
+    int index(int x, int y) {
+        return (y - 1) * width + (x - 1);
+    }
+
+    CellType getType(int x, int y) {
+        return contains(x, y) ? TYPES[types[index(x, y)]] : CellType.EMPTY;
+    }
+
+    int getIntensity(int x, int y) {
+        return contains(x, y) ? intensities[index(x, y)] : 0;
+    }
+
+    long getLastUpdate(int x, int y) {
+        return contains(x, y) ? epoch + updated[index(x, y)] : 0L;
+    }
+
+    boolean isBurning(int x, int y) {
+        return contains(x, y) && isBurning(types[index(x, y)]);
+    }
+
+    void set(int x, int y, CellType type) {
+        set(x, y, type, 0);
+    }
+
+    void set(int x, int y, CellType type, int intensity) {
+        if (!contains(x, y)) return;
+        write(index(x, y), type, intensity);
+    }
+
+    /** Replaces every burning cell with the given type; returns how many changed. */
+    int replaceBurning(CellType type) {
+        int changed = 0;
+        for (int i = 0; i < types.length; i++) {
+            if (isBurning(types[i])) {
+                write(i, type, 0);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    void fill(CellType type) {
+        Arrays.fill(types, (byte) type.ordinal());
+        Arrays.fill(intensities, (byte) 0);
+        Arrays.fill(updated, stamp());
+        burningCount = isBurning((byte) type.ordinal()) ? types.length : 0;
+        allDirty = true;
+    }
+
+    int getBurningCount() {
+        return burningCount;
+    }
+
+    /** Full scan, for the periodic stats check against the incremental count. */
+    int countBurning() {
+        int count = 0;
+        for (byte type : types) {
+            if (isBurning(type)) count++;
+        }
+        burningCount = count;
+        return count;
+    }
+
+    // ----- Dirty tracking για το cached terrain layer -----
+
+    /** True once after fill() (or at start): the whole layer must be redrawn. */
+    boolean takeAllDirty() {
+        if (!allDirty) return false;
+        allDirty = false;
+        return true;
+    }
+
+    /** Drops every pending mark; used right before a full redraw. */
+    void clearDirty() {
+        allDirty = false;
+        for (int w = 0; w < dirty.length(); w++) {
+            dirty.set(w, 0L);
+        }
+    }
+
+    int dirtyWords() {
+        return dirty.length();
+    }
+
+    /** Returns and clears 64 dirty bits; bit b is cell index word*64 + b. */
+    long takeDirty(int word) {
+        return dirty.get(word) == 0L ? 0L : dirty.getAndSet(word, 0L);
+    }
+
+    private void markDirty(int i) {
+        int word = i >>> 6;
+        long bit = 1L << (i & 63);
+        long current;
+        do {
+            current = dirty.get(word);
+            if ((current & bit) != 0) return;
+        } while (!dirty.compareAndSet(word, current, current | bit));
+    }
+
+    private void write(int i, CellType type, int intensity) {
+        byte next = (byte) type.ordinal();
+        boolean was = isBurning(types[i]);
+        boolean now = isBurning(next);
+        if (was != now) burningCount += now ? 1 : -1;
+
+        types[i] = next;
+        intensities[i] = (byte) Math.max(0, Math.min(Byte.MAX_VALUE, intensity));
+        updated[i] = stamp();
+        markDirty(i);
+    }
+
+    private int stamp() {
+        return (int) (System.currentTimeMillis() - epoch);
+    }
+
+    private static boolean isBurning(byte type) {
+        return type == CellType.FIRE.ordinal() || type == CellType.BURNING_TREE.ordinal();
+    }
+}
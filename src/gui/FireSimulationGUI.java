@@ -14,14 +14,20 @@ import java.awt.event.MouseWheelListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.InputEvent;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.Random;
 import java.util.List;
 import java.util.ArrayList;
 import java.awt.image.BufferedImage;
 import java.awt.font.FontRenderContext;
+import simulation.Checkpoint;
+import simulation.MotionScheduler;
+import simulation.PositionBatch;
+import utils.GridManager;
 
-public class FireSimulationGUI extends JFrame {
+public class FireSimulationGUI extends JFrame implements SimulationView {
     private static final int GRID_SIZE = 150;
     private static final int MIN_CELL_SIZE = 2;
     private static final int MAX_CELL_SIZE = 50; // Increased from 20 to 50 for bigger display
@@ -47,25 +53,39 @@ public class FireSimulationGUI extends JFrame {
     private JLabel statusLabel;
     private JLabel coordinatesLabel;
     private JLabel zoomLabel;
-    private JTextArea logArea;
+    private JList<String> logList;
+    private JScrollPane logScroll;
+    // Κυκλικό buffer log (-Dgui.log, default 5000 γραμμές), η JList σχεδιάζει μόνο τις ορατές
+    private final LogModel logModel = new LogModel(Integer.getInteger("gui.log", 5000));
     private JPanel statsPanel;
     private Timer refreshTimer;
+    private RepaintCoalescer repaints;
+    private final ViewEventQueue viewEvents = new ViewEventQueue(GRID_SIZE, GRID_SIZE, Integer.getInteger("gui.queue", 4096));
+    private JLabel framesLabel;
+    private long lastRequestedFrames = 0;
+    private long lastPaintedFrames = 0;
     
     // Grid data
-    private Map<String, CellState> cellStates = new HashMap<>();
+    private final CellGrid cells = new CellGrid(GRID_SIZE, GRID_SIZE);
     private int cellSize = DEFAULT_CELL_SIZE;
     private double zoomFactor = 1.0;
     
     // Agent position tracking
-    private Map<String, Point> agentPositions = new HashMap<>();
-    private Map<String, CellType> agentTypes = new HashMap<>();
+    // Τα maps των μονάδων αλλάζουν μόνο στο EDT (τα agents περνούν από το viewEvents)
+    private final Map<String, Point> agentPositions = new HashMap<>();
+    private final Map<String, CellType> agentTypes = new HashMap<>();
+    private final UnitIndex unitIndex = new UnitIndex(GRID_SIZE, GRID_SIZE); // agents ανά κελί, για το σχεδίασμα
     
     // Agent movement tracking
-    private Map<String, java.util.List<Point>> agentTrails = new HashMap<>();
-    private Map<String, Long> lastMoveTime = new HashMap<>();
+    private final Map<String, java.util.List<Point>> agentTrails = new HashMap<>();
+    private final Map<String, Long> lastMoveTime = new HashMap<>();
     private final int MAX_TRAIL_LENGTH = 10; // Maximum trail points to keep
     private boolean showTrails = true; // Toggle trail visibility
     
+    // Αμετάβλητο στιγμιότυπο μονάδων ανά καρέ: για το σχεδίασμα των ιχνών και για άλλα threads
+    private volatile UnitFrame unitFrame = UnitFrame.EMPTY;
+    private final Set<String> changedUnits = new HashSet<>();
+    
     // Statistics
     private int totalTrees = 0;
     private int burningTrees = 0;
@@ -106,9 +126,6 @@ public class FireSimulationGUI extends JFrame {
     private JFrame logsWindow;
     private boolean multiWindowMode = true; // Start in multi-window mode
     
-    // Active fires list for proper extinguishing
-    private List<String> activeFireLocations = new ArrayList<>();
-    
     // ENHANCED FONT SYSTEM - Combining Noto and Segoe UI
     private Font primaryUIFont;           // Segoe UI for main UI
     private Font emojiFont;              // Noto Color Emoji for emojis
@@ -125,33 +142,29 @@ public class FireSimulationGUI extends JFrame {
     private static int initialHelicopters = 1;
     private static int initialCrews = 6;
     
-    // Command Center coordinates
-    private static int commandCenterX;
-    private static int commandCenterY;
+    // Αναπαραγωγή journal (ReplayPlayer): ο καιρός έρχεται από την εγγραφή, όχι τυχαίος
+    private static boolean replayMode = false;
     
     // Cell State Classes
     enum CellType {
         EMPTY, TREE, FIRE, BURNING_TREE, DESTROYED, WATER, FIREFIGHTER, AIRCRAFT, HELICOPTER, GROUND_CREW, COMMAND_CENTER
     }
     
-    static class CellState {
-        CellType type;
-        int intensity;
-        long lastUpdate;
-        boolean canBeExtinguished;
-        
-        public CellState(CellType type) {
-            this.type = type;
-            this.intensity = 0;
-            this.lastUpdate = System.currentTimeMillis();
-            this.canBeExtinguished = (type == CellType.FIRE || type == CellType.BURNING_TREE);
+    // Precomputed cell colours, so painting a cell does not allocate a Color
+    private static final Color TREE_CELL = new Color(34, 139, 34);
+    private static final Color DESTROYED_CELL = new Color(64, 64, 64);
+    private static final Color WATER_CELL = new Color(0, 191, 255);
+    private static final Color COMMAND_CENTER_CELL = new Color(0, 100, 200); // Dark blue for command center
+    private static final Color EMPTY_CELL = new Color(240, 240, 240);
+    private static final Color AGENT_OVERLAY = new Color(255, 255, 255, 80); // More visible white overlay
+    private static final Color[] FIRE_CELLS = new Color[14];
+    private static final Color[] BURNING_TREE_CELLS = new Color[17];
+    static {
+        for (int i = 0; i < FIRE_CELLS.length; i++) {
+            FIRE_CELLS[i] = new Color(255, Math.max(0, 255 - i * 20), 0);
         }
-        
-        public CellState(CellType type, int intensity) {
-            this.type = type;
-            this.intensity = intensity;
-            this.lastUpdate = System.currentTimeMillis();
-            this.canBeExtinguished = (type == CellType.FIRE || type == CellType.BURNING_TREE);
+        for (int i = 0; i < BURNING_TREE_CELLS.length; i++) {
+            BURNING_TREE_CELLS[i] = new Color(255, Math.max(0, 165 - i * 10), 0);
         }
     }
     
@@ -184,6 +197,11 @@ public class FireSimulationGUI extends JFrame {
         
         // Setup timers without automatic fires
         SwingUtilities.invokeLater(() -> {
+            if (replayMode) {
+                addLog("📼 Λειτουργία αναπαραγωγής - χωρίς agents");
+                return;
+            }
+            
             simulateWeatherUpdate();
             updateResourceStats(initialTrucks, initialTrucks, initialAircraft, initialAircraft, 
                               initialHelicopters, initialHelicopters, initialCrews, initialCrews, 0);
@@ -207,6 +225,9 @@ public class FireSimulationGUI extends JFrame {
         });
         
         startRefreshTimer();
+        
+        // Όλες οι κινήσεις μονάδων ενός tick του MotionScheduler σε μία κλήση στο EDT
+        MotionScheduler.getInstance().addListener(this::showUnitPositions);
     }
     
     // ENHANCED FONT SUPPORT - Combining Noto and Segoe UI
@@ -301,6 +322,11 @@ public class FireSimulationGUI extends JFrame {
         initialCrews = crews;
     }
     
+    // Before getInstance(): the window replays a journal instead of showing a live run
+    static void setReplayMode(boolean replay) {
+        replayMode = replay;
+    }
+    
     // FIXED: Complete getInstance implementation
     public static FireSimulationGUI getInstance() {
         if (instance == null) {
@@ -504,10 +530,17 @@ public class FireSimulationGUI extends JFrame {
         JMenuItem clearAll = createEmojiMenuItem("CLEAR Καθαρισμός Όλων", 0, 0);
         clearAll.addActionListener(e -> clearAllFires());
         
+        JMenuItem checkpoint = createEmojiMenuItem("💾 Checkpoint", KeyEvent.VK_S, InputEvent.CTRL_DOWN_MASK);
+        checkpoint.addActionListener(e -> takeCheckpoint());
+        
         simMenu.add(startFire);
         simMenu.add(emergency);
         simMenu.addSeparator();
         simMenu.add(clearAll);
+        if (!replayMode) {
+            simMenu.addSeparator();
+            simMenu.add(checkpoint);
+        }
         
         menuBar.add(viewMenu);
         menuBar.add(simMenu);
@@ -615,6 +648,14 @@ public class FireSimulationGUI extends JFrame {
     
     private void createGridPanel() {
         gridPanel = new GridPanel();
+        // Each frame: apply the queued agent events on the EDT, publish the unit frame and the new log lines,
+        // then flush the coalesced repaint
+        repaints = new RepaintCoalescer(gridPanel, Integer.getInteger("gui.fps", 30), () -> {
+            viewEvents.drain(this);
+            publishUnitFrame();
+            flushLog();
+        });
+        repaints.start();
         scrollPane = new JScrollPane(gridPanel);
         scrollPane.setPreferredSize(new Dimension(800, 600));
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
@@ -766,7 +807,7 @@ public class FireSimulationGUI extends JFrame {
     toggleTrailsBtn.addActionListener(e -> {
         showTrails = !showTrails;
         toggleTrailsBtn.setText("📍 TRAILS " + (showTrails ? "ON" : "OFF"));
-        gridPanel.repaint();
+        repaintGrid();
         addLog("📍 Trails " + (showTrails ? "enabled" : "disabled"));
     });
     
@@ -794,6 +835,13 @@ public class FireSimulationGUI extends JFrame {
     gbc.gridy = 7;
     controlPanel.add(toggleTrailsBtn, gbc);
     
+    if (!replayMode) {
+        JButton checkpointBtn = createEmojiControlButton("💾 CHECKPOINT", "Αποθήκευση στιγμιότυπου της προσομοίωσης", new Color(0x607D8B));
+        checkpointBtn.addActionListener(e -> takeCheckpoint());
+        gbc.gridy = 8;
+        controlPanel.add(checkpointBtn, gbc);
+    }
+    
     return controlPanel;
 }
     
@@ -925,23 +973,51 @@ public class FireSimulationGUI extends JFrame {
         
         JLabel titleLabel = createEmojiLabel("LOG Αρχείο Καταγραφής", Font.BOLD, 16f);
         
-        logArea = new JTextArea(10, 30);
-        logArea.setEditable(false);
-        logArea.setFont(combinedFont.deriveFont(12f));
-        logArea.setBackground(BACKGROUND_COLOR);
-        logArea.setForeground(TEXT_COLOR);
-        logArea.setCaretColor(TEXT_COLOR);
-        logArea.setLineWrap(true);
-        logArea.setWrapStyleWord(true);
+        Font logFont = combinedFont.deriveFont(12f);
+        FontMetrics logMetrics = getFontMetrics(logFont);
         
-        JScrollPane logScroll = new JScrollPane(logArea);
+        // Virtualized: fixed row height, so the list paints only the visible rows and never measures the rest
+        logList = new JList<String>(logModel) {
+            @Override
+            public boolean getScrollableTracksViewportWidth() {
+                return true;
+            }
+        };
+        logList.setFont(logFont);
+        logList.setBackground(BACKGROUND_COLOR);
+        logList.setForeground(TEXT_COLOR);
+        logList.setFixedCellHeight(logMetrics.getHeight() + 2);
+        logList.setFixedCellWidth(logMetrics.charWidth('m') * 30);
+        logList.setVisibleRowCount(10);
+        logList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                if (!isSelected) {
+                    switch (logModel.getLevel(index)) {
+                        case ALERT: setForeground(DANGER_COLOR); break;
+                        case WARNING: setForeground(WARNING_COLOR); break;
+                        default: setForeground(TEXT_COLOR); break;
+                    }
+                }
+                // Full line and source on hover, since long lines are cut at the list width
+                String source = logModel.getSource(index);
+                setToolTipText(source != null ? source + ": " + logModel.getMessage(index) : null);
+                return this;
+            }
+        });
+        ToolTipManager.sharedInstance().registerComponent(logList);
+        
+        logScroll = new JScrollPane(logList);
         logScroll.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
+        logScroll.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         logScroll.setBackground(BACKGROUND_COLOR);
         logScroll.setBorder(new LineBorder(BORDER_COLOR, 1));
         
         JButton clearLogBtn = createEmojiButton("DEL", "Καθαρισμός αρχείου καταγραφής", DANGER_COLOR);
         clearLogBtn.addActionListener(e -> {
-            logArea.setText("");
+            logModel.clear();
             addLog("LOG Αρχείο καταγραφής καθαρίστηκε");
         });
         
@@ -997,9 +1073,7 @@ public class FireSimulationGUI extends JFrame {
         int x = 1 + rand.nextInt(GRID_SIZE);
         int y = 1 + rand.nextInt(GRID_SIZE);
         
-        String key = x + "," + y;
-        CellState existing = cellStates.get(key);
-        if (existing == null || existing.type != CellType.FIRE) {
+        if (cells.getType(x, y) != CellType.FIRE) {
             startFireAt(x, y);
             addLog("🚨 ΕΚΤΑΚΤΗ ΦΩΤΙΑ στη θέση (" + x + ", " + y + ")");
         }
@@ -1007,6 +1081,12 @@ public class FireSimulationGUI extends JFrame {
     
     // Enhanced Grid Panel Class with Combined Font Rendering
     private class GridPanel extends JPanel {
+        // Retained terrain/fire layer: covers the visible cells plus a margin and
+        // is redrawn only where CellGrid marks cells dirty (or fully on scroll/zoom)
+        private static final int TERRAIN_MARGIN_PX = 256;
+        private BufferedImage terrain;
+        private int terrainStartX, terrainEndX, terrainStartY, terrainEndY;
+        private int terrainCellWidth, terrainCellHeight;
         
         public GridPanel() {
             setBackground(Color.WHITE);
@@ -1027,21 +1107,41 @@ public class FireSimulationGUI extends JFrame {
             g2d.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
             g2d.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
             
+            // Use rectangular cell dimensions
+            int actualCellWidth = cellSize * CELL_WIDTH_MULTIPLIER / 4;
+            int actualCellHeight = cellSize * CELL_HEIGHT_MULTIPLIER / 4;
+            
             Rectangle visibleRect = getVisibleRect();
-            int startX = Math.max(1, visibleRect.x / cellSize);
-            int endX = Math.min(GRID_SIZE, (visibleRect.x + visibleRect.width) / cellSize + 1);
-            int startY = Math.max(1, visibleRect.y / cellSize);
-            int endY = Math.min(GRID_SIZE, (visibleRect.y + visibleRect.height) / cellSize + 1);
+            int startX = Math.max(1, visibleRect.x / actualCellWidth + 1);
+            int endX = Math.min(GRID_SIZE, (visibleRect.x + visibleRect.width) / actualCellWidth + 1);
+            int startY = Math.max(1, visibleRect.y / actualCellHeight + 1);
+            int endY = Math.min(GRID_SIZE, (visibleRect.y + visibleRect.height) / actualCellHeight + 1);
+            
+            // Terrain: one blit of the cached layer, then the units on top
+            updateTerrain(startX, endX, startY, endY, actualCellWidth, actualCellHeight);
+            g2d.drawImage(terrain, (terrainStartX - 1) * actualCellWidth, (terrainStartY - 1) * actualCellHeight, null);
+            
+            // Coalesced repaints only cover a region: draw the overlay for the clip alone
+            Rectangle clip = g.getClipBounds();
+            if (clip != null) {
+                startX = Math.max(startX, clip.x / actualCellWidth + 1);
+                endX = Math.min(endX, (clip.x + clip.width) / actualCellWidth + 1);
+                startY = Math.max(startY, clip.y / actualCellHeight + 1);
+                endY = Math.min(endY, (clip.y + clip.height) / actualCellHeight + 1);
+            }
             
-            for (int x = startX; x <= endX; x++) {
-                for (int y = startY; y <= endY; y++) {
-                    drawCell(g2d, x, y);
+            for (int y = startY; y <= endY; y++) {
+                for (int x = startX; x <= endX; x++) {
+                    if (unitIndex.first(x, y) >= 0) {
+                        drawAgentsAtPosition(g2d, x, y, (x - 1) * actualCellWidth, (y - 1) * actualCellHeight,
+                                             actualCellWidth, actualCellHeight);
+                    }
                 }
             }
             
             // Draw agent trails before drawing grid lines
             if (showTrails) {
-                drawAgentTrails(g2d);
+                drawAgentTrails(g2d, publishUnitFrame());
             }
             
             if (cellSize >= 8) {
@@ -1049,56 +1149,107 @@ public class FireSimulationGUI extends JFrame {
             }
             
             g2d.dispose();
+            if (repaints != null) repaints.framePainted();
         }
         
-        private void drawCell(Graphics2D g2d, int x, int y) {
-            String key = x + "," + y;
-            CellState state = cellStates.get(key);
-            
-            if (state == null) state = new CellState(CellType.EMPTY);
+        // Brings the cached layer up to date for the visible range: a full redraw when the
+        // range leaves the cached area, the zoom changes or the grid was reset, else dirty cells only
+        private void updateTerrain(int startX, int endX, int startY, int endY, int cellWidth, int cellHeight) {
+            boolean rebuild = cells.takeAllDirty()
+                    || terrain == null
+                    || cellWidth != terrainCellWidth || cellHeight != terrainCellHeight
+                    || startX < terrainStartX || endX > terrainEndX
+                    || startY < terrainStartY || endY > terrainEndY;
+            
+            if (rebuild) {
+                int marginX = Math.max(1, TERRAIN_MARGIN_PX / cellWidth);
+                int marginY = Math.max(1, TERRAIN_MARGIN_PX / cellHeight);
+                terrainStartX = Math.max(1, startX - marginX);
+                terrainEndX = Math.min(GRID_SIZE, endX + marginX);
+                terrainStartY = Math.max(1, startY - marginY);
+                terrainEndY = Math.min(GRID_SIZE, endY + marginY);
+                terrainCellWidth = cellWidth;
+                terrainCellHeight = cellHeight;
+                
+                int width = (terrainEndX - terrainStartX + 1) * cellWidth;
+                int height = (terrainEndY - terrainStartY + 1) * cellHeight;
+                if (terrain == null || terrain.getWidth() != width || terrain.getHeight() != height) {
+                    if (terrain != null) terrain.flush();
+                    GraphicsConfiguration gc = getGraphicsConfiguration();
+                    terrain = gc != null ? gc.createCompatibleImage(width, height, Transparency.OPAQUE)
+                                         : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+                }
+                
+                cells.clearDirty();
+                Graphics2D tg = createTerrainGraphics();
+                for (int y = terrainStartY; y <= terrainEndY; y++) {
+                    for (int x = terrainStartX; x <= terrainEndX; x++) {
+                        drawCell(tg, x, y);
+                    }
+                }
+                tg.dispose();
+                return;
+            }
             
-            // Use rectangular cells with custom dimensions: width ≈ 12.8px, height ≈ 7.2px
-            int actualCellWidth = cellSize * CELL_WIDTH_MULTIPLIER / 4;  // 13 pixels when cellSize=4
-            int actualCellHeight = cellSize * CELL_HEIGHT_MULTIPLIER / 4;  // 7 pixels when cellSize=4
+            Graphics2D tg = null;
+            for (int word = 0; word < cells.dirtyWords(); word++) {
+                long bits = cells.takeDirty(word);
+                while (bits != 0L) {
+                    int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    
+                    int x = index % GRID_SIZE + 1;
+                    int y = index / GRID_SIZE + 1;
+                    if (x < terrainStartX || x > terrainEndX || y < terrainStartY || y > terrainEndY) continue;
+                    
+                    if (tg == null) tg = createTerrainGraphics();
+                    drawCell(tg, x, y);
+                }
+            }
+            if (tg != null) tg.dispose();
+        }
+        
+        private Graphics2D createTerrainGraphics() {
+            Graphics2D tg = terrain.createGraphics();
+            tg.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            tg.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+            return tg;
+        }
+        
+        // Draws one terrain cell (colour and icon) into the cached layer
+        private void drawCell(Graphics2D g2d, int x, int y) {
+            CellType type = cells.getType(x, y);
+            int intensity = cells.getIntensity(x, y);
             
-            int pixelX = (x - 1) * actualCellWidth;
-            int pixelY = (y - 1) * actualCellHeight;
+            // Rectangular cells: width ≈ 12.8px, height ≈ 7.2px when cellSize=4
+            int pixelX = (x - terrainStartX) * terrainCellWidth;
+            int pixelY = (y - terrainStartY) * terrainCellHeight;
             
             // Draw the base cell (terrain, fire, etc.)
-            g2d.setColor(getCellColor(state));
-            g2d.fillRect(pixelX, pixelY, actualCellWidth, actualCellHeight);
+            g2d.setColor(getCellColor(type, intensity));
+            g2d.fillRect(pixelX, pixelY, terrainCellWidth, terrainCellHeight);
             
-            if (Math.min(actualCellWidth, actualCellHeight) >= 8) {
-                drawCellIcon(g2d, pixelX, pixelY, state, actualCellWidth, actualCellHeight);
+            if (Math.min(terrainCellWidth, terrainCellHeight) >= 8) {
+                drawCellIcon(g2d, pixelX, pixelY, type, terrainCellWidth, terrainCellHeight);
             }
-            
-            // Check if any agents are at this position and draw them on top
-            drawAgentsAtPosition(g2d, x, y, pixelX, pixelY, actualCellWidth, actualCellHeight);
         }
         
         private void drawAgentsAtPosition(Graphics2D g2d, int gridX, int gridY, int pixelX, int pixelY, int cellWidth, int cellHeight) {
-            // Find all agents at this position
-            java.util.List<String> agentsAtPosition = new java.util.ArrayList<>();
-            
-            for (Map.Entry<String, Point> entry : agentPositions.entrySet()) {
-                Point pos = entry.getValue();
-                if (pos.x == gridX && pos.y == gridY) {
-                    agentsAtPosition.add(entry.getKey());
-                }
-            }
+            // Agents at this position, straight from the per-cell index
+            int first = unitIndex.first(gridX, gridY);
             
             // If there are agents at this position, draw them
-            if (!agentsAtPosition.isEmpty()) {
+            if (first >= 0) {
                 // Draw a semi-transparent overlay to indicate agent presence
-                g2d.setColor(new Color(255, 255, 255, 80)); // More visible white overlay
+                g2d.setColor(AGENT_OVERLAY);
                 g2d.fillRect(pixelX + 1, pixelY + 1, cellWidth - 2, cellHeight - 2);
                 
                 // Draw agent icons with better visibility
                 int iconSize = Math.max(8, Math.min(cellWidth, cellHeight) - 2);
                 
-                for (int i = 0; i < Math.min(agentsAtPosition.size(), 4); i++) {
-                    String agentName = agentsAtPosition.get(i);
-                    CellType agentType = agentTypes.get(agentName);
+                int i = 0;
+                for (int slot = first; slot >= 0 && i < 4; slot = unitIndex.next(slot), i++) {
+                    CellType agentType = unitIndex.type(slot);
                     
                     if (agentType != null) {
                         // Calculate position for multiple agents
@@ -1151,37 +1302,34 @@ public class FireSimulationGUI extends JFrame {
             }
         }
         
-        private void drawAgentTrails(Graphics2D g2d) {
+        private void drawAgentTrails(Graphics2D g2d, UnitFrame frame) {
             // Use rectangular cell dimensions
             int actualCellWidth = cellSize * CELL_WIDTH_MULTIPLIER / 4;
             int actualCellHeight = cellSize * CELL_HEIGHT_MULTIPLIER / 4;
             
-            for (Map.Entry<String, java.util.List<Point>> entry : agentTrails.entrySet()) {
-                String agentName = entry.getKey();
-                java.util.List<Point> trail = entry.getValue();
-                CellType agentType = agentTypes.get(agentName);
+            for (UnitFrame.Unit unit : frame.units()) {
+                int[] trailX = unit.trailX;
+                int[] trailY = unit.trailY;
+                int length = trailX.length;
                 
-                if (trail.size() > 1 && agentType != null) {
+                if (length > 1 && unit.type != null) {
                     // Get agent color with transparency for trail
-                    Color agentColor = getAgentColor(agentType);
+                    Color agentColor = getAgentColor(unit.type);
                     Color trailColor = new Color(agentColor.getRed(), agentColor.getGreen(), agentColor.getBlue(), 100);
                     
                     g2d.setColor(trailColor);
                     g2d.setStroke(new BasicStroke(2.0f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
                     
                     // Draw trail as connected lines
-                    for (int i = 0; i < trail.size() - 1; i++) {
-                        Point p1 = trail.get(i);
-                        Point p2 = trail.get(i + 1);
-                        
+                    for (int i = 0; i < length - 1; i++) {
                         // Convert grid coordinates to pixel coordinates (center of cells)
-                        int x1 = (p1.x - 1) * actualCellWidth + actualCellWidth / 2;
-                        int y1 = (p1.y - 1) * actualCellHeight + actualCellHeight / 2;
-                        int x2 = (p2.x - 1) * actualCellWidth + actualCellWidth / 2;
-                        int y2 = (p2.y - 1) * actualCellHeight + actualCellHeight / 2;
+                        int x1 = (trailX[i] - 1) * actualCellWidth + actualCellWidth / 2;
+                        int y1 = (trailY[i] - 1) * actualCellHeight + actualCellHeight / 2;
+                        int x2 = (trailX[i + 1] - 1) * actualCellWidth + actualCellWidth / 2;
+                        int y2 = (trailY[i + 1] - 1) * actualCellHeight + actualCellHeight / 2;
                         
                         // Draw line with fade effect (older positions more transparent)
-                        float alpha = (float)(i + 1) / trail.size() * 0.7f + 0.3f; // 0.3 to 1.0
+                        float alpha = (float)(i + 1) / length * 0.7f + 0.3f; // 0.3 to 1.0
                         Color lineColor = new Color(agentColor.getRed(), agentColor.getGreen(), agentColor.getBlue(), 
                                                    (int)(alpha * 150));
                         g2d.setColor(lineColor);
@@ -1189,23 +1337,19 @@ public class FireSimulationGUI extends JFrame {
                         g2d.drawLine(x1, y1, x2, y2);
                         
                         // Draw small circles at trail points
-                        if (i < trail.size() - 2) { // Don't draw circle at last point (current position)
+                        if (i < length - 2) { // Don't draw circle at last point (current position)
                             g2d.fillOval(x2 - 2, y2 - 2, 4, 4);
                         }
                     }
                     
                     // Connect last trail point to current position
-                    Point currentPos = agentPositions.get(agentName);
-                    if (currentPos != null && !trail.isEmpty()) {
-                        Point lastTrail = trail.get(trail.size() - 1);
-                        int x1 = (lastTrail.x - 1) * actualCellWidth + actualCellWidth / 2;
-                        int y1 = (lastTrail.y - 1) * actualCellHeight + actualCellHeight / 2;
-                        int x2 = (currentPos.x - 1) * actualCellWidth + actualCellWidth / 2;
-                        int y2 = (currentPos.y - 1) * actualCellHeight + actualCellHeight / 2;
-                        
-                        g2d.setColor(agentColor);
-                        g2d.drawLine(x1, y1, x2, y2);
-                    }
+                    int x1 = (trailX[length - 1] - 1) * actualCellWidth + actualCellWidth / 2;
+                    int y1 = (trailY[length - 1] - 1) * actualCellHeight + actualCellHeight / 2;
+                    int x2 = (unit.x - 1) * actualCellWidth + actualCellWidth / 2;
+                    int y2 = (unit.y - 1) * actualCellHeight + actualCellHeight / 2;
+                    
+                    g2d.setColor(agentColor);
+                    g2d.drawLine(x1, y1, x2, y2);
                 }
             }
             
@@ -1232,8 +1376,8 @@ public class FireSimulationGUI extends JFrame {
             }
         }
         
-        private void drawCellIcon(Graphics2D g2d, int x, int y, CellState state, int cellWidth, int cellHeight) {
-            String icon = getCellIcon(state);
+        private void drawCellIcon(Graphics2D g2d, int x, int y, CellType type, int cellWidth, int cellHeight) {
+            String icon = getCellIcon(type);
             if (icon != null && !icon.isEmpty()) {
                 g2d.setColor(Color.BLACK);
                 
@@ -1265,24 +1409,24 @@ public class FireSimulationGUI extends JFrame {
     }
     
     // Utility Methods
-    private Color getCellColor(CellState state) {
-        switch (state.type) {
-            case TREE: return new Color(34, 139, 34);
-            case FIRE: return new Color(255, Math.max(0, 255 - state.intensity * 20), 0);
-            case BURNING_TREE: return new Color(255, 165 - state.intensity * 10, 0);
-            case DESTROYED: return new Color(64, 64, 64);
-            case WATER: return new Color(0, 191, 255);
+    private Color getCellColor(CellType type, int intensity) {
+        switch (type) {
+            case TREE: return TREE_CELL;
+            case FIRE: return FIRE_CELLS[Math.min(intensity, FIRE_CELLS.length - 1)];
+            case BURNING_TREE: return BURNING_TREE_CELLS[Math.min(intensity, BURNING_TREE_CELLS.length - 1)];
+            case DESTROYED: return DESTROYED_CELL;
+            case WATER: return WATER_CELL;
             case FIREFIGHTER: return Color.RED;
             case AIRCRAFT: return Color.BLUE;
             case HELICOPTER: return Color.MAGENTA;
             case GROUND_CREW: return Color.ORANGE;
-            case COMMAND_CENTER: return new Color(0, 100, 200); // Dark blue for command center
-            default: return new Color(240, 240, 240);
+            case COMMAND_CENTER: return COMMAND_CENTER_CELL;
+            default: return EMPTY_CELL;
         }
     }
     
-    private String getCellIcon(CellState state) {
-        switch (state.type) {
+    private String getCellIcon(CellType type) {
+        switch (type) {
             case TREE: return "T";        // Αντί για 🌲
             case FIRE: return "F";        // Αντί για 🔥
             case BURNING_TREE: return "B"; // Αντί για 🔥
@@ -1523,29 +1667,19 @@ public class FireSimulationGUI extends JFrame {
     
     // Initialize grid with empty state
     private void initializeGrid() {
-        for (int x = 1; x <= GRID_SIZE; x++) {
-            for (int y = 1; y <= GRID_SIZE; y++) {
-                cellStates.put(x + "," + y, new CellState(CellType.EMPTY));
-            }
-        }
-        
-        // Initialize Command Center at random location or center
-        Random rand = new Random();
-        commandCenterX = GRID_SIZE / 2 + rand.nextInt(21) - 10; // Center ± 10 cells
-        commandCenterY = GRID_SIZE / 2 + rand.nextInt(21) - 10; // Center ± 10 cells
+        cells.fill(CellType.EMPTY);
         
-        // Ensure command center is within bounds
-        commandCenterX = Math.max(5, Math.min(GRID_SIZE - 5, commandCenterX));
-        commandCenterY = Math.max(5, Math.min(GRID_SIZE - 5, commandCenterY));
+        // Command Center position is owned by GridManager (shared with headless runs)
+        int commandCenterX = GridManager.getCommandCenterX();
+        int commandCenterY = GridManager.getCommandCenterY();
         
         // Set command center cell
-        String cmdKey = commandCenterX + "," + commandCenterY;
-        cellStates.put(cmdKey, new CellState(CellType.COMMAND_CENTER));
+        cells.set(commandCenterX, commandCenterY, CellType.COMMAND_CENTER);
         
         System.out.println("🏢 ΚΕΝΤΡΟ ΕΠΙΧΕΙΡΗΣΕΩΝ: Θέση (" + commandCenterX + "," + commandCenterY + ")");
         
-        // Only add to log if logArea is initialized
-        if (logArea != null) {
+        // Only add to log if logList is initialized
+        if (logList != null) {
             addLog("🏢 Κέντρο Επιχειρήσεων αρχικοποιήθηκε στη θέση (" + commandCenterX + "," + commandCenterY + ")");
         }
         
@@ -1569,6 +1703,10 @@ public class FireSimulationGUI extends JFrame {
         statusLabel = createEmojiLabel("OK Σύστημα έτοιμο - Grid: 150x150", Font.BOLD, 12f);
         statusBar.add(statusLabel);
         
+        // Requested vs painted grid frames (see RepaintCoalescer)
+        framesLabel = createEmojiLabel("🖼️ Καρέ: -", Font.PLAIN, 12f);
+        statusBar.add(framesLabel);
+        
         return statusBar;
     }
     
@@ -1579,15 +1717,10 @@ public class FireSimulationGUI extends JFrame {
         int y = 1 + rand.nextInt(GRID_SIZE);
         
         // Ensure we don't start fire on existing fire
-        String key = x + "," + y;
-        CellState existing = cellStates.get(key);
-        
         int attempts = 0;
-        while (existing != null && existing.type == CellType.FIRE && attempts < 10) {
+        while (cells.getType(x, y) == CellType.FIRE && attempts < 10) {
             x = 1 + rand.nextInt(GRID_SIZE);
             y = 1 + rand.nextInt(GRID_SIZE);
-            key = x + "," + y;
-            existing = cellStates.get(key);
             attempts++;
         }
         
@@ -1595,31 +1728,28 @@ public class FireSimulationGUI extends JFrame {
     }
     
     private void startFireAt(int x, int y) {
-        String key = x + "," + y;
-        CellState existing = cellStates.get(key);
+        CellType existing = cells.getType(x, y);
         
         // Only start fire if location is empty or has a tree
-        if (existing == null || existing.type == CellType.EMPTY || existing.type == CellType.TREE) {
-            cellStates.put(key, new CellState(CellType.FIRE, 5));
-            activeFireLocations.add(key);
-            activeFires++;
+        if (existing == CellType.EMPTY || existing == CellType.TREE) {
+            cells.set(x, y, CellType.FIRE, 5);
+            activeFires = cells.getBurningCount();
             
             addLog("🔥 Φωτιά ξεκίνησε στη θέση (" + x + ", " + y + ")");
-            gridPanel.repaint();
+            repaintCell(x, y);
             updateStatsDisplay();
         }
     }
     
     private void placeTreeAt(int x, int y) {
-        String key = x + "," + y;
-        CellState current = cellStates.get(key);
+        CellType current = cells.getType(x, y);
         
-        if (current == null || current.type == CellType.EMPTY || current.type == CellType.DESTROYED) {
-            cellStates.put(key, new CellState(CellType.TREE));
+        if (current == CellType.EMPTY || current == CellType.DESTROYED) {
+            cells.set(x, y, CellType.TREE);
             totalTrees++;
             
             addLog("🌲 Δέντρο τοποθετήθηκε στη θέση (" + x + ", " + y + ")");
-            gridPanel.repaint();
+            repaintCell(x, y);
             updateStatsDisplay();
         }
     }
@@ -1631,23 +1761,28 @@ public class FireSimulationGUI extends JFrame {
         }
         
         // Clear all fires and restore previous states
-        for (Map.Entry<String, CellState> entry : cellStates.entrySet()) {
-            CellState state = entry.getValue();
-            if (state.type == CellType.FIRE || state.type == CellType.BURNING_TREE) {
-                entry.setValue(new CellState(CellType.DESTROYED));
-            }
-        }
+        cells.replaceBurning(CellType.DESTROYED);
         
-        activeFireLocations.clear();
         activeFires = 0;
         burningTrees = 0;
         
         addLog("🧹 Όλες οι φωτιές καθαρίστηκαν");
-        gridPanel.repaint();
+        repaintGrid();
         updateStatsDisplay();
         updateStatus("🟢 Όλες οι φωτιές έχουν σβήσει");
     }
     
+    // Στιγμιότυπο όλης της προσομοίωσης στο checkpoints/· το αρχείο γράφεται στο παρασκήνιο
+    private void takeCheckpoint() {
+        Checkpoint checkpoint = Checkpoint.getInstance();
+        if (checkpoint.getParticipantCount() == 0) {
+            addLog("⚠️ Checkpoint: κανένας agent σε λειτουργία");
+            return;
+        }
+        java.nio.file.Path path = checkpoint.take();
+        addLog(path != null ? "💾 Checkpoint → " + path : "⏳ Checkpoint ήδη σε εξέλιξη");
+    }
+    
     private void resetSimulation() {
         // Stop emergency if active
         if (emergencyActive) {
@@ -1655,8 +1790,7 @@ public class FireSimulationGUI extends JFrame {
         }
         
         // Clear all cell states and restore to EMPTY
-        cellStates.clear();
-        activeFireLocations.clear();
+        cells.fill(CellType.EMPTY);
         activeFires = 0;
         burningTrees = 0;
         totalTrees = 0;
@@ -1669,23 +1803,132 @@ public class FireSimulationGUI extends JFrame {
         // Clear agent positions
         agentPositions.clear();
         agentTypes.clear();
+        unitIndex.clear();
         agentTrails.clear();
         lastMoveTime.clear();
+        changedUnits.clear();
+        unitFrame = unitFrame.cleared();
         
         addLog("🔄 Προσομοίωση επαναφέρθηκε στην αρχική κατάσταση");
-        gridPanel.repaint();
+        repaintGrid();
         updateStatsDisplay();
         updateStatus("🟢 Σύστημα επαναφέρθηκε - Έτοιμο για νέα προσομοίωση");
     }
     
+    // Coalesced grid repaints: cell ranges become pixel rectangles, flushed at most gui.fps times/s.
+    // One cell of margin covers unit icons and trail dots that overhang their cell.
+    private void repaintCells(int minX, int minY, int maxX, int maxY) {
+        if (repaints == null) return;
+        
+        int actualCellWidth = cellSize * CELL_WIDTH_MULTIPLIER / 4;
+        int actualCellHeight = cellSize * CELL_HEIGHT_MULTIPLIER / 4;
+        int fromX = Math.max(1, minX - 1);
+        int fromY = Math.max(1, minY - 1);
+        int toX = Math.min(GRID_SIZE, maxX + 1);
+        int toY = Math.min(GRID_SIZE, maxY + 1);
+        
+        repaints.request((fromX - 1) * actualCellWidth, (fromY - 1) * actualCellHeight,
+                         (toX - fromX + 1) * actualCellWidth, (toY - fromY + 1) * actualCellHeight);
+    }
+    
+    private void repaintCell(int x, int y) {
+        repaintCells(x, y, x, y);
+    }
+    
+    // EDT: publishes the units changed since the last frame as a new immutable UnitFrame
+    private UnitFrame publishUnitFrame() {
+        UnitFrame frame = unitFrame;
+        if (changedUnits.isEmpty()) return frame;
+        
+        Map<String, UnitFrame.Unit> changes = new HashMap<>();
+        for (String name : changedUnits) {
+            Point position = agentPositions.get(name);
+            changes.put(name, position == null ? null
+                    : new UnitFrame.Unit(name, position.x, position.y, agentTypes.get(name), agentTrails.get(name)));
+        }
+        changedUnits.clear();
+        
+        frame = frame.with(changes);
+        unitFrame = frame;
+        return frame;
+    }
+    
+    private void repaintGrid() {
+        if (repaints != null) repaints.requestAll();
+    }
+    
+    // Area a unit occupies on screen: its trail, its current cell and (optionally) a new cell
+    private void repaintUnitArea(String agentName, int x, int y) {
+        int minX = x, minY = y, maxX = x, maxY = y;
+        
+        Point current = agentPositions.get(agentName);
+        if (current != null) {
+            minX = Math.min(minX, current.x); maxX = Math.max(maxX, current.x);
+            minY = Math.min(minY, current.y); maxY = Math.max(maxY, current.y);
+        }
+        java.util.List<Point> trail = showTrails ? agentTrails.get(agentName) : null;
+        if (trail != null) {
+            for (Point p : trail) {
+                minX = Math.min(minX, p.x); maxX = Math.max(maxX, p.x);
+                minY = Math.min(minY, p.y); maxY = Math.max(maxY, p.y);
+            }
+        }
+        repaintCells(minX, minY, maxX, maxY);
+    }
+    
     // Agent position tracking methods
     public void updateAgentPosition(String agentName, int x, int y, CellType agentType) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            viewEvents.unit(agentName, x, y, agentType, false);
+            return;
+        }
+        
+        if (moveAgent(agentName, x, y, agentType)) {
+            addLog("📍 " + agentName + " moved to (" + x + ", " + y + ")");
+        }
+    }
+    
+    /** One tick of unit movement; off the EDT each unit's latest position is queued for the next frame. */
+    public void showUnitPositions(PositionBatch batch) {
+        boolean edt = SwingUtilities.isEventDispatchThread();
+        for (int i = 0; i < batch.size(); i++) {
+            int x = batch.getX(i);
+            int y = batch.getY(i);
+            CellType type = agentCellType(batch.getType(i));
+            if (type == null || x < 1 || x > GRID_SIZE || y < 1 || y > GRID_SIZE) continue;
+            
+            if (edt) {
+                moveAgent(batch.getUnit(i), x, y, type);
+            } else {
+                viewEvents.unit(batch.getUnit(i), x, y, type, false);
+            }
+        }
+    }
+    
+    // Queued position from ViewEventQueue (EDT): announce = came from showAgentAt
+    void applyUnit(String agentName, int x, int y, CellType type, boolean announce) {
+        moveAgent(agentName, x, y, type);
+        // One log line per announced position (it used to be two: "moved to" and "στη θέση")
+        if (announce) {
+            addLog("📍 " + agentName + " στη θέση (" + x + "," + y + ")");
+        }
+    }
+    
+    // Returns true if the agent actually changed cell
+    private boolean moveAgent(String agentName, int x, int y, CellType agentType) {
         Point oldPosition = agentPositions.get(agentName);
         Point newPosition = new Point(x, y);
         
+        // Old trail, old and new cell: everything this move can change on screen
+        if (oldPosition == null || !oldPosition.equals(newPosition)) {
+            repaintUnitArea(agentName, x, y);
+        }
+        
         // Update current position and type
         agentPositions.put(agentName, newPosition);
         agentTypes.put(agentName, agentType);
+        unitIndex.move(agentName, x, y, agentType);
+        changedUnits.add(agentName);
         
         // Track movement trail
         if (oldPosition != null && !oldPosition.equals(newPosition)) {
@@ -1703,42 +1946,46 @@ public class FireSimulationGUI extends JFrame {
             
             // Update movement timestamp
             lastMoveTime.put(agentName, System.currentTimeMillis());
-            
-            addLog("📍 " + agentName + " moved to (" + x + ", " + y + ")");
-        }
-        
-        // Repaint the grid to show the updated positions
-        if (gridPanel != null) {
-            gridPanel.repaint();
+            return true;
         }
+        return false;
     }
     
     public void removeAgent(String agentName) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            viewEvents.removeUnit(agentName);
+            return;
+        }
+        
+        Point position = agentPositions.get(agentName);
+        if (position != null) {
+            repaintUnitArea(agentName, position.x, position.y);
+        }
+        
         agentPositions.remove(agentName);
         agentTypes.remove(agentName);
+        unitIndex.remove(agentName);
         agentTrails.remove(agentName);
         lastMoveTime.remove(agentName);
-        
-        if (gridPanel != null) {
-            gridPanel.repaint();
-        }
+        changedUnits.add(agentName);
     }
     
     // Command Center methods
     public static int getCommandCenterX() {
-        return commandCenterX;
+        return GridManager.getCommandCenterX();
     }
     
     public static int getCommandCenterY() {
-        return commandCenterY;
+        return GridManager.getCommandCenterY();
     }
     
     public static String getCommandCenterLocation() {
-        return commandCenterX + "," + commandCenterY;
+        return getCommandCenterX() + "," + getCommandCenterY();
     }
     
+    // Any thread: reads the last published frame, returns a copy
     public Point getAgentPosition(String agentName) {
-        return agentPositions.get(agentName);
+        return unitFrame.position(agentName);
     }
     
     // Method to simulate agent movements for testing
@@ -1818,34 +2065,19 @@ public class FireSimulationGUI extends JFrame {
     
     // FIXED: Proper fire extinguishing method
     private void extinguishFireAt(int x, int y) {
-        String key = x + "," + y;
-        CellState state = cellStates.get(key);
-        
-        if (state != null && (state.type == CellType.FIRE || state.type == CellType.BURNING_TREE)) {
-            cellStates.put(key, new CellState(CellType.DESTROYED));
-            activeFireLocations.remove(key);
-            activeFires = Math.max(0, activeFires - 1);
+        if (cells.isBurning(x, y)) {
+            cells.set(x, y, CellType.DESTROYED);
+            activeFires = cells.getBurningCount();
             
             addLog("✅ Φωτιά σβήστηκε στη θέση (" + x + ", " + y + ")");
-            gridPanel.repaint();
+            repaintCell(x, y);
             updateStatsDisplay();
         }
     }
     
     // Update fire count from actual grid state
     private void updateFireCount() {
-        int count = 0;
-        activeFireLocations.clear();
-        
-        for (Map.Entry<String, CellState> entry : cellStates.entrySet()) {
-            CellState state = entry.getValue();
-            if (state.type == CellType.FIRE || state.type == CellType.BURNING_TREE) {
-                activeFireLocations.add(entry.getKey());
-                count++;
-            }
-        }
-        
-        activeFires = count;
+        activeFires = cells.countBurning();
     }
     
     // Weather simulation method
@@ -1898,27 +2130,28 @@ public class FireSimulationGUI extends JFrame {
     }
     
     // Agent interface methods
+    // Callable from any thread: off the EDT they go through viewEvents and are applied on the next frame
     public void showFireAt(int x, int y, int intensity) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            viewEvents.cell(x, y, CellType.FIRE, intensity);
+            return;
+        }
+        
         updateCell(x, y, "FIRE", intensity);
         
-        String key = x + "," + y;
-        if (cellStates.get(key) == null || cellStates.get(key).type != CellType.FIRE) {
+        if (cells.getType(x, y) != CellType.FIRE) {
             addLog("🔥 ΝΕΑ ΦΩΤΙΑ στη θέση (" + x + "," + y + ") - Ένταση: " + intensity);
             updateStatus("🔴 ΕΝΕΡΓΗ ΠΥΡΚΑΙΑ - Θέση: (" + x + "," + y + ")");
         }
         
-        cellStates.put(key, new CellState(CellType.FIRE, intensity));
-        if (!activeFireLocations.contains(key)) {
-            activeFireLocations.add(key);
-            activeFires++;
-        }
-        gridPanel.repaint();
+        cells.set(x, y, CellType.FIRE, intensity);
+        activeFires = cells.getBurningCount();
+        repaintCell(x, y);
     }
     
     public void updateCell(int x, int y, String state, int intensity) {
         if (x < 1 || x > GRID_SIZE || y < 1 || y > GRID_SIZE) return;
         
-        String key = x + "," + y;
         CellType cellType;
         
         switch (state.toUpperCase()) {
@@ -1929,19 +2162,21 @@ public class FireSimulationGUI extends JFrame {
             default: cellType = CellType.EMPTY;
         }
         
-        CellState oldState = cellStates.get(key);
-        cellStates.put(key, new CellState(cellType, intensity));
+        if (SwingUtilities.isEventDispatchThread()) {
+            applyCell(x, y, cellType, intensity);
+        } else {
+            viewEvents.cell(x, y, cellType, intensity);
+        }
+    }
+    
+    // Cell change on the EDT (directly or from ViewEventQueue)
+    void applyCell(int x, int y, CellType cellType, int intensity) {
+        cells.set(x, y, cellType, intensity);
         
         // Update fire tracking
-        if (cellType == CellType.FIRE && !activeFireLocations.contains(key)) {
-            activeFireLocations.add(key);
-            activeFires++;
-        } else if (cellType != CellType.FIRE && activeFireLocations.contains(key)) {
-            activeFireLocations.remove(key);
-            activeFires = Math.max(0, activeFires - 1);
-        }
+        activeFires = cells.getBurningCount();
         
-        gridPanel.repaint();
+        repaintCell(x, y);
     }
     
     public void updateCell(int x, int y, String state) {
@@ -1950,26 +2185,26 @@ public class FireSimulationGUI extends JFrame {
     
     // FIXED: Proper water drop and fire extinguishing
     public void showWaterDropAt(int x, int y, String agentName) {
-        String key = x + "," + y;
-        CellState existing = cellStates.get(key);
+        if (!SwingUtilities.isEventDispatchThread()) {
+            viewEvents.waterDrop(agentName, x, y);
+            return;
+        }
         
         // Extinguish fire if present
-        if (existing != null && (existing.type == CellType.FIRE || existing.type == CellType.BURNING_TREE)) {
+        if (cells.isBurning(x, y)) {
             extinguishFireAt(x, y);
             addLog("💧 " + agentName + " έσβησε φωτιά στη θέση (" + x + "," + y + ")");
         } else {
             // Show water drop temporarily
-            cellStates.put(key, new CellState(CellType.WATER));
+            cells.set(x, y, CellType.WATER);
             addLog("💧 " + agentName + " ρίψη νερού στη θέση (" + x + "," + y + ")");
             
-            SwingUtilities.invokeLater(() -> {
-                gridPanel.repaint();
-            });
+            repaintCell(x, y);
             
             // Remove water visualization after 3 seconds
             Timer timer = new Timer(3000, e -> {
-                cellStates.put(key, new CellState(CellType.EMPTY));
-                SwingUtilities.invokeLater(() -> gridPanel.repaint());
+                cells.set(x, y, CellType.EMPTY);
+                repaintCell(x, y);
             });
             timer.setRepeats(false);
             timer.start();
@@ -1987,20 +2222,28 @@ public class FireSimulationGUI extends JFrame {
     public void showAgentAt(int x, int y, String agentType, String agentName) {
         if (x < 1 || x > GRID_SIZE || y < 1 || y > GRID_SIZE) return;
         
-        CellType type;
+        CellType type = agentCellType(agentType);
+        if (type == null) return;
+        
+        if (!SwingUtilities.isEventDispatchThread()) {
+            viewEvents.unit(agentName, x, y, type, true);
+            return;
+        }
+        
+        // Use persistent agent tracking instead of temporary cell state (one log line, as off the EDT)
+        applyUnit(agentName, x, y, type, true);
+    }
+    
+    static CellType agentCellType(String agentType) {
         switch (agentType.toUpperCase()) {
             case "TRUCK":
-            case "FIRETRUCK": type = CellType.FIREFIGHTER; break;
-            case "AIRCRAFT": type = CellType.AIRCRAFT; break;
-            case "HELICOPTER": type = CellType.HELICOPTER; break;
+            case "FIRETRUCK": return CellType.FIREFIGHTER;
+            case "AIRCRAFT": return CellType.AIRCRAFT;
+            case "HELICOPTER": return CellType.HELICOPTER;
             case "CREW":
-            case "GROUNDCREW": type = CellType.GROUND_CREW; break;
-            default: return;
+            case "GROUNDCREW": return CellType.GROUND_CREW;
+            default: return null;
         }
-        
-        // Use persistent agent tracking instead of temporary cell state
-        updateAgentPosition(agentName, x, y, type);
-        addLog("📍 " + agentName + " στη θέση (" + x + "," + y + ")");
     }
     
     public void showAgentAt(int x, int y, String agentName) {
@@ -2014,84 +2257,158 @@ public class FireSimulationGUI extends JFrame {
     }
     
     public void showExtinguishedAt(int x, int y) {
-        String key = x + "," + y;
-        cellStates.put(key, new CellState(CellType.DESTROYED));
+        if (!SwingUtilities.isEventDispatchThread()) {
+            viewEvents.cell(x, y, CellType.DESTROYED, 0);
+            viewEvents.log("✅ Κατάσβεση ολοκληρώθηκε στη θέση (" + x + "," + y + ")");
+            return;
+        }
+        
+        cells.set(x, y, CellType.DESTROYED);
         addLog("✅ Κατάσβεση ολοκληρώθηκε στη θέση (" + x + "," + y + ")");
         
-        SwingUtilities.invokeLater(() -> {
-            gridPanel.repaint();
-        });
+        repaintCell(x, y);
     }
     
     public void showAllExtinguished() {
-        SwingUtilities.invokeLater(() -> {
-            addLog("🌊 Όλες οι φωτιές έχουν σβήσει!");
-            updateStatus("🟢 Όλες οι εστίες κατασβέστηκαν");
-            
-            // Clear all fire states
-            for (Map.Entry<String, CellState> entry : cellStates.entrySet()) {
-                CellState state = entry.getValue();
-                if (state.type == CellType.FIRE || state.type == CellType.BURNING_TREE) {
-                    entry.setValue(new CellState(CellType.DESTROYED));
-                }
-            }
-            
-            activeFireLocations.clear();
-            activeFires = 0;
-            burningTrees = 0;
-            gridPanel.repaint();
-            updateStatsDisplay();
-        });
+        if (!SwingUtilities.isEventDispatchThread()) {
+            viewEvents.allExtinguished();
+            return;
+        }
+        
+        addLog("🌊 Όλες οι φωτιές έχουν σβήσει!");
+        updateStatus("🟢 Όλες οι εστίες κατασβέστηκαν");
+        
+        // Clear all fire states
+        cells.replaceBurning(CellType.DESTROYED);
+        
+        activeFires = 0;
+        burningTrees = 0;
+        repaintGrid();
+        updateStatsDisplay();
     }
     
     public void showEmergencyDeclared() {
-        SwingUtilities.invokeLater(() -> {
-            addLog("🚨 ΚΑΤΑΣΤΑΣΗ ΕΚΤΑΚΤΗΣ ΑΝΑΓΚΗΣ ΚΗΡΥΧΘΗΚΕ!");
-            updateStatus("🚨 ΕΚΤΑΚΤΗ ΑΝΑΓΚΗ - Δημιουργία πολλαπλών φωτιών");
-        });
+        if (!SwingUtilities.isEventDispatchThread()) {
+            viewEvents.emergency(true);
+            return;
+        }
+        
+        addLog("🚨 ΚΑΤΑΣΤΑΣΗ ΕΚΤΑΚΤΗΣ ΑΝΑΓΚΗΣ ΚΗΡΥΧΘΗΚΕ!");
+        updateStatus("🚨 ΕΚΤΑΚΤΗ ΑΝΑΓΚΗ - Δημιουργία πολλαπλών φωτιών");
     }
     
     public void showEmergencyEnded() {
-        SwingUtilities.invokeLater(() -> {
-            addLog("✅ Κατάσταση έκτακτης ανάγκης τερματίστηκε");
-            updateStatus("🟢 Κανονική λειτουργία - Έκτακτη ανάγκη τερματίστηκε");
-        });
+        if (!SwingUtilities.isEventDispatchThread()) {
+            viewEvents.emergency(false);
+            return;
+        }
+        
+        addLog("✅ Κατάσταση έκτακτης ανάγκης τερματίστηκε");
+        updateStatus("🟢 Κανονική λειτουργία - Έκτακτη ανάγκη τερματίστηκε");
     }
     
-    // Status updates for UI
+    // ========== REPLAY (EDT) ==========
+    
+    /** Controls of the ReplayPlayer, above the map. */
+    void addReplayBar(JComponent bar) {
+        add(bar, BorderLayout.NORTH);
+        revalidate();
+    }
+    
+    /** Sets a cell only if it differs, so a seek redraws just the cells that changed. */
+    void syncCell(int x, int y, CellType cellType, int intensity) {
+        if (cells.getType(x, y) == cellType && cells.getIntensity(x, y) == intensity) return;
+        applyCell(x, y, cellType, intensity);
+    }
+    
+    /** No units, before a seek places them at their replayed positions. */
+    void clearReplayUnits() {
+        agentPositions.clear();
+        agentTypes.clear();
+        unitIndex.clear();
+        agentTrails.clear();
+        lastMoveTime.clear();
+        changedUnits.clear();
+        unitFrame = unitFrame.cleared();
+        
+        repaintGrid();
+    }
+    
+    void showWeather(double windSpeed, String windDirection, int temperature, int humidity) {
+        if (windSpeedLabel == null) return;
+        windSpeedLabel.setText("WIND Άνεμος: " + String.format("%.1f", windSpeed) + " m/s");
+        windDirectionLabel.setText("DIR Διεύθυνση: " + windDirection);
+        temperatureLabel.setText("TEMP Θερμοκρασία: " + temperature + "°C");
+        humidityLabel.setText("HUM Υγρασία: " + humidity + "%");
+    }
+    
+    // Status updates for UI (latest text wins when called off the EDT)
     public void updateStatus(String text) {
-        SwingUtilities.invokeLater(() -> {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            viewEvents.status(text);
+            return;
+        }
+        
+        if (statusLabel != null) {
             statusLabel.setText(text);
-        });
+        }
     }
     
     // Log methods
     public void addLog(String message) {
-        if (logArea == null) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            viewEvents.log(message);
+            return;
+        }
+        appendLog(System.currentTimeMillis(), "GUI", message);
+    }
+    
+    // Log line on the EDT, with the time and thread (agent name for JADE agents) it came from.
+    // Goes into the ring buffer only; the list hears about it at the next flushLog()
+    void appendLog(long time, String source, String message) {
+        if (logList == null) {
             System.out.println("LOG: " + message); // Fallback to console
             return;
         }
+        logModel.append(time, source, message);
+    }
+    
+    // Once per frame: one list update for all new lines, and one scroll to the end
+    // if the log was already showing its last line (so scrolling back up is not undone)
+    private void flushLog() {
+        if (logList == null) return;
         
-        String timestamp = new java.text.SimpleDateFormat("HH:mm:ss").format(new java.util.Date());
-        logArea.append("[" + timestamp + "] " + message + "\n");
+        JScrollBar vertical = logScroll.getVerticalScrollBar();
+        boolean atEnd = vertical.getValue() + vertical.getVisibleAmount() >= vertical.getMaximum() - logList.getFixedCellHeight();
         
-        // Auto-scroll to bottom
-        SwingUtilities.invokeLater(() -> {
-            JScrollBar vertical = scrollPane.getVerticalScrollBar();
-            vertical.setValue(vertical.getMaximum());
-        });
+        if (logModel.flush() && atEnd && logModel.getSize() > 0) {
+            logList.ensureIndexIsVisible(logModel.getSize() - 1);
+        }
     }
     
     private void startRefreshTimer() {
         refreshTimer = new Timer(1000, new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                // Refresh logic here if needed
+                updateFramesLabel();
             }
         });
         refreshTimer.start();
     }
     
+    // Once per second: repaint requests vs frames actually painted
+    private void updateFramesLabel() {
+        if (repaints == null || framesLabel == null) return;
+        
+        long requested = repaints.getRequested();
+        long painted = repaints.getPainted();
+        framesLabel.setText("🖼️ Καρέ: " + (painted - lastPaintedFrames) + "/s από "
+                + (requested - lastRequestedFrames) + " αιτήματα/s (όριο " + repaints.getFps() + " fps) · ουρά: "
+                + viewEvents.getQueuedEvents());
+        lastRequestedFrames = requested;
+        lastPaintedFrames = painted;
+    }
+    
     // ========== SEPARATE WINDOWS METHODS ==========
     
     private void createStatsWindow() {
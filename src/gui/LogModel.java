@@ -0,0 +1,136 @@
+package gui;
+
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import javax.swing.AbstractListModel;
+
+/**
+ * Αρχείο καταγραφής σε κυκλικό buffer σταθερής χωρητικότητας, ως model για JList.
+ * Entries are structured (time, level, source, message) and kept in parallel
+ * arrays; once full, the oldest entry is overwritten, so memory stays fixed
+ * however long the simulation runs.
+ *
+ * Appends do not notify the list. flush(), called once per frame, fires one
+ * removed/added pair for everything appended since the previous flush. Until
+ * then the list keeps seeing the window it was last told about: entries are
+ * addressed by sequence number, not by ring slot. Text is formatted only in
+ * getElementAt, i.e. for the rows the JList actually paints. EDT only.
+ */
+final class LogModel extends AbstractListModel<String> {
+
+    enum Level { INFO, WARNING, ALERT }
+
+    private static final Level[] LEVELS = Level.values();
+
+    private final int capacity;
+    private final long[] times;
+    private final byte[] levels;
+    private final String[] sources;
+    private final String[] messages;
+    private long total = 0;           // entries ever appended = sequence of the next one
+    private long cleared = 0;         // sequences below this were removed by clear()
+
+    private long shownFirst = 0;      // παράθυρο που ξέρει η JList: [shownFirst, shownFirst + shownSize)
+    private int shownSize = 0;
+
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
+    private final Date date = new Date();
+
+    LogModel(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.times = new long[this.capacity];
+        this.levels = new byte[this.capacity];
+        this.sources = new String[this.capacity];
+        this.messages = new String[this.capacity];
+    }
+
+    /** Level from the leading marker of the existing messages: 🚨/❌ alert, ⚠️ warning. */
+    static Level classify(String message) {
+        if (message.startsWith("🚨") || message.startsWith("❌")) return Level.ALERT;
+        if (message.startsWith("⚠️")) return Level.WARNING;
+        return Level.INFO;
+    }
+
+    void append(long time, String source, String message) {
+        int slot = (int) (total % capacity);
+        times[slot] = time;
+        levels[slot] = (byte) classify(message).ordinal();
+        sources[slot] = source;
+        messages[slot] = message;
+        total++;
+    }
+
+    /** Tells the list about the appends since the last flush; returns true if it changed. */
+    boolean flush() {
+        long first = oldest();
+        int size = (int) (total - first);
+        if (first == shownFirst && size == shownSize) return false;
+
+        int removed = (int) Math.min(shownSize, first - shownFirst);
+        if (removed > 0) {
+            shownFirst += removed;
+            shownSize -= removed;
+            fireIntervalRemoved(this, 0, removed - 1);
+        }
+
+        shownFirst = first;
+        int from = shownSize;
+        shownSize = size;
+        if (size > from) {
+            fireIntervalAdded(this, from, size - 1);
+        }
+        return true;
+    }
+
+    void clear() {
+        Arrays.fill(sources, null);
+        Arrays.fill(messages, null);
+        cleared = total;
+        shownFirst = total;
+        int size = shownSize;
+        shownSize = 0;
+        if (size > 0) {
+            fireIntervalRemoved(this, 0, size - 1);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return shownSize;
+    }
+
+    /** "[HH:mm:ss] message" of the row; empty if the entry was overwritten since the last flush. */
+    @Override
+    public String getElementAt(int index) {
+        int slot = slot(index);
+        if (slot < 0) return "";
+        date.setTime(times[slot]);
+        return "[" + timeFormat.format(date) + "] " + messages[slot];
+    }
+
+    Level getLevel(int index) {
+        int slot = slot(index);
+        return slot < 0 ? Level.INFO : LEVELS[levels[slot]];
+    }
+
+    String getSource(int index) {
+        int slot = slot(index);
+        return slot < 0 ? null : sources[slot];
+    }
+
+    String getMessage(int index) {
+        int slot = slot(index);
+        return slot < 0 ? null : messages[slot];
+    }
+
+    private int slot(int index) {
+        long sequence = shownFirst + index;
+        if (index < 0 || index >= shownSize || sequence < oldest() || sequence >= total) return -1;
+        return (int) (sequence % capacity);
+    }
+
+    private long oldest() {
+        return Math.max(cleared, total - capacity);
+    }
+}
@@ -0,0 +1,144 @@
+package gui;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import simulation.PositionBatch;
+
+/**
+ * Headless sink for agent visual updates. Nothing is drawn; it counts what
+ * would have been (fires, extinguished cells, unit moves, water drops) and
+ * keeps the last log lines, so a run without a display still leaves a
+ * summary. Called from agent threads and the motion thread, so it is
+ * thread-safe and never touches AWT.
+ */
+public class RecordingView implements SimulationView {
+    private final int logCapacity;
+    private final ArrayDeque<String> log;
+
+    private final AtomicLong logLines = new AtomicLong();
+    private final AtomicLong fires = new AtomicLong();
+    private final AtomicLong cellUpdates = new AtomicLong();
+    private final AtomicLong extinguished = new AtomicLong();
+    private final AtomicLong waterDrops = new AtomicLong();
+    private final AtomicLong unitMoves = new AtomicLong();
+    private volatile boolean allExtinguished = false;
+    private volatile boolean emergencyDeclared = false;
+    private volatile String status = "";
+
+    /** logCapacity = 0 keeps no log lines, only counts. */
+    public RecordingView(int logCapacity) {
+        this.logCapacity = Math.max(0, logCapacity);
+        this.log = new ArrayDeque<>(Math.min(this.logCapacity, 1024));
+    }
+
+    @Override
+    public void addLog(String message) {
+        logLines.incrementAndGet();
+        if (logCapacity == 0) return;
+        synchronized (log) {
+            if (log.size() == logCapacity) {
+                log.pollFirst();
+            }
+            log.addLast(message);
+        }
+    }
+
+    @Override
+    public void updateStatus(String text) {
+        status = text;
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        // Δεν υπάρχει παράθυρο
+    }
+
+    @Override
+    public void showFireAt(int x, int y, int intensity) {
+        fires.incrementAndGet();
+    }
+
+    @Override
+    public void updateCell(int x, int y, String state, int intensity) {
+        cellUpdates.incrementAndGet();
+    }
+
+    @Override
+    public void updateCell(int x, int y, String state) {
+        cellUpdates.incrementAndGet();
+    }
+
+    @Override
+    public void showWaterDropAt(int x, int y, String agentName) {
+        waterDrops.incrementAndGet();
+    }
+
+    @Override
+    public void showTruckAt(int x, int y, String truckName) {
+        unitMoves.incrementAndGet();
+    }
+
+    @Override
+    public void showHelicopterAt(int x, int y, String helicopterName) {
+        unitMoves.incrementAndGet();
+    }
+
+    @Override
+    public void showAgentAt(int x, int y, String agentType, String agentName) {
+        unitMoves.incrementAndGet();
+    }
+
+    @Override
+    public void showAgentAt(int x, int y, String agentName) {
+        unitMoves.incrementAndGet();
+    }
+
+    @Override
+    public void showExtinguishedAt(int x, int y) {
+        extinguished.incrementAndGet();
+    }
+
+    @Override
+    public void showAllExtinguished() {
+        allExtinguished = true;
+    }
+
+    @Override
+    public void showEmergencyDeclared() {
+        emergencyDeclared = true;
+    }
+
+    @Override
+    public void showUnitPositions(PositionBatch batch) {
+        unitMoves.addAndGet(batch.size());
+    }
+
+    public List<String> getRecentLog() {
+        synchronized (log) {
+            return new ArrayList<>(log);
+        }
+    }
+
+    public long getLogLineCount() { return logLines.get(); }
+    public long getFireCount() { return fires.get(); }
+    public long getCellUpdateCount() { return cellUpdates.get(); }
+    public long getExtinguishedCount() { return extinguished.get(); }
+    public long getWaterDropCount() { return waterDrops.get(); }
+    public long getUnitMoveCount() { return unitMoves.get(); }
+    public boolean isAllExtinguished() { return allExtinguished; }
+    public boolean isEmergencyDeclared() { return emergencyDeclared; }
+    public String getStatus() { return status; }
+
+    public String getSummary() {
+        return "log=" + logLines.get() +
+               " fires=" + fires.get() +
+               " cells=" + cellUpdates.get() +
+               " extinguished=" + extinguished.get() +
+               " drops=" + waterDrops.get() +
+               " moves=" + unitMoves.get() +
+               (emergencyDeclared ? " EMERGENCY" : "") +
+               (allExtinguished ? " ALL_OUT" : "");
+    }
+}
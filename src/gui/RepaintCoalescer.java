@@ -0,0 +1,122 @@
+package gui;
+
+import java.util.concurrent.atomic.AtomicLong;
+import javax.swing.JComponent;
+import javax.swing.Timer;
+
+/**
+ * Συγχώνευση αιτημάτων repaint με όριο καρέ ανά δευτερόλεπτο.
+ * Callers on any thread add dirty pixel rectangles. They are merged into one
+ * bounding rectangle (Swing's RepaintManager unions the regions of a single
+ * component anyway), and a Swing timer flushes at most fps times per second
+ * with one repaint(rect) call. An optional frame task runs on the EDT at every
+ * tick before the flush (the GUI drains its ViewEventQueue there). Counts requests, flushed repaints and frames
+ * actually painted, so the status bar can show how much is being coalesced.
+ */
+final class RepaintCoalescer {
+    private final JComponent target;
+    private final Runnable frameTask;
+    private final Timer timer;
+    private final int fps;
+
+    private final Object lock = new Object();
+    private int minX, minY, maxX, maxY; // dirty bounds, exclusive max
+    private boolean pending = false;
+    private boolean full = false;
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong painted = new AtomicLong();
+
+    RepaintCoalescer(JComponent target, int fps) {
+        this(target, fps, null);
+    }
+
+    RepaintCoalescer(JComponent target, int fps, Runnable frameTask) {
+        this.target = target;
+        this.frameTask = frameTask;
+        this.fps = Math.max(1, fps);
+        this.timer = new Timer(1000 / this.fps, e -> flush());
+        this.timer.setCoalesce(true);
+    }
+
+    void start() {
+        timer.start();
+    }
+
+    void stop() {
+        timer.stop();
+    }
+
+    int getFps() {
+        return fps;
+    }
+
+    /** Marks a pixel rectangle of the target dirty. */
+    void request(int x, int y, int width, int height) {
+        requested.incrementAndGet();
+        synchronized (lock) {
+            if (full) return;
+            if (!pending) {
+                minX = x;
+                minY = y;
+                maxX = x + width;
+                maxY = y + height;
+                pending = true;
+            } else {
+                minX = Math.min(minX, x);
+                minY = Math.min(minY, y);
+                maxX = Math.max(maxX, x + width);
+                maxY = Math.max(maxY, y + height);
+            }
+        }
+    }
+
+    /** Marks the whole target dirty. */
+    void requestAll() {
+        requested.incrementAndGet();
+        synchronized (lock) {
+            pending = true;
+            full = true;
+        }
+    }
+
+    /** Called by the target at the end of paintComponent. */
+    void framePainted() {
+        painted.incrementAndGet();
+    }
+
+    long getRequested() { return requested.get(); }
+    long getFlushed() { return flushed.get(); }
+    long getPainted() { return painted.get(); }
+
+    private void flush() {
+        if (frameTask != null) {
+            try {
+                frameTask.run();
+            } catch (RuntimeException e) {
+                System.err.println("RepaintCoalescer: σφάλμα στο frame task: " + e);
+            }
+        }
+
+        int x, y, width, height;
+        boolean all;
+        synchronized (lock) {
+            if (!pending) return;
+            all = full;
+            x = minX;
+            y = minY;
+            width = maxX - minX;
+            height = maxY - minY;
+            pending = false;
+            full = false;
+        }
+
+        flushed.incrementAndGet();
+        if (all) {
+            target.repaint();
+        } else {
+            target.repaint(x, y, width, height);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Paths;
+import gui.FireSimulationGUI.CellType;
+import simulation.EventJournal;
+import simulation.JournalReader;
+import simulation.JournalReplay;
+import simulation.SimulationClock;
+import utils.GridManager;
+
+/**
+ * Αναπαραγωγή μιας καταγεγραμμένης εκτέλεσης (EventJournal) στο FireSimulationGUI, χωρίς JADE.
+ * A bar above the map has play/pause, the speed (1x-100x simulation time per
+ * wall time) and a time slider. Playback advances the JournalReplay once per
+ * frame and applies each record to the GUI as the live agents would. A seek
+ * (dragging the slider) restores the replay state at that time from its nearest
+ * keyframe; only the cells that differ from the map are redrawn, and the units
+ * are placed again at their replayed positions.
+ *
+ * Usage: java -cp "bin;lib/jade.jar" gui.ReplayPlayer journals/run-....journal
+ */
+public final class ReplayPlayer {
+    private static final int[] SPEEDS = {1, 2, 5, 10, 25, 50, 100};
+
+    private final JournalReplay replay;
+    private final FireSimulationGUI gui;
+    private final JournalReplay.Sink sink = this::apply;
+
+    private final JButton playButton = new JButton("▶️ Αναπαραγωγή");
+    private final JComboBox<String> speedBox = new JComboBox<>();
+    private final JSlider slider;
+    private final JLabel timeLabel = new JLabel();
+    private final Timer timer;
+
+    private boolean playing = false;
+    private double position = 0;      // ms προσομοίωσης
+    private long lastTick;
+    private boolean movingSlider = false;
+
+    private ReplayPlayer(JournalReplay replay, FireSimulationGUI gui) {
+        this.replay = replay;
+        this.gui = gui;
+        this.slider = new JSlider(0, (int) Math.min(Integer.MAX_VALUE, replay.getDuration()), 0);
+        this.timer = new Timer(1000 / Math.max(1, Integer.getInteger("gui.fps", 30)), e -> tick());
+    }
+
+    private JPanel createBar() {
+        JPanel bar = new JPanel(new BorderLayout(8, 0));
+        bar.setBorder(BorderFactory.createEmptyBorder(4, 8, 4, 8));
+
+        JPanel left = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 0));
+        playButton.addActionListener(e -> setPlaying(!playing));
+        left.add(playButton);
+
+        for (int speed : SPEEDS) {
+            speedBox.addItem(speed + "x");
+        }
+        speedBox.setSelectedIndex(0);
+        left.add(speedBox);
+        bar.add(left, BorderLayout.WEST);
+
+        slider.addChangeListener(e -> {
+            if (!movingSlider) {
+                seek(slider.getValue());
+            }
+        });
+        bar.add(slider, BorderLayout.CENTER);
+        bar.add(timeLabel, BorderLayout.EAST);
+        return bar;
+    }
+
+    private void start() {
+        gui.addReplayBar(createBar());
+        JournalReader reader = replay.getReader();
+        gui.addLog("📼 Journal: " + replay.getRecordCount() + " εγγραφές, διάρκεια "
+                   + SimulationClock.format(replay.getDuration()) + ", seed " + reader.seed
+                   + (reader.isComplete() ? "" : " (δεν έκλεισε κανονικά)"));
+        seek(0);
+        timer.start();
+    }
+
+    private void setPlaying(boolean play) {
+        if (play && position >= replay.getDuration()) {
+            seek(0);
+        }
+        playing = play;
+        lastTick = System.nanoTime();
+        playButton.setText(play ? "⏸️ Παύση" : "▶️ Αναπαραγωγή");
+    }
+
+    private int speed() {
+        return SPEEDS[Math.max(0, speedBox.getSelectedIndex())];
+    }
+
+    // Ένα καρέ: ο χρόνος προχωρά κατά (χρόνος τοίχου) x ταχύτητα
+    private void tick() {
+        if (!playing) return;
+
+        long now = System.nanoTime();
+        position = Math.min(replay.getDuration(), position + (now - lastTick) / 1e6 * speed());
+        lastTick = now;
+
+        try {
+            replay.advance((long) position, sink);
+        } catch (IOException e) {
+            gui.addLog("❌ Σφάλμα ανάγνωσης journal: " + e.getMessage());
+            setPlaying(false);
+        }
+        showTime();
+
+        if (position >= replay.getDuration()) {
+            setPlaying(false);
+            gui.updateStatus("⏹️ Τέλος αναπαραγωγής");
+        }
+    }
+
+    private void seek(long time) {
+        long started = System.nanoTime();
+        try {
+            replay.seek(time);
+        } catch (IOException e) {
+            gui.addLog("❌ Σφάλμα ανάγνωσης journal: " + e.getMessage());
+            return;
+        }
+        position = replay.getTime();
+        lastTick = System.nanoTime();
+
+        int centerX = GridManager.getCommandCenterX();
+        int centerY = GridManager.getCommandCenterY();
+        for (int y = 1; y <= replay.getHeight(); y++) {
+            for (int x = 1; x <= replay.getWidth(); x++) {
+                byte cell = replay.getCell(x, y);
+                if (cell == JournalReplay.BURNING) {
+                    gui.syncCell(x, y, CellType.FIRE, replay.getIntensity(x, y));
+                } else if (cell != JournalReplay.NONE) {
+                    gui.syncCell(x, y, CellType.DESTROYED, 0);
+                } else if (x != centerX || y != centerY) {
+                    gui.syncCell(x, y, CellType.EMPTY, 0);
+                }
+            }
+        }
+        gui.clearReplayUnits();
+        for (int id = 0; id < replay.getUnitCount(); id++) {
+            if (replay.getUnitX(id) != 0) {
+                showUnit(replay.getUnitName(id), replay.getUnitType(id), replay.getUnitX(id), replay.getUnitY(id));
+            }
+        }
+        if (replay.getWindDirection() != null) {
+            gui.showWeather(replay.getWindSpeed(), replay.getWindDirection(), replay.getTemperature(), replay.getHumidity());
+        }
+
+        showTime();
+        long ms = (System.nanoTime() - started) / 1_000_000;
+        gui.updateStatus((replay.isEmergency() ? "🚨 ΕΚΤΑΚΤΗ ΑΝΑΓΚΗ · " : "") + "⏩ Μετάβαση στο "
+                         + SimulationClock.format(replay.getTime()) + " (" + ms + " ms)");
+    }
+
+    private void showTime() {
+        movingSlider = true;
+        slider.setValue((int) Math.min(Integer.MAX_VALUE, (long) position));
+        movingSlider = false;
+        timeLabel.setText("⏱️ " + SimulationClock.format((long) position) + " / "
+                          + SimulationClock.format(replay.getDuration()));
+    }
+
+    // Μία εγγραφή κατά την αναπαραγωγή, όπως θα την έδειχναν οι agents
+    private void apply(JournalReader record) {
+        long time = record.wallStart + record.time;
+        switch (record.kind) {
+            case EventJournal.IGNITION:
+                gui.applyCell(record.x, record.y, CellType.FIRE, record.intensity);
+                gui.appendLog(time, "replay", "🔥 " + (record.code == EventJournal.REIGNITION ? "Αναζωπύρωση" : "Εστία φωτιάς")
+                              + " στη θέση (" + record.x + "," + record.y + ")");
+                break;
+            case EventJournal.SPREAD:
+                gui.applyCell(record.x, record.y, CellType.FIRE, record.intensity);
+                break;
+            case EventJournal.BURNED_OUT:
+                gui.applyCell(record.x, record.y, CellType.DESTROYED, 0);
+                break;
+            case EventJournal.EXTINGUISHED:
+                gui.applyCell(record.x, record.y, CellType.DESTROYED, 0);
+                gui.appendLog(time, "replay", "✅ Κατάσβεση ολοκληρώθηκε στη θέση (" + record.x + "," + record.y + ")");
+                break;
+            case EventJournal.POSITION:
+                showUnit(record.unitName(record.unit), record.unitType(record.unit), record.x, record.y);
+                break;
+            case EventJournal.DEPLOY:
+                gui.appendLog(time, record.unitName(record.unit), "🚒 " + record.unitName(record.unit)
+                              + " αποστολή στη θέση (" + record.x + "," + record.y + ")");
+                break;
+            case EventJournal.SUPPRESSION:
+                gui.appendLog(time, record.unitName(record.unit), "💧 " + record.unitName(record.unit)
+                              + " κατάσβεση στη θέση (" + record.x + "," + record.y + ")");
+                break;
+            case EventJournal.WEATHER:
+                gui.showWeather(record.windSpeed, record.text, record.temperature, record.humidity);
+                break;
+            case EventJournal.EMERGENCY:
+                if (record.code != 0) {
+                    gui.showEmergencyDeclared();
+                } else {
+                    gui.showEmergencyEnded();
+                }
+                break;
+        }
+    }
+
+    private void showUnit(String name, String type, int x, int y) {
+        CellType cellType = type.isEmpty() ? null : FireSimulationGUI.agentCellType(type);
+        if (name == null || cellType == null) return;
+        if (x < 1 || x > replay.getWidth() || y < 1 || y > replay.getHeight()) return;
+        gui.applyUnit(name, x, y, cellType, false);
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Χρήση: java gui.ReplayPlayer <journal>");
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        JournalReplay replay;
+        try {
+            replay = JournalReplay.load(Paths.get(args[0]));
+        } catch (IOException e) {
+            System.err.println("❌ Αδύνατη η ανάγνωση του journal " + args[0] + ": " + e.getMessage());
+            return;
+        }
+        System.out.println("📼 " + args[0] + ": " + replay.getRecordCount() + " εγγραφές, "
+                           + replay.getKeyframeCount() + " keyframes, φόρτωση σε "
+                           + (System.currentTimeMillis() - started) + " ms");
+
+        FireSimulationGUI.setReplayMode(true);
+        SwingUtilities.invokeLater(() -> new ReplayPlayer(replay, FireSimulationGUI.getInstance()).start());
+    }
+}
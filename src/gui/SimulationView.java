@@ -0,0 +1,40 @@
+package gui;
+
+import simulation.PositionBatch;
+
+/**
+ * What the agents draw on: the Swing window in a normal run, a RecordingView
+ * when the platform runs headless. Agents get theirs from SimulationViews.current().
+ */
+public interface SimulationView {
+
+    void addLog(String message);
+
+    void updateStatus(String text);
+
+    void setVisible(boolean visible);
+
+    void showFireAt(int x, int y, int intensity);
+
+    void updateCell(int x, int y, String state, int intensity);
+
+    void updateCell(int x, int y, String state);
+
+    void showWaterDropAt(int x, int y, String agentName);
+
+    void showTruckAt(int x, int y, String truckName);
+
+    void showHelicopterAt(int x, int y, String helicopterName);
+
+    void showAgentAt(int x, int y, String agentType, String agentName);
+
+    void showAgentAt(int x, int y, String agentName);
+
+    void showExtinguishedAt(int x, int y);
+
+    void showAllExtinguished();
+
+    void showEmergencyDeclared();
+
+    void showUnitPositions(PositionBatch batch);
+}
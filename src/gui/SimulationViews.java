@@ -0,0 +1,33 @@
+package gui;
+
+import simulation.MotionScheduler;
+
+/**
+ * Which SimulationView the agents use. By default the Swing window; after
+ * useHeadless() every agent gets the same RecordingView and no AWT window
+ * is ever created, so the platform runs with -Djava.awt.headless=true.
+ */
+public final class SimulationViews {
+    private static volatile SimulationView headless;
+
+    private SimulationViews() {
+    }
+
+    /** Call before the agents start; unit movement is counted on the view. */
+    public static synchronized void useHeadless(RecordingView view) {
+        if (headless != null) {
+            throw new IllegalStateException("Headless view already installed");
+        }
+        headless = view;
+        MotionScheduler.getInstance().addListener(view::showUnitPositions);
+    }
+
+    public static boolean isHeadless() {
+        return headless != null;
+    }
+
+    public static SimulationView current() {
+        SimulationView view = headless;
+        return view != null ? view : FireSimulationGUI.getInstance();
+    }
+}
@@ -0,0 +1,83 @@
+package gui;
+
+import java.awt.Point;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import gui.FireSimulationGUI.CellType;
+
+/**
+ * Αμετάβλητο στιγμιότυπο των μονάδων (θέση, τύπος, ίχνος) για ένα καρέ.
+ * The live unit maps in FireSimulationGUI belong to the EDT; after every tick
+ * that moved units it publishes a new frame through a volatile field. The
+ * painter draws trails from one frame, and other threads (getAgentPosition)
+ * read the latest frame, so nobody iterates a map that is being modified or
+ * sees half of a tick. Units that did not change share their entry with the
+ * previous frame.
+ */
+final class UnitFrame {
+    static final UnitFrame EMPTY = new UnitFrame(0L, Collections.<String, Unit>emptyMap());
+
+    static final class Unit {
+        final String name;
+        final int x, y;
+        final CellType type;
+        final int[] trailX, trailY; // παλαιότερο σημείο πρώτο
+
+        Unit(String name, int x, int y, CellType type, List<Point> trail) {
+            this.name = name;
+            this.x = x;
+            this.y = y;
+            this.type = type;
+            int n = trail != null ? trail.size() : 0;
+            this.trailX = new int[n];
+            this.trailY = new int[n];
+            for (int i = 0; i < n; i++) {
+                Point p = trail.get(i);
+                trailX[i] = p.x;
+                trailY[i] = p.y;
+            }
+        }
+    }
+
+    final long epoch;
+    private final Map<String, Unit> units;
+
+    private UnitFrame(long epoch, Map<String, Unit> units) {
+        this.epoch = epoch;
+        this.units = units;
+    }
+
+    /** The next frame: this one with the given units replaced (null value = removed). */
+    UnitFrame with(Map<String, Unit> changes) {
+        Map<String, Unit> next = new HashMap<>(units);
+        for (Map.Entry<String, Unit> change : changes.entrySet()) {
+            if (change.getValue() != null) {
+                next.put(change.getKey(), change.getValue());
+            } else {
+                next.remove(change.getKey());
+            }
+        }
+        return new UnitFrame(epoch + 1, Collections.unmodifiableMap(next));
+    }
+
+    UnitFrame cleared() {
+        return new UnitFrame(epoch + 1, Collections.<String, Unit>emptyMap());
+    }
+
+    Collection<Unit> units() {
+        return units.values();
+    }
+
+    int size() {
+        return units.size();
+    }
+
+    /** A copy of the unit's position, or null. */
+    Point position(String name) {
+        Unit unit = units.get(name);
+        return unit != null ? new Point(unit.x, unit.y) : null;
+    }
+}
@@ -0,0 +1,139 @@
+package gui;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import gui.FireSimulationGUI.CellType;
+
+/**
+ * Ευρετήριο μονάδων ανά κελί του grid. Every cell has the head of an
+ * intrusive list of unit slots, kept up to date on each move/remove, so the
+ * painter reads only the units in the cells it draws instead of scanning every
+ * unit position for every cell. Coordinates are 1-based like CellGrid.
+ *
+ * Traversal without allocation:
+ * for (int s = index.first(x, y); s >= 0; s = index.next(s)) { index.name(s); index.type(s); }
+ */
+final class UnitIndex {
+    private static final int NONE = -1;
+
+    private final int width;
+    private final int height;
+    private final int[] heads;
+    private final Map<String, Integer> slots = new HashMap<>();
+
+    private String[] names = new String[16];
+    private CellType[] types = new CellType[16];
+    private int[] cells = new int[16];
+    private int[] next = new int[16];
+    private int[] prev = new int[16];
+    private int used = 0;
+    private int free = NONE;
+
+    UnitIndex(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.heads = new int[width * height];
+        Arrays.fill(heads, NONE);
+    }
+
+    /** Places (or moves) a unit; positions outside the grid drop it from the index. */
+    void move(String name, int x, int y, CellType type) {
+        Integer existing = slots.get(name);
+        int slot = existing != null ? existing : allocate(name);
+        types[slot] = type;
+
+        int cell = (x >= 1 && x <= width && y >= 1 && y <= height) ? (y - 1) * width + (x - 1) : NONE;
+        if (existing != null && cells[slot] == cell) return;
+
+        if (existing != null) unlink(slot);
+        cells[slot] = cell;
+        if (cell != NONE) link(slot, cell);
+    }
+
+    void remove(String name) {
+        Integer slot = slots.remove(name);
+        if (slot == null) return;
+        unlink(slot);
+        names[slot] = null;
+        types[slot] = null;
+        cells[slot] = NONE;
+        next[slot] = free;
+        free = slot;
+    }
+
+    void clear() {
+        Arrays.fill(heads, NONE);
+        slots.clear();
+        Arrays.fill(names, null);
+        Arrays.fill(types, null);
+        used = 0;
+        free = NONE;
+    }
+
+    int size() {
+        return slots.size();
+    }
+
+    /** First unit slot in the cell, or -1. */
+    int first(int x, int y) {
+        if (x < 1 || x > width || y < 1 || y > height) return NONE;
+        return heads[(y - 1) * width + (x - 1)];
+    }
+
+    int next(int slot) {
+        return next[slot];
+    }
+
+    String name(int slot) {
+        return names[slot];
+    }
+
+    CellType type(int slot) {
+        return types[slot];
+    }
+
+    private int allocate(String name) {
+        int slot;
+        if (free != NONE) {
+            slot = free;
+            free = next[slot];
+        } else {
+            if (used == names.length) grow();
+            slot = used++;
+        }
+        names[slot] = name;
+        cells[slot] = NONE;
+        next[slot] = NONE;
+        prev[slot] = NONE;
+        slots.put(name, slot);
+        return slot;
+    }
+
+    private void link(int slot, int cell) {
+        int head = heads[cell];
+        prev[slot] = NONE;
+        next[slot] = head;
+        if (head != NONE) prev[head] = slot;
+        heads[cell] = slot;
+    }
+
+    private void unlink(int slot) {
+        int cell = cells[slot];
+        if (cell == NONE) return;
+        if (prev[slot] != NONE) next[prev[slot]] = next[slot];
+        else heads[cell] = next[slot];
+        if (next[slot] != NONE) prev[next[slot]] = prev[slot];
+        next[slot] = NONE;
+        prev[slot] = NONE;
+    }
+
+    private void grow() {
+        int capacity = names.length * 2;
+        names = Arrays.copyOf(names, capacity);
+        types = Arrays.copyOf(types, capacity);
+        cells = Arrays.copyOf(cells, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+    }
+}
@@ -0,0 +1,229 @@
+package gui;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import gui.FireSimulationGUI.CellType;
+
+/**
+ * Ουρά γεγονότων από τους agents προς το GUI (πολλοί παραγωγοί, ένας καταναλωτής: το EDT).
+ * Agent threads push typed view events without locks; the EDT drains them once
+ * per frame, before the coalesced repaint.
+ *
+ * - Cell updates merge per cell: the latest type/intensity wins.
+ * - Unit positions merge per unit: the latest position or removal wins.
+ * - Status text, "all extinguished" and the emergency state: the latest wins.
+ * - Log lines and water drops are FIFO. The queue holds at most capacity of
+ *   them; the ones beyond that are dropped and counted.
+ *
+ * A drain applies every merged cell and unit but at most MAX_EVENTS_PER_FRAME
+ * FIFO events, so a fire storm cannot keep the Swing thread busy.
+ */
+final class ViewEventQueue {
+    static final int MAX_EVENTS_PER_FRAME = 256;
+
+    enum Kind { LOG, WATER_DROP }
+
+    static final class Event {
+        final Kind kind;
+        final String text;
+        final int x, y;
+        final long time;
+        final String source; // thread που το έστειλε: για JADE agents το όνομα του agent
+
+        Event(Kind kind, String text, int x, int y) {
+            this.kind = kind;
+            this.text = text;
+            this.x = x;
+            this.y = y;
+            this.time = System.currentTimeMillis();
+            this.source = Thread.currentThread().getName();
+        }
+    }
+
+    private static final class UnitSlot {
+        final String name;
+        final AtomicBoolean queued = new AtomicBoolean();
+        volatile long position = REMOVED; // x | y | type | announce, βλ. pack(), ή REMOVED
+
+        UnitSlot(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final long REMOVED = -1L;
+    private static final int EMERGENCY_NONE = 0, EMERGENCY_DECLARED = 1, EMERGENCY_ENDED = 2;
+    private static final CellType[] TYPES = CellType.values();
+
+    private final int width;
+    private final int height;
+    private final int capacity;
+
+    private final ConcurrentLinkedQueue<Event> events = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong droppedLogs = new AtomicLong();
+    private final AtomicLong droppedDrops = new AtomicLong();
+
+    private final AtomicReference<String> status = new AtomicReference<>();
+    private final AtomicBoolean allExtinguished = new AtomicBoolean();
+    private final AtomicInteger emergency = new AtomicInteger(EMERGENCY_NONE);
+
+    private final ConcurrentHashMap<String, UnitSlot> units = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<UnitSlot> movedUnits = new ConcurrentLinkedQueue<>();
+
+    private final AtomicIntegerArray cells;   // 0 = τίποτα, αλλιώς 1 + (type << 8 | intensity)
+    private final AtomicLongArray cellMarks;  // ποια κελιά έχουν εκκρεμή τιμή
+
+    ViewEventQueue(int width, int height, int capacity) {
+        this.width = width;
+        this.height = height;
+        this.capacity = Math.max(1, capacity);
+        this.cells = new AtomicIntegerArray(width * height);
+        this.cellMarks = new AtomicLongArray((width * height + 63) >>> 6);
+    }
+
+    // ----- Producers (any thread) -----
+
+    /** Returns false if the line was dropped because the queue is full. */
+    boolean log(String message) {
+        return offer(Kind.LOG, message, 0, 0, droppedLogs);
+    }
+
+    /** Returns false if the drop was not shown because the queue is full. */
+    boolean waterDrop(String agentName, int x, int y) {
+        return offer(Kind.WATER_DROP, agentName, x, y, droppedDrops);
+    }
+
+    private boolean offer(Kind kind, String text, int x, int y, AtomicLong dropped) {
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return false;
+        }
+        events.add(new Event(kind, text, x, y));
+        return true;
+    }
+
+    void status(String text) {
+        status.set(text);
+    }
+
+    void allExtinguished() {
+        allExtinguished.set(true);
+    }
+
+    void emergency(boolean declared) {
+        emergency.set(declared ? EMERGENCY_DECLARED : EMERGENCY_ENDED);
+    }
+
+    void cell(int x, int y, CellType type, int intensity) {
+        if (x < 1 || x > width || y < 1 || y > height) return;
+        int i = (y - 1) * width + (x - 1);
+        cells.set(i, 1 + (type.ordinal() << 8 | (Math.max(0, Math.min(255, intensity)))));
+
+        int word = i >>> 6;
+        long bit = 1L << (i & 63);
+        long current;
+        do {
+            current = cellMarks.get(word);
+            if ((current & bit) != 0) return;
+        } while (!cellMarks.compareAndSet(word, current, current | bit));
+    }
+
+    /** announce: log the position too (showAgentAt), as opposed to a plain movement step. */
+    void unit(String name, int x, int y, CellType type, boolean announce) {
+        put(name, pack(x, y, type, announce));
+    }
+
+    // Tombstone στην ίδια θέση: αφαίρεση και νέα εμφάνιση ισχύουν με τη σειρά που έγιναν
+    void removeUnit(String name) {
+        put(name, REMOVED);
+    }
+
+    // Τα slots μένουν στον χάρτη· οι μονάδες είναι λίγες και με σταθερά ονόματα
+    private void put(String name, long position) {
+        UnitSlot slot = units.get(name);
+        if (slot == null) {
+            slot = units.computeIfAbsent(name, UnitSlot::new);
+        }
+        slot.position = position;
+        if (slot.queued.compareAndSet(false, true)) {
+            movedUnits.add(slot);
+        }
+    }
+
+    int getQueuedEvents() {
+        return queued.get();
+    }
+
+    // ----- Consumer (EDT only) -----
+
+    /** Applies cells, then units and the latest-wins state, then up to MAX_EVENTS_PER_FRAME FIFO events. */
+    void drain(FireSimulationGUI gui) {
+        for (int word = 0; word < cellMarks.length(); word++) {
+            if (cellMarks.get(word) == 0L) continue;
+            long bits = cellMarks.getAndSet(word, 0L);
+            while (bits != 0L) {
+                int i = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int value = cells.getAndSet(i, 0);
+                if (value != 0) {
+                    value--;
+                    gui.applyCell(i % width + 1, i / width + 1, TYPES[value >>> 8], value & 0xff);
+                }
+            }
+        }
+
+        UnitSlot slot;
+        while ((slot = movedUnits.poll()) != null) {
+            slot.queued.set(false); // πριν τη θέση: μια νεότερη θέση ξαναμπαίνει στην ουρά
+            long position = slot.position;
+            if (position == REMOVED) {
+                gui.removeAgent(slot.name);
+                continue;
+            }
+            gui.applyUnit(slot.name, (int) (position >>> 24) & 0xffff, (int) (position >>> 8) & 0xffff,
+                          TYPES[(int) (position >>> 1) & 0x7f], (position & 1L) != 0);
+        }
+
+        String text = status.getAndSet(null);
+        if (text != null) {
+            gui.updateStatus(text);
+        }
+        if (allExtinguished.getAndSet(false)) {
+            gui.showAllExtinguished();
+        }
+        switch (emergency.getAndSet(EMERGENCY_NONE)) {
+            case EMERGENCY_DECLARED: gui.showEmergencyDeclared(); break;
+            case EMERGENCY_ENDED: gui.showEmergencyEnded(); break;
+            default: break;
+        }
+
+        Event event;
+        for (int n = 0; n < MAX_EVENTS_PER_FRAME && (event = events.poll()) != null; n++) {
+            queued.decrementAndGet();
+            switch (event.kind) {
+                case LOG: gui.appendLog(event.time, event.source, event.text); break;
+                case WATER_DROP: gui.showWaterDropAt(event.x, event.y, event.text); break;
+            }
+        }
+
+        long dropped = droppedLogs.getAndSet(0L);
+        if (dropped > 0) {
+            gui.appendLog(System.currentTimeMillis(), "GUI", "⚠️ " + dropped + " γραμμές log παραλείφθηκαν (υπερφόρτωση GUI)");
+        }
+        long drops = droppedDrops.getAndSet(0L);
+        if (drops > 0) {
+            gui.appendLog(System.currentTimeMillis(), "GUI", "⚠️ " + drops + " ρίψεις νερού δεν εμφανίστηκαν (υπερφόρτωση GUI)");
+        }
+    }
+
+    private static long pack(int x, int y, CellType type, boolean announce) {
+        return ((long) (x & 0xffff) << 24) | ((long) (y & 0xffff) << 8) | ((long) type.ordinal() << 1) | (announce ? 1L : 0L);
+    }
+}
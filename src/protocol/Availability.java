@@ -0,0 +1,66 @@
+package protocol;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/** A unit tells the control centre it is ready for a new mission. */
+public final class Availability extends FireMessage {
+    public static final String ONTOLOGY = ONTOLOGY_PREFIX + "availability";
+
+    public final byte unit;
+    public final int capacity;        // νερό σε λίτρα (αεροσκάφη), αλλιώς 0
+    public final String specialization; // ομάδες εδάφους, αλλιώς ""
+    public final int fatigue;
+
+    public Availability(byte unit) {
+        this(unit, 0, "", 0);
+    }
+
+    public Availability(byte unit, int capacity, String specialization, int fatigue) {
+        this.unit = unit;
+        this.capacity = capacity;
+        this.specialization = specialization != null ? specialization : "";
+        this.fatigue = fatigue;
+    }
+
+    @Override
+    public byte getType() { return AVAILABILITY; }
+
+    @Override
+    public String getOntology() { return ONTOLOGY; }
+
+    @Override
+    public String toText() {
+        switch (unit) {
+            case UNIT_AIRCRAFT: return "AIRCRAFT_AVAILABLE capacity:" + capacity;
+            case UNIT_HELICOPTER: return "HELICOPTER_AVAILABLE";
+            case UNIT_GROUND_CREW: return "GROUND_CREW_AVAILABLE specialization:" + specialization + " fatigue:" + fatigue;
+            case UNIT_EMERGENCY: return "EMERGENCY_UNIT_AVAILABLE";
+            default: return "TRUCK_AVAILABLE";
+        }
+    }
+
+    @Override
+    int encodedSize() {
+        return 1 + 4 + 1 + 1 + specialization.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Override
+    void writeTo(ByteBuffer buffer) {
+        byte[] spec = specialization.getBytes(StandardCharsets.UTF_8);
+        buffer.put(unit);
+        buffer.putInt(capacity);
+        buffer.put((byte) fatigue);
+        buffer.put((byte) spec.length);
+        buffer.put(spec);
+    }
+
+    static Availability readFrom(ByteBuffer buffer) {
+        byte unit = buffer.get();
+        int capacity = buffer.getInt();
+        int fatigue = buffer.get();
+        byte[] spec = new byte[buffer.get() & 0xFF];
+        buffer.get(spec);
+        return new Availability(unit, capacity, new String(spec, StandardCharsets.UTF_8), fatigue);
+    }
+}
@@ -0,0 +1,52 @@
+package protocol;
+
+import java.nio.ByteBuffer;
+
+/** Deployment order from the control centre to one unit. */
+public final class Deploy extends FireMessage {
+    public static final String ONTOLOGY = ONTOLOGY_PREFIX + "deploy";
+
+    public final byte unit;
+    public final int x;
+    public final int y;
+
+    public Deploy(byte unit, int x, int y) {
+        this.unit = unit;
+        this.x = x;
+        this.y = y;
+    }
+
+    public String getLocation() {
+        return x + "," + y;
+    }
+
+    @Override
+    public byte getType() { return DEPLOY; }
+
+    @Override
+    public String getOntology() { return ONTOLOGY; }
+
+    @Override
+    public String toText() {
+        switch (unit) {
+            case UNIT_AIRCRAFT: return "DEPLOY_AIRCRAFT to (" + x + "," + y + ")";
+            case UNIT_HELICOPTER: return "DEPLOY_HELICOPTER to (" + x + "," + y + ")";
+            case UNIT_GROUND_CREW: return "DEPLOY_GROUND_CREW to (" + x + "," + y + ")";
+            default: return "RESPOND_TO_FIRE at " + x + "," + y;
+        }
+    }
+
+    @Override
+    int encodedSize() { return 1 + 2 + 2; }
+
+    @Override
+    void writeTo(ByteBuffer buffer) {
+        buffer.put(unit);
+        buffer.putShort((short) x);
+        buffer.putShort((short) y);
+    }
+
+    static Deploy readFrom(ByteBuffer buffer) {
+        return new Deploy(buffer.get(), buffer.getShort(), buffer.getShort());
+    }
+}
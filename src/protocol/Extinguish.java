@@ -0,0 +1,57 @@
+package protocol;
+
+import java.nio.ByteBuffer;
+
+/** Suppression attempt on one cell; succeeds with the given effectiveness. */
+public final class Extinguish extends FireMessage {
+    public static final String ONTOLOGY = ONTOLOGY_PREFIX + "extinguish";
+
+    // Μέθοδοι κατάσβεσης
+    public static final byte DIRECT = 0;
+    public static final byte AERIAL = 1;
+    public static final byte HELICOPTER = 2;
+    public static final byte GROUND = 3;
+
+    public final byte method;
+    public final int x;
+    public final int y;
+    public final float effectiveness;
+
+    public Extinguish(byte method, int x, int y, double effectiveness) {
+        this.method = method;
+        this.x = x;
+        this.y = y;
+        this.effectiveness = (float) effectiveness;
+    }
+
+    @Override
+    public byte getType() { return EXTINGUISH; }
+
+    @Override
+    public String getOntology() { return ONTOLOGY; }
+
+    @Override
+    public String toText() {
+        switch (method) {
+            case AERIAL: return "AERIAL_EXTINGUISH at (" + x + "," + y + ") effectiveness:" + effectiveness;
+            case HELICOPTER: return "HELICOPTER_EXTINGUISH at (" + x + "," + y + ") effectiveness:" + effectiveness;
+            case GROUND: return "GROUND_EXTINGUISH at (" + x + "," + y + ") effectiveness:" + effectiveness;
+            default: return "EXTINGUISH_AT " + x + "," + y;
+        }
+    }
+
+    @Override
+    int encodedSize() { return 1 + 2 + 2 + 4; }
+
+    @Override
+    void writeTo(ByteBuffer buffer) {
+        buffer.put(method);
+        buffer.putShort((short) x);
+        buffer.putShort((short) y);
+        buffer.putFloat(effectiveness);
+    }
+
+    static Extinguish readFrom(ByteBuffer buffer) {
+        return new Extinguish(buffer.get(), buffer.getShort(), buffer.getShort(), buffer.getFloat());
+    }
+}
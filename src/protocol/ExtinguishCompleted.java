@@ -0,0 +1,40 @@
+package protocol;
+
+import java.nio.ByteBuffer;
+
+/** A unit or fire hotspot reports a cell as put out. */
+public final class ExtinguishCompleted extends FireMessage {
+    public static final String ONTOLOGY = ONTOLOGY_PREFIX + "completed";
+
+    public final int x;
+    public final int y;
+
+    public ExtinguishCompleted(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    @Override
+    public byte getType() { return EXTINGUISH_COMPLETED; }
+
+    @Override
+    public String getOntology() { return ONTOLOGY; }
+
+    @Override
+    public String toText() {
+        return "EXTINGUISH_COMPLETED at " + x + "," + y;
+    }
+
+    @Override
+    int encodedSize() { return 2 + 2; }
+
+    @Override
+    void writeTo(ByteBuffer buffer) {
+        buffer.putShort((short) x);
+        buffer.putShort((short) y);
+    }
+
+    static ExtinguishCompleted readFrom(ByteBuffer buffer) {
+        return new ExtinguishCompleted(buffer.getShort(), buffer.getShort());
+    }
+}
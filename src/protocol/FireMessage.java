@@ -0,0 +1,50 @@
+package protocol;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Base of the typed message vocabulary exchanged between agents.
+ * The binary form is one type-tag byte followed by the record fields,
+ * carried as ACL byte content; the ontology names the message class so
+ * receivers can filter with a MessageTemplate without decoding.
+ */
+public abstract class FireMessage {
+    public static final String ONTOLOGY_PREFIX = "fire-protocol:";
+
+    // Type tags (πρώτο byte της κωδικοποίησης)
+    public static final byte FIRE_SPREAD = 1;
+    public static final byte FIRE_DETECTED = 2;
+    public static final byte FIRE_REIGNITION = 3;
+    public static final byte DEPLOY = 4;
+    public static final byte EXTINGUISH = 5;
+    public static final byte EXTINGUISH_COMPLETED = 6;
+    public static final byte WEATHER_UPDATE = 7;
+    public static final byte AVAILABILITY = 8;
+    public static final byte STATUS_REQUEST = 9;
+    public static final byte FIRE_FULLY_EXTINGUISHED = 10;
+    public static final byte ACTIVATE_EMERGENCY = 11;
+    public static final byte UNIT_STATUS = 12;
+
+    // Τύποι μονάδων
+    public static final byte UNIT_TRUCK = 1;
+    public static final byte UNIT_AIRCRAFT = 2;
+    public static final byte UNIT_HELICOPTER = 3;
+    public static final byte UNIT_GROUND_CREW = 4;
+    public static final byte UNIT_EMERGENCY = 5;
+
+    public abstract byte getType();
+
+    public abstract String getOntology();
+
+    /** Legacy text form, used for logs and for receivers that still expect strings. */
+    public abstract String toText();
+
+    abstract int encodedSize();
+
+    abstract void writeTo(ByteBuffer buffer);
+
+    @Override
+    public String toString() {
+        return toText();
+    }
+}
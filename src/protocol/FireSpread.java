@@ -0,0 +1,66 @@
+package protocol;
+
+import java.nio.ByteBuffer;
+
+/** A burning cell reported to the control centre: spread, detection or reignition. */
+public final class FireSpread extends FireMessage {
+    public static final String ONTOLOGY = ONTOLOGY_PREFIX + "fire";
+
+    private final byte type;
+    public final int x;
+    public final int y;
+    public final int intensity;
+
+    private FireSpread(byte type, int x, int y, int intensity) {
+        this.type = type;
+        this.x = x;
+        this.y = y;
+        this.intensity = intensity;
+    }
+
+    public static FireSpread spread(int x, int y, int intensity) {
+        return new FireSpread(FIRE_SPREAD, x, y, intensity);
+    }
+
+    public static FireSpread detected(int x, int y, int intensity) {
+        return new FireSpread(FIRE_DETECTED, x, y, intensity);
+    }
+
+    public static FireSpread reignition(int x, int y, int intensity) {
+        return new FireSpread(FIRE_REIGNITION, x, y, intensity);
+    }
+
+    public String getLocation() {
+        return x + "," + y;
+    }
+
+    @Override
+    public byte getType() { return type; }
+
+    @Override
+    public String getOntology() { return ONTOLOGY; }
+
+    @Override
+    public String toText() {
+        switch (type) {
+            case FIRE_DETECTED: return "FIRE_DETECTED at " + x + "," + y + " intensity:" + intensity;
+            case FIRE_REIGNITION: return "FIRE_REIGNITION at (" + x + "," + y + ")";
+            default: return "FIRE_SPREAD from " + x + "," + y + " intensity:" + intensity;
+        }
+    }
+
+    @Override
+    int encodedSize() { return 2 + 2 + 2; }
+
+    @Override
+    void writeTo(ByteBuffer buffer) {
+        buffer.putShort((short) x);
+        buffer.putShort((short) y);
+        // Η ένταση του FireAgent αυξάνεται κάθε tick χωρίς όριο: short, όχι byte
+        buffer.putShort((short) Math.max(0, Math.min(Short.MAX_VALUE, intensity)));
+    }
+
+    static FireSpread readFrom(byte type, ByteBuffer buffer) {
+        return new FireSpread(type, buffer.getShort(), buffer.getShort(), buffer.getShort());
+    }
+}
@@ -0,0 +1,214 @@
+package protocol;
+
+import jade.lang.acl.ACLMessage;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary encoding of the typed messages and ACLMessage helpers.
+ * read() decodes byte content when the ontology is ours and falls back to
+ * the old text format otherwise, so string senders keep working.
+ */
+public final class MessageCodec {
+
+    private MessageCodec() {
+    }
+
+    public static byte[] encode(FireMessage message) {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + message.encodedSize());
+        buffer.put(message.getType());
+        message.writeTo(buffer);
+        return buffer.array();
+    }
+
+    public static FireMessage decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte type = buffer.get();
+        switch (type) {
+            case FireMessage.FIRE_SPREAD:
+            case FireMessage.FIRE_DETECTED:
+            case FireMessage.FIRE_REIGNITION:
+                return FireSpread.readFrom(type, buffer);
+            case FireMessage.DEPLOY:
+                return Deploy.readFrom(buffer);
+            case FireMessage.EXTINGUISH:
+                return Extinguish.readFrom(buffer);
+            case FireMessage.EXTINGUISH_COMPLETED:
+                return ExtinguishCompleted.readFrom(buffer);
+            case FireMessage.WEATHER_UPDATE:
+                return WeatherUpdate.readFrom(buffer);
+            case FireMessage.AVAILABILITY:
+                return Availability.readFrom(buffer);
+            case FireMessage.UNIT_STATUS:
+                return UnitStatus.readFrom(buffer);
+            case FireMessage.STATUS_REQUEST:
+            case FireMessage.FIRE_FULLY_EXTINGUISHED:
+            case FireMessage.ACTIVATE_EMERGENCY:
+                return Signal.of(type);
+            default:
+                throw new IllegalArgumentException("Unknown message type: " + type);
+        }
+    }
+
+    /** New ACLMessage carrying the binary form, tagged with the message class ontology. */
+    public static ACLMessage create(int performative, FireMessage message) {
+        ACLMessage msg = new ACLMessage(performative);
+        msg.setOntology(message.getOntology());
+        msg.setByteSequenceContent(encode(message));
+        return msg;
+    }
+
+    /** Typed view of a received message, or null if it is not part of the vocabulary. */
+    public static FireMessage read(ACLMessage msg) {
+        String ontology = msg.getOntology();
+        if (ontology != null && ontology.startsWith(FireMessage.ONTOLOGY_PREFIX)) {
+            byte[] data = msg.getByteSequenceContent();
+            if (data != null && data.length > 0) {
+                try {
+                    return decode(data);
+                } catch (IllegalArgumentException | BufferUnderflowException e) {
+                    return null;
+                }
+            }
+        }
+
+        String content = msg.getContent();
+        return content != null ? parseText(content) : null;
+    }
+
+    // ========== ΠΑΛΙΑ ΜΟΡΦΗ ΚΕΙΜΕΝΟΥ ==========
+
+    /** Parses the legacy string content, e.g. "DEPLOY_AIRCRAFT to (12,40)". Returns null if unknown. */
+    public static FireMessage parseText(String content) {
+        try {
+            if (content.startsWith("FIRE_SPREAD")) {
+                // "FIRE_SPREAD from X,Y intensity:N"
+                String[] parts = content.split(" ");
+                int[] xy = parseLocation(parts[2]);
+                return FireSpread.spread(xy[0], xy[1], parseIntensity(parts));
+            } else if (content.startsWith("FIRE_DETECTED")) {
+                String[] parts = content.split(" ");
+                int[] xy = parseLocation(parts[2]);
+                return FireSpread.detected(xy[0], xy[1], parseIntensity(parts));
+            } else if (content.startsWith("FIRE_REIGNITION")) {
+                int[] xy = parseLocation(content.substring(content.indexOf("at") + 3));
+                return FireSpread.reignition(xy[0], xy[1], 3);
+            } else if (content.startsWith("RESPOND_TO_FIRE")) {
+                int[] xy = parseLocation(content.substring(content.indexOf("at") + 3));
+                return new Deploy(FireMessage.UNIT_TRUCK, xy[0], xy[1]);
+            } else if (content.startsWith("DEPLOY_AIRCRAFT")) {
+                int[] xy = parseLocation(content.substring(content.indexOf("to") + 3));
+                return new Deploy(FireMessage.UNIT_AIRCRAFT, xy[0], xy[1]);
+            } else if (content.startsWith("DEPLOY_HELICOPTER")) {
+                int[] xy = parseLocation(content.substring(content.indexOf("to") + 3));
+                return new Deploy(FireMessage.UNIT_HELICOPTER, xy[0], xy[1]);
+            } else if (content.startsWith("DEPLOY_GROUND_CREW")) {
+                int[] xy = parseLocation(content.substring(content.indexOf("to") + 3));
+                return new Deploy(FireMessage.UNIT_GROUND_CREW, xy[0], xy[1]);
+            } else if (content.startsWith("EXTINGUISH_COMPLETED")) {
+                int[] xy = parseLocation(content.substring(content.indexOf("at") + 3));
+                return new ExtinguishCompleted(xy[0], xy[1]);
+            } else if (content.equals("EXTINGUISH")) {
+                // Χωρίς θέση: ο παραλήπτης (TreeAgent) σβήνει το δικό του κελί
+                return new Extinguish(Extinguish.DIRECT, 0, 0, 0.8);
+            } else if (content.startsWith("EXTINGUISH_AT")) {
+                int[] xy = parseLocation(content.substring(13).trim());
+                return new Extinguish(Extinguish.DIRECT, xy[0], xy[1], 1.0);
+            } else if (content.startsWith("AERIAL_EXTINGUISH") || content.startsWith("HELICOPTER_EXTINGUISH") ||
+                       content.startsWith("GROUND_EXTINGUISH")) {
+                return parseExtinguish(content);
+            } else if (content.startsWith("WEATHER_UPDATE")) {
+                return parseWeather(content);
+            } else if (content.equals("TRUCK_AVAILABLE")) {
+                return new Availability(FireMessage.UNIT_TRUCK);
+            } else if (content.startsWith("AIRCRAFT_AVAILABLE")) {
+                int capacity = 0;
+                if (content.contains("capacity:")) {
+                    capacity = Integer.parseInt(content.substring(content.indexOf("capacity:") + 9).split(" ")[0]);
+                }
+                return new Availability(FireMessage.UNIT_AIRCRAFT, capacity, "", 0);
+            } else if (content.startsWith("HELICOPTER_AVAILABLE")) {
+                return new Availability(FireMessage.UNIT_HELICOPTER);
+            } else if (content.startsWith("GROUND_CREW_AVAILABLE")) {
+                String specialization = "suppression";
+                int fatigue = 0;
+                for (String part : content.split(" ")) {
+                    if (part.startsWith("specialization:")) {
+                        specialization = part.substring(15);
+                    } else if (part.startsWith("fatigue:")) {
+                        fatigue = Integer.parseInt(part.substring(8));
+                    }
+                }
+                return new Availability(FireMessage.UNIT_GROUND_CREW, 0, specialization, fatigue);
+            } else if (content.startsWith("EMERGENCY_UNIT_AVAILABLE")) {
+                return new Availability(FireMessage.UNIT_EMERGENCY);
+            } else if (content.equals("STATUS_REQUEST")) {
+                return Signal.STATUS;
+            } else if (content.equals("FIRE_FULLY_EXTINGUISHED")) {
+                return Signal.FULLY_EXTINGUISHED;
+            } else if (content.equals("ACTIVATE_EMERGENCY_PROTOCOL")) {
+                return Signal.EMERGENCY;
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException | StringIndexOutOfBoundsException e) {
+            System.out.println("MessageCodec: Σφάλμα παρσαρίσματος: " + content);
+        }
+        return null;
+    }
+
+    private static Extinguish parseExtinguish(String content) {
+        byte method = content.startsWith("AERIAL") ? Extinguish.AERIAL
+                    : content.startsWith("HELICOPTER") ? Extinguish.HELICOPTER : Extinguish.GROUND;
+
+        double effectiveness = 0.8; // default
+        if (content.contains("effectiveness:")) {
+            String effStr = content.substring(content.indexOf("effectiveness:") + 14);
+            effectiveness = Double.parseDouble(effStr.split(" ")[0]);
+        }
+
+        String location;
+        if (content.contains("at (")) {
+            int start = content.indexOf("at (") + 4;
+            location = content.substring(start, content.indexOf(")", start));
+        } else {
+            location = content.substring(content.indexOf("at ") + 3).split(" ")[0];
+        }
+        int[] xy = parseLocation(location);
+        return new Extinguish(method, xy[0], xy[1], effectiveness);
+    }
+
+    private static WeatherUpdate parseWeather(String content) {
+        // Παράδειγμα: "WEATHER_UPDATE wind:2.5 humidity:40 temp:35 direction:NE"
+        double wind = 1.0;
+        int humidity = 50;
+        int temperature = 25;
+        String direction = "N";
+
+        for (String part : content.split(" ")) {
+            if (part.startsWith("wind:")) {
+                wind = Double.parseDouble(part.substring(5));
+            } else if (part.startsWith("humidity:")) {
+                humidity = Integer.parseInt(part.substring(9));
+            } else if (part.startsWith("temp:")) {
+                temperature = Integer.parseInt(part.substring(5));
+            } else if (part.startsWith("direction:")) {
+                direction = part.substring(10);
+            }
+        }
+        return new WeatherUpdate(wind, humidity, temperature, direction);
+    }
+
+    private static int parseIntensity(String[] parts) {
+        for (String part : parts) {
+            if (part.startsWith("intensity:")) {
+                return Integer.parseInt(part.substring(10));
+            }
+        }
+        return 1;
+    }
+
+    // "x,y" ή "(x,y)"
+    private static int[] parseLocation(String location) {
+        String[] coords = location.replace("(", "").replace(")", "").trim().split(",");
+        return new int[]{Integer.parseInt(coords[0].trim()), Integer.parseInt(coords[1].trim())};
+    }
+}
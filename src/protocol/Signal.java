@@ -0,0 +1,48 @@
+package protocol;
+
+import java.nio.ByteBuffer;
+
+/** Messages without payload: STATUS_REQUEST, FIRE_FULLY_EXTINGUISHED, ACTIVATE_EMERGENCY_PROTOCOL. */
+public final class Signal extends FireMessage {
+    public static final String ONTOLOGY = ONTOLOGY_PREFIX + "signal";
+
+    public static final Signal STATUS = new Signal(STATUS_REQUEST);
+    public static final Signal FULLY_EXTINGUISHED = new Signal(FIRE_FULLY_EXTINGUISHED);
+    public static final Signal EMERGENCY = new Signal(ACTIVATE_EMERGENCY);
+
+    private final byte type;
+
+    private Signal(byte type) {
+        this.type = type;
+    }
+
+    @Override
+    public byte getType() { return type; }
+
+    @Override
+    public String getOntology() { return ONTOLOGY; }
+
+    @Override
+    public String toText() {
+        switch (type) {
+            case FIRE_FULLY_EXTINGUISHED: return "FIRE_FULLY_EXTINGUISHED";
+            case ACTIVATE_EMERGENCY: return "ACTIVATE_EMERGENCY_PROTOCOL";
+            default: return "STATUS_REQUEST";
+        }
+    }
+
+    @Override
+    int encodedSize() { return 0; }
+
+    @Override
+    void writeTo(ByteBuffer buffer) {
+    }
+
+    static Signal of(byte type) {
+        switch (type) {
+            case FIRE_FULLY_EXTINGUISHED: return FULLY_EXTINGUISHED;
+            case ACTIVATE_EMERGENCY: return EMERGENCY;
+            default: return STATUS;
+        }
+    }
+}
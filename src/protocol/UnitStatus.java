@@ -0,0 +1,70 @@
+package protocol;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/** A unit on a mission answers STATUS_REQUEST: current phase and position. */
+public final class UnitStatus extends FireMessage {
+    public static final String ONTOLOGY = ONTOLOGY_PREFIX + "status";
+
+    public final byte unit;
+    public final String phase;
+    public final int x;
+    public final int y;
+    public final int water;   // λίτρα (αεροσκάφη, ελικόπτερα), αλλιώς 0
+    public final int fatigue; // ομάδες εδάφους, αλλιώς 0
+
+    public UnitStatus(byte unit, String phase, int x, int y, int water, int fatigue) {
+        this.unit = unit;
+        this.phase = phase != null ? phase : "";
+        this.x = x;
+        this.y = y;
+        this.water = water;
+        this.fatigue = fatigue;
+    }
+
+    @Override
+    public byte getType() { return UNIT_STATUS; }
+
+    @Override
+    public String getOntology() { return ONTOLOGY; }
+
+    @Override
+    public String toText() {
+        String text = "UNIT_BUSY phase:" + phase + " at " + x + "," + y;
+        switch (unit) {
+            case UNIT_AIRCRAFT:
+            case UNIT_HELICOPTER: return text + " water:" + water;
+            case UNIT_GROUND_CREW: return text + " fatigue:" + fatigue;
+            default: return text;
+        }
+    }
+
+    @Override
+    int encodedSize() {
+        return 1 + 2 + 2 + 4 + 1 + 1 + phase.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Override
+    void writeTo(ByteBuffer buffer) {
+        byte[] name = phase.getBytes(StandardCharsets.UTF_8);
+        buffer.put(unit);
+        buffer.putShort((short) x);
+        buffer.putShort((short) y);
+        buffer.putInt(water);
+        buffer.put((byte) fatigue);
+        buffer.put((byte) name.length);
+        buffer.put(name);
+    }
+
+    static UnitStatus readFrom(ByteBuffer buffer) {
+        byte unit = buffer.get();
+        int x = buffer.getShort();
+        int y = buffer.getShort();
+        int water = buffer.getInt();
+        int fatigue = buffer.get();
+        byte[] name = new byte[buffer.get() & 0xFF];
+        buffer.get(name);
+        return new UnitStatus(unit, new String(name, StandardCharsets.UTF_8), x, y, water, fatigue);
+    }
+}
@@ -0,0 +1,62 @@
+package protocol;
+
+import java.nio.ByteBuffer;
+
+/** Weather broadcast from the WeatherAgent. */
+public final class WeatherUpdate extends FireMessage {
+    public static final String ONTOLOGY = ONTOLOGY_PREFIX + "weather";
+
+    // Ίδιες κατευθύνσεις με το WeatherAgent· κωδικοποιούνται ως δείκτης
+    private static final String[] DIRECTIONS = {"N", "S", "E", "W", "NE", "NW", "SE", "SW"};
+
+    public final float windSpeed;
+    public final int humidity;
+    public final int temperature;
+    public final String windDirection;
+
+    public WeatherUpdate(double windSpeed, int humidity, int temperature, String windDirection) {
+        this.windSpeed = (float) windSpeed;
+        this.humidity = humidity;
+        this.temperature = temperature;
+        this.windDirection = windDirection;
+    }
+
+    @Override
+    public byte getType() { return WEATHER_UPDATE; }
+
+    @Override
+    public String getOntology() { return ONTOLOGY; }
+
+    @Override
+    public String toText() {
+        return "WEATHER_UPDATE wind:" + windSpeed + " humidity:" + humidity +
+               " temp:" + temperature + " direction:" + windDirection;
+    }
+
+    @Override
+    int encodedSize() { return 4 + 1 + 1 + 1; }
+
+    @Override
+    void writeTo(ByteBuffer buffer) {
+        buffer.putFloat(windSpeed);
+        buffer.put((byte) humidity);
+        buffer.put((byte) temperature);
+        buffer.put((byte) directionIndex(windDirection));
+    }
+
+    static WeatherUpdate readFrom(ByteBuffer buffer) {
+        float wind = buffer.getFloat();
+        int humidity = buffer.get();
+        int temperature = buffer.get();
+        int direction = buffer.get();
+        return new WeatherUpdate(wind, humidity, temperature,
+                                 direction >= 0 && direction < DIRECTIONS.length ? DIRECTIONS[direction] : "N");
+    }
+
+    private static int directionIndex(String direction) {
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            if (DIRECTIONS[i].equals(direction)) return i;
+        }
+        return 0;
+    }
+}
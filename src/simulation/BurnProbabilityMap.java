@@ -0,0 +1,79 @@
+package simulation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Per-cell burn counts over an ensemble of runs. Results are added as they
+ * finish, from any thread; the probability of a cell is count / runs.
+ */
+public class BurnProbabilityMap {
+    private final int width;
+    private final int height;
+    private final int[] counts;
+    private int runs = 0;
+
+    public BurnProbabilityMap(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.counts = new int[width * height];
+    }
+
+    /** burned[i] for cell index (y-1)*width + (x-1), as in FireSpreadEngine. */
+    public synchronized void add(boolean[] burned) {
+        if (burned.length != counts.length) {
+            throw new IllegalArgumentException("Expected " + counts.length + " cells, got " + burned.length);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (burned[i]) {
+                counts[i]++;
+            }
+        }
+        runs++;
+    }
+
+    public synchronized int getRuns() {
+        return runs;
+    }
+
+    public synchronized double probability(int x, int y) {
+        return runs == 0 ? 0 : counts[(y - 1) * width + (x - 1)] / (double) runs;
+    }
+
+    /** Mean burn probability over the grid, i.e. the expected burned fraction. */
+    public synchronized double meanProbability() {
+        if (runs == 0) return 0;
+        long total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total / ((double) runs * counts.length);
+    }
+
+    /**
+     * ESRI ASCII grid, one cell per forest cell, first row y = height so that
+     * GIS tools show it the right way up.
+     */
+    public synchronized void writeAsciiGrid(File file) throws IOException {
+        try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8.name())) {
+            out.println("ncols " + width);
+            out.println("nrows " + height);
+            out.println("xllcorner 0");
+            out.println("yllcorner 0");
+            out.println("cellsize 1");
+            out.println("NODATA_value -1");
+            for (int y = height; y >= 1; y--) {
+                StringBuilder row = new StringBuilder(width * 7);
+                for (int x = 1; x <= width; x++) {
+                    if (x > 1) row.append(' ');
+                    double p = runs == 0 ? 0 : counts[(y - 1) * width + (x - 1)] / (double) runs;
+                    row.append(String.format(Locale.ROOT, "%.4f", p));
+                }
+                out.println(row);
+            }
+        }
+    }
+}
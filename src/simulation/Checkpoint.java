@@ -0,0 +1,344 @@
+package simulation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Στιγμιότυπα (checkpoints) ολόκληρης της προσομοίωσης και συνέχιση από αυτά.
+ *
+ * A checkpoint file is a fixed header (magic, version, simulation time, seed,
+ * grid size, section count) followed by one section per participant:
+ * [key][length][state bytes]. The engine section holds the per-cell arrays;
+ * an agent section is whatever that agent wrote about itself. A reader skips
+ * sections it does not know, so the format grows by adding sections.
+ *
+ * take() asks every registered participant for its state. Agents answer on
+ * their own thread (the agents/ side holds the EventKernel meanwhile, so FAST
+ * time does not move during a round); the file is written by a writer thread
+ * once all have answered, or after ROUND_TIMEOUT_MS with whatever arrived, so
+ * neither the kernel nor the agents wait on the disk.
+ *
+ * load() reads a file back; resumeFrom() publishes its sections to restored(),
+ * which the agents consult in setup().
+ */
+public final class Checkpoint {
+    static final int MAGIC = 0x46434B50; // "FCKP"
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 40;
+    private static final long ROUND_TIMEOUT_MS = 5000;
+
+    private static Checkpoint instance;
+    private static volatile Snapshot resumed;
+
+    /** Writes its state when asked; may answer later, from another thread. */
+    public interface Participant {
+        void capture(Capture capture);
+    }
+
+    /** One participant's slot in a round. */
+    public static final class Capture {
+        private final Round round;
+        private final String key;
+
+        private Capture(Round round, String key) {
+            this.round = round;
+            this.key = key;
+        }
+
+        public String getKey() { return key; }
+
+        public void submit(byte[] state) {
+            round.submit(key, state);
+        }
+    }
+
+    private static final class Round {
+        final Path path;
+        final long time;
+        final Map<String, byte[]> sections = new LinkedHashMap<>();
+        final CountDownLatch answers;
+
+        Round(Path path, long time, List<String> keys) {
+            this.path = path;
+            this.time = time;
+            for (String key : keys) {
+                sections.put(key, null); // σειρά εγγραφής = σειρά εγγραφής των participants
+            }
+            this.answers = new CountDownLatch(keys.size());
+        }
+
+        void submit(String key, byte[] state) {
+            synchronized (sections) {
+                if (sections.get(key) != null || !sections.containsKey(key)) return;
+                sections.put(key, state);
+            }
+            answers.countDown();
+        }
+    }
+
+    private final Map<String, Participant> participants = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final AtomicBoolean writing = new AtomicBoolean(false);
+    private volatile Path directory = Paths.get("checkpoints");
+    private volatile String prefix = "checkpoint";
+    private volatile long seed;
+    private volatile int width, height;
+    private EventKernel.Event periodic;
+
+    public static synchronized Checkpoint getInstance() {
+        if (instance == null) {
+            instance = new Checkpoint();
+        }
+        return instance;
+    }
+
+    /** Where take() puts its files (directory/prefix-t<seconds>.ckpt) and what goes in the header. */
+    public synchronized void configure(Path directory, String prefix, long seed, int width, int height) {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
+    }
+
+    public void register(String key, Participant participant) {
+        participants.put(key, participant);
+    }
+
+    public void unregister(String key) {
+        participants.remove(key);
+    }
+
+    public int getParticipantCount() {
+        return participants.size();
+    }
+
+    /** A checkpoint every periodMs of simulation time, until stopPeriodic(). */
+    public synchronized void startPeriodic(long periodMs) {
+        stopPeriodic();
+        periodic = EventKernel.getInstance().scheduleRepeating(periodMs, this::take);
+    }
+
+    public synchronized void stopPeriodic() {
+        if (periodic != null) {
+            periodic.cancel();
+            periodic = null;
+        }
+    }
+
+    /** Starts a checkpoint at the current simulation time; returns its file, or null if one is still being written. */
+    public Path take() {
+        long time = EventKernel.getInstance().now();
+        return take(directory.resolve(String.format("%s-t%06d.ckpt", prefix, time / 1000)));
+    }
+
+    public Path take(Path path) {
+        if (!writing.compareAndSet(false, true)) {
+            System.err.println("⚠️ Checkpoint σε εξέλιξη - παράλειψη του " + path);
+            return null;
+        }
+
+        List<String> keys;
+        List<Participant> targets;
+        synchronized (participants) {
+            keys = new ArrayList<>(participants.keySet());
+            targets = new ArrayList<>(participants.values());
+        }
+        Round round = new Round(path, EventKernel.getInstance().now(), keys);
+        for (int i = 0; i < keys.size(); i++) {
+            try {
+                targets.get(i).capture(new Capture(round, keys.get(i)));
+            } catch (RuntimeException e) {
+                System.err.println("⚠️ Checkpoint: σφάλμα στο " + keys.get(i) + ": " + e);
+            }
+        }
+
+        Thread writer = new Thread(() -> finish(round), "checkpoint-writer");
+        writer.setDaemon(true);
+        writer.start();
+        return path;
+    }
+
+    private void finish(Round round) {
+        long started = System.currentTimeMillis();
+        try {
+            if (!round.answers.await(ROUND_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                List<String> missing = new ArrayList<>();
+                synchronized (round.sections) {
+                    for (Map.Entry<String, byte[]> section : round.sections.entrySet()) {
+                        if (section.getValue() == null) missing.add(section.getKey());
+                    }
+                }
+                System.err.println("⚠️ Checkpoint " + round.path + ": χωρίς απάντηση από " + missing);
+            }
+
+            Map<String, byte[]> sections = new LinkedHashMap<>();
+            synchronized (round.sections) {
+                for (Map.Entry<String, byte[]> section : round.sections.entrySet()) {
+                    if (section.getValue() != null) sections.put(section.getKey(), section.getValue());
+                }
+            }
+            long bytes = write(round.path, new Snapshot(round.time, seed, width, height, sections));
+            System.out.println("💾 Checkpoint " + round.path + " [" + SimulationClock.format(round.time) + "]: "
+                               + sections.size() + " ενότητες, " + (bytes / 1024) + " KB, "
+                               + (System.currentTimeMillis() - started) + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("❌ Αδύνατη η εγγραφή checkpoint " + round.path + ": " + e.getMessage());
+        } finally {
+            writing.set(false);
+        }
+    }
+
+    // ========== ΜΟΡΦΗ ΑΡΧΕΙΟΥ ==========
+
+    /** A checkpoint in memory: header fields and the raw sections by key. */
+    public static final class Snapshot {
+        private final long time;
+        private final long seed;
+        private final int width, height;
+        private final Map<String, byte[]> sections;
+
+        public Snapshot(long time, long seed, int width, int height, Map<String, byte[]> sections) {
+            this.time = time;
+            this.seed = seed;
+            this.width = width;
+            this.height = height;
+            this.sections = sections;
+        }
+
+        public long getTime() { return time; }
+        public long getSeed() { return seed; }
+        public int getWidth() { return width; }
+        public int getHeight() { return height; }
+        public Iterable<String> getKeys() { return sections.keySet(); }
+        public int getSectionCount() { return sections.size(); }
+
+        /** Read-only view of a section, or null if the checkpoint has none by that key. */
+        public ByteBuffer section(String key) {
+            byte[] state = sections.get(key);
+            return state != null ? ByteBuffer.wrap(state).asReadOnlyBuffer() : null;
+        }
+    }
+
+    /** Writes to a temporary file first, so an interrupted write never replaces a good checkpoint. Returns the size. */
+    public static long write(Path path, Snapshot snapshot) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putShort((short) HEADER_BYTES);
+        header.putLong(snapshot.time);
+        header.putLong(snapshot.seed);
+        header.putShort((short) snapshot.width);
+        header.putShort((short) snapshot.height);
+        header.putInt(snapshot.sections.size());
+        header.position(HEADER_BYTES);
+        header.flip();
+
+        long size = 0;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            size += writeFully(channel, header);
+            for (Map.Entry<String, byte[]> section : snapshot.sections.entrySet()) {
+                byte[] key = section.getKey().getBytes(StandardCharsets.UTF_8);
+                ByteBuffer prefix = ByteBuffer.allocate(1 + key.length + 4);
+                prefix.put((byte) key.length).put(key).putInt(section.getValue().length);
+                prefix.flip();
+                size += writeFully(channel, prefix);
+                size += writeFully(channel, ByteBuffer.wrap(section.getValue()));
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+        return size;
+    }
+
+    private static long writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        return written;
+    }
+
+    public static Snapshot load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a checkpoint: " + path);
+            }
+            ByteBuffer in = ByteBuffer.allocate((int) size);
+            while (in.hasRemaining() && channel.read(in) >= 0) {
+                // ένα read συνήθως αρκεί
+            }
+            in.flip();
+
+            if (in.remaining() < HEADER_BYTES || in.getInt() != MAGIC) {
+                throw new IOException("Not a checkpoint: " + path);
+            }
+            short version = in.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version + ": " + path);
+            }
+            int headerBytes = in.getShort();
+            long time = in.getLong();
+            long seed = in.getLong();
+            int width = in.getShort();
+            int height = in.getShort();
+            int count = in.getInt();
+            in.position(headerBytes);
+
+            Map<String, byte[]> sections = new LinkedHashMap<>();
+            try {
+                for (int n = 0; n < count; n++) {
+                    byte[] key = new byte[in.get() & 0xff];
+                    in.get(key);
+                    byte[] state = new byte[in.getInt()];
+                    in.get(state);
+                    sections.put(new String(key, StandardCharsets.UTF_8), state);
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("Truncated checkpoint " + path + " after " + sections.size() + " sections");
+            }
+            return new Snapshot(time, seed, width, height, sections);
+        }
+    }
+
+    // ========== ΣΥΝΕΧΙΣΗ ==========
+
+    /** Makes the checkpoint's sections available to restored(); call before creating the agents. */
+    public static void resumeFrom(Snapshot snapshot) {
+        resumed = snapshot;
+    }
+
+    public static boolean isResuming() {
+        return resumed != null;
+    }
+
+    /** The state saved under key by the resumed checkpoint, or null for a fresh run or a new participant. */
+    public static ByteBuffer restored(String key) {
+        Snapshot snapshot = resumed;
+        return snapshot != null ? snapshot.section(key) : null;
+    }
+}
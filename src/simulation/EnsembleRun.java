@@ -0,0 +1,335 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import utils.GridManager;
+
+/**
+ * One replicate of the scenario for the EnsembleRunner. It has its own forest
+ * engine, weather and command centre. There are no agents, no GUI and no
+ * shared statics, so any number of replicates can run side by side.
+ * Units use the timings of the JADE agents: speed per cell, work and refill
+ * phases, and extinguish effectiveness. Each idle unit goes to the nearest
+ * burning cell. Every phase is resolved at the engine's 2 s tick.
+ */
+final class EnsembleRun {
+    static final long WEATHER_MS = 10000; // WeatherAgent: ενημέρωση κάθε 10 δευτερόλεπτα
+
+    /** Unit kinds with the speeds and extinguish settings of the corresponding agents. */
+    enum UnitType {
+        TRUCK(150, 0.7),      // FireTruckAgent: ~60 km/h
+        AIRCRAFT(50, 0.8),    // AircraftAgent: ~300 km/h, ρίψη σε 3x3
+        HELICOPTER(80, 0.9),  // HelicopterAgent: ~180 km/h, στοχευμένη ρίψη
+        CREW(300, 0.7);       // GroundCrewAgent: πεζή μετακίνηση
+
+        final int stepDelay;
+        final double effectiveness;
+
+        UnitType(int stepDelay, double effectiveness) {
+            this.stepDelay = stepDelay;
+            this.effectiveness = effectiveness;
+        }
+    }
+
+    /** What a finished replicate reports back to the runner. */
+    static final class Result {
+        final int run;
+        final long seed;
+        final boolean[] burned;      // κατεστραμμένο ή ακόμα φλεγόμενο στο τέλος
+        final int burnedArea;
+        final long containedAt;      // ms χρόνου προσομοίωσης, -1 αν δεν περιορίστηκε
+        final long simulatedMs;
+        final long[] busyMs = new long[UnitType.values().length];
+        final int[] units = new int[UnitType.values().length];
+        final double initialWind;
+        final int initialHumidity;
+        final int initialTemperature;
+
+        Result(int run, long seed, boolean[] burned, int burnedArea, long containedAt, long simulatedMs,
+               double initialWind, int initialHumidity, int initialTemperature) {
+            this.run = run;
+            this.seed = seed;
+            this.burned = burned;
+            this.burnedArea = burnedArea;
+            this.containedAt = containedAt;
+            this.simulatedMs = simulatedMs;
+            this.initialWind = initialWind;
+            this.initialHumidity = initialHumidity;
+            this.initialTemperature = initialTemperature;
+        }
+
+        /** Share of the run the units of this type spent away from base. */
+        double utilisation(UnitType type) {
+            int count = units[type.ordinal()];
+            if (count == 0 || simulatedMs == 0) return 0;
+            return Math.min(1.0, busyMs[type.ordinal()] / (double) (count * simulatedMs));
+        }
+    }
+
+    private static final class Unit {
+        final UnitType type;
+        final String specialty;
+        final int baseX;
+        final int baseY;
+        int water = 1000;
+        int fatigue = 0;
+
+        boolean busy = false;
+        long dispatchedAt;
+        long effectAt;     // -1 όταν η επέμβαση έχει ήδη γίνει
+        long idleAt;
+        int targetX;
+        int targetY;
+
+        Unit(UnitType type, String specialty, int baseX, int baseY) {
+            this.type = type;
+            this.specialty = specialty;
+            this.baseX = baseX;
+            this.baseY = baseY;
+        }
+    }
+
+    private final int run;
+    private final long seed;
+    private final long maxMs;
+    private final Random rand;
+    private final FireSpreadEngine engine;
+    private final List<Unit> units = new ArrayList<>();
+
+    private double windSpeed;
+    private int humidity;
+    private int temperature;
+
+    EnsembleRun(int run, long seed, int trucks, int aircraft, int helicopters, int crews, long maxMs) {
+        this.run = run;
+        this.seed = seed;
+        this.maxMs = maxMs;
+        this.rand = new Random(seed);
+        // Ξεχωριστή ροή για τους κανόνες του engine, ανεξάρτητη από τον καιρό και τη δάσωση
+        this.engine = new FireSpreadEngine(GridManager.GRID_SIZE, GridManager.GRID_SIZE, seed * 0x9E3779B97F4A7C15L + 1, 1);
+
+        int[] commandCenter = GridManager.randomCommandCenter(rand);
+        int cx = commandCenter[0];
+        int cy = commandCenter[1];
+        for (int i = 0; i < trucks; i++) {
+            units.add(new Unit(UnitType.TRUCK, null, cx, cy));
+        }
+        for (int i = 0; i < aircraft; i++) {
+            units.add(new Unit(UnitType.AIRCRAFT, null, cx, Math.max(5, cy - 10))); // αεροδρόμιο
+        }
+        for (int i = 0; i < helicopters; i++) {
+            units.add(new Unit(UnitType.HELICOPTER, null, cx, Math.max(5, cy - 5))); // ελικοδρόμιο
+        }
+        String[] specialties = {"suppression", "prevention", "mop-up"};
+        for (int i = 0; i < crews; i++) {
+            units.add(new Unit(UnitType.CREW, specialties[i % specialties.length], cx, cy));
+        }
+    }
+
+    Result call() {
+        // Και όταν μια εκτέλεση αποτύχει, το engine δεν αφήνει πίσω νήματα
+        try {
+            return simulate();
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    private Result simulate() {
+        engine.populateFull(rand);
+
+        // Ο καιρός ξεκινά από τυχαία κατάσταση εντός των ορίων του WeatherAgent
+        windSpeed = rand.nextDouble() * 5;
+        humidity = 20 + rand.nextInt(71);
+        temperature = 15 + rand.nextInt(31);
+        double initialWind = windSpeed;
+        int initialHumidity = humidity;
+        int initialTemperature = temperature;
+
+        for (int[] fire : GridManager.TEST_FIRE_POSITIONS) {
+            engine.ignite(fire[0], fire[1], 5);
+        }
+
+        long[] busyMs = new long[UnitType.values().length];
+        long now = 0;
+        long containedAt = -1;
+        dispatch(now);
+
+        while (now < maxMs) {
+            now += FireSpreadEngine.TICK_MS;
+            if (now % WEATHER_MS == 0) {
+                updateWeather();
+                engine.applyWeather(windSpeed, humidity, temperature);
+            }
+            engine.step();
+            resolve(now, busyMs);
+
+            if (engine.getBurningCount() == 0) {
+                containedAt = now;
+                break;
+            }
+            dispatch(now);
+        }
+
+        // Μονάδες ακόμα σε αποστολή: μετράει ο χρόνος μέχρι το τέλος της εκτέλεσης
+        for (Unit unit : units) {
+            if (unit.busy) {
+                busyMs[unit.type.ordinal()] += now - unit.dispatchedAt;
+            }
+        }
+
+        int size = engine.getWidth() * engine.getHeight();
+        boolean[] burned = new boolean[size];
+        int burnedArea = 0;
+        for (int i = 0; i < size; i++) {
+            int x = engine.cellX(i), y = engine.cellY(i);
+            if (engine.isDestroyed(x, y) || engine.isBurning(x, y)) {
+                burned[i] = true;
+                burnedArea++;
+            }
+        }
+
+        Result result = new Result(run, seed, burned, burnedArea, containedAt, now,
+                                   initialWind, initialHumidity, initialTemperature);
+        System.arraycopy(busyMs, 0, result.busyMs, 0, busyMs.length);
+        for (Unit unit : units) {
+            result.units[unit.type.ordinal()]++;
+        }
+        return result;
+    }
+
+    // Ίδιος τυχαίος περίπατος με το WeatherAgent.updateWeather
+    private void updateWeather() {
+        windSpeed += (rand.nextDouble() - 0.5) * 0.5;
+        windSpeed = Math.max(0, Math.min(5, windSpeed));
+
+        humidity += rand.nextInt(11) - 5;
+        humidity = Math.max(20, Math.min(90, humidity));
+
+        temperature += rand.nextInt(5) - 2;
+        temperature = Math.max(15, Math.min(45, temperature));
+        // Η κατεύθυνση του ανέμου δεν επηρεάζει τον engine (ισότροπη διάδοση)
+    }
+
+    private void resolve(long now, long[] busyMs) {
+        for (Unit unit : units) {
+            if (!unit.busy) continue;
+            if (unit.effectAt >= 0 && now >= unit.effectAt) {
+                extinguish(unit);
+                unit.effectAt = -1;
+            }
+            if (now >= unit.idleAt) {
+                unit.busy = false;
+                busyMs[unit.type.ordinal()] += unit.idleAt - unit.dispatchedAt;
+            }
+        }
+    }
+
+    private void extinguish(Unit unit) {
+        switch (unit.type) {
+            case AIRCRAFT:
+                for (int dx = -1; dx <= 1; dx++) {
+                    for (int dy = -1; dy <= 1; dy++) {
+                        engine.extinguish(unit.targetX + dx, unit.targetY + dy, unit.type.effectiveness);
+                    }
+                }
+                break;
+            case CREW:
+                // Μόνο οι ομάδες κατάσβεσης στέλνουν EXTINGUISH· πρόληψη/εξυγίανση δεν αγγίζουν το δάσος
+                if ("suppression".equals(unit.specialty)) {
+                    engine.extinguish(unit.targetX, unit.targetY, unit.type.effectiveness);
+                }
+                break;
+            default:
+                engine.extinguish(unit.targetX, unit.targetY, unit.type.effectiveness);
+        }
+    }
+
+    // Κάθε ελεύθερη μονάδα πηγαίνει στην πλησιέστερη εστία που δεν έχει ήδη πάρει άλλη
+    private void dispatch(long now) {
+        boolean anyIdle = false;
+        for (Unit unit : units) {
+            if (!unit.busy) {
+                anyIdle = true;
+                break;
+            }
+        }
+        if (!anyIdle) return;
+
+        int width = engine.getWidth();
+        int[] burning = new int[Math.max(16, engine.getBurningCount())];
+        int count = 0;
+        for (int y = 1; y <= engine.getHeight(); y++) {
+            for (int x = 1; x <= width; x++) {
+                if (engine.isBurning(x, y) && count < burning.length) {
+                    burning[count++] = engine.index(x, y);
+                }
+            }
+        }
+        if (count == 0) return;
+
+        boolean[] claimed = new boolean[count];
+        for (Unit unit : units) {
+            if (unit.busy) continue;
+
+            int best = -1, bestDistance = Integer.MAX_VALUE;
+            boolean bestClaimed = true;
+            for (int n = 0; n < count; n++) {
+                int distance = steps(unit.baseX, unit.baseY, engine.cellX(burning[n]), engine.cellY(burning[n]));
+                if ((bestClaimed && !claimed[n]) || (bestClaimed == claimed[n] && distance < bestDistance)) {
+                    best = n;
+                    bestDistance = distance;
+                    bestClaimed = claimed[n];
+                }
+            }
+            claimed[best] = true;
+            start(unit, engine.cellX(burning[best]), engine.cellY(burning[best]), bestDistance, now);
+        }
+    }
+
+    private void start(Unit unit, int targetX, int targetY, int distance, long now) {
+        long travel = (long) distance * unit.type.stepDelay;
+        long work;
+        long afterReturn = 0;
+
+        switch (unit.type) {
+            case TRUCK:
+                work = 8000;
+                break;
+            case AIRCRAFT:
+                work = 0;
+                unit.water -= Math.min(unit.water, 300);
+                if (unit.water < 500) { // κάτω από 50% της χωρητικότητας: ανεφοδιασμός
+                    afterReturn = 10000;
+                    unit.water = 1000;
+                }
+                break;
+            case HELICOPTER:
+                work = 0;
+                afterReturn = 5000; // πάντα ανεφοδιασμός μετά τη ρίψη
+                break;
+            default:
+                work = "suppression".equals(unit.specialty) ? 12000 :
+                       "prevention".equals(unit.specialty) ? 15000 : 20000;
+                if (unit.fatigue + 20 >= 80) {
+                    afterReturn = 30000; // ανάπαυση
+                    unit.fatigue = Math.max(0, unit.fatigue + 20 - 40);
+                } else {
+                    unit.fatigue += 20;
+                }
+        }
+
+        unit.busy = true;
+        unit.targetX = targetX;
+        unit.targetY = targetY;
+        unit.dispatchedAt = now;
+        unit.effectAt = now + travel + work;
+        unit.idleAt = unit.effectAt + travel + afterReturn;
+    }
+
+    // Ευθεία κίνηση κελί-κελί όπως στον MotionScheduler
+    private static int steps(int fromX, int fromY, int toX, int toY) {
+        return Math.max(Math.abs(toX - fromX), Math.abs(toY - fromY));
+    }
+}
@@ -0,0 +1,183 @@
+package simulation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import utils.GridManager;
+
+/**
+ * Monte Carlo ensemble of the scenario: many independent EnsembleRuns with
+ * different seeds and weather, one per core at a time. Each result is added
+ * to the burn-probability map and runs.csv as soon as it finishes. At the end
+ * the runner writes the distributions of burned area, time to containment and
+ * unit utilisation.
+ *
+ *   java -cp bin simulation.EnsembleRunner [runs] [custom trucks aircraft helicopters crews]
+ *
+ * -Dfire.seed=N fixes the base seed. Run i always gets the same seed, so its
+ * result does not depend on the thread count. -Densemble.threads=N sets the
+ * pool size, -Densemble.out=DIR the output folder (default "ensemble"), and
+ * -Densemble.hours=H the simulated cut-off per run.
+ */
+public final class EnsembleRunner {
+
+    private EnsembleRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = 100;
+        int numTrucks = 4, numAircraft = 2, numHelicopters = 1, numCrews = 6;
+
+        if (args.length >= 1) {
+            try {
+                runs = Integer.parseInt(args[0]);
+            } catch (NumberFormatException e) {
+                System.err.println("❌ Invalid run count, using " + runs);
+            }
+        }
+        if (args.length >= 6 && "custom".equals(args[1])) {
+            try {
+                numTrucks = Integer.parseInt(args[2]);
+                numAircraft = Integer.parseInt(args[3]);
+                numHelicopters = Integer.parseInt(args[4]);
+                numCrews = Integer.parseInt(args[5]);
+            } catch (NumberFormatException e) {
+                System.err.println("❌ Invalid resource numbers, using defaults");
+            }
+        }
+
+        long baseSeed = Long.getLong("fire.seed", System.nanoTime());
+        int threads = Integer.getInteger("ensemble.threads", java.lang.Runtime.getRuntime().availableProcessors());
+        long maxMs = (long) (Double.parseDouble(System.getProperty("ensemble.hours", "4")) * 3600_000L);
+        File out = new File(System.getProperty("ensemble.out", "ensemble"));
+        if (!out.isDirectory() && !out.mkdirs()) {
+            throw new IOException("Cannot create output directory " + out);
+        }
+
+        System.out.println("🎲 ENSEMBLE: " + runs + " εκτελέσεις σε " + threads + " νήματα, seed " + baseSeed);
+        System.out.println("├─ Πυροσβεστικά Οχήματα: " + numTrucks);
+        System.out.println("├─ Αεροσκάφη: " + numAircraft);
+        System.out.println("├─ Ελικόπτερα: " + numHelicopters);
+        System.out.println("└─ Επίγειες Ομάδες: " + numCrews);
+
+        BurnProbabilityMap map = new BurnProbabilityMap(GridManager.GRID_SIZE, GridManager.GRID_SIZE);
+        List<EnsembleRun.Result> results = new ArrayList<>(runs);
+        long wallStart = System.currentTimeMillis();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try (PrintWriter csv = new PrintWriter(new File(out, "runs.csv"), StandardCharsets.UTF_8.name())) {
+            CompletionService<EnsembleRun.Result> completion = new ExecutorCompletionService<>(pool);
+            for (int run = 0; run < runs; run++) {
+                final int index = run;
+                final long seed = runSeed(baseSeed, run);
+                final int trucks = numTrucks, aircraft = numAircraft, helicopters = numHelicopters, crews = numCrews;
+                completion.submit(() -> new EnsembleRun(index, seed, trucks, aircraft, helicopters, crews, maxMs).call());
+            }
+
+            csv.println("run,seed,burned_cells,contained,containment_s,simulated_s," +
+                        "wind,humidity,temperature,util_trucks,util_aircraft,util_helicopters,util_crews");
+            int step = Math.max(1, runs / 10);
+            for (int done = 1; done <= runs; done++) {
+                EnsembleRun.Result result = completion.take().get();
+                map.add(result.burned);
+                results.add(result);
+                csv.println(toCsv(result));
+
+                if (done % step == 0 || done == runs) {
+                    csv.flush();
+                    System.out.println("📊 " + done + "/" + runs + " εκτελέσεις (" +
+                                       (System.currentTimeMillis() - wallStart) + "ms)");
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        map.writeAsciiGrid(new File(out, "burn_probability.asc"));
+        String summary = summarize(results, map, System.currentTimeMillis() - wallStart);
+        try (PrintWriter writer = new PrintWriter(new File(out, "summary.txt"), StandardCharsets.UTF_8.name())) {
+            writer.print(summary);
+        }
+        System.out.print(summary);
+        System.out.println("💾 Αποτελέσματα στο " + out.getPath() + " (burn_probability.asc, runs.csv, summary.txt)");
+    }
+
+    // SplitMix64 του (seed, run): ανεξάρτητες ροές, ίδιες για κάθε αριθμό νημάτων
+    static long runSeed(long baseSeed, int run) {
+        long z = baseSeed + (run + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String toCsv(EnsembleRun.Result r) {
+        StringBuilder line = new StringBuilder();
+        line.append(r.run).append(',').append(r.seed).append(',').append(r.burnedArea).append(',')
+            .append(r.containedAt >= 0).append(',')
+            .append(r.containedAt >= 0 ? String.valueOf(r.containedAt / 1000) : "").append(',')
+            .append(r.simulatedMs / 1000).append(',')
+            .append(String.format(Locale.ROOT, "%.2f", r.initialWind)).append(',')
+            .append(r.initialHumidity).append(',').append(r.initialTemperature);
+        for (EnsembleRun.UnitType type : EnsembleRun.UnitType.values()) {
+            line.append(',').append(String.format(Locale.ROOT, "%.3f", r.utilisation(type)));
+        }
+        return line.toString();
+    }
+
+    private static String summarize(List<EnsembleRun.Result> results, BurnProbabilityMap map, long wallMs) {
+        int n = results.size();
+        double[] burned = new double[n];
+        double[] containment = new double[n];
+        int contained = 0;
+        for (int i = 0; i < n; i++) {
+            EnsembleRun.Result r = results.get(i);
+            burned[i] = r.burnedArea;
+            if (r.containedAt >= 0) {
+                containment[contained++] = r.containedAt / 60000.0;
+            }
+        }
+
+        StringBuilder s = new StringBuilder();
+        s.append("\n🎲 === ENSEMBLE ").append(n).append(" εκτελέσεων σε ").append(wallMs).append("ms ===\n");
+        s.append(String.format(Locale.ROOT, "🔥 Μέση πιθανότητα καύσης: %.4f%n", map.meanProbability()));
+        s.append("🌲 Καμένα κελιά:          ").append(distribution(burned, n)).append('\n');
+        s.append("⏱️ Περιορισμός (λεπτά):   ").append(contained == 0 ? "καμία εκτέλεση" : distribution(containment, contained))
+         .append(" [").append(contained).append('/').append(n).append(" περιορίστηκαν]\n");
+        for (EnsembleRun.UnitType type : EnsembleRun.UnitType.values()) {
+            double[] utilisation = new double[n];
+            for (int i = 0; i < n; i++) {
+                utilisation[i] = results.get(i).utilisation(type);
+            }
+            s.append(String.format(Locale.ROOT, "🚒 Αξιοποίηση %-10s  ", type)).append(distribution(utilisation, n)).append('\n');
+        }
+        return s.toString();
+    }
+
+    // mean και p10/p50/p90/max ενός δείγματος
+    private static String distribution(double[] values, int count) {
+        if (count == 0) return "-";
+        double[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        double sum = 0;
+        for (double v : sorted) {
+            sum += v;
+        }
+        return String.format(Locale.ROOT, "mean %.2f  min %.2f  p10 %.2f  p50 %.2f  p90 %.2f  max %.2f",
+                             sum / count, sorted[0], percentile(sorted, 0.10), percentile(sorted, 0.50),
+                             percentile(sorted, 0.90), sorted[count - 1]);
+    }
+
+    private static double percentile(double[] sorted, double q) {
+        int index = (int) Math.ceil(q * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,382 @@
+package simulation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only binary journal of every state-changing event of a run:
+ * ignitions, spread, burn-out, suppression, deployments, unit positions,
+ * weather and emergencies.
+ *
+ * The file is written through memory-mapped segments of SEGMENT_BYTES. An
+ * append is a short synchronized copy into the current segment, never a
+ * system call. A daemon thread forces the written pages to disk every
+ * FLUSH_MS and maps the next segment ahead of time. Unit names are written
+ * once in a UNIT record and referenced by a 2-byte id afterwards.
+ *
+ * Layout (big-endian): a HEADER_BYTES header, then records of
+ * [kind byte][simulation time int ms][payload]. A record never crosses a
+ * segment boundary; the zero bytes left at the end of a segment (or of the
+ * file after a crash) read as PAD. JournalReader decodes the format.
+ *
+ * Agents write through current(), which is a disabled journal unless
+ * MainContainer opened one (-Dsim.journal).
+ */
+public final class EventJournal {
+    public static final int MAGIC = 0x464A524E; // "FJRN"
+    public static final short VERSION = 1;
+    public static final int HEADER_BYTES = 64;
+    public static final int SEGMENT_BYTES = 4 << 20;
+    static final int DATA_END_OFFSET = 32;
+    static final long FLUSH_MS = 1000;
+
+    // Είδη εγγραφών
+    public static final byte PAD = 0;
+    public static final byte UNIT = 1;          // id, όνομα, τύπος μονάδας
+    public static final byte IGNITION = 2;      // x, y, ένταση, αιτία
+    public static final byte SPREAD = 3;        // x, y, ένταση
+    public static final byte BURNED_OUT = 4;    // x, y
+    public static final byte SUPPRESSION = 5;   // μονάδα, μέθοδος, x, y
+    public static final byte EXTINGUISHED = 6;  // x, y
+    public static final byte DEPLOY = 7;        // μονάδα, είδος μονάδας, x, y
+    public static final byte POSITION = 8;      // μονάδα, x, y
+    public static final byte WEATHER = 9;       // άνεμος, υγρασία, θερμοκρασία, κατεύθυνση
+    public static final byte EMERGENCY = 10;    // 1 κήρυξη, 0 άρση
+
+    // Αιτίες ανάφλεξης
+    public static final byte HOTSPOT = 0;
+    public static final byte REIGNITION = 1;
+
+    private static final int RECORD_HEADER = 1 + 4;
+    private static final EventJournal DISABLED = new EventJournal();
+    private static volatile EventJournal current = DISABLED;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final EventKernel kernel;
+    private final boolean enabled;
+
+    // Κατάσταση εγγραφής, υπό το monitor του journal
+    private MappedByteBuffer segment;
+    private long segmentStart;
+    private int position;
+    private MappedByteBuffer nextSegment; // χαρτογραφημένο από τον flusher
+    private final List<MappedByteBuffer> retired = new ArrayList<>();
+    private final Map<String, Integer> unitIds = new HashMap<>();
+    private final Map<String, String> unitTypes = new HashMap<>();
+    private long records = 0;
+    private boolean closed = false;
+
+    private final Thread flusher;
+    private final MotionScheduler.Listener positionListener = this::positions;
+
+    private EventJournal() {
+        path = null;
+        channel = null;
+        kernel = null;
+        enabled = false;
+        flusher = null;
+    }
+
+    private EventJournal(Path path, long seed, int width, int height) throws IOException {
+        this.path = path;
+        this.enabled = true;
+        this.kernel = EventKernel.getInstance();
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = map(0);
+        segment.putInt(MAGIC);
+        segment.putShort(VERSION);
+        segment.putShort((short) HEADER_BYTES);
+        segment.putLong(System.currentTimeMillis());
+        segment.putLong(seed);
+        segment.putShort((short) width);
+        segment.putShort((short) height);
+        segment.putInt(SEGMENT_BYTES);
+        segment.putLong(0L); // μήκος δεδομένων, γράφεται στο close(); 0 = δεν έκλεισε κανονικά
+        position = HEADER_BYTES;
+
+        flusher = new Thread(this::flushLoop, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /** Creates the file and makes it the journal agents write to. */
+    public static synchronized EventJournal open(Path path, long seed, int width, int height) throws IOException {
+        if (current.enabled) {
+            throw new IllegalStateException("Event journal already open: " + current.path);
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        EventJournal journal = new EventJournal(path, seed, width, height);
+        MotionScheduler.getInstance().addListener(journal.positionListener);
+        current = journal;
+        return journal;
+    }
+
+    /** The open journal, or a disabled one whose methods do nothing. */
+    public static EventJournal current() {
+        return current;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // ========== ΓΕΓΟΝΟΤΑ ==========
+
+    public void ignition(int x, int y, int intensity, byte cause) {
+        if (!enabled) return;
+        synchronized (this) {
+            ByteBuffer out = begin(IGNITION, 2 + 2 + 1 + 1);
+            if (out == null) return;
+            out.putShort((short) x).putShort((short) y).put(intensityByte(intensity)).put(cause);
+        }
+    }
+
+    public void spread(int x, int y, int intensity) {
+        if (!enabled) return;
+        synchronized (this) {
+            ByteBuffer out = begin(SPREAD, 2 + 2 + 1);
+            if (out == null) return;
+            out.putShort((short) x).putShort((short) y).put(intensityByte(intensity));
+        }
+    }
+
+    public void burnedOut(int x, int y) {
+        if (!enabled) return;
+        synchronized (this) {
+            ByteBuffer out = begin(BURNED_OUT, 2 + 2);
+            if (out == null) return;
+            out.putShort((short) x).putShort((short) y);
+        }
+    }
+
+    /** A unit works a cell (method as in protocol.Extinguish). */
+    public void suppression(String unit, byte method, int x, int y) {
+        if (!enabled) return;
+        synchronized (this) {
+            int id = unitId(unit, null);
+            ByteBuffer out = begin(SUPPRESSION, 2 + 1 + 2 + 2);
+            if (out == null) return;
+            out.putShort((short) id).put(method).putShort((short) x).putShort((short) y);
+        }
+    }
+
+    public void extinguished(int x, int y) {
+        if (!enabled) return;
+        synchronized (this) {
+            ByteBuffer out = begin(EXTINGUISHED, 2 + 2);
+            if (out == null) return;
+            out.putShort((short) x).putShort((short) y);
+        }
+    }
+
+    /** Deployment order (unitKind as protocol.FireMessage.UNIT_*). */
+    public void deploy(String unit, byte unitKind, int x, int y) {
+        if (!enabled) return;
+        synchronized (this) {
+            int id = unitId(unit, null);
+            ByteBuffer out = begin(DEPLOY, 2 + 1 + 2 + 2);
+            if (out == null) return;
+            out.putShort((short) id).put(unitKind).putShort((short) x).putShort((short) y);
+        }
+    }
+
+    public void weather(double windSpeed, int humidity, int temperature, String windDirection) {
+        if (!enabled) return;
+        byte[] direction = windDirection.getBytes(StandardCharsets.UTF_8);
+        synchronized (this) {
+            ByteBuffer out = begin(WEATHER, 4 + 1 + 1 + 1 + direction.length);
+            if (out == null) return;
+            out.putFloat((float) windSpeed).put((byte) humidity).put((byte) temperature)
+               .put((byte) direction.length).put(direction);
+        }
+    }
+
+    public void emergency(boolean declared) {
+        if (!enabled) return;
+        synchronized (this) {
+            ByteBuffer out = begin(EMERGENCY, 1);
+            if (out == null) return;
+            out.put((byte) (declared ? 1 : 0));
+        }
+    }
+
+    // MotionScheduler listener: κάθε βήμα κάθε μονάδας, στο νήμα του kernel
+    private void positions(PositionBatch batch) {
+        synchronized (this) {
+            for (int i = 0; i < batch.size(); i++) {
+                int id = unitId(batch.getUnit(i), batch.getType(i));
+                ByteBuffer out = begin(POSITION, 2 + 2 + 2);
+                if (out == null) return;
+                out.putShort((short) id).putShort((short) batch.getX(i)).putShort((short) batch.getY(i));
+            }
+        }
+    }
+
+    // ========== ΚΛΕΙΣΙΜΟ ==========
+
+    /** Stops the flusher, records the data length in the header and forces everything to disk. */
+    public void close() {
+        if (!enabled) return;
+        synchronized (EventJournal.class) {
+            if (current == this) {
+                current = DISABLED;
+            }
+        }
+        MotionScheduler.getInstance().removeListener(positionListener);
+        flusher.interrupt();
+
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            long end = segmentStart + position;
+            try {
+                MappedByteBuffer first = segmentStart == 0 ? segment : map(0);
+                first.putLong(DATA_END_OFFSET, end);
+                first.force();
+                segment.force();
+                for (MappedByteBuffer old : retired) {
+                    old.force();
+                }
+                retired.clear();
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("EventJournal: σφάλμα κλεισίματος " + path + ": " + e);
+            }
+        }
+    }
+
+    public synchronized long getRecordCount() {
+        return records;
+    }
+
+    public synchronized long getBytesWritten() {
+        return segmentStart + position;
+    }
+
+    // ========== ΕΣΩΤΕΡΙΚΑ ==========
+
+    // Θέση για μία εγγραφή στο τρέχον segment, με την κεφαλίδα της ήδη γραμμένη
+    private ByteBuffer begin(byte kind, int payload) {
+        if (closed) return null;
+        int size = RECORD_HEADER + payload;
+        if (position + size > SEGMENT_BYTES) {
+            try {
+                nextSegment();
+            } catch (IOException e) {
+                System.err.println("EventJournal: αδύνατη η επέκταση του " + path + ": " + e);
+                closed = true;
+                return null;
+            }
+        }
+        records++;
+        ByteBuffer out = segment;
+        out.position(position);
+        position += size;
+        return out.put(kind).putInt((int) kernel.now());
+    }
+
+    // Ό,τι περισσεύει στο τέλος του segment μένει μηδενικά = PAD
+    private void nextSegment() throws IOException {
+        MappedByteBuffer next = nextSegment;
+        nextSegment = null;
+        if (next == null) {
+            next = map(segmentStart + SEGMENT_BYTES); // ο flusher δεν πρόλαβε
+        }
+        retired.add(segment);
+        segment = next;
+        segmentStart += SEGMENT_BYTES;
+        position = 0;
+    }
+
+    private int unitId(String name, String type) {
+        Integer id = unitIds.get(name);
+        boolean typeLearned = type != null && !type.equals(unitTypes.get(name));
+        if (id != null && !typeLearned) return id;
+
+        if (id == null) {
+            id = unitIds.size();
+            unitIds.put(name, id);
+        }
+        if (type != null) {
+            unitTypes.put(name, type);
+        }
+
+        // Δήλωση (ή επαναδήλωση με τον τύπο) πριν από την πρώτη χρήση του id
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] typeBytes = (type != null ? type : "").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer out = begin(UNIT, 2 + 1 + nameBytes.length + 1 + typeBytes.length);
+        if (out != null) {
+            out.putShort((short) (int) id).put((byte) nameBytes.length).put(nameBytes)
+               .put((byte) typeBytes.length).put(typeBytes);
+        }
+        return id;
+    }
+
+    // Ένα byte χωρίς πρόσημο (ο reader κάνει & 0xff): μεγαλύτερες εντάσεις κόβονται στο 255
+    private static byte intensityByte(int intensity) {
+        return (byte) Math.max(0, Math.min(0xff, intensity));
+    }
+
+    private MappedByteBuffer map(long start) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, start, SEGMENT_BYTES);
+    }
+
+    private void flushLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(FLUSH_MS);
+
+                MappedByteBuffer active;
+                List<MappedByteBuffer> done;
+                boolean needNext;
+                long nextStart;
+                synchronized (this) {
+                    if (closed) return;
+                    active = segment;
+                    done = new ArrayList<>(retired);
+                    retired.clear();
+                    needNext = nextSegment == null;
+                    nextStart = segmentStart + SEGMENT_BYTES;
+                }
+
+                // Εκτός κλειδαριάς: οι agents συνεχίζουν να γράφουν όσο γίνεται το I/O
+                for (MappedByteBuffer old : done) {
+                    old.force();
+                }
+                active.force();
+
+                if (needNext) {
+                    MappedByteBuffer next = map(nextStart);
+                    synchronized (this) {
+                        if (nextSegment == null && segmentStart + SEGMENT_BYTES == nextStart) {
+                            nextSegment = next;
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("EventJournal: σφάλμα flush " + path + ": " + e);
+        }
+    }
+}
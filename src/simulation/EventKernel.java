@@ -0,0 +1,278 @@
+package simulation;
+
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Discrete-event kernel: one priority queue of (time, sequence) events on the
+ * SimulationClock, dispatched in order by a single thread. Agents schedule
+ * their tickers, wakers and mission phases here instead of on the wall clock.
+ *
+ * In FAST mode time only moves forward when the system is quiet: no hold()
+ * is outstanding (a woken agent has not yet run its handler) and every
+ * registered quiescence probe, typically "this agent's mailbox is empty",
+ * agrees. Events at the same instant are dispatched without waiting.
+ */
+public final class EventKernel {
+    private static final long SETTLE_MS = 300;        // FAST: ησυχία πριν το πρώτο event (setup των agents)
+    private static final long QUIET_TIMEOUT_MS = 2000; // FAST: μετά από τόσο, ένα event περνά παρά την αναμονή
+
+    private static EventKernel instance;
+
+    /** A scheduled action; repeating events keep their identity between runs. */
+    public static final class Event implements Comparable<Event> {
+        private long time;
+        private long sequence;
+        private final long period;
+        private final Runnable action;
+        private volatile boolean cancelled = false;
+
+        private Event(long time, long sequence, long period, Runnable action) {
+            this.time = time;
+            this.sequence = sequence;
+            this.period = period;
+            this.action = action;
+        }
+
+        public void cancel() { cancelled = true; }
+
+        public long getTime() { return time; }
+
+        @Override
+        public int compareTo(Event other) {
+            if (time != other.time) return Long.compare(time, other.time);
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final SimulationClock clock;
+    private final Object lock = new Object();
+    private final PriorityQueue<Event> queue = new PriorityQueue<>();
+    private final List<BooleanSupplier> probes = new CopyOnWriteArrayList<>();
+    private long sequence = 0;
+    private int holds = 0;
+    private volatile long dispatched = 0;
+    private Thread dispatcher;
+
+    public EventKernel(SimulationClock clock) {
+        this.clock = clock;
+    }
+
+    /** Picks the clock before first use; afterwards the mode is fixed. */
+    public static synchronized void configure(SimulationClock.Mode mode, double speed) {
+        if (instance != null) {
+            throw new IllegalStateException("Event kernel already created in " + instance.clock.getMode() + " mode");
+        }
+        instance = new EventKernel(new SimulationClock(mode, speed));
+    }
+
+    /** Like configure(), from -Dsim.mode/-Dsim.speed, with the clock starting at time (a resumed checkpoint). */
+    public static synchronized void resumeAt(long time) {
+        if (instance != null) {
+            throw new IllegalStateException("Event kernel already created in " + instance.clock.getMode() + " mode");
+        }
+        instance = new EventKernel(SimulationClock.fromSystemProperties(time));
+    }
+
+    /**
+     * Shared kernel, configured from -Dsim.mode/-Dsim.speed if configure() was
+     * not called. A PACED kernel starts dispatching at once; a FAST one waits
+     * for start(), so that agents created before it get their first events in.
+     */
+    public static synchronized EventKernel getInstance() {
+        if (instance == null) {
+            instance = new EventKernel(SimulationClock.fromSystemProperties());
+        }
+        if (!instance.clock.isFast()) {
+            instance.start();
+        }
+        return instance;
+    }
+
+    public synchronized void start() {
+        if (dispatcher != null) return;
+        dispatcher = new Thread(this::run, "event-kernel");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    public synchronized void stop() {
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            dispatcher = null;
+        }
+    }
+
+    public Event schedule(long delayMs, Runnable action) {
+        return add(delayMs, 0, action);
+    }
+
+    /** First run after one period, then every period of simulation time. */
+    public Event scheduleRepeating(long periodMs, Runnable action) {
+        if (periodMs <= 0) {
+            throw new IllegalArgumentException("Period must be positive: " + periodMs);
+        }
+        return add(periodMs, periodMs, action);
+    }
+
+    private Event add(long delayMs, long period, Runnable action) {
+        synchronized (lock) {
+            Event event = new Event(clock.now() + Math.max(0, delayMs), sequence++, period, action);
+            queue.add(event);
+            lock.notifyAll();
+            return event;
+        }
+    }
+
+    /** Keeps FAST time from advancing until the matching release(). */
+    public void hold() {
+        synchronized (lock) {
+            holds++;
+        }
+    }
+
+    public void release() {
+        synchronized (lock) {
+            if (holds > 0) {
+                holds--;
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /** FAST mode advances time only while every probe returns true. */
+    public void addQuiescenceProbe(BooleanSupplier probe) {
+        probes.add(probe);
+    }
+
+    public void removeQuiescenceProbe(BooleanSupplier probe) {
+        probes.remove(probe);
+    }
+
+    public long now() {
+        return clock.now();
+    }
+
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    public long getDispatchedCount() {
+        return dispatched;
+    }
+
+    public int getPendingCount() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    // ========== ΝΗΜΑ ΔΙΑΝΟΜΗΣ ==========
+
+    private void run() {
+        try {
+            if (clock.isFast()) {
+                settle();
+            }
+            while (!Thread.currentThread().isInterrupted()) {
+                Event event = nextDue();
+                try {
+                    event.action.run();
+                } catch (RuntimeException e) {
+                    System.err.println("EventKernel: σφάλμα event t=" + event.time + ": " + e);
+                    e.printStackTrace();
+                }
+                dispatched++;
+
+                if (event.period > 0 && !event.cancelled) {
+                    synchronized (lock) {
+                        event.time += event.period;
+                        event.sequence = sequence++;
+                        queue.add(event);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Event nextDue() throws InterruptedException {
+        long quietSince = -1;
+        while (true) {
+            synchronized (lock) {
+                Event next = queue.peek();
+                if (next == null) {
+                    lock.wait();
+                    continue;
+                }
+                if (next.cancelled) {
+                    queue.poll();
+                    continue;
+                }
+
+                if (!clock.isFast()) {
+                    long wait = clock.wallDelayUntil(next.time);
+                    if (wait > 0) {
+                        lock.wait(wait);
+                        continue;
+                    }
+                    return queue.poll();
+                }
+
+                if (next.time <= clock.now() || isQuiet()) {
+                    clock.advanceTo(next.time);
+                    return queue.poll();
+                }
+
+                if (quietSince < 0) {
+                    quietSince = System.currentTimeMillis();
+                } else if (System.currentTimeMillis() - quietSince > QUIET_TIMEOUT_MS) {
+                    // Ένα μήνυμα που κανείς δεν διαβάζει δεν παγώνει τον χρόνο· περνά μόνο αυτό το event,
+                    // τα holds μένουν όπως είναι ώσπου οι agents να κάνουν release()
+                    System.err.println("EventKernel: χωρίς ησυχία για " + QUIET_TIMEOUT_MS + "ms στο t=" +
+                                       SimulationClock.format(clock.now()) + " (holds=" + holds + ") - συνέχεια");
+                    clock.advanceTo(next.time);
+                    return queue.poll();
+                }
+                if (holds > 0) {
+                    lock.wait(1);
+                    continue;
+                }
+            }
+            // Οι probes δεν ειδοποιούν· σύντομη αναμονή εκτός κλειδαριάς
+            LockSupport.parkNanos(20_000);
+        }
+    }
+
+    private boolean isQuiet() {
+        if (holds > 0) return false;
+        for (BooleanSupplier probe : probes) {
+            if (!probe.getAsBoolean()) return false;
+        }
+        return true;
+    }
+
+    // Οι agents που μόλις ξεκίνησαν κάνουν setup() ασύγχρονα· περιμένουμε να σταθεροποιηθεί η ουρά
+    private void settle() throws InterruptedException {
+        int lastSize = -1;
+        long stableSince = System.currentTimeMillis();
+        while (true) {
+            int size;
+            synchronized (lock) {
+                size = queue.size();
+            }
+            long now = System.currentTimeMillis();
+            if (size != lastSize) {
+                lastSize = size;
+                stableSince = now;
+            } else if (now - stableSince >= SETTLE_MS) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+    }
+}
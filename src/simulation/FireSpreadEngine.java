@@ -0,0 +1,722 @@
+package simulation;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Cellular-automaton fire spread over the whole forest grid.
+ * Tree state is kept in primitive arrays indexed by (y-1)*width + (x-1),
+ * so a 150x150 forest is a few hundred KB instead of 22.500 JADE agents.
+ * The burn/spread/destruction rules are the ones TreeAgent always used.
+ * Mutators are synchronized because TreeAgent facades and the grid owner
+ * touch the same engine from different agent threads.
+ * A tick is double-buffered and split into fixed row stripes that run on a
+ * ForkJoinPool, each with its own seeded random stream, so a given seed gives
+ * bit-for-bit the same forest for any number of threads.
+ * Only the active front (burning cells and their neighbours) is visited;
+ * stripes without any front cell sleep and cost nothing per tick.
+ */
+public class FireSpreadEngine {
+    public static final int TICK_MS = 2000; // ίδια περίοδος με το TickerBehaviour του TreeAgent
+    public static final int SPREAD_INTERVAL = 3; // διάδοση κάθε 3 ticks καύσης
+    public static final int MAX_INTENSITY = 10;
+    public static final int IGNITION_INTENSITY = 3;
+    public static final int STRIPE_ROWS = 8; // σταθερό, ανεξάρτητο από τον αριθμό νημάτων
+    private static final int PARALLEL_THRESHOLD = 256; // λίγες φλεγόμενες θέσεις: σειριακά
+
+    private final int width;
+    private final int height;
+
+    // Κατάσταση δέντρων (treeType 0 = κενό κελί), διπλό buffer για τα δυναμικά πεδία
+    private boolean[] burning;
+    private boolean[] destroyed;
+    private short[] burnTime;
+    private byte[] fireIntensity;
+    private boolean[] nextBurning;
+    private boolean[] nextDestroyed;
+    private short[] nextBurnTime;
+    private byte[] nextFireIntensity;
+    private final byte[] humidity;
+    private final byte[] temperature;
+    private final byte[] treeType;
+    private double windEffect = 1.0;
+
+    private final long seed;
+    private final Random random; // για εξωτερικά γεγονότα μεταξύ των ticks
+    private final int parallelism;
+    private final ForkJoinPool pool;
+    private final Stripe[] stripes;
+
+    // Ενεργό μέτωπο: φλεγόμενα κελιά + γείτονες, ένα bit ανά κελί
+    private long[] front;
+    private long[] nextFront;
+    private int frontSize = 0;
+    private long generation = 0;
+    private int burningCount = 0;
+    private int destroyedCount = 0;
+    private int treeCount = 0;
+
+    // Scratch buffers reused by every step
+    private int[] ignited;
+    private int ignitedCount = 0;
+    private int[] burnedOut;
+    private int burnedOutCount = 0;
+    private long lastTickNanos = 0;
+
+    public FireSpreadEngine(int width, int height, long seed) {
+        this(width, height, seed, java.lang.Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * With parallelism > 1 the engine owns a ForkJoinPool of that many
+     * workers; the caller (or the agent it is handed to) calls shutdown()
+     * once the engine is no longer stepped.
+     */
+    public FireSpreadEngine(int width, int height, long seed, int parallelism) {
+        this.width = width;
+        this.height = height;
+        int cells = width * height;
+
+        burning = new boolean[cells];
+        destroyed = new boolean[cells];
+        burnTime = new short[cells];
+        fireIntensity = new byte[cells];
+        nextBurning = new boolean[cells];
+        nextDestroyed = new boolean[cells];
+        nextBurnTime = new short[cells];
+        nextFireIntensity = new byte[cells];
+        humidity = new byte[cells];
+        temperature = new byte[cells];
+        treeType = new byte[cells];
+        front = new long[(cells + 63) >>> 6];
+        nextFront = new long[front.length];
+
+        ignited = new int[64];
+        burnedOut = new int[64];
+        this.seed = seed;
+        random = new Random(seed);
+
+        int stripeCount = (height + STRIPE_ROWS - 1) / STRIPE_ROWS;
+        stripes = new Stripe[stripeCount];
+        for (int s = 0; s < stripeCount; s++) {
+            stripes[s] = new Stripe(s, s * STRIPE_ROWS, Math.min(height, (s + 1) * STRIPE_ROWS) - 1);
+        }
+
+        this.parallelism = Math.max(1, parallelism);
+        pool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism) : null;
+    }
+
+    // ========== ΚΑΝΟΝΕΣ (κοινοί με TreeAgent) ==========
+
+    public static double ignitionChance(int humidity, int temperature, int treeType, double windEffect) {
+        double baseChance = 0.3; // βασική πιθανότητα 30%
+
+        // Επίδραση υγρασίας (λιγότερη υγρασία = περισσότερη πιθανότητα)
+        double humidityFactor = (100 - humidity) / 100.0;
+
+        // Επίδραση θερμοκρασίας
+        double tempFactor = Math.max(0.5, temperature / 40.0);
+
+        // Επίδραση τύπου δέντρου (πεύκα ανάβουν πιο εύκολα)
+        double typeFactor = (treeType == 1) ? 1.5 : (treeType == 2) ? 1.2 : 1.0;
+
+        return Math.min(0.95, baseChance * humidityFactor * tempFactor * typeFactor * windEffect);
+    }
+
+    public static int destructionTime(int treeType) {
+        // Διαφορετικός χρόνος καταστροφής ανά τύπο δέντρου
+        return (treeType == 1) ? 10 : (treeType == 2) ? 15 : 20;
+    }
+
+    // ========== ΔΑΣΩΣΗ ==========
+
+    public synchronized void plantTree(int x, int y, int type, int humidityPct, int temperatureC) {
+        int i = index(x, y);
+        if (treeType[i] == 0) {
+            treeCount++;
+        }
+        treeType[i] = (byte) type;
+        humidity[i] = (byte) humidityPct;
+        temperature[i] = (byte) temperatureC;
+        if (burning[i]) {
+            burningCount--;
+        }
+        if (destroyed[i]) {
+            destroyedCount--;
+        }
+        burning[i] = nextBurning[i] = false;
+        destroyed[i] = nextDestroyed[i] = false;
+        burnTime[i] = nextBurnTime[i] = 0;
+        fireIntensity[i] = nextFireIntensity[i] = 0;
+    }
+
+    // Τυχαίες παράμετροι για ρεαλισμό (ίδια εύρη με TreeAgent.setup)
+    public void plantRandomTree(int x, int y, Random rand) {
+        plantTree(x, y, 1 + rand.nextInt(3), 30 + rand.nextInt(40), 20 + rand.nextInt(20));
+    }
+
+    public void populateFull(Random rand) {
+        for (int y = 1; y <= height; y++) {
+            for (int x = 1; x <= width; x++) {
+                plantRandomTree(x, y, rand);
+            }
+        }
+    }
+
+    // count δέντρα σε τυχαία, διαφορετικά κελιά (ένα bit ανά κατειλημμένο κελί)
+    public void populateSample(int count, Random rand) {
+        int cells = width * height;
+        count = Math.min(count, cells);
+        BitSet occupied = new BitSet(cells);
+        for (int n = 0; n < count; n++) {
+            int i;
+            do {
+                i = rand.nextInt(cells);
+            } while (occupied.get(i));
+            occupied.set(i);
+            plantRandomTree(cellX(i), cellY(i), rand);
+        }
+    }
+
+    // ========== ΓΕΓΟΝΟΤΑ ==========
+
+    /** Unconditional ignition (e.g. a FireAgent hotspot). Returns true if the cell started burning. */
+    public synchronized boolean ignite(int x, int y, int intensity) {
+        if (!inBounds(x, y)) return false;
+        return igniteIndex(index(x, y), intensity);
+    }
+
+    /** FIRE_SPREAD semantics: roll the target's ignition chance. */
+    public synchronized boolean trySpreadTo(int x, int y) {
+        if (!inBounds(x, y)) return false;
+        int i = index(x, y);
+        if (!canIgnite(i)) return false;
+        if (random.nextDouble() < ignitionChance(i)) {
+            return igniteIndex(i, IGNITION_INTENSITY);
+        }
+        return false;
+    }
+
+    /**
+     * Resolves a whole tick of FIRE_SPREAD records in one pass, one ignition roll
+     * per record as if each were a separate message. Returns the cell indices that
+     * caught fire.
+     */
+    public synchronized int[] applySpreadBatch(SpreadBatch batch) {
+        int[] cells = new int[Math.min(batch.size(), 64)];
+        int count = 0;
+
+        for (int n = 0; n < batch.size(); n++) {
+            int target = batch.getTarget(n);
+            int x = SpreadBatch.cellX(target);
+            int y = SpreadBatch.cellY(target);
+            if (!inBounds(x, y)) continue;
+
+            int i = index(x, y);
+            if (canIgnite(i) && random.nextDouble() < ignitionChance(i) && igniteIndex(i, IGNITION_INTENSITY)) {
+                if (count == cells.length) {
+                    cells = Arrays.copyOf(cells, count * 2);
+                }
+                cells[count++] = i;
+            }
+        }
+        return Arrays.copyOf(cells, count);
+    }
+
+    /** EXTINGUISH semantics: success with the given probability resets the burn. */
+    public synchronized boolean extinguish(int x, int y, double effectiveness) {
+        if (!inBounds(x, y)) return false;
+        int i = index(x, y);
+        if (!burning[i]) return false;
+        if (random.nextDouble() < effectiveness) {
+            burning[i] = nextBurning[i] = false;
+            fireIntensity[i] = nextFireIntensity[i] = 0;
+            burnTime[i] = nextBurnTime[i] = 0;
+            burningCount--;
+            return true; // οι γείτονες μένουν στο μέτωπο και βγαίνουν στο επόμενο tick
+        }
+        return false;
+    }
+
+    /**
+     * Halo of a tile: one FIRE_SPREAD record for every neighbour outside this
+     * grid of a border cell that spreads in the coming step(). Call before
+     * step(); cells are in world coordinates (this grid starts at originX,
+     * originY), so the owner of each target can resolve it with
+     * applySpreadBatch like any other spread.
+     */
+    public synchronized void collectEdgeSpreads(SpreadBatch out, int originX, int originY) {
+        for (int y = 1; y <= height; y++) {
+            boolean edgeRow = y == 1 || y == height;
+            for (int x = 1; x <= width; x += edgeRow ? 1 : Math.max(1, width - 1)) {
+                int i = index(x, y);
+                if (!burning[i] || (burnTime[i] + 1) % SPREAD_INTERVAL != 0) continue;
+
+                int source = SpreadBatch.cell(x + originX - 1, y + originY - 1);
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dx = -1; dx <= 1; dx++) {
+                        int nx = x + dx, ny = y + dy;
+                        if (inBounds(nx, ny) || nx + originX - 1 < 1 || ny + originY - 1 < 1) continue;
+                        out.add(source, SpreadBatch.cell(nx + originX - 1, ny + originY - 1), fireIntensity[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    public synchronized void setWindEffect(double windEffect) {
+        this.windEffect = windEffect;
+    }
+
+    // WEATHER_UPDATE για όλο το δάσος
+    public synchronized void applyWeather(double wind, int humidityPct, int temperatureC) {
+        windEffect = wind;
+        Arrays.fill(humidity, (byte) humidityPct);
+        Arrays.fill(temperature, (byte) temperatureC);
+    }
+
+    // WEATHER_UPDATE για ένα κελί (TreeAgent facade)
+    public synchronized void applyCellWeather(int x, int y, int humidityPct, int temperatureC) {
+        if (!inBounds(x, y)) return;
+        int i = index(x, y);
+        humidity[i] = (byte) humidityPct;
+        temperature[i] = (byte) temperatureC;
+    }
+
+    // ========== ΒΗΜΑ ΠΡΟΣΟΜΟΙΩΣΗΣ ==========
+
+    /**
+     * Advances every burning tree by one tick: burn, spread every third tick,
+     * destruction after the per-type burn time. Returns the number of new ignitions.
+     * Reads only the previous generation and writes the next one, stripe by stripe,
+     * so the result is identical for any parallelism. Only front cells are written,
+     * so the cost follows the fire perimeter, not the forest area.
+     */
+    public synchronized int step() {
+        long start = System.nanoTime();
+
+        if (parallelism > 1 && frontSize >= PARALLEL_THRESHOLD) {
+            pool.invoke(new StripeTask(0, stripes.length));
+        } else {
+            for (Stripe stripe : stripes) {
+                if (stripe.awake) {
+                    stepStripe(stripe);
+                }
+            }
+        }
+
+        // Συγχώνευση αποτελεσμάτων με σταθερή σειρά λωρίδων
+        ignitedCount = 0;
+        burnedOutCount = 0;
+        for (Stripe stripe : stripes) {
+            if (!stripe.awake) continue;
+            ignited = appendAll(ignited, ignitedCount, stripe.ignited, stripe.ignitedCount);
+            ignitedCount += stripe.ignitedCount;
+            burnedOut = appendAll(burnedOut, burnedOutCount, stripe.burnedOut, stripe.burnedOutCount);
+            burnedOutCount += stripe.burnedOutCount;
+        }
+        burningCount += ignitedCount - burnedOutCount;
+        destroyedCount += burnedOutCount;
+
+        swapBuffers();
+        rebuildFront();
+        generation++;
+        lastTickNanos = System.nanoTime() - start;
+        return ignitedCount;
+    }
+
+    private void stepStripe(Stripe stripe) {
+        int from = stripe.firstRow * width;
+        int to = Math.min(stripe.lastRow * width + width, burning.length);
+
+        stripe.reset(seed, generation);
+
+        // Τα κελιά εκτός μετώπου έχουν ήδη ίδια τιμή και στα δύο buffers
+        for (int i = nextSetBit(front, from, to); i >= 0; i = nextSetBit(front, i + 1, to)) {
+            if (burning[i]) {
+                // Καύση
+                int time = burnTime[i] + 1;
+                nextBurnTime[i] = (short) time;
+                nextFireIntensity[i] = (byte) Math.min(MAX_INTENSITY, fireIntensity[i] + 1);
+
+                // Καταστροφή μετά από πολύ καύση
+                if (time >= destructionTime(treeType[i])) {
+                    nextDestroyed[i] = true;
+                    nextBurning[i] = false;
+                    stripe.addBurnedOut(i);
+                }
+            } else if (treeType[i] != 0 && !destroyed[i]) {
+                // Ένα FIRE_SPREAD από κάθε γειτονικό δέντρο που διαδίδει σε αυτό το tick
+                int spreads = spreadingNeighbours(i);
+                if (spreads > 0) {
+                    double chance = ignitionChance(i);
+                    for (int r = 0; r < spreads; r++) {
+                        if (stripe.nextDouble() < chance) {
+                            nextBurning[i] = true;
+                            nextFireIntensity[i] = IGNITION_INTENSITY;
+                            nextBurnTime[i] = 0;
+                            stripe.addIgnited(i);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private int spreadingNeighbours(int i) {
+        int cx = i % width;
+        int cy = i / width;
+        int count = 0;
+
+        for (int dy = -1; dy <= 1; dy++) {
+            int ny = cy + dy;
+            if (ny < 0 || ny >= height) continue;
+            for (int dx = -1; dx <= 1; dx++) {
+                if (dx == 0 && dy == 0) continue;
+                int nx = cx + dx;
+                if (nx < 0 || nx >= width) continue;
+
+                int n = ny * width + nx;
+                if (burning[n] && (burnTime[n] + 1) % SPREAD_INTERVAL == 0) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * After the swap the old buffer lags behind exactly on the cells written this
+     * tick, i.e. the front. Copy those back, then rebuild the front around the cells
+     * still burning. Every burning cell was on the old front, so this is O(front).
+     */
+    private void rebuildFront() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            if (!stripe.awake) continue;
+            int from = stripe.firstRow * width;
+            int to = Math.min(stripe.lastRow * width + width, burning.length);
+            for (int i = nextSetBit(front, from, to); i >= 0; i = nextSetBit(front, i + 1, to)) {
+                nextBurning[i] = burning[i];
+                nextDestroyed[i] = destroyed[i];
+                nextBurnTime[i] = burnTime[i];
+                nextFireIntensity[i] = fireIntensity[i];
+                if (burning[i]) {
+                    size += markNeighbourhood(nextFront, i, false);
+                }
+            }
+        }
+
+        for (Stripe stripe : stripes) {
+            if (!stripe.awake) continue;
+            int fromWord = (stripe.firstRow * width) >>> 6;
+            int toWord = (Math.min(stripe.lastRow * width + width, burning.length) - 1) >>> 6;
+            Arrays.fill(front, fromWord, toWord + 1, 0L);
+        }
+
+        long[] f = front; front = nextFront; nextFront = f;
+        for (Stripe stripe : stripes) {
+            stripe.awake = stripe.wakeNext;
+            stripe.wakeNext = false;
+        }
+        frontSize = size;
+    }
+
+    /**
+     * Puts the cell and its 8 neighbours on the front and wakes their stripes,
+     * now or for the next tick. Returns the number of cells newly added.
+     */
+    private int markNeighbourhood(long[] bits, int i, boolean now) {
+        int cx = i % width;
+        int cy = i / width;
+        int added = 0;
+
+        for (int ny = Math.max(0, cy - 1); ny <= Math.min(height - 1, cy + 1); ny++) {
+            for (int nx = Math.max(0, cx - 1); nx <= Math.min(width - 1, cx + 1); nx++) {
+                int n = ny * width + nx;
+                long bit = 1L << n;
+                if ((bits[n >>> 6] & bit) == 0) {
+                    bits[n >>> 6] |= bit;
+                    added++;
+                }
+            }
+            Stripe stripe = stripes[ny / STRIPE_ROWS];
+            if (now) {
+                stripe.awake = true;
+            } else {
+                stripe.wakeNext = true;
+            }
+        }
+        return added;
+    }
+
+    // Επόμενο ενεργό κελί στο [from, to), ή -1
+    private static int nextSetBit(long[] bits, int from, int to) {
+        if (from >= to) return -1;
+        int w = from >>> 6;
+        long word = bits[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                int i = (w << 6) + Long.numberOfTrailingZeros(word);
+                return i < to ? i : -1;
+            }
+            if (++w << 6 >= to) return -1;
+            word = bits[w];
+        }
+    }
+
+    private void swapBuffers() {
+        boolean[] b = burning; burning = nextBurning; nextBurning = b;
+        boolean[] d = destroyed; destroyed = nextDestroyed; nextDestroyed = d;
+        short[] t = burnTime; burnTime = nextBurnTime; nextBurnTime = t;
+        byte[] f = fireIntensity; fireIntensity = nextFireIntensity; nextFireIntensity = f;
+    }
+
+    private static int[] appendAll(int[] target, int targetCount, int[] source, int sourceCount) {
+        if (targetCount + sourceCount > target.length) {
+            target = Arrays.copyOf(target, Math.max(target.length * 2, targetCount + sourceCount));
+        }
+        System.arraycopy(source, 0, target, targetCount, sourceCount);
+        return target;
+    }
+
+    /** Deterministic fingerprint of the dynamic state (ordered hash over the cells), used to compare runs. */
+    public synchronized long checksum() {
+        long h = 1125899906842597L;
+        for (int i = 0; i < burning.length; i++) {
+            int v = (burning[i] ? 1 : 0) | (destroyed[i] ? 2 : 0) | (burnTime[i] << 2) | (fireIntensity[i] << 18);
+            h = 31 * h + v;
+        }
+        return h;
+    }
+
+    // ========== ΣΤΙΓΜΙΟΤΥΠΟ (Checkpoint) ==========
+
+    /**
+     * The whole forest as bytes: the static per-cell layers (type, humidity,
+     * temperature) raw, then only the cells that ever burned, as
+     * (index, flags, burnTime, intensity). A 150x150 forest is ~70 KB plus 8
+     * bytes per burned cell.
+     */
+    public synchronized byte[] saveState() {
+        int cells = burning.length;
+        int dynamic = 0;
+        for (int i = 0; i < cells; i++) {
+            if (burning[i] || destroyed[i] || burnTime[i] != 0 || fireIntensity[i] != 0) dynamic++;
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(2 + 2 + 8 + 8 + 3 * cells + 4 + dynamic * 8);
+        out.putShort((short) width).putShort((short) height);
+        out.putLong(generation);
+        out.putDouble(windEffect);
+        out.put(treeType).put(humidity).put(temperature);
+        out.putInt(dynamic);
+        for (int i = 0; i < cells; i++) {
+            if (burning[i] || destroyed[i] || burnTime[i] != 0 || fireIntensity[i] != 0) {
+                out.putInt(i);
+                out.put((byte) ((burning[i] ? 1 : 0) | (destroyed[i] ? 2 : 0)));
+                out.putShort(burnTime[i]);
+                out.put(fireIntensity[i]);
+            }
+        }
+        return out.array();
+    }
+
+    /**
+     * Rebuilds an engine from saveState(). Ticks continue exactly as in the
+     * original run (the stripe streams depend only on seed and generation);
+     * the stream for external events (trySpreadTo, extinguish) is reseeded
+     * from (seed, generation), since java.util.Random cannot be saved.
+     */
+    public static FireSpreadEngine fromState(long seed, ByteBuffer in) {
+        int width = in.getShort();
+        int height = in.getShort();
+        FireSpreadEngine engine = new FireSpreadEngine(width, height, seed);
+        engine.restoreState(in);
+        return engine;
+    }
+
+    private synchronized void restoreState(ByteBuffer in) {
+        generation = in.getLong();
+        windEffect = in.getDouble();
+        in.get(treeType).get(humidity).get(temperature);
+
+        treeCount = 0;
+        for (byte type : treeType) {
+            if (type != 0) treeCount++;
+        }
+
+        int dynamic = in.getInt();
+        for (int n = 0; n < dynamic; n++) {
+            int i = in.getInt();
+            byte flags = in.get();
+            burning[i] = nextBurning[i] = (flags & 1) != 0;
+            destroyed[i] = nextDestroyed[i] = (flags & 2) != 0;
+            burnTime[i] = nextBurnTime[i] = in.getShort();
+            fireIntensity[i] = nextFireIntensity[i] = in.get();
+            if (burning[i]) {
+                burningCount++;
+                frontSize += markNeighbourhood(front, i, true);
+            }
+            if (destroyed[i]) {
+                destroyedCount++;
+            }
+        }
+        random.setSeed(seed ^ (generation * 0x9E3779B97F4A7C15L));
+    }
+
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private final class StripeTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+
+        StripeTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                if (stripes[from].awake) {
+                    stepStripe(stripes[from]);
+                }
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new StripeTask(from, mid), new StripeTask(mid, to));
+            }
+        }
+    }
+
+    /**
+     * A fixed band of rows with its own SplitMix64 stream, reseeded from
+     * (engine seed, generation, stripe index) at the start of every tick.
+     */
+    private static final class Stripe {
+        final int index;
+        final int firstRow;
+        final int lastRow;
+        boolean awake; // false: κανένα κελί μετώπου, η λωρίδα δεν εξετάζεται
+        boolean wakeNext;
+        long rngState;
+        int[] ignited = new int[16];
+        int ignitedCount;
+        int[] burnedOut = new int[16];
+        int burnedOutCount;
+
+        Stripe(int index, int firstRow, int lastRow) {
+            this.index = index;
+            this.firstRow = firstRow;
+            this.lastRow = lastRow;
+        }
+
+        void reset(long seed, long generation) {
+            rngState = seed ^ (generation * 0x9E3779B97F4A7C15L) ^ ((index + 1) * 0xC2B2AE3D27D4EB4FL);
+            ignitedCount = 0;
+            burnedOutCount = 0;
+        }
+
+        double nextDouble() {
+            long z = (rngState += 0x9E3779B97F4A7C15L);
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            z = z ^ (z >>> 31);
+            return (z >>> 11) * 0x1.0p-53;
+        }
+
+        void addIgnited(int cell) {
+            if (ignitedCount == ignited.length) {
+                ignited = Arrays.copyOf(ignited, ignitedCount * 2);
+            }
+            ignited[ignitedCount++] = cell;
+        }
+
+        void addBurnedOut(int cell) {
+            if (burnedOutCount == burnedOut.length) {
+                burnedOut = Arrays.copyOf(burnedOut, burnedOutCount * 2);
+            }
+            burnedOut[burnedOutCount++] = cell;
+        }
+    }
+
+    private boolean canIgnite(int i) {
+        return treeType[i] != 0 && !burning[i] && !destroyed[i];
+    }
+
+    private double ignitionChance(int i) {
+        return ignitionChance(humidity[i], temperature[i], treeType[i], windEffect);
+    }
+
+    private boolean igniteIndex(int i, int intensity) {
+        if (!canIgnite(i)) return false;
+        burning[i] = nextBurning[i] = true;
+        fireIntensity[i] = nextFireIntensity[i] = (byte) Math.max(0, Math.min(Byte.MAX_VALUE, intensity));
+        burnTime[i] = nextBurnTime[i] = 0;
+        burningCount++;
+        frontSize += markNeighbourhood(front, i, true);
+
+        if (ignitedCount == ignited.length) {
+            ignited = Arrays.copyOf(ignited, ignitedCount * 2);
+        }
+        ignited[ignitedCount++] = i;
+        return true;
+    }
+
+    // ========== ΠΡΟΣΒΑΣΗ ==========
+
+    public int index(int x, int y) {
+        return (y - 1) * width + (x - 1);
+    }
+
+    public int cellX(int index) { return index % width + 1; }
+    public int cellY(int index) { return index / width + 1; }
+
+    public boolean inBounds(int x, int y) {
+        return x >= 1 && x <= width && y >= 1 && y <= height;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public long getGeneration() { return generation; }
+    public int getBurningCount() { return burningCount; }
+    public int getDestroyedCount() { return destroyedCount; }
+    public int getTreeCount() { return treeCount; }
+    public long getSeed() { return seed; }
+    public int getParallelism() { return parallelism; }
+    public long getLastTickNanos() { return lastTickNanos; }
+    public double getWindEffect() { return windEffect; }
+    public int getFrontSize() { return frontSize; }
+
+    public int getAwakeStripeCount() {
+        int awake = 0;
+        for (Stripe stripe : stripes) {
+            if (stripe.awake) awake++;
+        }
+        return awake;
+    }
+
+    public boolean hasTree(int x, int y) { return treeType[index(x, y)] != 0; }
+    public boolean isBurning(int x, int y) { return burning[index(x, y)]; }
+    public boolean isDestroyed(int x, int y) { return destroyed[index(x, y)]; }
+    public int getBurnTime(int x, int y) { return burnTime[index(x, y)]; }
+    public int getHumidity(int x, int y) { return humidity[index(x, y)]; }
+    public int getTemperature(int x, int y) { return temperature[index(x, y)]; }
+    public int getTreeType(int x, int y) { return treeType[index(x, y)]; }
+    public int getFireIntensity(int x, int y) { return fireIntensity[index(x, y)]; }
+
+    // Cells that ignited / burned out during the last step()
+    public int getIgnitedCount() { return ignitedCount; }
+    public int getIgnited(int n) { return ignited[n]; }
+    public int getBurnedOutCount() { return burnedOutCount; }
+    public int getBurnedOut(int n) { return burnedOut[n]; }
+}
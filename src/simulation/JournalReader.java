@@ -0,0 +1,299 @@
+package simulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ανάγνωση ενός EventJournal, εγγραφή προς εγγραφή.
+ * The file is mapped read-only one segment at a time. next() decodes the next
+ * record into the public fields of the reader (only the fields of that kind
+ * are meaningful) and returns its kind, or -1 at the end. UNIT records are
+ * applied to the name table as they are read, so unitName(unit) is valid for
+ * every later record.
+ *
+ * A journal that was not closed cleanly (dataEnd 0 in the header) is read up
+ * to its last complete record: the unwritten tail is zeros and reads as PAD.
+ *
+ * Usage: java -cp ... simulation.JournalReader <file> [--list]
+ */
+public final class JournalReader implements Closeable {
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long dataEnd;      // 0 αν το journal δεν έκλεισε κανονικά
+    private final int segmentBytes;
+
+    public final short version;
+    public final long wallStart;
+    public final long seed;
+    public final int width;
+    public final int height;
+
+    private MappedByteBuffer segment;
+    private long segmentStart;
+
+    private final List<String> unitNames = new ArrayList<>();
+    private final List<String> unitTypes = new ArrayList<>();
+
+    // Η τρέχουσα εγγραφή
+    public byte kind;
+    public long time;
+    public int x, y;
+    public int intensity;
+    public int unit;
+    public byte code;           // αιτία, μέθοδος, είδος μονάδας ή κήρυξη/άρση, ανάλογα με το kind
+    public float windSpeed;
+    public int humidity;
+    public int temperature;
+    public String text;         // κατεύθυνση ανέμου ή όνομα μονάδας
+
+    public JournalReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        fileSize = channel.size();
+        if (fileSize < EventJournal.HEADER_BYTES) {
+            channel.close();
+            throw new IOException("Not an event journal (too short): " + path);
+        }
+        ByteBuffer header = ByteBuffer.allocate(EventJournal.HEADER_BYTES);
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != EventJournal.MAGIC) {
+            channel.close();
+            throw new IOException("Not an event journal: " + path);
+        }
+        version = header.getShort();
+        if (version != EventJournal.VERSION) {
+            channel.close();
+            throw new IOException("Unsupported journal version " + version + ": " + path);
+        }
+        int headerBytes = header.getShort();
+        wallStart = header.getLong();
+        seed = header.getLong();
+        width = header.getShort();
+        height = header.getShort();
+        segmentBytes = header.getInt();
+        dataEnd = header.getLong();
+
+        segmentStart = 0;
+        segment = map(0);
+        segment.position(headerBytes);
+    }
+
+    /** True if the writer closed the journal; false after a crash. */
+    public boolean isComplete() {
+        return dataEnd > 0;
+    }
+
+    /** Byte offset of the next record, for seek(). */
+    public long position() {
+        return segmentStart + segment.position();
+    }
+
+    /** Continues reading at an offset returned by position(). The unit table is kept. */
+    public void seek(long offset) throws IOException {
+        long start = offset - offset % segmentBytes;
+        if (start != segmentStart) {
+            segmentStart = start;
+            segment = map(start);
+        }
+        segment.position((int) (offset - start));
+    }
+
+    /** Decodes the next record; returns its kind, or -1 at the end of the journal. */
+    public int next() throws IOException {
+        while (true) {
+            long at = segmentStart + segment.position();
+            if (dataEnd > 0 && at >= dataEnd) return -1;
+
+            if (segment.remaining() < 1 || segment.get(segment.position()) == EventJournal.PAD) {
+                // Τέλος segment (ή ανολοκλήρωτο αρχείο): συνέχεια στο επόμενο, αν υπάρχει
+                long next = segmentStart + segmentBytes;
+                if (dataEnd > 0 ? next >= dataEnd : next >= fileSize) return -1;
+                if (dataEnd == 0 && !hasMoreSegments()) return -1;
+                segmentStart = next;
+                segment = map(next);
+                continue;
+            }
+
+            ByteBuffer in = segment;
+            kind = in.get();
+            time = in.getInt() & 0xffffffffL;
+            switch (kind) {
+                case EventJournal.UNIT: {
+                    unit = in.getShort() & 0xffff;
+                    text = string(in);
+                    String type = string(in);
+                    while (unitNames.size() <= unit) {
+                        unitNames.add(null);
+                        unitTypes.add("");
+                    }
+                    unitNames.set(unit, text);
+                    if (!type.isEmpty()) {
+                        unitTypes.set(unit, type); // ξαναδιάβασμα μετά από seek: δεν ξεχνάμε τον τύπο
+                    }
+                    break;
+                }
+                case EventJournal.IGNITION:
+                    x = in.getShort();
+                    y = in.getShort();
+                    intensity = in.get() & 0xff;
+                    code = in.get();
+                    break;
+                case EventJournal.SPREAD:
+                    x = in.getShort();
+                    y = in.getShort();
+                    intensity = in.get() & 0xff;
+                    break;
+                case EventJournal.BURNED_OUT:
+                case EventJournal.EXTINGUISHED:
+                    x = in.getShort();
+                    y = in.getShort();
+                    break;
+                case EventJournal.SUPPRESSION:
+                case EventJournal.DEPLOY:
+                    unit = in.getShort() & 0xffff;
+                    code = in.get();
+                    x = in.getShort();
+                    y = in.getShort();
+                    break;
+                case EventJournal.POSITION:
+                    unit = in.getShort() & 0xffff;
+                    x = in.getShort();
+                    y = in.getShort();
+                    break;
+                case EventJournal.WEATHER:
+                    windSpeed = in.getFloat();
+                    humidity = in.get();
+                    temperature = in.get();
+                    text = string(in);
+                    break;
+                case EventJournal.EMERGENCY:
+                    code = in.get();
+                    break;
+                default:
+                    throw new IOException("Corrupt journal: unknown record kind " + kind + " at byte " + at);
+            }
+            return kind;
+        }
+    }
+
+    public String unitName(int id) {
+        return id < unitNames.size() ? unitNames.get(id) : null;
+    }
+
+    /** MotionScheduler type of the unit (FIRETRUCK, AIRCRAFT, ...), "" until it has moved. */
+    public String unitType(int id) {
+        return id < unitTypes.size() ? unitTypes.get(id) : "";
+    }
+
+    public static String kindName(int kind) {
+        switch (kind) {
+            case EventJournal.UNIT: return "UNIT";
+            case EventJournal.IGNITION: return "IGNITION";
+            case EventJournal.SPREAD: return "SPREAD";
+            case EventJournal.BURNED_OUT: return "BURNED_OUT";
+            case EventJournal.SUPPRESSION: return "SUPPRESSION";
+            case EventJournal.EXTINGUISHED: return "EXTINGUISHED";
+            case EventJournal.DEPLOY: return "DEPLOY";
+            case EventJournal.POSITION: return "POSITION";
+            case EventJournal.WEATHER: return "WEATHER";
+            case EventJournal.EMERGENCY: return "EMERGENCY";
+            default: return "KIND_" + kind;
+        }
+    }
+
+    /** One line for the current record. */
+    public String describe() {
+        String prefix = String.format("%9d ms  %-12s ", time, kindName(kind));
+        switch (kind) {
+            case EventJournal.UNIT:
+                return prefix + "#" + unit + " " + text + " " + unitType(unit);
+            case EventJournal.IGNITION:
+                return prefix + "(" + x + "," + y + ") ένταση " + intensity
+                       + (code == EventJournal.REIGNITION ? " αναζωπύρωση" : " εστία");
+            case EventJournal.SPREAD:
+                return prefix + "(" + x + "," + y + ") ένταση " + intensity;
+            case EventJournal.SUPPRESSION:
+                return prefix + unitName(unit) + " μέθοδος " + code + " (" + x + "," + y + ")";
+            case EventJournal.DEPLOY:
+                return prefix + unitName(unit) + " είδος " + code + " → (" + x + "," + y + ")";
+            case EventJournal.POSITION:
+                return prefix + unitName(unit) + " (" + x + "," + y + ")";
+            case EventJournal.WEATHER:
+                return prefix + String.format("άνεμος %.1f km/h %s, υγρασία %d%%, %d°C", windSpeed, text, humidity, temperature);
+            case EventJournal.EMERGENCY:
+                return prefix + (code != 0 ? "κήρυξη" : "άρση");
+            default:
+                return prefix + "(" + x + "," + y + ")";
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private MappedByteBuffer map(long start) throws IOException {
+        long length = Math.min(segmentBytes, fileSize - start);
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+    }
+
+    // Μετά από crash: υπάρχουν εγγραφές μετά από αυτό το segment;
+    private boolean hasMoreSegments() throws IOException {
+        long next = segmentStart + segmentBytes;
+        if (next >= fileSize) return false;
+        ByteBuffer first = ByteBuffer.allocate(1);
+        channel.read(first, next);
+        return first.position() == 1 && first.get(0) != EventJournal.PAD;
+    }
+
+    private static String string(ByteBuffer in) {
+        int length = in.get() & 0xff;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Χρήση: java simulation.JournalReader <journal> [--list]");
+            return;
+        }
+        boolean list = args.length > 1 && args[1].equals("--list");
+
+        try (JournalReader reader = new JournalReader(Paths.get(args[0]))) {
+            long[] counts = new long[16];
+            long total = 0;
+            long lastTime = 0;
+            int kind;
+            while ((kind = reader.next()) >= 0) {
+                counts[kind]++;
+                total++;
+                lastTime = reader.time;
+                if (list) {
+                    System.out.println(reader.describe());
+                }
+            }
+
+            System.out.println("📼 Journal: " + args[0]);
+            System.out.println("   Πλέγμα " + reader.width + "x" + reader.height + ", seed " + reader.seed
+                               + ", έναρξη " + new java.util.Date(reader.wallStart));
+            System.out.println("   " + total + " εγγραφές, διάρκεια " + (lastTime / 1000.0) + " s"
+                               + (reader.isComplete() ? "" : " (δεν έκλεισε κανονικά)"));
+            for (int k = 1; k < counts.length; k++) {
+                if (counts[k] > 0) {
+                    System.out.println(String.format("   %-12s %d", kindName(k), counts[k]));
+                }
+            }
+        }
+    }
+}
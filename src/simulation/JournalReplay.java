@@ -0,0 +1,263 @@
+package simulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Αναπαραγωγή ενός EventJournal: η κατάσταση του grid και των μονάδων σε
+ * οποιαδήποτε χρονική στιγμή της εκτέλεσης, χωρίς agents.
+ *
+ * load() reads the journal once and takes a keyframe (a copy of the cell
+ * states, unit positions, weather and emergency flag, plus the byte offset of
+ * the next record) every KEYFRAME_RECORDS records. The journal itself stays
+ * pure deltas. seek(t) restores the last keyframe at or before t and applies
+ * at most KEYFRAME_RECORDS records, so its cost does not depend on the length
+ * of the run. advance(t) moves forward from the current time and reports each
+ * applied record to a Sink, which is how playback feeds the GUI.
+ *
+ * Records are time-ordered in the file (EventJournal stamps them under its
+ * lock), so a replay is deterministic: the same journal always gives the same
+ * state at the same time.
+ */
+public final class JournalReplay implements Closeable {
+    static final int KEYFRAME_RECORDS = 20_000;
+
+    // Κατάσταση κελιού
+    public static final byte NONE = 0;
+    public static final byte BURNING = 1;
+    public static final byte BURNED_OUT = 2;
+    public static final byte EXTINGUISHED = 3;
+
+    /** Receives every record applied by advance(), after the state was updated. */
+    public interface Sink {
+        void record(JournalReader record);
+    }
+
+    private static final class Keyframe {
+        final long time;
+        final long offset;
+        final byte[] cells;
+        final byte[] intensities;
+        final short[] unitX, unitY;
+        final float windSpeed;
+        final int humidity, temperature;
+        final String windDirection;
+        final boolean emergency;
+
+        Keyframe(JournalReplay state, long offset) {
+            this.time = state.time;
+            this.offset = offset;
+            this.cells = state.cells.clone();
+            this.intensities = state.intensities.clone();
+            this.unitX = Arrays.copyOf(state.unitX, state.unitCount);
+            this.unitY = Arrays.copyOf(state.unitY, state.unitCount);
+            this.windSpeed = state.windSpeed;
+            this.humidity = state.humidity;
+            this.temperature = state.temperature;
+            this.windDirection = state.windDirection;
+            this.emergency = state.emergency;
+        }
+    }
+
+    private final JournalReader reader;
+    private final int width, height;
+    private final List<Keyframe> keyframes = new ArrayList<>();
+    private long duration;
+    private long recordCount;
+
+    // Τρέχουσα κατάσταση
+    private long time = 0;
+    private final byte[] cells;
+    private final byte[] intensities;
+    private short[] unitX = new short[16], unitY = new short[16]; // 0 = δεν έχει εμφανιστεί ακόμα
+    private int unitCount = 0;
+    private float windSpeed;
+    private int humidity, temperature;
+    private String windDirection;
+    private boolean emergency;
+    private boolean pending = false; // ο reader κρατά μια εγγραφή που δεν εφαρμόστηκε ακόμα
+
+    private JournalReplay(JournalReader reader) {
+        this.reader = reader;
+        this.width = reader.width;
+        this.height = reader.height;
+        this.cells = new byte[width * height];
+        this.intensities = new byte[width * height];
+    }
+
+    /** Reads the whole journal once, building the keyframes; returns positioned at time 0. */
+    public static JournalReplay load(Path path) throws IOException {
+        JournalReader reader = new JournalReader(path);
+        JournalReplay replay = new JournalReplay(reader);
+        try {
+            replay.index();
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+        return replay;
+    }
+
+    private void index() throws IOException {
+        keyframes.add(new Keyframe(this, reader.position()));
+        int sinceKeyframe = 0;
+        while (reader.next() >= 0) {
+            time = reader.time;
+            apply(reader);
+            recordCount++;
+            if (++sinceKeyframe == KEYFRAME_RECORDS) {
+                keyframes.add(new Keyframe(this, reader.position()));
+                sinceKeyframe = 0;
+            }
+        }
+        duration = time;
+        seek(0);
+    }
+
+    /** Restores the state at simulation time t (ms). */
+    public void seek(long t) throws IOException {
+        t = Math.max(0, Math.min(duration, t));
+        Keyframe keyframe = keyframes.get(keyframeAt(t));
+
+        System.arraycopy(keyframe.cells, 0, cells, 0, cells.length);
+        System.arraycopy(keyframe.intensities, 0, intensities, 0, intensities.length);
+        Arrays.fill(unitX, (short) 0);
+        Arrays.fill(unitY, (short) 0);
+        System.arraycopy(keyframe.unitX, 0, unitX, 0, keyframe.unitX.length);
+        System.arraycopy(keyframe.unitY, 0, unitY, 0, keyframe.unitY.length);
+        windSpeed = keyframe.windSpeed;
+        humidity = keyframe.humidity;
+        temperature = keyframe.temperature;
+        windDirection = keyframe.windDirection;
+        emergency = keyframe.emergency;
+        time = keyframe.time;
+
+        reader.seek(keyframe.offset);
+        pending = false;
+        advance(t, null);
+    }
+
+    /** Applies every record up to time t (ms), reporting each to the sink (may be null). */
+    public void advance(long t, Sink sink) throws IOException {
+        while (true) {
+            if (!pending) {
+                if (reader.next() < 0) break;
+                pending = true;
+            }
+            if (reader.time > t) break;
+
+            pending = false;
+            apply(reader);
+            if (sink != null) {
+                sink.record(reader);
+            }
+        }
+        time = Math.max(time, Math.min(t, duration));
+    }
+
+    private void apply(JournalReader record) {
+        switch (record.kind) {
+            case EventJournal.IGNITION:
+            case EventJournal.SPREAD:
+                setCell(record.x, record.y, BURNING, record.intensity);
+                break;
+            case EventJournal.BURNED_OUT:
+                setCell(record.x, record.y, BURNED_OUT, 0);
+                break;
+            case EventJournal.EXTINGUISHED:
+                setCell(record.x, record.y, EXTINGUISHED, 0);
+                break;
+            case EventJournal.POSITION:
+                ensureUnit(record.unit);
+                unitX[record.unit] = (short) record.x;
+                unitY[record.unit] = (short) record.y;
+                break;
+            case EventJournal.UNIT:
+            case EventJournal.SUPPRESSION:
+            case EventJournal.DEPLOY:
+                ensureUnit(record.unit);
+                break;
+            case EventJournal.WEATHER:
+                windSpeed = record.windSpeed;
+                humidity = record.humidity;
+                temperature = record.temperature;
+                windDirection = record.text;
+                break;
+            case EventJournal.EMERGENCY:
+                emergency = record.code != 0;
+                break;
+        }
+    }
+
+    private void setCell(int x, int y, byte state, int intensity) {
+        if (x < 1 || x > width || y < 1 || y > height) return;
+        int i = (y - 1) * width + (x - 1);
+        cells[i] = state;
+        intensities[i] = (byte) Math.max(0, Math.min(Byte.MAX_VALUE, intensity));
+    }
+
+    private void ensureUnit(int id) {
+        if (id >= unitX.length) {
+            int capacity = Math.max(unitX.length * 2, id + 1);
+            unitX = Arrays.copyOf(unitX, capacity);
+            unitY = Arrays.copyOf(unitY, capacity);
+        }
+        unitCount = Math.max(unitCount, id + 1);
+    }
+
+    // Τελευταίο keyframe με time <= t
+    private int keyframeAt(long t) {
+        int low = 0, high = keyframes.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (keyframes.get(mid).time <= t) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    // ========== GETTERS ==========
+
+    public JournalReader getReader() { return reader; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public long getDuration() { return duration; }
+    public long getRecordCount() { return recordCount; }
+    public int getKeyframeCount() { return keyframes.size(); }
+    public long getTime() { return time; }
+
+    public byte getCell(int x, int y) {
+        return cells[(y - 1) * width + (x - 1)];
+    }
+
+    public int getIntensity(int x, int y) {
+        return intensities[(y - 1) * width + (x - 1)];
+    }
+
+    public int getUnitCount() { return unitCount; }
+    public String getUnitName(int id) { return reader.unitName(id); }
+    public String getUnitType(int id) { return reader.unitType(id); }
+
+    /** 0 while the unit has not moved yet. */
+    public int getUnitX(int id) { return unitX[id]; }
+    public int getUnitY(int id) { return unitY[id]; }
+
+    public float getWindSpeed() { return windSpeed; }
+    public int getHumidity() { return humidity; }
+    public int getTemperature() { return temperature; }
+    /** null before the first weather record. */
+    public String getWindDirection() { return windDirection; }
+    public boolean isEmergency() { return emergency; }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
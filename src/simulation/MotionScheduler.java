@@ -0,0 +1,218 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hashed timing wheel that moves every travelling unit from one thread.
+ * Each Motion sits in the slot of its next step; a tick visits one slot, so
+ * the cost per tick depends on the units due in that tick, not on how many
+ * are on the map. All steps of a tick go out as one PositionBatch per
+ * listener (GUI, control centre), and arrivals are reported after the batch.
+ * The wheel turns on the EventKernel, and only while something is moving.
+ */
+public final class MotionScheduler {
+    public static final int TICK_MS = 10;
+    private static final int WHEEL_SIZE = 64; // δύναμη του 2 - καλύπτει βήματα έως 640ms χωρίς γύρους
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private static MotionScheduler instance;
+
+    /** Receives every tick's positions on the kernel thread; must return quickly. */
+    public interface Listener {
+        void positionsUpdated(PositionBatch batch);
+    }
+
+    /** One unit travelling in a straight line, one cell per period. */
+    public static final class Motion {
+        private final String unit;
+        private final String type;
+        private final int fromX, fromY, targetX, targetY;
+        private final int steps;
+        private final int periodTicks;
+        private final Runnable onArrival;
+
+        // Μόνο από το νήμα του kernel
+        private int step = 0;
+        private int rounds = 0;
+
+        private volatile int x, y;
+        private volatile boolean arrived = false;
+        private volatile boolean cancelled = false;
+
+        private Motion(String unit, String type, int fromX, int fromY, int targetX, int targetY,
+                       long stepDelayMs, Runnable onArrival) {
+            this.unit = unit;
+            this.type = type;
+            this.fromX = fromX;
+            this.fromY = fromY;
+            this.targetX = targetX;
+            this.targetY = targetY;
+            this.steps = Math.max(Math.abs(targetX - fromX), Math.abs(targetY - fromY));
+            this.periodTicks = (int) Math.max(1, Math.round((double) stepDelayMs / TICK_MS));
+            this.onArrival = onArrival;
+            this.x = fromX;
+            this.y = fromY;
+        }
+
+        private void advance() {
+            step++;
+            if (step >= steps) {
+                x = targetX;
+                y = targetY;
+                arrived = true;
+            } else {
+                double deltaX = (double) (targetX - fromX) / steps;
+                double deltaY = (double) (targetY - fromY) / steps;
+                x = fromX + (int) (deltaX * step);
+                y = fromY + (int) (deltaY * step);
+            }
+        }
+
+        public void cancel() { cancelled = true; }
+
+        public boolean isArrived() { return arrived; }
+        public int getX() { return x; }
+        public int getY() { return y; }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final ArrayList<Motion>[] wheel = new ArrayList[WHEEL_SIZE];
+    private ArrayList<Motion> spare = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Motion> incoming = new ConcurrentLinkedQueue<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final List<Motion> arrivals = new ArrayList<>();
+    private int cursor = 0;
+    private volatile int moving = 0;
+    private EventKernel.Event ticking; // null όταν δεν κινείται τίποτα
+
+    public MotionScheduler() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+    }
+
+    public static synchronized MotionScheduler getInstance() {
+        if (instance == null) {
+            instance = new MotionScheduler();
+        }
+        return instance;
+    }
+
+    // Ο τροχός γυρίζει κάθε TICK_MS χρόνου προσομοίωσης όσο υπάρχουν μονάδες σε κίνηση
+    private synchronized void ensureTicking() {
+        if (ticking == null) {
+            ticking = EventKernel.getInstance().scheduleRepeating(TICK_MS, this::tick);
+        }
+    }
+
+    private synchronized void stopIfIdle() {
+        if (moving == 0 && incoming.isEmpty() && ticking != null) {
+            ticking.cancel();
+            ticking = null;
+        }
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts moving a unit; thread-safe. onArrival runs on the kernel thread
+     * after the final position has been published. A zero-length move is
+     * arrived immediately and never calls onArrival.
+     */
+    public Motion move(String unit, String type, int fromX, int fromY, int targetX, int targetY,
+                       long stepDelayMs, Runnable onArrival) {
+        Motion motion = new Motion(unit, type, fromX, fromY, targetX, targetY, stepDelayMs, onArrival);
+        if (motion.steps == 0) {
+            motion.arrived = true;
+        } else {
+            incoming.add(motion);
+            ensureTicking();
+        }
+        return motion;
+    }
+
+    /** One wheel slot: steps every unit due now, publishes the batch, then the arrivals. */
+    public void tick() {
+        Motion motion;
+        while ((motion = incoming.poll()) != null) {
+            schedule(motion);
+            moving++;
+        }
+
+        cursor = (cursor + 1) & MASK;
+        ArrayList<Motion> due = wheel[cursor];
+        if (due.isEmpty()) {
+            stopIfIdle();
+            return;
+        }
+        wheel[cursor] = spare;
+        spare = due;
+
+        PositionBatch batch = new PositionBatch(due.size());
+        for (int i = 0; i < due.size(); i++) {
+            motion = due.get(i);
+            if (motion.cancelled) {
+                moving--;
+                continue;
+            }
+            if (motion.rounds > 0) {
+                motion.rounds--;
+                wheel[cursor].add(motion);
+                continue;
+            }
+
+            motion.advance();
+            batch.add(motion.unit, motion.type, motion.x, motion.y);
+            if (motion.arrived) {
+                arrivals.add(motion);
+                moving--;
+            } else {
+                schedule(motion);
+            }
+        }
+        due.clear();
+
+        // Ένας listener ή μια άφιξη που αποτυγχάνει δεν χαλάει το tick των υπολοίπων
+        if (!batch.isEmpty()) {
+            for (Listener listener : listeners) {
+                try {
+                    listener.positionsUpdated(batch);
+                } catch (RuntimeException e) {
+                    System.err.println("MotionScheduler: σφάλμα listener: " + e);
+                }
+            }
+        }
+
+        for (int i = 0; i < arrivals.size(); i++) {
+            Runnable onArrival = arrivals.get(i).onArrival;
+            try {
+                if (onArrival != null) {
+                    onArrival.run();
+                }
+            } catch (RuntimeException e) {
+                System.err.println("MotionScheduler: σφάλμα άφιξης " + arrivals.get(i).unit + ": " + e);
+            }
+        }
+        arrivals.clear();
+        stopIfIdle();
+    }
+
+    private void schedule(Motion motion) {
+        motion.rounds = (motion.periodTicks - 1) / WHEEL_SIZE;
+        wheel[(cursor + motion.periodTicks) & MASK].add(motion);
+    }
+
+    /** Units currently travelling (as seen by the kernel thread). */
+    public int getMovingCount() {
+        return moving;
+    }
+}
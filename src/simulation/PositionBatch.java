@@ -0,0 +1,47 @@
+package simulation;
+
+import java.util.Arrays;
+
+/**
+ * Positions of every unit that moved in one tick of the MotionScheduler, as
+ * parallel arrays (name, unit type, x, y). One batch per tick goes to each
+ * listener instead of one GUI call per unit step.
+ */
+public class PositionBatch {
+    private String[] units;
+    private String[] types;
+    private int[] xs;
+    private int[] ys;
+    private int size = 0;
+
+    public PositionBatch(int capacity) {
+        capacity = Math.max(1, capacity);
+        units = new String[capacity];
+        types = new String[capacity];
+        xs = new int[capacity];
+        ys = new int[capacity];
+    }
+
+    public void add(String unit, String type, int x, int y) {
+        if (size == units.length) {
+            int capacity = size * 2;
+            units = Arrays.copyOf(units, capacity);
+            types = Arrays.copyOf(types, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+        units[size] = unit;
+        types[size] = type;
+        xs[size] = x;
+        ys[size] = y;
+        size++;
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    public String getUnit(int i) { return units[i]; }
+    public String getType(int i) { return types[i]; }
+    public int getX(int i) { return xs[i]; }
+    public int getY(int i) { return ys[i]; }
+}
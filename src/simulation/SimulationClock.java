@@ -0,0 +1,73 @@
+package simulation;
+
+/**
+ * Simulation time in milliseconds since the start of the run.
+ * PACED follows the wall clock (times a speed factor) so the GUI can watch;
+ * FAST is moved only by the EventKernel, which jumps straight to the next
+ * event, so a run is bounded by CPU rather than by the scenario length.
+ * Chosen with -Dsim.mode=paced|fast and -Dsim.speed=N (paced only).
+ * A run resumed from a Checkpoint starts at the checkpoint's time (origin).
+ */
+public final class SimulationClock {
+
+    public enum Mode { PACED, FAST }
+
+    private final Mode mode;
+    private final double speed;
+    private final long origin;
+    private final long wallStart = System.currentTimeMillis();
+    private volatile long virtualNow;
+
+    public SimulationClock(Mode mode, double speed) {
+        this(mode, speed, 0);
+    }
+
+    public SimulationClock(Mode mode, double speed, long origin) {
+        if (speed <= 0) {
+            throw new IllegalArgumentException("Simulation speed must be positive: " + speed);
+        }
+        this.mode = mode;
+        this.speed = speed;
+        this.origin = origin;
+        this.virtualNow = origin;
+    }
+
+    public static SimulationClock fromSystemProperties() {
+        return fromSystemProperties(0);
+    }
+
+    public static SimulationClock fromSystemProperties(long origin) {
+        Mode mode = "fast".equalsIgnoreCase(System.getProperty("sim.mode")) ? Mode.FAST : Mode.PACED;
+        double speed = Double.parseDouble(System.getProperty("sim.speed", "1"));
+        return new SimulationClock(mode, speed, origin);
+    }
+
+    public long now() {
+        if (mode == Mode.FAST) {
+            return virtualNow;
+        }
+        return origin + (long) ((System.currentTimeMillis() - wallStart) * speed);
+    }
+
+    // PACED: πόσα ms πραγματικού χρόνου μέχρι τη στιγμή time
+    long wallDelayUntil(long time) {
+        return (long) Math.ceil((time - now()) / speed);
+    }
+
+    // FAST: μόνο από τον EventKernel, ποτέ προς τα πίσω
+    void advanceTo(long time) {
+        if (time > virtualNow) {
+            virtualNow = time;
+        }
+    }
+
+    public Mode getMode() { return mode; }
+    public boolean isFast() { return mode == Mode.FAST; }
+    public double getSpeed() { return speed; }
+
+    /** hh:mm:ss of a simulation time, for logs and summaries. */
+    public static String format(long millis) {
+        long seconds = millis / 1000;
+        return String.format("%02d:%02d:%02d", seconds / 3600, (seconds / 60) % 60, seconds % 60);
+    }
+}
@@ -0,0 +1,103 @@
+package simulation;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * All FIRE_SPREAD events of one tick as (source cell, target cell, intensity)
+ * records in parallel primitive arrays. A sender fills one batch per tick and
+ * ships it as the byte content of a single ACLMessage to the grid owner,
+ * instead of one text message with 8 named receivers per burning cell.
+ * Cells are packed as (x << 16) | y, so the batch does not depend on grid size.
+ */
+public class SpreadBatch {
+    public static final String ONTOLOGY = "fire-spread-batch";
+    private static final int RECORD_BYTES = 4 + 4 + 1;
+
+    private int[] sources;
+    private int[] targets;
+    private byte[] intensities;
+    private int size = 0;
+
+    public SpreadBatch() {
+        this(16);
+    }
+
+    public SpreadBatch(int capacity) {
+        capacity = Math.max(1, capacity);
+        sources = new int[capacity];
+        targets = new int[capacity];
+        intensities = new byte[capacity];
+    }
+
+    public static int cell(int x, int y) {
+        return (x << 16) | (y & 0xFFFF);
+    }
+
+    public static int cellX(int cell) { return cell >>> 16; }
+    public static int cellY(int cell) { return cell & 0xFFFF; }
+
+    public void add(int source, int target, int intensity) {
+        if (size == sources.length) {
+            int capacity = size * 2;
+            sources = Arrays.copyOf(sources, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            intensities = Arrays.copyOf(intensities, capacity);
+        }
+        sources[size] = source;
+        targets[size] = target;
+        intensities[size] = (byte) Math.min(Byte.MAX_VALUE, intensity);
+        size++;
+    }
+
+    // Ένα FIRE_SPREAD από το (x,y) προς κάθε γείτονα· τα όρια τα ελέγχει ο παραλήπτης
+    public void addNeighbours(int x, int y, int intensity) {
+        int source = cell(x, y);
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                if (dx == 0 && dy == 0) continue;
+
+                int nx = x + dx, ny = y + dy;
+                if (nx >= 1 && ny >= 1) {
+                    add(source, cell(nx, ny), intensity);
+                }
+            }
+        }
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public int getSource(int n) { return sources[n]; }
+    public int getTarget(int n) { return targets[n]; }
+    public int getIntensity(int n) { return intensities[n]; }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // Μορφή: [πλήθος][πηγή, στόχος, ένταση] ...
+    public byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + size * RECORD_BYTES);
+        buffer.putInt(size);
+        for (int n = 0; n < size; n++) {
+            buffer.putInt(sources[n]);
+            buffer.putInt(targets[n]);
+            buffer.put(intensities[n]);
+        }
+        return buffer.array();
+    }
+
+    public static SpreadBatch decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining() / RECORD_BYTES) {
+            throw new IllegalArgumentException("Invalid spread batch: " + count + " records in " + data.length + " bytes");
+        }
+
+        SpreadBatch batch = new SpreadBatch(count);
+        for (int n = 0; n < count; n++) {
+            batch.add(buffer.getInt(), buffer.getInt(), buffer.get());
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,98 @@
+package simulation;
+
+import java.util.Random;
+
+/**
+ * Διαμέριση του κόσμου σε πλακίδια (tiles), ένα ForestAgent ανά πλακίδιο.
+ *
+ * A columns x rows split of a width x height world: tile t covers the cells
+ * originX(t)..originX(t)+tileWidth(t)-1 (and likewise in y), row-major from
+ * the top-left. Each tile has its own FireSpreadEngine in tile coordinates;
+ * spread across an edge travels between tile owners as a SpreadBatch in world
+ * coordinates (the halo). Every JVM that hosts tiles builds the same layout
+ * from the same spec, so the split needs no coordination.
+ */
+public final class TileLayout {
+    private final int width, height;
+    private final int columns, rows;
+
+    public TileLayout(int width, int height, int columns, int rows) {
+        if (columns < 1 || rows < 1 || columns > width || rows > height) {
+            throw new IllegalArgumentException("Invalid tiling " + columns + "x" + rows + " of " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    /** "3x2" = 3 columns, 2 rows; a single number n = n x n. */
+    public static TileLayout parse(String spec, int width, int height) {
+        String[] parts = spec.trim().toLowerCase().split("x");
+        try {
+            int columns = Integer.parseInt(parts[0].trim());
+            int rows = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : columns;
+            return new TileLayout(width, height, columns, rows);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid tiling '" + spec + "' (expected e.g. 2x2)");
+        }
+    }
+
+    /** Tiling of a world given as "600x400" (width x height) or n = n x n, e.g. from -Dsim.size. */
+    public static TileLayout parse(String spec, String world) {
+        String[] parts = world.trim().toLowerCase().split("x");
+        try {
+            int width = Integer.parseInt(parts[0].trim());
+            int height = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : width;
+            if (width < 1 || height < 1 || width > Short.MAX_VALUE || height > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid world size '" + world + "' (1.." + Short.MAX_VALUE + " per side)");
+            }
+            return parse(spec, width, height);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid world size '" + world + "' (expected e.g. 600x400)");
+        }
+    }
+
+    public static String agentName(int tile) {
+        return "forest-" + tile;
+    }
+
+    public static String containerName(int tile) {
+        return "tile-" + tile;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getColumns() { return columns; }
+    public int getRows() { return rows; }
+    public int getTileCount() { return columns * rows; }
+
+    public int originX(int tile) { return 1 + (tile % columns) * width / columns; }
+    public int originY(int tile) { return 1 + (tile / columns) * height / rows; }
+    public int tileWidth(int tile) { return (tile % columns + 1) * width / columns - (tile % columns) * width / columns; }
+    public int tileHeight(int tile) { return (tile / columns + 1) * height / rows - (tile / columns) * height / rows; }
+
+    /** The tile that owns world cell (x, y), or -1 outside the world. */
+    public int owner(int x, int y) {
+        if (x < 1 || x > width || y < 1 || y > height) return -1;
+        return ((y * rows - 1) / height) * columns + (x * columns - 1) / width;
+    }
+
+    /** Tile t's forest, the same in whichever JVM builds it: trees is the count for the whole world. */
+    public FireSpreadEngine createEngine(int tile, long seed, int trees, int parallelism) {
+        long tileSeed = seed ^ ((tile + 1) * 0x9E3779B97F4A7C15L);
+        FireSpreadEngine engine = new FireSpreadEngine(tileWidth(tile), tileHeight(tile), tileSeed, parallelism);
+        Random rand = new Random(tileSeed);
+        if (trees >= width * height) {
+            engine.populateFull(rand);
+        } else {
+            engine.populateSample((int) ((long) trees * tileWidth(tile) * tileHeight(tile) / ((long) width * height)), rand);
+        }
+        return engine;
+    }
+
+    @Override
+    public String toString() {
+        return columns + "x" + rows;
+    }
+}
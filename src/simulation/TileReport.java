@@ -0,0 +1,85 @@
+package simulation;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * What changed in one tile since its last report: cells that caught fire
+ * (with their intensity) and cells that burned out, in world coordinates.
+ * A tile owner sends one per tick to the forest router on the main
+ * container, which journals the changes, tells FireControlAgent and paints
+ * the map - so a tile in another JVM still shows up in the one window.
+ */
+public class TileReport {
+    public static final String ONTOLOGY = "forest-tile-report";
+    public static final int BURNED_OUT = 0;
+    private static final int RECORD_BYTES = 4 + 1;
+
+    private int[] cells;
+    private byte[] intensities;
+    private int size = 0;
+
+    public TileReport() {
+        this(16);
+    }
+
+    public TileReport(int capacity) {
+        capacity = Math.max(1, capacity);
+        cells = new int[capacity];
+        intensities = new byte[capacity];
+    }
+
+    public void ignited(int x, int y, int intensity) {
+        add(SpreadBatch.cell(x, y), Math.max(1, intensity));
+    }
+
+    public void burnedOut(int x, int y) {
+        add(SpreadBatch.cell(x, y), BURNED_OUT);
+    }
+
+    private void add(int cell, int intensity) {
+        if (size == cells.length) {
+            cells = Arrays.copyOf(cells, size * 2);
+            intensities = Arrays.copyOf(intensities, size * 2);
+        }
+        cells[size] = cell;
+        intensities[size] = (byte) Math.min(Byte.MAX_VALUE, intensity);
+        size++;
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public int getX(int n) { return SpreadBatch.cellX(cells[n]); }
+    public int getY(int n) { return SpreadBatch.cellY(cells[n]); }
+    public int getIntensity(int n) { return intensities[n]; }
+    public boolean isBurnedOut(int n) { return intensities[n] == BURNED_OUT; }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // Μορφή: [πλήθος][κελί, ένταση] ...
+    public byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + size * RECORD_BYTES);
+        buffer.putInt(size);
+        for (int n = 0; n < size; n++) {
+            buffer.putInt(cells[n]);
+            buffer.put(intensities[n]);
+        }
+        return buffer.array();
+    }
+
+    public static TileReport decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining() / RECORD_BYTES) {
+            throw new IllegalArgumentException("Invalid tile report: " + count + " records in " + data.length + " bytes");
+        }
+
+        TileReport report = new TileReport(count);
+        for (int n = 0; n < count; n++) {
+            report.add(buffer.getInt(), buffer.get());
+        }
+        return report;
+    }
+}
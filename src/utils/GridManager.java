@@ -3,6 +3,37 @@ package utils;
 public class GridManager {
     public static final int GRID_SIZE = 150;
     
+    // Εστίες δοκιμής του σεναρίου (MainContainer, EnsembleRunner)
+    public static final int[][] TEST_FIRE_POSITIONS = {{25, 25}, {75, 75}, {125, 125}, {50, 100}, {100, 50}};
+    
+    // Κέντρο Επιχειρήσεων - τοποθετείται μία φορά, με ή χωρίς GUI
+    private static int commandCenterX;
+    private static int commandCenterY;
+    
+    public static synchronized void placeCommandCenter(java.util.Random rand) {
+        if (commandCenterX != 0) return;
+        int[] position = randomCommandCenter(rand);
+        commandCenterX = position[0];
+        commandCenterY = position[1];
+    }
+    
+    // Center ± 10 cells, within bounds - χωρίς static κατάσταση, για ανεξάρτητες εκτελέσεις
+    public static int[] randomCommandCenter(java.util.Random rand) {
+        int x = Math.max(5, Math.min(GRID_SIZE - 5, GRID_SIZE / 2 + rand.nextInt(21) - 10));
+        int y = Math.max(5, Math.min(GRID_SIZE - 5, GRID_SIZE / 2 + rand.nextInt(21) - 10));
+        return new int[]{x, y};
+    }
+    
+    public static synchronized int getCommandCenterX() {
+        placeCommandCenter(new java.util.Random());
+        return commandCenterX;
+    }
+    
+    public static synchronized int getCommandCenterY() {
+        placeCommandCenter(new java.util.Random());
+        return commandCenterY;
+    }
+    
     public static String generateTreeAgentName(int x, int y) {
         return "tree_" + x + "_" + y;
     }